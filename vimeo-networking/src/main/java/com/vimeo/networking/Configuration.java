@@ -23,7 +23,15 @@
 package com.vimeo.networking;
 
 import com.vimeo.networking.Vimeo.LogLevel;
+import com.vimeo.networking.batch.MultiGetLoader;
+import com.vimeo.networking.callbacks.VimeoCallback;
+import com.vimeo.networking.cache.CachePolicyRegistry;
+import com.vimeo.networking.cache.DecodedObjectCache;
+import com.vimeo.networking.interceptors.RetryInterceptor;
+import com.vimeo.networking.interceptors.RetryPolicy;
 import com.vimeo.networking.logging.LogProvider;
+import com.vimeo.networking.requests.Hedger;
+import com.vimeo.networking.requests.RequestPriority;
 import com.vimeo.networking.model.VimeoAccount;
 
 import org.jetbrains.annotations.NotNull;
@@ -32,8 +40,12 @@ import org.jetbrains.annotations.Nullable;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.Interceptor;
 
 /**
@@ -52,6 +64,13 @@ public class Configuration {
     private static final int DEFAULT_CACHE_SIZE = 10 * 1024 * 1024; // 10MB
     private static final int DEFAULT_TIMEOUT = 60; // seconds
     private static final String DEFAULT_USER_AGENT = "sample_user_agent";
+    // Connection pool and dispatcher defaults match the defaults used by OkHttp
+    private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+    private static final long DEFAULT_KEEP_ALIVE_DURATION = 5 * 60; // 5 minutes
+    private static final int DEFAULT_MAX_REQUESTS = 64;
+    private static final int DEFAULT_MAX_REQUESTS_PER_HOST = 5;
+    private static final long DEFAULT_SLOW_CALLBACK_THRESHOLD = 100; // milliseconds
+    private static final long NO_MAX_LOGGED_BODY_SIZE = -1;
 
     @NotNull
     protected String mBaseUrl;
@@ -75,12 +94,40 @@ public class Configuration {
     protected int mCacheSize;
 
     protected int mCacheMaxAge; // in seconds
+    protected long mMemoryCacheSize; // in bytes
+    @NotNull
+    protected CachePolicyRegistry mCachePolicyRegistry;
     protected int mTimeout; // in seconds
+    @Nullable
+    protected RetryPolicy mRetryPolicy;
+    protected long mRateLimitMaxWait; // in milliseconds
+    protected long mRequestBatchingWindow; // in milliseconds
+    protected int mMaxRequestBatchSize;
+    protected double mHedgePercentile;
+
+    protected int mMaxIdleConnections;
+    protected long mKeepAliveDuration; // in seconds
+    protected int mMaxRequests;
+    protected int mMaxRequestsPerHost;
+    protected int mMaxConcurrentRequests;
+    protected int mMaxBackgroundRequests;
+
+    @Nullable
+    private ConnectionPool mConnectionPool;
+    @Nullable
+    private RetryInterceptor mRetryInterceptor;
+    @Nullable
+    private Dispatcher mDispatcher;
+    @Nullable
+    protected Executor mCallbackExecutor;
+    protected long mSlowCallbackThreshold; // in milliseconds
 
     protected boolean mCertPinningEnabled;
+    protected boolean mRequestCoalescingEnabled;
     @Nullable
     protected LogProvider mLogProvider;
     protected LogLevel mLogLevel;
+    protected long mMaxLoggedBodySize; // in bytes
 
     /**
      * -----------------------------------------------------------------------------------------------------
@@ -138,14 +185,168 @@ public class Configuration {
         return mCacheMaxAge;
     }
 
+    public long getMemoryCacheSize() {
+        return mMemoryCacheSize;
+    }
+
+    @NotNull
+    public CachePolicyRegistry getCachePolicyRegistry() {
+        return mCachePolicyRegistry;
+    }
+
+    /**
+     * @return a new in memory cache of decoded responses, or null if it is disabled
+     */
+    @Nullable
+    public DecodedObjectCache getDecodedObjectCache() {
+        if (mMemoryCacheSize <= 0) {
+            return null;
+        }
+        return new DecodedObjectCache(mMemoryCacheSize);
+    }
+
     public int getTimeout() {
         return mTimeout;
     }
 
+    @Nullable
+    public RetryPolicy getRetryPolicy() {
+        return mRetryPolicy;
+    }
+
+    /**
+     * Returns the {@link RetryInterceptor} used by clients created with this configuration, so that they
+     * share a single retry budget and retry counts. It is created the first time this is called.
+     *
+     * @return the retry interceptor shared by clients built from this configuration, or null if retries are
+     * disabled
+     */
+    @Nullable
+    public synchronized RetryInterceptor getRetryInterceptor() {
+        if (mRetryInterceptor == null && mRetryPolicy != null) {
+            mRetryInterceptor = new RetryInterceptor(mRetryPolicy);
+        }
+        return mRetryInterceptor;
+    }
+
+    /**
+     * @return the longest a request may be held to stay under the rate limit in milliseconds, 0 if requests
+     * aren't paced
+     */
+    public long getRateLimitMaxWait() {
+        return mRateLimitMaxWait;
+    }
+
+    /**
+     * @return how long single resource requests wait to be batched with others in milliseconds, 0 if they
+     * aren't batched
+     */
+    public long getRequestBatchingWindow() {
+        return mRequestBatchingWindow;
+    }
+
+    public int getMaxRequestBatchSize() {
+        return mMaxRequestBatchSize;
+    }
+
+    /**
+     * @return the percentile of the latency after which GET requests are hedged, 0 if they aren't
+     */
+    public double getHedgePercentile() {
+        return mHedgePercentile;
+    }
+
+    public int getMaxIdleConnections() {
+        return mMaxIdleConnections;
+    }
+
+    public long getKeepAliveDuration() {
+        return mKeepAliveDuration;
+    }
+
+    public int getMaxRequests() {
+        return mMaxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return mMaxRequestsPerHost;
+    }
+
+    /**
+     * Returns the {@link ConnectionPool} used by clients created with this configuration. If one wasn't
+     * provided through {@link Builder#setConnectionPool(ConnectionPool)}, a pool is created the first time
+     * this is called using {@link #getMaxIdleConnections()} and {@link #getKeepAliveDuration()}, and is then
+     * reused by every client created from this configuration.
+     *
+     * @return the connection pool shared by clients built from this configuration
+     */
+    @NotNull
+    public synchronized ConnectionPool getConnectionPool() {
+        if (mConnectionPool == null) {
+            mConnectionPool = new ConnectionPool(mMaxIdleConnections, mKeepAliveDuration, TimeUnit.SECONDS);
+        }
+        return mConnectionPool;
+    }
+
+    /**
+     * Returns the {@link Dispatcher} used by clients created with this configuration. If one wasn't
+     * provided through {@link Builder#setDispatcher(Dispatcher)}, a dispatcher is created the first time
+     * this is called using {@link #getMaxRequests()} and {@link #getMaxRequestsPerHost()}, and is then
+     * reused by every client created from this configuration.
+     *
+     * @return the dispatcher shared by clients built from this configuration
+     */
+    @NotNull
+    public synchronized Dispatcher getDispatcher() {
+        if (mDispatcher == null) {
+            final Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(mMaxRequests);
+            dispatcher.setMaxRequestsPerHost(mMaxRequestsPerHost);
+            mDispatcher = dispatcher;
+        }
+        return mDispatcher;
+    }
+
+    /**
+     * @return the number of normal and background requests that can run at once, 0 if requests aren't
+     * dispatched by priority
+     */
+    public int getMaxConcurrentRequests() {
+        return mMaxConcurrentRequests;
+    }
+
+    /**
+     * @return the number of background requests that can run at once
+     */
+    public int getMaxBackgroundRequests() {
+        return mMaxBackgroundRequests;
+    }
+
+    /**
+     * @return the executor on which request callbacks run, or null to run them on the default executor of
+     * the platform: the main thread on Android, the OkHttp dispatcher threads elsewhere
+     */
+    @Nullable
+    public Executor getCallbackExecutor() {
+        return mCallbackExecutor;
+    }
+
+    /**
+     * @return the duration in milliseconds above which a callback run on the callback executor is logged as
+     * slow
+     */
+    public long getSlowCallbackThreshold() {
+        return mSlowCallbackThreshold;
+    }
+
     public boolean isCertPinningEnabled() {
         return mCertPinningEnabled;
     }
 
+    public boolean isRequestCoalescingEnabled() {
+        return mRequestCoalescingEnabled;
+    }
+
     @Nullable
     public LogProvider getLogProvider() {
         return mLogProvider;
@@ -155,6 +356,14 @@ public class Configuration {
         return mLogLevel;
     }
 
+    /**
+     * @return the number of bytes of each request and response body that are logged at the
+     * {@link LogLevel#VERBOSE} level, or -1 if the bodies are logged in full
+     */
+    public long getMaxLoggedBodySize() {
+        return mMaxLoggedBodySize;
+    }
+
     @NotNull
     public String getBaseUrl() {
         return mBaseUrl;
@@ -229,13 +438,35 @@ public class Configuration {
         this.mCacheDirectory = builder.mCacheDirectory;
         this.mCacheSize = builder.mCacheSize;
         this.mCacheMaxAge = builder.mCacheMaxAge;
+        this.mMemoryCacheSize = builder.mMemoryCacheSize;
+        this.mCachePolicyRegistry = builder.mCachePolicyRegistry != null
+                                    ? builder.mCachePolicyRegistry
+                                    : CachePolicyRegistry.createDefault();
         this.mUserAgentString = builder.mUserAgentString;
 
         this.mTimeout = builder.mTimeout;
+        this.mRetryPolicy = builder.mRetryPolicy;
+        this.mRateLimitMaxWait = builder.mRateLimitMaxWait;
+        this.mRequestBatchingWindow = builder.mRequestBatchingWindow;
+        this.mMaxRequestBatchSize = builder.mMaxRequestBatchSize;
+        this.mHedgePercentile = builder.mHedgePercentile;
+
+        this.mMaxIdleConnections = builder.mMaxIdleConnections;
+        this.mKeepAliveDuration = builder.mKeepAliveDuration;
+        this.mMaxRequests = builder.mMaxRequests;
+        this.mMaxRequestsPerHost = builder.mMaxRequestsPerHost;
+        this.mMaxConcurrentRequests = builder.mMaxConcurrentRequests;
+        this.mMaxBackgroundRequests = builder.mMaxBackgroundRequests;
+        this.mConnectionPool = builder.mConnectionPool;
+        this.mDispatcher = builder.mDispatcher;
+        this.mCallbackExecutor = builder.mCallbackExecutor;
+        this.mSlowCallbackThreshold = builder.mSlowCallbackThreshold;
 
         this.mCertPinningEnabled = builder.mCertPinningEnabled;
+        this.mRequestCoalescingEnabled = builder.mRequestCoalescingEnabled;
         this.mLogProvider = builder.mLogProvider;
         this.mLogLevel = builder.mLogLevel;
+        this.mMaxLoggedBodySize = builder.mMaxLoggedBodySize;
         this.mNetworkInterceptors.addAll(builder.mNetworkInterceptors);
         this.mInterceptors.addAll(builder.mInterceptors);
     }
@@ -267,8 +498,31 @@ public class Configuration {
         private File mCacheDirectory;
         private int mCacheSize = DEFAULT_CACHE_SIZE;
         private int mCacheMaxAge = DEFAULT_CACHE_MAX_AGE;
+        private long mMemoryCacheSize;
+        @Nullable
+        private CachePolicyRegistry mCachePolicyRegistry;
         private String mUserAgentString = DEFAULT_USER_AGENT;
         public int mTimeout = DEFAULT_TIMEOUT;
+        @Nullable
+        private RetryPolicy mRetryPolicy;
+        private long mRateLimitMaxWait;
+        private long mRequestBatchingWindow;
+        private int mMaxRequestBatchSize = MultiGetLoader.MAX_CHUNK_SIZE;
+        private double mHedgePercentile;
+
+        private int mMaxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+        private long mKeepAliveDuration = DEFAULT_KEEP_ALIVE_DURATION;
+        private int mMaxRequests = DEFAULT_MAX_REQUESTS;
+        private int mMaxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+        private int mMaxConcurrentRequests;
+        private int mMaxBackgroundRequests;
+        @Nullable
+        private ConnectionPool mConnectionPool;
+        @Nullable
+        private Dispatcher mDispatcher;
+        @Nullable
+        private Executor mCallbackExecutor;
+        private long mSlowCallbackThreshold = DEFAULT_SLOW_CALLBACK_THRESHOLD;
 
         private final List<Interceptor> mNetworkInterceptors = new ArrayList<>();
         private final List<Interceptor> mInterceptors = new ArrayList<>();
@@ -276,10 +530,12 @@ public class Configuration {
         public String mCodeGrantRedirectUri = "vimeo" + mClientID + "://auth";
 
         private boolean mCertPinningEnabled = true;
+        private boolean mRequestCoalescingEnabled;
         // Default to the stock logger which just prints - this makes it optional
         @Nullable
         public LogProvider mLogProvider;
         public LogLevel mLogLevel = LogLevel.DEBUG;
+        private long mMaxLoggedBodySize = NO_MAX_LOGGED_BODY_SIZE;
 
         /**
          * The most basic builder constructor. If you've only provided an access token, you'll only be able to
@@ -370,21 +626,275 @@ public class Configuration {
             return this;
         }
 
+        /**
+         * Sets the size of the in memory cache of decoded responses, which serves
+         * {@link VimeoClient#getContent} requests without reading or decoding the body again. Entries are
+         * weighted by the size of the body they were decoded from. Disabled by default.
+         *
+         * @param memoryCacheSize the maximum size of the cache in bytes, 0 to disable it
+         */
+        public Builder setMemoryCacheSize(long memoryCacheSize) {
+            if (memoryCacheSize < 0) {
+                throw new IllegalArgumentException("memoryCacheSize < 0: " + memoryCacheSize);
+            }
+            this.mMemoryCacheSize = memoryCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the table of cache policies applied per endpoint, both to the requests made through
+         * {@link VimeoClient#getContent} and to the responses stored in the cache. Endpoints without a policy
+         * use the cache max age. Defaults to {@link CachePolicyRegistry#createDefault()}.
+         *
+         * @param cachePolicyRegistry the cache policies, or null to use the default ones
+         */
+        public Builder setCachePolicyRegistry(@Nullable CachePolicyRegistry cachePolicyRegistry) {
+            this.mCachePolicyRegistry = cachePolicyRegistry;
+            return this;
+        }
+
         public Builder setUserAgentString(String userAgentString) {
             this.mUserAgentString = userAgentString;
             return this;
         }
 
+        /**
+         * Enables retrying idempotent requests that failed because of a connection failure, a 429 or a 5xx
+         * response. Disabled by default.
+         *
+         * @param retryPolicy the retry policy, for example {@link RetryPolicy#createDefault()}, or null to
+         *                    disable retries
+         */
+        public Builder setRetryPolicy(@Nullable RetryPolicy retryPolicy) {
+            this.mRetryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Enables pacing requests to stay under the rate limit reported by the API for each access token.
+         * When the remaining capacity gets low, requests are spread evenly until the reset, and once it is
+         * exhausted they are held until the reset. Disabled by default, in which case the rate limit is only
+         * tracked.
+         *
+         * @param maxWait the longest a request may be held, requests that would have to wait longer are
+         *                sent right away. 0 disables pacing.
+         * @param unit    the unit of the max wait
+         */
+        public Builder setRateLimitPacing(long maxWait, @NotNull TimeUnit unit) {
+            if (maxWait < 0) {
+                throw new IllegalArgumentException("maxWait < 0: " + maxWait);
+            }
+            this.mRateLimitMaxWait = unit.toMillis(maxWait);
+            return this;
+        }
+
+        /**
+         * Enables batching the requests for single videos, users and channels. Requests made through
+         * {@link VimeoClient#getContent} within the window are merged into one multi URI request, and each
+         * callback still receives its own resource. This saves requests when many components load resources
+         * independently, at the cost of up to one window of latency. Disabled by default.
+         *
+         * @param window       how long a request waits for others to be batched with, 0 disables batching
+         * @param unit         the unit of the window
+         * @param maxBatchSize the largest number of requests merged into one, sent as soon as it is reached.
+         *                     At most {@link MultiGetLoader#MAX_CHUNK_SIZE}.
+         * @see VimeoClient#getRequestBatcher()
+         */
+        public Builder setRequestBatching(long window, @NotNull TimeUnit unit, int maxBatchSize) {
+            if (window < 0) {
+                throw new IllegalArgumentException("window < 0: " + window);
+            }
+            if (maxBatchSize < 1 || maxBatchSize > MultiGetLoader.MAX_CHUNK_SIZE) {
+                throw new IllegalArgumentException("maxBatchSize must be between 1 and " +
+                                                   MultiGetLoader.MAX_CHUNK_SIZE);
+            }
+            this.mRequestBatchingWindow = unit.toMillis(window);
+            this.mMaxRequestBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Enables hedging GET requests made through {@link VimeoClient#getContent}: if a request hasn't been
+         * answered once the given percentile of the recent latencies has elapsed, an identical request is
+         * made and whichever is answered first is kept. This trims the latency added by the occasional slow
+         * connection, at the cost of at most {@link Hedger#MAX_HEDGE_RATIO} more requests. Disabled by
+         * default.
+         *
+         * @param percentile the percentile of the latency after which requests are hedged, between 0 and 1
+         *                   exclusive, for example 0.95. 0 disables hedging.
+         * @see VimeoClient#getHedger()
+         */
+        public Builder setHedgedRequests(double percentile) {
+            if (percentile < 0 || percentile >= 1) {
+                throw new IllegalArgumentException("percentile must be between 0 and 1: " + percentile);
+            }
+            this.mHedgePercentile = percentile;
+            return this;
+        }
+
         public Builder setTimeout(int timeout) {
             this.mTimeout = timeout;
             return this;
         }
 
+        /**
+         * Sets the maximum number of idle connections kept in the connection pool. Ignored if a pool is
+         * provided through {@link #setConnectionPool(ConnectionPool)}.
+         *
+         * @param maxIdleConnections the maximum number of idle connections, must not be negative
+         */
+        public Builder setMaxIdleConnections(int maxIdleConnections) {
+            if (maxIdleConnections < 0) {
+                throw new IllegalArgumentException("maxIdleConnections < 0: " + maxIdleConnections);
+            }
+            this.mMaxIdleConnections = maxIdleConnections;
+            return this;
+        }
+
+        /**
+         * Sets how long an idle connection is kept alive in the connection pool. Ignored if a pool is
+         * provided through {@link #setConnectionPool(ConnectionPool)}.
+         *
+         * @param keepAliveDuration the keep alive duration in seconds, must be positive
+         */
+        public Builder setKeepAliveDuration(long keepAliveDuration) {
+            if (keepAliveDuration <= 0) {
+                throw new IllegalArgumentException("keepAliveDuration <= 0: " + keepAliveDuration);
+            }
+            this.mKeepAliveDuration = keepAliveDuration;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests executed concurrently. Ignored if a dispatcher is provided
+         * through {@link #setDispatcher(Dispatcher)}.
+         *
+         * @param maxRequests the maximum number of concurrent requests, must be positive
+         */
+        public Builder setMaxRequests(int maxRequests) {
+            if (maxRequests < 1) {
+                throw new IllegalArgumentException("maxRequests < 1: " + maxRequests);
+            }
+            this.mMaxRequests = maxRequests;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests executed concurrently against a single host. Since almost every
+         * request targets the same API host, this is usually the limit that is reached first. Ignored if a
+         * dispatcher is provided through {@link #setDispatcher(Dispatcher)}.
+         *
+         * @param maxRequestsPerHost the maximum number of concurrent requests per host, must be positive
+         */
+        public Builder setMaxRequestsPerHost(int maxRequestsPerHost) {
+            if (maxRequestsPerHost < 1) {
+                throw new IllegalArgumentException("maxRequestsPerHost < 1: " + maxRequestsPerHost);
+            }
+            this.mMaxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * Sets a {@link ConnectionPool} to be used instead of one created from this configuration. Pass the
+         * same pool (for example from {@link Configuration#getConnectionPool()}) to several configurations to
+         * have all of their clients share sockets.
+         *
+         * @param connectionPool the pool to use, or null to create one from this configuration
+         */
+        public Builder setConnectionPool(@Nullable ConnectionPool connectionPool) {
+            this.mConnectionPool = connectionPool;
+            return this;
+        }
+
+        /**
+         * Sets a {@link Dispatcher} to be used instead of one created from this configuration. Pass the same
+         * dispatcher (for example from {@link Configuration#getDispatcher()}) to several configurations to have
+         * all of their clients share threads and request limits.
+         *
+         * @param dispatcher the dispatcher to use, or null to create one from this configuration
+         */
+        public Builder setDispatcher(@Nullable Dispatcher dispatcher) {
+            this.mDispatcher = dispatcher;
+            return this;
+        }
+
+        /**
+         * Enables dispatching requests by {@link RequestPriority}, see
+         * {@link VimeoClient#withPriority(RequestPriority)}. Normal and background requests over the limits
+         * wait in line, normal ones first, while critical requests are dispatched right away. Disabled by
+         * default, in which case requests are dispatched in the order they are made.
+         * <p>
+         * All requests to the API go to the same host, so the concurrency limit should be lower than the
+         * per host limit of the dispatcher (see {@link #setMaxRequestsPerHost(int)}) to leave room for
+         * critical requests.
+         *
+         * @param maxConcurrentRequests the number of normal and background requests that can run at once,
+         *                              0 disables priority lanes
+         * @param maxBackgroundRequests the number of background requests that can run at once, at most
+         *                              maxConcurrentRequests
+         */
+        public Builder setPriorityLanes(int maxConcurrentRequests, int maxBackgroundRequests) {
+            if (maxConcurrentRequests < 0) {
+                throw new IllegalArgumentException("maxConcurrentRequests < 0: " + maxConcurrentRequests);
+            }
+            if (maxConcurrentRequests > 0 &&
+                (maxBackgroundRequests < 1 || maxBackgroundRequests > maxConcurrentRequests)) {
+                throw new IllegalArgumentException("maxBackgroundRequests must be between 1 and " +
+                                                   maxConcurrentRequests);
+            }
+            this.mMaxConcurrentRequests = maxConcurrentRequests;
+            this.mMaxBackgroundRequests = maxBackgroundRequests;
+            return this;
+        }
+
+        /**
+         * Sets the executor on which request callbacks run, such as {@link VimeoCallback#success(Object)}.
+         * Callbacks otherwise run on the default executor of the platform, which outside of Android is the
+         * OkHttp dispatcher thread that made the request: a slow callback then holds a thread meant for
+         * network I/O, and delays the requests queued behind it.
+         * <p>
+         * The time each callback takes is measured, see {@link VimeoClient#getCallbackMonitor()}.
+         *
+         * @param callbackExecutor the executor for callbacks, or null to use the default of the platform
+         */
+        public Builder setCallbackExecutor(@Nullable Executor callbackExecutor) {
+            this.mCallbackExecutor = callbackExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the duration above which a callback run on the executor set with
+         * {@link #setCallbackExecutor(Executor)} is logged as slow. Defaults to 100 milliseconds.
+         *
+         * @param threshold the duration above which a callback is slow
+         * @param unit      the unit of the threshold
+         */
+        public Builder setSlowCallbackThreshold(long threshold, @NotNull TimeUnit unit) {
+            if (threshold < 0) {
+                throw new IllegalArgumentException("threshold < 0: " + threshold);
+            }
+            this.mSlowCallbackThreshold = unit.toMillis(threshold);
+            return this;
+        }
+
         public Builder enableCertPinning(boolean enabled) {
             this.mCertPinningEnabled = enabled;
             return this;
         }
 
+        /**
+         * Enables or disables the coalescing of identical GET requests made through
+         * {@link VimeoClient#getContent} while one of them is in flight. When enabled, concurrent requests
+         * for the same URI, query, field filter, account and response type share a single network call, and
+         * their callers receive the same response object, which they must not modify. Disabled by default.
+         *
+         * @param enabled true to coalesce identical in flight requests, false to always make a network call
+         */
+        public Builder enableRequestCoalescing(boolean enabled) {
+            this.mRequestCoalescingEnabled = enabled;
+            return this;
+        }
+
         public Builder setDebugLogger(LogProvider logger) {
             this.mLogProvider = logger;
             return this;
@@ -395,6 +905,21 @@ public class Configuration {
             return this;
         }
 
+        /**
+         * Sets the number of bytes of each request and response body that are logged at the
+         * {@link LogLevel#VERBOSE} level. Longer bodies are logged truncated, the rest of them is streamed
+         * to the caller without being held in memory. By default the bodies are read and logged in full.
+         *
+         * @param bytes the number of bytes logged per body, 0 to not log bodies
+         */
+        public Builder setMaxLoggedBodySize(long bytes) {
+            if (bytes < 0) {
+                throw new IllegalArgumentException("bytes < 0: " + bytes);
+            }
+            this.mMaxLoggedBodySize = bytes;
+            return this;
+        }
+
         public Builder addNetworkInterceptor(Interceptor interceptor) {
             if (interceptor != null) {
                 this.mNetworkInterceptors.add(interceptor);
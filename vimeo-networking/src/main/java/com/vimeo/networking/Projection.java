@@ -0,0 +1,284 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking;
+
+import com.google.gson.annotations.SerializedName;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The fields of a model to request, used to build the field filter of a request instead of a hand written
+ * {@code fields} string. Each field is a property path of the model, such as {@code "pictures.sizes.link"}
+ * for a {@link com.vimeo.networking.model.Video}, and is checked against the {@link SerializedName} of the
+ * model fields when the projection is built, so that a projection can't request a field the model doesn't
+ * read.
+ * <pre>
+ * private static final Projection VIDEO_CELL = Projection.of(Video.class, "uri", "name", "duration",
+ *                                                            "pictures.sizes.link", "user.name");
+ *
+ * client.getContent(uri, cacheControl, GetRequestCaller.VIDEO_LIST, null, null,
+ *                   VIDEO_CELL.getFieldFilter(), callback);
+ * </pre>
+ * For a list, the projection is that of its items. Projections are immutable, and identical projections are
+ * only built and validated once.
+ */
+public final class Projection {
+
+    private static final char PATH_SEPARATOR = '.';
+
+    private static final String FIELD_SEPARATOR = ",";
+
+    /**
+     * The type of each serialized field of the models that were projected, by serialized name
+     */
+    private static final ConcurrentMap<Class<?>, Map<String, Type>> sModelFields = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, Projection> sProjections = new ConcurrentHashMap<>();
+
+    @NotNull
+    private final Class<?> mModelClass;
+
+    @NotNull
+    private final List<String> mPaths;
+
+    @NotNull
+    private final String mFieldFilter;
+
+    private Projection(@NotNull Class<?> modelClass, @NotNull List<String> paths) {
+        mModelClass = modelClass;
+        mPaths = Collections.unmodifiableList(paths);
+        final StringBuilder fieldFilter = new StringBuilder();
+        for (final String path : paths) {
+            if (fieldFilter.length() > 0) {
+                fieldFilter.append(FIELD_SEPARATOR);
+            }
+            fieldFilter.append(path);
+        }
+        mFieldFilter = fieldFilter.toString();
+    }
+
+    /**
+     * Returns the projection of the given fields of a model.
+     *
+     * @param modelClass the class of the model.
+     * @param paths      the property paths of the fields, by serialized name.
+     * @return the projection, which is shared with the identical projections built before.
+     * @throws IllegalArgumentException if a path doesn't match a field of the model.
+     */
+    @NotNull
+    public static Projection of(@NotNull Class<?> modelClass, @NotNull String... paths) {
+        return builder(modelClass).fields(paths).build();
+    }
+
+    @NotNull
+    public static Builder builder(@NotNull Class<?> modelClass) {
+        return new Builder(modelClass);
+    }
+
+    @NotNull
+    public Class<?> getModelClass() {
+        return mModelClass;
+    }
+
+    /**
+     * @return the property paths of the fields, in the order they were declared.
+     */
+    @NotNull
+    public List<String> getPaths() {
+        return mPaths;
+    }
+
+    /**
+     * @return the value of the {@code fields} parameter of a request for the projection.
+     */
+    @NotNull
+    public String getFieldFilter() {
+        return mFieldFilter;
+    }
+
+    @Override
+    public String toString() {
+        return mFieldFilter;
+    }
+
+    /**
+     * Resolves the class of the model the path leads to.
+     *
+     * @throws IllegalArgumentException if the path doesn't match a field of the model.
+     */
+    @NotNull
+    private static Class<?> resolve(@NotNull Class<?> modelClass, @NotNull String path) {
+        Class<?> currentClass = modelClass;
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf(PATH_SEPARATOR, start);
+            if (end == -1) {
+                end = path.length();
+            }
+            final String name = path.substring(start, end);
+            final Type type = getFields(currentClass).get(name);
+            if (type == null) {
+                throw new IllegalArgumentException(currentClass.getSimpleName() + " has no field " + name +
+                                                   ": " + path);
+            }
+            currentClass = getModelClass(type, path);
+            start = end + 1;
+        }
+        return currentClass;
+    }
+
+    /**
+     * @return the class of the model held by a field, or of the elements of a collection.
+     */
+    @NotNull
+    private static Class<?> getModelClass(@NotNull Type type, @NotNull String path) {
+        if (type instanceof Class) {
+            final Class<?> typeClass = (Class<?>) type;
+            return typeClass.isArray() ? getModelClass(typeClass.getComponentType(), path) : typeClass;
+        } else if (type instanceof GenericArrayType) {
+            return getModelClass(((GenericArrayType) type).getGenericComponentType(), path);
+        } else if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterizedType = (ParameterizedType) type;
+            final Class<?> rawClass = (Class<?>) parameterizedType.getRawType();
+            if (Collection.class.isAssignableFrom(rawClass)) {
+                return getModelClass(parameterizedType.getActualTypeArguments()[0], path);
+            }
+            return rawClass;
+        }
+        throw new IllegalArgumentException("Can't resolve the type " + type + " of " + path);
+    }
+
+    /**
+     * @return the type of each serialized field of the model by serialized name, empty if the class isn't
+     * that of a model.
+     */
+    @NotNull
+    private static Map<String, Type> getFields(@NotNull Class<?> modelClass) {
+        Map<String, Type> fields = sModelFields.get(modelClass);
+        if (fields == null) {
+            fields = new HashMap<>();
+            for (Class<?> c = modelClass; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (final Field field : c.getDeclaredFields()) {
+                    final SerializedName serializedName = field.getAnnotation(SerializedName.class);
+                    final int modifiers = field.getModifiers();
+                    if (serializedName != null && !Modifier.isStatic(modifiers) &&
+                        !Modifier.isTransient(modifiers) && !fields.containsKey(serializedName.value())) {
+                        fields.put(serializedName.value(), field.getGenericType());
+                    }
+                }
+            }
+            sModelFields.putIfAbsent(modelClass, fields);
+        }
+        return fields;
+    }
+
+    /**
+     * A builder of a {@link Projection}, which validates each field as it is added.
+     */
+    public static final class Builder {
+
+        @NotNull
+        private final Class<?> mModelClass;
+
+        @NotNull
+        private final Set<String> mPaths = new LinkedHashSet<>();
+
+        private Builder(@NotNull Class<?> modelClass) {
+            mModelClass = modelClass;
+        }
+
+        /**
+         * Adds fields to the projection.
+         *
+         * @param paths the property paths of the fields, by serialized name, such as {@code "user.name"}.
+         * @throws IllegalArgumentException if a path doesn't match a field of the model.
+         */
+        @NotNull
+        public Builder fields(@NotNull String... paths) {
+            for (final String path : paths) {
+                resolve(mModelClass, path);
+                mPaths.add(path);
+            }
+            return this;
+        }
+
+        /**
+         * Adds the fields of another projection for a field holding a model, so that projections of
+         * embedded models can be reused, such as that of the owner of a video.
+         *
+         * @param path       the property path of the field holding the model.
+         * @param projection the projection of the model.
+         * @throws IllegalArgumentException if the path doesn't match a field holding the model of the
+         *                                  projection.
+         */
+        @NotNull
+        public Builder include(@NotNull String path, @NotNull Projection projection) {
+            final Class<?> fieldClass = resolve(mModelClass, path);
+            if (!projection.getModelClass().isAssignableFrom(fieldClass)) {
+                throw new IllegalArgumentException(path + " doesn't hold a " +
+                                                   projection.getModelClass().getSimpleName());
+            }
+            for (final String nestedPath : projection.getPaths()) {
+                mPaths.add(path + PATH_SEPARATOR + nestedPath);
+            }
+            return this;
+        }
+
+        /**
+         * @return the projection, which is shared with the identical projections built before.
+         */
+        @NotNull
+        public Projection build() {
+            if (mPaths.isEmpty()) {
+                throw new IllegalStateException("A projection needs at least one field");
+            }
+            final List<String> paths = new ArrayList<>(mPaths);
+            final String key = mModelClass.getName() + '\n' + paths;
+            final Projection projection = sProjections.get(key);
+            if (projection != null) {
+                return projection;
+            }
+            final Projection newProjection = new Projection(mModelClass, paths);
+            final Projection previousProjection = sProjections.putIfAbsent(key, newProjection);
+            return previousProjection != null ? previousProjection : newProjection;
+        }
+    }
+}
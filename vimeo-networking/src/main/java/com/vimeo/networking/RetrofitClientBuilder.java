@@ -44,6 +44,8 @@ import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
 
 import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 
@@ -63,6 +65,8 @@ public class RetrofitClientBuilder {
     private int mReadTimeout = NO_TIMEOUT;
     private TimeUnit mReadTimeoutTimeUnit;
     private Cache mCache;
+    private ConnectionPool mConnectionPool;
+    private Dispatcher mDispatcher;
     private List<Interceptor> mInterceptorList = new ArrayList<>();
     private List<Interceptor> mNetworkInterceptorList = new ArrayList<>();
     private SSLSocketFactory mSSLSocketFactory;
@@ -84,6 +88,16 @@ public class RetrofitClientBuilder {
         return this;
     }
 
+    public RetrofitClientBuilder setConnectionPool(ConnectionPool connectionPool) {
+        this.mConnectionPool = connectionPool;
+        return this;
+    }
+
+    public RetrofitClientBuilder setDispatcher(Dispatcher dispatcher) {
+        this.mDispatcher = dispatcher;
+        return this;
+    }
+
     public RetrofitClientBuilder addNetworkInterceptor(Interceptor interceptor) {
         mNetworkInterceptorList.add(interceptor);
         return this;
@@ -177,6 +191,12 @@ public class RetrofitClientBuilder {
         if (mCache != null) {
             builder.cache(mCache);
         }
+        if (mConnectionPool != null) {
+            builder.connectionPool(mConnectionPool);
+        }
+        if (mDispatcher != null) {
+            builder.dispatcher(mDispatcher);
+        }
         for (Interceptor interceptor : mNetworkInterceptorList) {
             builder.addNetworkInterceptor(interceptor);
         }
@@ -25,20 +25,28 @@
 package com.vimeo.networking;
 
 import com.google.gson.Gson;
+import com.vimeo.networking.callbacks.MonitoredCallbackExecutor;
 import com.vimeo.networking.interceptors.AcceptHeaderInterceptor;
-import com.vimeo.networking.interceptors.CacheControlInterceptor;
+import com.vimeo.networking.interceptors.CachePolicyInterceptor;
+import com.vimeo.networking.interceptors.CallTaggingFactory;
+import com.vimeo.networking.interceptors.RetryInterceptor;
 import com.vimeo.networking.interceptors.UserAgentInterceptor;
 import com.vimeo.networking.logging.ClientLogger;
 import com.vimeo.networking.logging.LoggingInterceptor;
+import com.vimeo.networking.logging.VimeoLogger;
 import com.vimeo.networking.utils.VimeoNetworkUtil;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import okhttp3.Cache;
 import okhttp3.Headers;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
@@ -73,13 +81,40 @@ class RetrofitSetup {
     @NotNull
     private final String mLibraryUserAgentComponent;
 
+    /**
+     * Logger used by the {@link LoggingInterceptor} and for setup errors.
+     */
+    @NotNull
+    private final VimeoLogger mLogger;
+
+    /**
+     * Interceptors owned by the client, added after the interceptors of the configuration. The configuration
+     * may be shared by several clients, so they are never added to it.
+     */
+    @NotNull
+    private final List<Interceptor> mClientInterceptors = new ArrayList<>();
+
     RetrofitSetup(@NotNull Configuration configuration, @Nullable Cache cache) {
+        this(configuration, cache, ClientLogger.getDefaultLogger());
+    }
+
+    RetrofitSetup(@NotNull Configuration configuration, @Nullable Cache cache, @NotNull VimeoLogger logger) {
         mConfiguration = configuration;
         mCache = cache;
+        mLogger = logger;
         mGson = VimeoNetworkUtil.getGson();
         mLibraryUserAgentComponent = "VimeoNetworking/" + BuildConfig.VERSION + " (Java)";
     }
 
+    /**
+     * Adds an interceptor of the client, which runs after the interceptors of the configuration.
+     */
+    @NotNull
+    RetrofitSetup addClientInterceptor(@NotNull Interceptor interceptor) {
+        mClientInterceptors.add(interceptor);
+        return this;
+    }
+
     /**
      * @return a functional instance of {@link Retrofit} that can be used to make requests to the
      * Vimeo API endpoints, with appropriate interceptors, timeouts, and cache configured.
@@ -87,10 +122,50 @@ class RetrofitSetup {
     @NotNull
     @SuppressWarnings("WeakerAccess")
     public Retrofit createRetrofit() {
-        return new Retrofit.Builder().baseUrl(mConfiguration.getBaseUrl())
-                .client(createOkHttpClient())
-                .addConverterFactory(GsonConverterFactory.create(mGson))
-                .build();
+        final Retrofit.Builder builder = new Retrofit.Builder().baseUrl(mConfiguration.getBaseUrl())
+                .callFactory(new CallTaggingFactory(createOkHttpClient()))
+                .addConverterFactory(GsonConverterFactory.create(mGson));
+        final Executor callbackExecutor = mConfiguration.getCallbackExecutor();
+        if (callbackExecutor != null) {
+            builder.callbackExecutor(new MonitoredCallbackExecutor(callbackExecutor,
+                                                                   mConfiguration.getSlowCallbackThreshold(),
+                                                                   TimeUnit.MILLISECONDS,
+                                                                   mLogger));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Derives an instance of {@link Retrofit} from the one of another client, which logs to the logger of
+     * this setup. The OkHttp client with its connection pool, dispatcher, cache and interceptors is shared
+     * with the other client, except for the {@link LoggingInterceptor}.
+     *
+     * @param source the instance to derive from.
+     * @return an instance that differs from the source only by its logger.
+     */
+    @NotNull
+    Retrofit deriveRetrofit(@NotNull Retrofit source) {
+        final OkHttpClient.Builder clientBuilder =
+                ((CallTaggingFactory) source.callFactory()).getClient().newBuilder();
+        final List<Interceptor> interceptors = clientBuilder.interceptors();
+        for (int i = 0; i < interceptors.size(); i++) {
+            if (interceptors.get(i) instanceof LoggingInterceptor) {
+                interceptors.set(i, createLoggingInterceptor());
+            }
+        }
+        final Retrofit.Builder builder = new Retrofit.Builder().baseUrl(source.baseUrl())
+                .callFactory(new CallTaggingFactory(clientBuilder.build()))
+                .addConverterFactory(GsonConverterFactory.create(mGson));
+        if (source.callbackExecutor() != null) {
+            builder.callbackExecutor(source.callbackExecutor());
+        }
+        return builder.build();
+    }
+
+    @NotNull
+    private LoggingInterceptor createLoggingInterceptor() {
+        final long maxBodySize = mConfiguration.getMaxLoggedBodySize();
+        return maxBodySize < 0 ? new LoggingInterceptor(mLogger) : new LoggingInterceptor(mLogger, maxBodySize);
     }
 
     /**
@@ -102,14 +177,24 @@ class RetrofitSetup {
         if (mCache != null) {
             retrofitClientBuilder.setCache(mCache);
         }
-        retrofitClientBuilder.addNetworkInterceptor(new CacheControlInterceptor())
+        final CachePolicyInterceptor cachePolicyInterceptor =
+                new CachePolicyInterceptor(mConfiguration.getCachePolicyRegistry());
+        // Retries go first so that every attempt goes through the rest of the chain
+        final RetryInterceptor retryInterceptor = mConfiguration.getRetryInterceptor();
+        if (retryInterceptor != null) {
+            retrofitClientBuilder.addInterceptor(retryInterceptor);
+        }
+        retrofitClientBuilder.addNetworkInterceptor(cachePolicyInterceptor)
                 .setReadTimeout(mConfiguration.mTimeout, TimeUnit.SECONDS)
                 .setConnectionTimeout(mConfiguration.mTimeout, TimeUnit.SECONDS)
-                .addInterceptor(new LoggingInterceptor())
+                .setConnectionPool(mConfiguration.getConnectionPool())
+                .setDispatcher(mConfiguration.getDispatcher())
+                .addInterceptor(createLoggingInterceptor())
                 .addInterceptor(new UserAgentInterceptor(createUserAgent()))
                 .addInterceptor(new AcceptHeaderInterceptor())
                 .addNetworkInterceptors(mConfiguration.mNetworkInterceptors)
-                .addInterceptors(mConfiguration.mInterceptors);
+                .addInterceptors(mConfiguration.mInterceptors)
+                .addInterceptors(mClientInterceptors);
 
         setupCertPinning(retrofitClientBuilder);
         return retrofitClientBuilder.build();
@@ -123,7 +208,7 @@ class RetrofitSetup {
             try {
                 retrofitClientBuilder.pinCertificates();
             } catch (final Exception e) {
-                ClientLogger.e("Exception when pinning certificate: " + e.getMessage(), e);
+                mLogger.e("Exception when pinning certificate: " + e.getMessage(), e);
             }
         }
     }
@@ -213,6 +213,30 @@ public final class Search {
                                               @Nullable List<Facet> facets,
                                               @Nullable String containerFilter,
                                               @NotNull VimeoCallback<SearchResponse> callback) {
+        return search(VimeoClient.getInstance(),
+                      query,
+                      type,
+                      fieldFilter,
+                      refinementMap,
+                      facets,
+                      containerFilter,
+                      callback);
+    }
+
+    /**
+     * Same as {@link #search(String, FilterType, String, Map, List, String, VimeoCallback)}, but the request
+     * is made by the provided client instead of the shared {@link VimeoClient} instance.
+     *
+     * @param client the client making the request.
+     */
+    public static Call<SearchResponse> search(@NotNull VimeoClient client,
+                                              @NotNull String query,
+                                              @NotNull FilterType type,
+                                              @Nullable String fieldFilter,
+                                              @Nullable Map<String, String> refinementMap,
+                                              @Nullable List<Facet> facets,
+                                              @Nullable String containerFilter,
+                                              @NotNull VimeoCallback<SearchResponse> callback) {
         final Map<String, String> searchRefinementMap;
         if (refinementMap != null) {
             searchRefinementMap = new HashMap<>(refinementMap);
@@ -235,7 +259,7 @@ public final class Search {
 
         final Map<String, String> queryMap = VimeoClient.createQueryMap(query, searchRefinementMap, fieldFilter);
         // VimeoClient is the end-all interactor with the retrofit service
-        return VimeoClient.getInstance().search(queryMap, callback);
+        return client.search(queryMap, callback);
     }
 
     private static final String PARAM_VIDEO_SUGGESTION = "video_count";
@@ -262,6 +286,37 @@ public final class Search {
                                                    int videoSuggestionCount,
                                                    int tvodSuggestionCount,
                                                    @NotNull VimeoCallback<SuggestionResponse> callback) {
+        final Map<String, String> queryMap =
+                createSuggestionQueryMap(query, videoSuggestionCount, tvodSuggestionCount, callback);
+        return queryMap != null ? VimeoClient.getInstance().suggest(queryMap, callback) : null;
+    }
+
+    /**
+     * Same as {@link #suggest(String, int, int, VimeoCallback)}, but the request is made by the provided
+     * client instead of the shared {@link VimeoClient} instance.
+     *
+     * @param client the client making the request.
+     */
+    @Nullable
+    public static Call<SuggestionResponse> suggest(@NotNull VimeoClient client,
+                                                   @NotNull String query,
+                                                   int videoSuggestionCount,
+                                                   int tvodSuggestionCount,
+                                                   @NotNull VimeoCallback<SuggestionResponse> callback) {
+        final Map<String, String> queryMap =
+                createSuggestionQueryMap(query, videoSuggestionCount, tvodSuggestionCount, callback);
+        return queryMap != null ? client.suggest(queryMap, callback) : null;
+    }
+
+    /**
+     * @return the query parameters of a suggestion request, or null if the query is empty, in which case the
+     * callback was notified of the failure.
+     */
+    @Nullable
+    private static Map<String, String> createSuggestionQueryMap(@NotNull String query,
+                                                                int videoSuggestionCount,
+                                                                int tvodSuggestionCount,
+                                                                @NotNull VimeoCallback<SuggestionResponse> callback) {
 
         if (query.isEmpty()) {
             callback.failure(new VimeoError("Query cannot be empty!"));
@@ -279,7 +334,7 @@ public final class Search {
             queryMap.put(PARAM_TVOD_SUGGESTION, String.valueOf(tvodSuggestionCount));
         }
 
-        return VimeoClient.getInstance().suggest(queryMap, callback);
+        return queryMap;
     }
 
     public static class QueryParameterProvider {
@@ -55,6 +55,9 @@ public final class Vimeo {
     public static final String ENDPOINT_TERMS_OF_SERVICE = "documents/termsofservice";
     public static final String ENDPOINT_PRIVACY_POLICY = "documents/privacy";
     public static final String ENDPOINT_PAYMENT_ADDENDUM = "documents/paymentaddendum";
+    public static final String ENDPOINT_VIDEOS = "/videos";
+    public static final String ENDPOINT_USERS = "/users";
+    public static final String ENDPOINT_CHANNELS = "/channels";
 
     // Parameters
     public static final String PARAMETER_REDIRECT_URI = "redirect_uri";
@@ -85,6 +88,15 @@ public final class Vimeo {
     public static final String HEADER_CACHE_CONTROL = "Cache-Control";
     public static final String HEADER_USER_AGENT = "User-Agent";
     public static final String HEADER_ACCEPT = "Accept";
+    public static final String HEADER_ETAG = "ETag";
+    public static final String HEADER_LAST_MODIFIED = "Last-Modified";
+    public static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    public static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+    public static final String HEADER_RETRY_AFTER = "Retry-After";
+    public static final String HEADER_AUTHORIZATION = "Authorization";
+    public static final String HEADER_RATE_LIMIT_LIMIT = "X-RateLimit-Limit";
+    public static final String HEADER_RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+    public static final String HEADER_RATE_LIMIT_RESET = "X-RateLimit-Reset";
 
     // Header Values
     public static final String HEADER_CACHE_PUBLIC = "public";
@@ -111,6 +123,7 @@ public final class Vimeo {
     public static final String PARAMETER_GET_SORT = "sort";
     public static final String PARAMETER_GET_DIRECTION = "direction";
     public static final String PARAMETER_GET_FIELD_FILTER = "fields";
+    public static final String PARAMETER_GET_URIS = "uris";
     public static final String PARAMETER_GET_CONTAINER_FIELD_FILTER = "container_fields";
     public static final String PARAMETER_GET_LENGTH_MIN_DURATION = "min_duration";
     public static final String PARAMETER_GET_LENGTH_MAX_DURATION = "max_duration";
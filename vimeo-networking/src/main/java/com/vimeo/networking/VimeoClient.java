@@ -23,11 +23,29 @@
 package com.vimeo.networking;
 
 import com.vimeo.networking.Search.FilterType;
+import com.vimeo.networking.auth.PinCodePoller;
+import com.vimeo.networking.batch.MultiGetLoader;
+import com.vimeo.networking.batch.MultiGetLoader.ChunkLoader;
+import com.vimeo.networking.batch.MultiGetLoader.UriExtractor;
+import com.vimeo.networking.batch.MultiGetResult;
+import com.vimeo.networking.batch.RequestBatcher;
+import com.vimeo.networking.cache.CachePolicy;
+import com.vimeo.networking.cache.CacheFreshness;
+import com.vimeo.networking.cache.DecodedObjectCache;
+import com.vimeo.networking.cache.DecodedObjectCache.CachedResponse;
 import com.vimeo.networking.callbacks.AuthCallback;
 import com.vimeo.networking.callbacks.IgnoreResponseVimeoCallback;
+import com.vimeo.networking.callbacks.MonitoredCallbackExecutor;
+import com.vimeo.networking.callbacks.StreamingListCallback;
 import com.vimeo.networking.callbacks.VimeoCallback;
 import com.vimeo.networking.callers.GetRequestCaller;
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.interceptors.RateLimitBucket;
+import com.vimeo.networking.interceptors.RateLimitInterceptor;
 import com.vimeo.networking.logging.ClientLogger;
+import com.vimeo.networking.logging.VimeoLogger;
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.model.Channel;
 import com.vimeo.networking.model.Comment;
 import com.vimeo.networking.model.Document;
 import com.vimeo.networking.model.PictureCollection;
@@ -45,6 +63,17 @@ import com.vimeo.networking.model.iap.Products;
 import com.vimeo.networking.model.notifications.SubscriptionCollection;
 import com.vimeo.networking.model.search.SearchResponse;
 import com.vimeo.networking.model.search.SuggestionResponse;
+import com.vimeo.networking.requests.CancellationScope;
+import com.vimeo.networking.requests.CompletedCall;
+import com.vimeo.networking.requests.DeadlineCall;
+import com.vimeo.networking.requests.GetRequestKey;
+import com.vimeo.networking.requests.Hedger;
+import com.vimeo.networking.requests.InFlightRequestRegistry;
+import com.vimeo.networking.requests.PriorityScheduler;
+import com.vimeo.networking.requests.RateLimitPacer;
+import com.vimeo.networking.requests.RequestPriority;
+import com.vimeo.networking.streaming.StreamingListCall;
+import com.vimeo.networking.streaming.StreamingListDecoder;
 import com.vimeo.networking.utils.BaseUrlInterceptor;
 import com.vimeo.networking.utils.VimeoNetworkUtil;
 
@@ -55,25 +84,34 @@ import java.io.IOException;
 import java.lang.ref.WeakReference;
 import java.net.HttpURLConnection;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import okhttp3.Cache;
 import okhttp3.CacheControl;
 import okhttp3.Credentials;
 import okhttp3.HttpUrl;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
+import retrofit2.Callback;
 import retrofit2.Response;
 import retrofit2.Retrofit;
 
 /**
  * Client class used for making networking calls to Vimeo API.
  * <p>
+ * Most applications use the process wide instance set up with {@link #initialize(Configuration)} and
+ * retrieved with {@link #getInstance()}. Applications that act on behalf of several accounts at once can
+ * instead create independent clients with {@link #create(Configuration)}, and derive further clients that
+ * reuse the same transport with {@link #newClient(Configuration)}. Each client has its own account,
+ * configuration and logger.
+ * <p>
  * Created by alfredhanssen on 4/12/15.
  *
  * @see <a href="https://developer.vimeo.com/api">The Vimeo API Docs</a>
@@ -81,12 +119,47 @@ import retrofit2.Retrofit;
 @SuppressWarnings("unused")
 public class VimeoClient {
 
-    private static volatile boolean sContinuePinCodeAuthorizationRefreshCycle;
+    private static final CacheControl NO_STORE_CACHE_CONTROL = new CacheControl.Builder().noCache().noStore().build();
+
+    private static final String URI_FIELD = "uri";
+
+    private static final UriExtractor<Video> VIDEO_URI_EXTRACTOR = new UriExtractor<Video>() {
+        @Override
+        public String getUri(@NotNull Video video) {
+            return video.getUri();
+        }
+    };
+
+    private static final UriExtractor<User> USER_URI_EXTRACTOR = new UriExtractor<User>() {
+        @Override
+        public String getUri(@NotNull User user) {
+            return user.getUri();
+        }
+    };
+
+    private static final UriExtractor<Channel> CHANNEL_URI_EXTRACTOR = new UriExtractor<Channel>() {
+        @Override
+        public String getUri(@NotNull Channel channel) {
+            return channel.getUri();
+        }
+    };
 
     @NotNull
     private Configuration mConfiguration;
     @NotNull
     private VimeoService mVimeoService;
+    /**
+     * The service of {@link #mVimeoService} without the cancellation scope, for calls that only describe a
+     * request served from memory and are never executed
+     */
+    @NotNull
+    private VimeoService mUnscopedVimeoService;
+    /**
+     * The service created by Retrofit, which {@link #mVimeoService} decorates with the priority and
+     * cancellation scope of this client
+     */
+    @NotNull
+    private final VimeoService mBaseVimeoService;
     @Nullable
     private Cache mCache;
     @Nullable
@@ -99,10 +172,31 @@ public class VimeoClient {
     private String mUserAgent;
 
     @Nullable
-    private Timer mPinCodeAuthorizationTimer;
+    private PinCodePoller.Session mPinCodeSession;
 
     @NotNull
-    private final BaseUrlInterceptor mBaseUrlInterceptor = new BaseUrlInterceptor();
+    private final BaseUrlInterceptor mBaseUrlInterceptor;
+
+    @NotNull
+    private final RateLimitInterceptor mRateLimitInterceptor;
+
+    @Nullable
+    private final RateLimitPacer mRateLimitPacer;
+
+    @Nullable
+    private final RequestBatcher mRequestBatcher;
+
+    @NotNull
+    private final VimeoLogger mLogger;
+
+    @NotNull
+    private final InFlightRequestRegistry mInFlightRequestRegistry;
+
+    @Nullable
+    private final DecodedObjectCache mDecodedObjectCache;
+
+    @NotNull
+    private final Executor mCallbackExecutor;
 
     /**
      * Currently authenticated account
@@ -110,13 +204,44 @@ public class VimeoClient {
     @Nullable
     private VimeoAccount mVimeoAccount;
 
+    /**
+     * The client holding the account, this client unless it was created with
+     * {@link #withCancellationScope(CancellationScope)}, {@link #withPriority(RequestPriority)} or
+     * {@link #withDeadline(long, TimeUnit)}
+     */
+    @NotNull
+    private final VimeoClient mAccountOwner;
+
+    @Nullable
+    private final CancellationScope mCancellationScope;
+
+    @Nullable
+    private final PriorityScheduler mPriorityScheduler;
+
+    @NotNull
+    private final RequestPriority mRequestPriority;
+
+    @Nullable
+    private final Hedger mHedger;
+
+    /**
+     * The time GET requests made with {@link #getContent} may take in milliseconds, 0 if they aren't bounded
+     */
+    private final long mDeadlineMillis;
+
     public interface Caller<DataType_T> {
 
+        /**
+         * @param ifNoneMatch     the value of the {@code If-None-Match} header, null to send none.
+         * @param ifModifiedSince the value of the {@code If-Modified-Since} header, null to send none.
+         */
         @NotNull
         Call<DataType_T> call(@NotNull String authHeader,
                               @NotNull String uri,
                               @NotNull Map<String, String> queryMap,
                               @NotNull String cacheHeader,
+                              @Nullable String ifNoneMatch,
+                              @Nullable String ifModifiedSince,
                               @NotNull VimeoService vimeoService);
     }
 
@@ -137,24 +262,293 @@ public class VimeoClient {
     }
 
     public static void initialize(@NotNull Configuration configuration) {
-        sSharedInstance = new VimeoClient(configuration);
+        ClientLogger.setLogProvider(configuration.mLogProvider);
+        ClientLogger.setLogLevel(configuration.mLogLevel);
+        sSharedInstance = new VimeoClient(configuration, null, ClientLogger.getDefaultLogger());
     }
 
-    private VimeoClient(@NotNull Configuration configuration) {
+    /**
+     * Creates a new client that is independent of the shared instance returned by {@link #getInstance()}.
+     * The client gets its own transport (OkHttp client, cache and Retrofit service), account and logger,
+     * and doesn't modify any process wide state.
+     *
+     * @param configuration the configuration for the new client.
+     * @return a new client.
+     * @see #newClient(Configuration)
+     */
+    @NotNull
+    public static VimeoClient create(@NotNull Configuration configuration) {
+        return new VimeoClient(configuration, null, createLogger(configuration));
+    }
+
+    /**
+     * Creates a new client with its own configuration, account and logger that reuses the transport of
+     * this client: the connection pool, dispatcher, cache, interceptors and decoders. Since the transport
+     * is reused, the timeouts, interceptors, cache, base URL and certificate pinning settings of the
+     * provided configuration are ignored in favor of this client's. The new client logs its requests to its
+     * own logger, except for requests that are coalesced or batched with the requests of another client,
+     * which are logged by the client that made them first.
+     * <p>
+     * This is the cheapest way to serve many accounts from one process, as each new client only costs the
+     * account and configuration it holds, and a lightweight OkHttp client and Retrofit service.
+     *
+     * @param configuration the configuration for the new client, its account store and credentials are
+     *                      used to load and persist the account of the new client.
+     * @return a new client sharing the transport of this client.
+     */
+    @NotNull
+    public VimeoClient newClient(@NotNull Configuration configuration) {
+        return new VimeoClient(configuration, this, createLogger(configuration));
+    }
+
+    @NotNull
+    private static VimeoLogger createLogger(@NotNull Configuration configuration) {
+        return new VimeoLogger(configuration.mLogProvider, configuration.mLogLevel);
+    }
+
+    private VimeoClient(@NotNull Configuration configuration,
+                        @Nullable VimeoClient transportSource,
+                        @NotNull VimeoLogger logger) {
         mConfiguration = configuration;
-        mConfiguration.mInterceptors.add(mBaseUrlInterceptor);
-        mCache = mConfiguration.getCache();
-        final RetrofitSetup retrofitSetup = new RetrofitSetup(mConfiguration, mCache);
-        mRetrofit = retrofitSetup.createRetrofit();
-        mUserAgent = retrofitSetup.createUserAgent();
-        mVimeoService = mRetrofit.create(VimeoService.class);
-        ClientLogger.setLogProvider(mConfiguration.mLogProvider);
-        ClientLogger.setLogLevel(mConfiguration.mLogLevel);
+        mLogger = logger;
+        mAccountOwner = this;
+        mCancellationScope = null;
+        mRequestPriority = RequestPriority.NORMAL;
+        mDeadlineMillis = 0;
+        if (transportSource != null) {
+            mBaseUrlInterceptor = transportSource.mBaseUrlInterceptor;
+            mRateLimitInterceptor = transportSource.mRateLimitInterceptor;
+            mRateLimitPacer = transportSource.mRateLimitPacer;
+            mCache = transportSource.mCache;
+            // The transport is shared, but the HTTP logs go to the logger of this client
+            mRetrofit = new RetrofitSetup(mConfiguration, mCache, mLogger).deriveRetrofit(transportSource.mRetrofit);
+            mUserAgent = transportSource.mUserAgent;
+            mBaseVimeoService = mRetrofit.create(VimeoService.class);
+            mCallbackExecutor = transportSource.mCallbackExecutor;
+            mInFlightRequestRegistry = transportSource.mInFlightRequestRegistry;
+            mDecodedObjectCache = transportSource.mDecodedObjectCache;
+            mRequestBatcher = transportSource.mRequestBatcher;
+            mPriorityScheduler = transportSource.mPriorityScheduler;
+            mHedger = transportSource.mHedger;
+        } else {
+            mBaseUrlInterceptor = new BaseUrlInterceptor();
+            mRateLimitInterceptor = new RateLimitInterceptor(mConfiguration.getRateLimitMaxWait(),
+                                                             TimeUnit.MILLISECONDS);
+            mCache = mConfiguration.getCache();
+            final RetrofitSetup retrofitSetup = new RetrofitSetup(mConfiguration, mCache, mLogger)
+                    .addClientInterceptor(mRateLimitInterceptor)
+                    .addClientInterceptor(mBaseUrlInterceptor);
+            mRetrofit = retrofitSetup.createRetrofit();
+            mUserAgent = retrofitSetup.createUserAgent();
+            mBaseVimeoService = mRetrofit.create(VimeoService.class);
+            final Executor callbackExecutor = mRetrofit.callbackExecutor();
+            mCallbackExecutor = callbackExecutor != null
+                                ? callbackExecutor
+                                : mConfiguration.getDispatcher().executorService();
+            mInFlightRequestRegistry = new InFlightRequestRegistry(mCallbackExecutor);
+            mRateLimitPacer = mConfiguration.getRateLimitMaxWait() > 0
+                              ? new RateLimitPacer(mRateLimitInterceptor, mCallbackExecutor)
+                              : null;
+            mDecodedObjectCache = mConfiguration.getDecodedObjectCache();
+            mRequestBatcher = mConfiguration.getRequestBatchingWindow() > 0
+                              ? new RequestBatcher(mConfiguration.getRequestBatchingWindow(),
+                                                   TimeUnit.MILLISECONDS,
+                                                   mConfiguration.getMaxRequestBatchSize())
+                              : null;
+            mPriorityScheduler = mConfiguration.getMaxConcurrentRequests() > 0
+                                 ? new PriorityScheduler(mConfiguration.getMaxConcurrentRequests(),
+                                                         mConfiguration.getMaxBackgroundRequests(),
+                                                         mCallbackExecutor)
+                                 : null;
+            mHedger = mConfiguration.getHedgePercentile() > 0
+                      ? new Hedger(mConfiguration.getHedgePercentile())
+                      : null;
+        }
+        mUnscopedVimeoService = createUnscopedService();
+        mVimeoService = createService();
 
         final VimeoAccount vimeoAccount = mConfiguration.loadAccount();
         setVimeoAccount(vimeoAccount);
     }
 
+    private VimeoClient(@NotNull VimeoClient client,
+                        @Nullable CancellationScope scope,
+                        @NotNull RequestPriority priority,
+                        long deadlineMillis) {
+        mConfiguration = client.mConfiguration;
+        mLogger = client.mLogger;
+        mAccountOwner = client.mAccountOwner;
+        mCancellationScope = scope;
+        mRequestPriority = priority;
+        mDeadlineMillis = deadlineMillis;
+        mBaseUrlInterceptor = client.mBaseUrlInterceptor;
+        mRateLimitInterceptor = client.mRateLimitInterceptor;
+        mRateLimitPacer = client.mRateLimitPacer;
+        mCache = client.mCache;
+        mRetrofit = client.mRetrofit;
+        mUserAgent = client.mUserAgent;
+        mBaseVimeoService = client.mBaseVimeoService;
+        mCallbackExecutor = client.mCallbackExecutor;
+        mInFlightRequestRegistry = client.mInFlightRequestRegistry;
+        mDecodedObjectCache = client.mDecodedObjectCache;
+        mRequestBatcher = client.mRequestBatcher;
+        mPriorityScheduler = client.mPriorityScheduler;
+        mHedger = client.mHedger;
+        mUnscopedVimeoService = createUnscopedService();
+        mVimeoService = createService();
+    }
+
+    @NotNull
+    private VimeoService createUnscopedService() {
+        VimeoService service = mBaseVimeoService;
+        if (mPriorityScheduler != null) {
+            service = mPriorityScheduler.wrap(VimeoService.class, service, mRequestPriority);
+        }
+        if (mRateLimitPacer != null) {
+            // Paced calls wait for their slot before taking a place in the priority scheduler
+            service = mRateLimitPacer.wrap(VimeoService.class, service);
+        }
+        return service;
+    }
+
+    @NotNull
+    private VimeoService createService() {
+        if (mCancellationScope != null) {
+            return mCancellationScope.wrap(VimeoService.class, mUnscopedVimeoService);
+        }
+        return mUnscopedVimeoService;
+    }
+
+    /**
+     * Delivers a response found in memory. The call handed out is part of the cancellation scope of this
+     * client, so that cancelling the scope cancels the delivery.
+     *
+     * @param originalCall the call that would have been made for the response, which is never executed
+     * @param response     the response found in memory
+     * @param callback     the callback for the response
+     * @return the call delivering the response
+     */
+    @NotNull
+    private <DataType_T> Call<DataType_T> deliverFromMemory(@NotNull Call<DataType_T> originalCall,
+                                                            @NotNull retrofit2.Response<DataType_T> response,
+                                                            @NotNull Callback<DataType_T> callback) {
+        Call<DataType_T> call = CompletedCall.create(originalCall, response, mCallbackExecutor);
+        if (mCancellationScope != null) {
+            call = mCancellationScope.track(call);
+        }
+        call.enqueue(callback);
+        return call;
+    }
+
+    /**
+     * Returns a client whose requests are dispatched with the given priority, for example
+     * {@code client.withPriority(RequestPriority.CRITICAL).getContent(...)} for the video about to be played,
+     * or {@link RequestPriority#BACKGROUND} for prefetching. The returned client shares the transport,
+     * configuration, account and cancellation scope of this client, and is cheap to create.
+     * <p>
+     * Priorities only change the order of dispatch when priority lanes are enabled, otherwise requests are
+     * dispatched in the order they were made. Critical requests are never coalesced or batched with other
+     * requests, so that they don't wait on requests of a lower priority.
+     *
+     * @param priority the priority of the requests.
+     * @return a client dispatching its requests with the priority.
+     * @see Configuration.Builder#setPriorityLanes(int, int)
+     */
+    @NotNull
+    public VimeoClient withPriority(@NotNull RequestPriority priority) {
+        return new VimeoClient(this, mCancellationScope, priority, mDeadlineMillis);
+    }
+
+    @NotNull
+    public RequestPriority getRequestPriority() {
+        return mRequestPriority;
+    }
+
+    /**
+     * @return the scheduler dispatching requests by priority, which exposes how many requests of each
+     * priority are waiting, or null if priority lanes are disabled. It is shared by all clients created with
+     * {@link #newClient(Configuration)}.
+     * @see Configuration.Builder#setPriorityLanes(int, int)
+     */
+    @Nullable
+    public PriorityScheduler getPriorityScheduler() {
+        return mPriorityScheduler;
+    }
+
+    /**
+     * Returns a client whose GET requests made with {@link #getContent} and {@link #getContentSync} must
+     * complete within the given time, including the time spent waiting to be dispatched, retried or revalidated.
+     * Requests that take longer are cancelled and fail with an {@link java.io.InterruptedIOException}, while
+     * the timeouts of the configuration only bound single network operations. The returned client shares the
+     * transport, configuration, account, cancellation scope and request priority of this client, and is cheap
+     * to create.
+     *
+     * @param timeout the time a request may take, 0 to not bound it.
+     * @param unit    the unit of the timeout.
+     * @return a client bounding the time of its requests.
+     */
+    @NotNull
+    public VimeoClient withDeadline(long timeout, @NotNull TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout < 0: " + timeout);
+        }
+        return new VimeoClient(this, mCancellationScope, mRequestPriority, unit.toMillis(timeout));
+    }
+
+    /**
+     * @return the time GET requests may take in milliseconds, 0 if they aren't bounded.
+     * @see #withDeadline(long, TimeUnit)
+     */
+    public long getDeadlineMillis() {
+        return mDeadlineMillis;
+    }
+
+    /**
+     * @return the hedger of GET requests, which exposes how many requests were hedged, or null if hedging is
+     * disabled. It is shared by all clients created with {@link #newClient(Configuration)}.
+     * @see Configuration.Builder#setHedgedRequests(double)
+     */
+    @Nullable
+    public Hedger getHedger() {
+        return mHedger;
+    }
+
+    /**
+     * Creates a scope to group calls that should be cancelled together, such as the requests made on
+     * behalf of a screen. Calls in flight are cancelled on the executor of the OkHttp dispatcher.
+     *
+     * @return a new, empty scope.
+     * @see #withCancellationScope(CancellationScope)
+     */
+    @NotNull
+    public CancellationScope newCancellationScope() {
+        return new CancellationScope(mConfiguration.getDispatcher().executorService());
+    }
+
+    /**
+     * Returns a client whose calls are all part of the given scope, so that closing the scope cancels them.
+     * The returned client shares the transport, configuration, account and request priority of this client,
+     * and is cheap to create.
+     * <p>
+     * Requests made through the returned client are never coalesced or batched with requests of other
+     * clients, so that cancelling them doesn't affect requests made outside of the scope.
+     *
+     * @param scope the scope of the calls.
+     * @return a client tagging its calls with the scope.
+     */
+    @NotNull
+    public VimeoClient withCancellationScope(@NotNull CancellationScope scope) {
+        return new VimeoClient(this, scope, mRequestPriority, mDeadlineMillis);
+    }
+
+    /**
+     * @return the scope of the calls made by this client, or null if they aren't part of any.
+     */
+    @Nullable
+    public CancellationScope getCancellationScope() {
+        return mCancellationScope;
+    }
+
     /**
      * Sets a new base URL to be used for requests by the
      * VimeoClient for specific paths. Only the included
@@ -200,14 +594,17 @@ public class VimeoClient {
     }
 
     public void clearRequestCache() {
+        if (mDecodedObjectCache != null) {
+            mDecodedObjectCache.evictAll();
+        }
         try {
             if (mCache != null) {
                 mCache.evictAll();
             } else {
-                ClientLogger.e("Attempt to clear null cache");
+                mLogger.e("Attempt to clear null cache");
             }
         } catch (final IOException e) {
-            ClientLogger.e("Cache clearing error: " + e.getMessage(), e);
+            mLogger.e("Cache clearing error: " + e.getMessage(), e);
         }
     }
 
@@ -216,12 +613,76 @@ public class VimeoClient {
         return mRetrofit;
     }
 
+    /**
+     * @return the registry tracking the GET requests in flight, which exposes how many of them were
+     * coalesced. It is shared by all clients created with {@link #newClient(Configuration)}.
+     * @see Configuration.Builder#enableRequestCoalescing(boolean)
+     */
+    @NotNull
+    public InFlightRequestRegistry getInFlightRequestRegistry() {
+        return mInFlightRequestRegistry;
+    }
+
+    /**
+     * @return the rate limit of the current account as last reported by the API, or null if no request was
+     * made with it yet. Schedulers can use its remaining capacity to decide when to send requests.
+     * @see Configuration.Builder#setRateLimitPacing(long, TimeUnit)
+     */
+    @Nullable
+    public RateLimitBucket getRateLimitBucket() {
+        return mRateLimitInterceptor.getBucket(getAuthHeader());
+    }
+
+    /**
+     * @return the executor running request callbacks, which exposes how long they take, or null if no
+     * callback executor was configured. It is shared by all clients created with
+     * {@link #newClient(Configuration)}.
+     * @see Configuration.Builder#setCallbackExecutor(Executor)
+     */
+    @Nullable
+    public MonitoredCallbackExecutor getCallbackMonitor() {
+        final Executor callbackExecutor = mRetrofit.callbackExecutor();
+        return callbackExecutor instanceof MonitoredCallbackExecutor
+               ? (MonitoredCallbackExecutor) callbackExecutor
+               : null;
+    }
+
+    /**
+     * @return the batcher merging requests for single resources, which exposes how many requests were
+     * batched, or null if batching is disabled. It is shared by all clients created with
+     * {@link #newClient(Configuration)}.
+     * @see Configuration.Builder#setRequestBatching(long, TimeUnit, int)
+     */
+    @Nullable
+    public RequestBatcher getRequestBatcher() {
+        return mRequestBatcher;
+    }
+
+    /**
+     * @return the in memory cache of decoded responses, or null if it is disabled. It is shared by all
+     * clients created with {@link #newClient(Configuration)}.
+     * @see Configuration.Builder#setMemoryCacheSize(long)
+     */
+    @Nullable
+    public DecodedObjectCache getDecodedObjectCache() {
+        return mDecodedObjectCache;
+    }
+
+    /**
+     * @return the logger used by this client.
+     */
+    @NotNull
+    public VimeoLogger getLogger() {
+        return mLogger;
+    }
+
     public VimeoAccount getVimeoAccount() {
-        if (mVimeoAccount == null) {
+        final VimeoAccount vimeoAccount = mAccountOwner.mVimeoAccount;
+        if (vimeoAccount == null) {
             throw new AssertionError("Account should never be null");
         }
 
-        return mVimeoAccount;
+        return vimeoAccount;
     }
 
     public void setVimeoAccount(@Nullable VimeoAccount vimeoAccount) {
@@ -235,7 +696,7 @@ public class VimeoClient {
             }
         }
 
-        mVimeoAccount = vimeoAccount;
+        mAccountOwner.mVimeoAccount = vimeoAccount;
     }
 
     /**
@@ -378,7 +839,7 @@ public class VimeoClient {
                 saveAccount(vimeoAccount, null);
             }
         } catch (final IOException e) {
-            ClientLogger.e("Exception during authorizeWithClientCredentialsGrantSync: " + e.getMessage(), e);
+            mLogger.e("Exception during authorizeWithClientCredentialsGrantSync: " + e.getMessage(), e);
         }
 
         return vimeoAccount;
@@ -578,7 +1039,7 @@ public class VimeoClient {
                 vimeoAccount = response.body();
             }
         } catch (final IOException e) {
-            ClientLogger.e("Exception during logIn: " + e.getMessage(), e);
+            mLogger.e("Exception during logIn: " + e.getMessage(), e);
         }
 
         saveAccount(vimeoAccount, email);
@@ -642,8 +1103,9 @@ public class VimeoClient {
     public Call<Object> logOut(@Nullable final VimeoCallback<Object> callback) {
         // If you've provided an access token to the configuration builder, we're assuming that you wouldn't
         // want to be able to log out of it, because this would invalidate the constant you've provided us.
-        if (mConfiguration.mAccessToken != null && mVimeoAccount != null &&
-            mConfiguration.mAccessToken.equals(mVimeoAccount.getAccessToken())) {
+        final VimeoAccount vimeoAccount = mAccountOwner.mVimeoAccount;
+        if (mConfiguration.mAccessToken != null && vimeoAccount != null &&
+            mConfiguration.mAccessToken.equals(vimeoAccount.getAccessToken())) {
             if (callback != null) {
                 callback.failure(new VimeoError(
                         "Don't log out of the account provided through the configuration builder. Need to ensure " +
@@ -669,7 +1131,7 @@ public class VimeoClient {
         });
 
         // Remove account immediately, but only after the auth header has been set (working properly?) [AH] 5/4/15
-        mConfiguration.deleteAccount(mVimeoAccount);
+        mConfiguration.deleteAccount(vimeoAccount);
         setVimeoAccount(null);
         return call;
     }
@@ -732,34 +1194,29 @@ public class VimeoClient {
     private static class PinCodeAccountCallback extends AccountCallback {
 
         @NotNull
-        private final Timer mTimer;
+        private final PinCodePoller.Session mSession;
 
-        PinCodeAccountCallback(@NotNull VimeoClient client, @NotNull AuthCallback callback, @NotNull Timer timer) {
+        PinCodeAccountCallback(@NotNull VimeoClient client,
+                               @NotNull AuthCallback callback,
+                               @NotNull PinCodePoller.Session session) {
             super(client, callback);
-            mTimer = timer;
-        }
-
-        private void cancelPolling() {
-            //noinspection AssignmentToStaticFieldFromInstanceMethod
-            VimeoClient.sContinuePinCodeAuthorizationRefreshCycle = false;
-            mTimer.cancel();
+            mSession = session;
         }
 
         @Override
         public void success(VimeoAccount vimeoAccount) {
-            if (VimeoClient.sContinuePinCodeAuthorizationRefreshCycle) {
-                cancelPolling();
+            if (mSession.finish()) {
                 super.success(vimeoAccount);
             }
         }
 
         public void failure(VimeoError error) {
-            if (VimeoClient.sContinuePinCodeAuthorizationRefreshCycle) {
-                if (error.getHttpStatusCode() == HttpURLConnection.HTTP_BAD_REQUEST) {
-                    // 400: Bad Request implies the code hasn't been activated yet, so try again
-                    return;
-                }
-                cancelPolling();
+            if (error.getHttpStatusCode() == HttpURLConnection.HTTP_BAD_REQUEST) {
+                // 400: Bad Request implies the code hasn't been activated yet, so try again
+                mSession.pollAgain();
+                return;
+            }
+            if (mSession.finish()) {
                 super.failure(error);
             }
         }
@@ -767,73 +1224,92 @@ public class VimeoClient {
     }
 
     /**
-     * This method cancels any previous active {@link VimeoClient#logInWithPinCode} attempts.
+     * This method cancels any previous active {@link VimeoClient#logInWithPinCode} attempts made with this
+     * client. Attempts made with other clients, or started with
+     * {@link #pollPinCodeLogin(PinCodeInfo, AuthCallback)}, are not affected.
      */
     public void cancelPinCodeLogin() {
-        //noinspection AssignmentToStaticFieldFromInstanceMethod
-        VimeoClient.sContinuePinCodeAuthorizationRefreshCycle = false;
-        if (mPinCodeAuthorizationTimer != null) {
-            mPinCodeAuthorizationTimer.cancel();
+        final PinCodePoller.Session session;
+        synchronized (this) {
+            session = mPinCodeSession;
+            mPinCodeSession = null;
+        }
+        if (session != null) {
+            session.cancel();
         }
     }
 
     /**
-     * {@link TimerTask} used for polling the server with a pin code at a scheduled interval
+     * {@link PinCodePoller.Poll} checking whether a pin code was activated.
      */
-    private static class PinCodePollingTimerTask extends TimerTask {
+    private static class PinCodePoll implements PinCodePoller.Poll {
 
         private final PinCodeInfo mPinCodeInfo;
-        private final Timer mTimer;
-        private final long mExpiresInNano;
         private final WeakReference<AuthCallback> mAuthCallbackWeakReference;
         private final WeakReference<VimeoClient> mVimeoClient;
         private final String mScope;
 
-        PinCodePollingTimerTask(@NotNull PinCodeInfo pinCodeInfo,
-                                @NotNull Timer timer,
-                                int expiresInSeconds,
-                                @NotNull String scope,
-                                @Nullable VimeoClient client,
-                                @NotNull AuthCallback authCallback) {
-            mTimer = timer;
+        PinCodePoll(@NotNull PinCodeInfo pinCodeInfo,
+                    @NotNull String scope,
+                    @Nullable VimeoClient client,
+                    @NotNull AuthCallback authCallback) {
             mPinCodeInfo = pinCodeInfo;
-
-            mExpiresInNano = System.nanoTime() + TimeUnit.SECONDS.toNanos(expiresInSeconds);
             mAuthCallbackWeakReference = new WeakReference<>(authCallback);
             mVimeoClient = new WeakReference<>(client);
             mScope = scope;
         }
 
         @Override
-        public void run() {
+        public void poll(@NotNull PinCodePoller.Session session) {
             final AuthCallback authCallback = mAuthCallbackWeakReference.get();
             final VimeoClient vimeoClient = mVimeoClient.get();
-            final long now = System.nanoTime();
-            if (!VimeoClient.sContinuePinCodeAuthorizationRefreshCycle || now >= mExpiresInNano ||
-                authCallback == null || vimeoClient == null) {
-                if (VimeoClient.sContinuePinCodeAuthorizationRefreshCycle) {
-                    //noinspection AssignmentToStaticFieldFromInstanceMethod
-                    VimeoClient.sContinuePinCodeAuthorizationRefreshCycle = false;
-                    mTimer.cancel();
-                    if (authCallback != null && now >= mExpiresInNano) {
-                        final VimeoError error = new VimeoError("Pin code expired.");
-                        error.setErrorCode(ErrorCode.UNABLE_TO_LOGIN_PINCODE_EXPIRED);
-                        authCallback.failure(error);
-                    }
-                }
+            if (authCallback == null || vimeoClient == null) {
+                // Nobody is waiting for the login anymore
+                session.cancel();
+                return;
+            }
+            final Call<VimeoAccount> call =
+                    vimeoClient.mVimeoService.logInWithPinCode(vimeoClient.getBasicAuthHeader(),
+                                                               Vimeo.DEVICE_GRANT_TYPE,
+                                                               mPinCodeInfo.getUserCode(),
+                                                               mPinCodeInfo.getDeviceCode(),
+                                                               mScope);
+            call.enqueue(new PinCodeAccountCallback(vimeoClient, authCallback, session));
+        }
 
-            } else {
-                final Call<VimeoAccount> call =
-                        vimeoClient.mVimeoService.logInWithPinCode(vimeoClient.getBasicAuthHeader(),
-                                                                   Vimeo.DEVICE_GRANT_TYPE,
-                                                                   mPinCodeInfo.getUserCode(),
-                                                                   mPinCodeInfo.getDeviceCode(),
-                                                                   mScope);
-                call.enqueue(new PinCodeAccountCallback(vimeoClient, authCallback, mTimer));
+        @Override
+        public void onExpired() {
+            final AuthCallback authCallback = mAuthCallbackWeakReference.get();
+            if (authCallback != null) {
+                final VimeoError error = new VimeoError("Pin code expired.");
+                error.setErrorCode(ErrorCode.UNABLE_TO_LOGIN_PINCODE_EXPIRED);
+                authCallback.failure(error);
             }
         }
     }
 
+    /**
+     * (PRIVATE: Vimeo Use Only, will not work for third-party applications)
+     * Polls the api until the pin code is activated, at the interval and until the expiry of the pin code.
+     * Unlike {@link #logInWithPinCode(VimeoCallback, AuthCallback)}, any number of logins can be polled at
+     * once: they share a single scheduler, and each one can be cancelled through its session without
+     * affecting the others.
+     *
+     * @param pinCodeInfo  the pin code to poll, as returned by the api.
+     * @param authCallback {@link AuthCallback} that will be notified when Authorization is complete.
+     *                     This is held as a weak reference. It may be called back on a different thread.
+     * @return the polling session, which can be used to cancel the login.
+     */
+    @NotNull
+    public PinCodePoller.Session pollPinCodeLogin(@NotNull PinCodeInfo pinCodeInfo,
+                                                  @NotNull AuthCallback authCallback) {
+        final PinCodePoll poll = new PinCodePoll(pinCodeInfo, mConfiguration.mScope, this, authCallback);
+        return PinCodePoller.getShared().start(pinCodeInfo.getInterval(),
+                                               pinCodeInfo.getExpiresIn(),
+                                               TimeUnit.SECONDS,
+                                               poll);
+    }
+
     /**
      * (PRIVATE: Vimeo Use Only, will not work for third-party applications)
      * This is a method for Vimeo's internal use in association with pin code based authentication for
@@ -856,11 +1332,7 @@ public class VimeoClient {
      */
     public Call<PinCodeInfo> logInWithPinCode(@NotNull final VimeoCallback<PinCodeInfo> pinCodeCallback,
                                               @NotNull final AuthCallback authCallback) {
-        //noinspection AssignmentToStaticFieldFromInstanceMethod
-        VimeoClient.sContinuePinCodeAuthorizationRefreshCycle = false;
-        if (mPinCodeAuthorizationTimer != null) {
-            mPinCodeAuthorizationTimer.cancel();
-        }
+        cancelPinCodeLogin();
 
         final String SCOPE = mConfiguration.mScope;
         final Call<PinCodeInfo> call = mVimeoService.getPinCodeInfo(getBasicAuthHeader(),
@@ -879,17 +1351,16 @@ public class VimeoClient {
                     return;
                 }
                 pinCodeCallback.success(pinCodeInfo);
-                final int SECONDS_TO_MILLISECONDS = 1000;
-                mPinCodeAuthorizationTimer = new Timer();
-                //noinspection AssignmentToStaticFieldFromInstanceMethod
-                VimeoClient.sContinuePinCodeAuthorizationRefreshCycle = true;
-                final TimerTask task = new PinCodePollingTimerTask(pinCodeInfo,
-                                                                   mPinCodeAuthorizationTimer,
-                                                                   pinCodeInfo.getExpiresIn(),
-                                                                   SCOPE, sSharedInstance, authCallback
-                );
-                final long period = SECONDS_TO_MILLISECONDS * pinCodeInfo.getInterval();
-                mPinCodeAuthorizationTimer.scheduleAtFixedRate(task, 0, period);
+                final PinCodePoller.Session session = pollPinCodeLogin(pinCodeInfo, authCallback);
+                final PinCodePoller.Session previousSession;
+                synchronized (VimeoClient.this) {
+                    previousSession = mPinCodeSession;
+                    mPinCodeSession = session;
+                }
+                if (previousSession != null) {
+                    // Another login was started while this one was fetching its pin code
+                    previousSession.cancel();
+                }
             }
 
             @Override
@@ -963,6 +1434,27 @@ public class VimeoClient {
         return call;
     }
 
+    /**
+     * Same as {@link #editVideo(String, String, String, String, Privacy.PrivacyValue, HashMap, VimeoCallback)},
+     * but returns a future instead of taking a callback.
+     *
+     * @param executor the executor on which the callbacks of the future are invoked by default, may be null
+     * @return a future completed with the edited video, cancelling it cancels the request
+     */
+    @NotNull
+    public VimeoFuture<Video> editVideoAsync(@Nullable String uri,
+                                             @Nullable String title,
+                                             @Nullable String description,
+                                             @Nullable String password,
+                                             @Nullable Privacy.PrivacyValue privacyValue,
+                                             @Nullable HashMap<String, Object> parameters,
+                                             @Nullable Executor executor) {
+        final VimeoFuture<Video> future = new VimeoFuture<>(executor);
+        future.setCall(editVideo(uri, title, description, password, privacyValue, parameters,
+                                 future.asCallback()));
+        return future;
+    }
+
     @Nullable
     public Call<User> editUser(String uri,
                                @Nullable String name,
@@ -1255,6 +1747,23 @@ public class VimeoClient {
         return call;
     }
 
+    /**
+     * Same as {@link #comment(String, String, String, VimeoCallback)}, but returns a future instead of taking
+     * a callback.
+     *
+     * @param executor the executor on which the callbacks of the future are invoked by default, may be null
+     * @return a future completed with the posted comment, cancelling it cancels the request
+     */
+    @NotNull
+    public VimeoFuture<Comment> commentAsync(String uri,
+                                             String comment,
+                                             @Nullable String password,
+                                             @Nullable Executor executor) {
+        final VimeoFuture<Comment> future = new VimeoFuture<>(executor);
+        future.setCall(comment(uri, comment, password, future.asCallback()));
+        return future;
+    }
+
     /**
      * This will fetch a video synchronously by-passing the cache. To fetch from cache, use
      * {@link #getVideoSync(String, CacheControl, String)}
@@ -1280,10 +1789,10 @@ public class VimeoClient {
     public retrofit2.Response<Video> getVideoSync(String uri,
                                                   CacheControl cacheControl,
                                                   @Nullable String fieldFilter) {
-        final String cacheHeaderValue = createCacheControlString(cacheControl);
+        final String cacheHeaderValue = createCacheControlString(uri, cacheControl);
         try {
             final Map<String, String> queryMap = createQueryMap(null, null, fieldFilter);
-            return mVimeoService.getVideo(getAuthHeader(), uri, queryMap, cacheHeaderValue).execute();
+            return mVimeoService.getVideo(getAuthHeader(), uri, queryMap, cacheHeaderValue, null, null).execute();
         } catch (final IOException e) {
             return null;
         }
@@ -1373,6 +1882,19 @@ public class VimeoClient {
         getContent(Vimeo.ENDPOINT_ME, CacheControl.FORCE_NETWORK, GetRequestCaller.USER, null, null, filter, callback);
     }
 
+    /**
+     * Fetches the currently authenticated user from the API
+     *
+     * @param filter   the field filter to apply to the request
+     * @param executor the executor on which the callbacks of the future are invoked by default, may be null
+     * @return a future completed with the user, cancelling it cancels the request
+     */
+    @NotNull
+    public VimeoFuture<User> getCurrentUserAsync(@Nullable String filter, @Nullable Executor executor) {
+        return getContentAsync(Vimeo.ENDPOINT_ME, CacheControl.FORCE_NETWORK, GetRequestCaller.USER, null, null,
+                               filter, executor);
+    }
+
     /**
      * A generic GET call that takes in the URI of the specific resource.
      *
@@ -1381,10 +1903,17 @@ public class VimeoClient {
      * @param caller        The {@link GetRequestCaller} for the expected response type
      * @param query         Query string for hitting the search endpoint
      * @param refinementMap Used to refine lists (generally for search) with sorts and filters
-     * @param fieldFilter   The string of fields to include in the response (highly recommended!)
+     * @param fieldFilter   The string of fields to include in the response (highly recommended!), such as
+     *                      {@link Projection#getFieldFilter()}
      *                      {@link RequestRefinementBuilder}
      * @param callback      The callback for the specific model type of the resource
+     * @return a {@link Call} that can be used to cancel the request. If an identical request is already in
+     * flight and request coalescing is enabled, the request attaches to it and cancelling the returned call
+     * only detaches this request. If the in memory cache holds a response that satisfies the cache control,
+     * it is delivered without a network call.
      * @see <a href="https://developer.vimeo.com/api/spec#common-parameters">Vimeo API Field Filter Docs</a>
+     * @see Configuration.Builder#enableRequestCoalescing(boolean)
+     * @see Configuration.Builder#setMemoryCacheSize(long)
      */
     @Nullable
     public <DataType_T> Call<DataType_T> getContent(@NotNull String uri,
@@ -1399,17 +1928,557 @@ public class VimeoClient {
             return null;
         }
 
-        final String cacheHeaderValue = createCacheControlString(cacheControl);
         final Map<String, String> queryMap = createQueryMap(query, refinementMap, fieldFilter);
-        final Call<DataType_T> call = caller.call(getAuthHeader(),
-                                                  uri,
-                                                  queryMap,
-                                                  cacheHeaderValue,
-                                                  mVimeoService);
+        final CacheControl requestCacheControl = createCacheControl(uri, cacheControl);
+        if (mDeadlineMillis > 0) {
+            final DeadlineCall<DataType_T> deadlineCall =
+                    new DeadlineCall<>(callback, mDeadlineMillis, TimeUnit.MILLISECONDS);
+            return deadlineCall.start(enqueueGet(uri, requestCacheControl, caller, queryMap,
+                                                 deadlineCall.getCallback(), true));
+        }
+        return enqueueGet(uri, requestCacheControl, caller, queryMap, callback, true);
+    }
+
+    /**
+     * A generic GET call that returns a future instead of taking a callback, so that several requests can be
+     * chained without nesting callbacks, for example:
+     * <pre>
+     * client.getContentAsync(videoUri, cacheControl, GetRequestCaller.VIDEO, null, null, null, executor)
+     *         .then(new AsyncTransformation&lt;Video, CommentList&gt;() {
+     *             public VimeoFuture&lt;CommentList&gt; apply(Video video) {
+     *                 return client.getContentAsync(video.getMetadata().getConnections().getComments().getUri(),
+     *                                               cacheControl, GetRequestCaller.COMMENT_LIST, null, null,
+     *                                               null, executor);
+     *             }
+     *         });
+     * </pre>
+     * The request is made exactly as with
+     * {@link #getContent(String, CacheControl, Caller, String, Map, String, VimeoCallback)}.
+     *
+     * @param executor the executor on which the callbacks of the future are invoked by default. If null,
+     *                 they are invoked on the thread delivering the response.
+     * @return a future completed with the model or a {@link VimeoError}, cancelling it cancels the request
+     */
+    @NotNull
+    public <DataType_T> VimeoFuture<DataType_T> getContentAsync(@NotNull String uri,
+                                                                @NotNull CacheControl cacheControl,
+                                                                @NotNull Caller<DataType_T> caller,
+                                                                @Nullable String query,
+                                                                @Nullable Map<String, String> refinementMap,
+                                                                @Nullable String fieldFilter,
+                                                                @Nullable Executor executor) {
+        final VimeoFuture<DataType_T> future = new VimeoFuture<>(executor);
+        future.setCall(getContent(uri, cacheControl, caller, query, refinementMap, fieldFilter,
+                                  future.asCallback()));
+        return future;
+    }
+
+    /**
+     * A GET call for a list that decodes the items while the response is read, instead of materializing the
+     * whole list before the callback runs. Each item is handed to {@link StreamingListCallback#item(Object)}
+     * as soon as it is decoded, then {@link StreamingListCallback#success(Object)} receives the list without
+     * its items, holding the paging, total and other fields such as the search facets. This lowers the time
+     * to the first item and the peak memory of large pages.
+     * <p>
+     * The list is decoded on a thread of the OkHttp dispatcher, and the items are delivered on the callback
+     * executor, in order. Since the list is never held in memory, it isn't cached in memory, coalesced or
+     * batched, but the HTTP cache still applies.
+     *
+     * @param uri           URI of the list
+     * @param cacheControl  Cache control type
+     * @param decoder       The decoder of the list, such as {@link StreamingListDecoder#VIDEO_LIST}
+     * @param query         Query string for hitting the search endpoint
+     * @param refinementMap Used to refine lists (generally for search) with sorts and filters
+     * @param fieldFilter   The string of fields to include in the response (highly recommended!)
+     * @param callback      The callback for the items and the list
+     * @return a {@link Call} that can be used to cancel the request, or null if the URI is empty
+     */
+    @Nullable
+    public <ItemType_T, ListType_T extends BaseResponseList<ItemType_T>> Call<ListType_T> getListStreaming(
+            @NotNull String uri,
+            @NotNull CacheControl cacheControl,
+            @NotNull StreamingListDecoder<ItemType_T, ListType_T> decoder,
+            @Nullable String query,
+            @Nullable Map<String, String> refinementMap,
+            @Nullable String fieldFilter,
+            @NotNull StreamingListCallback<ItemType_T, ListType_T> callback) {
+        if (uri.isEmpty()) {
+            callback.failure(new VimeoError("Uri cannot be empty!"));
+            return null;
+        }
+
+        final Map<String, String> queryMap = createQueryMap(query, refinementMap, fieldFilter);
+        final Call<ResponseBody> bodyCall = mVimeoService.getStream(getAuthHeader(),
+                                                                    uri,
+                                                                    queryMap,
+                                                                    createCacheControl(uri, cacheControl).toString());
+        final Call<ListType_T> call = new StreamingListCall<>(bodyCall,
+                                                              decoder,
+                                                              VimeoNetworkUtil.getGson(),
+                                                              callback,
+                                                              mConfiguration.getDispatcher().executorService(),
+                                                              mRetrofit.callbackExecutor());
         call.enqueue(callback);
         return call;
     }
 
+    /**
+     * Looks up several videos by URI, requesting them {@value MultiGetLoader#MAX_CHUNK_SIZE} at a time with
+     * the {@code uris} filter of {@code /videos}. The chunks are requested in parallel.
+     *
+     * @param uris         the URIs of the videos
+     * @param cacheControl Cache control type
+     * @param fieldFilter  The string of fields to include in the videos, {@code uri} is always included
+     * @param executor     the executor on which the callbacks of the future are invoked by default, may be null
+     * @return a future completed with the videos by URI, and an error for each video that couldn't be loaded
+     */
+    @NotNull
+    public VimeoFuture<MultiGetResult<Video>> getVideos(@NotNull Collection<String> uris,
+                                                        @NotNull CacheControl cacheControl,
+                                                        @Nullable String fieldFilter,
+                                                        @Nullable Executor executor) {
+        return createMultiGetLoader(Vimeo.ENDPOINT_VIDEOS, GetRequestCaller.VIDEO_LIST, cacheControl, fieldFilter,
+                                    VIDEO_URI_EXTRACTOR).getAll(uris, executor);
+    }
+
+    /**
+     * Looks up several users by URI.
+     *
+     * @see #getVideos(Collection, CacheControl, String, Executor)
+     */
+    @NotNull
+    public VimeoFuture<MultiGetResult<User>> getUsers(@NotNull Collection<String> uris,
+                                                      @NotNull CacheControl cacheControl,
+                                                      @Nullable String fieldFilter,
+                                                      @Nullable Executor executor) {
+        return createMultiGetLoader(Vimeo.ENDPOINT_USERS, GetRequestCaller.USER_LIST, cacheControl, fieldFilter,
+                                    USER_URI_EXTRACTOR).getAll(uris, executor);
+    }
+
+    /**
+     * Looks up several channels by URI.
+     *
+     * @see #getVideos(Collection, CacheControl, String, Executor)
+     */
+    @NotNull
+    public VimeoFuture<MultiGetResult<Channel>> getChannels(@NotNull Collection<String> uris,
+                                                            @NotNull CacheControl cacheControl,
+                                                            @Nullable String fieldFilter,
+                                                            @Nullable Executor executor) {
+        return createMultiGetLoader(Vimeo.ENDPOINT_CHANNELS, GetRequestCaller.CHANNEL_LIST, cacheControl,
+                                    fieldFilter, CHANNEL_URI_EXTRACTOR).getAll(uris, executor);
+    }
+
+    @NotNull
+    private <ItemType_T, ListType_T extends BaseResponseList<ItemType_T>> MultiGetLoader<ItemType_T>
+    createMultiGetLoader(@NotNull final String endpoint,
+                         @NotNull final Caller<ListType_T> caller,
+                         @NotNull final CacheControl cacheControl,
+                         @Nullable String fieldFilter,
+                         @NotNull UriExtractor<ItemType_T> uriExtractor) {
+        final ChunkLoader<ItemType_T> chunkLoader =
+                this.<ItemType_T, ListType_T>createChunkLoader(endpoint, caller, cacheControl, fieldFilter);
+        return new MultiGetLoader<>(chunkLoader, uriExtractor);
+    }
+
+    @NotNull
+    private <ItemType_T, ListType_T extends BaseResponseList<ItemType_T>> ChunkLoader<ItemType_T>
+    createChunkLoader(@NotNull final String endpoint,
+                      @NotNull final Caller<ListType_T> caller,
+                      @NotNull final CacheControl cacheControl,
+                      @Nullable String fieldFilter) {
+        final String uriFieldFilter = withUriField(fieldFilter);
+        return new ChunkLoader<ItemType_T>() {
+            @NotNull
+            @Override
+            public VimeoFuture<ListType_T> loadChunk(@NotNull List<String> uris) {
+                final Map<String, String> refinementMap = new HashMap<>();
+                refinementMap.put(Vimeo.PARAMETER_GET_URIS, joinUris(uris));
+                refinementMap.put(Vimeo.PARAMETER_GET_PAGE_SIZE, String.valueOf(uris.size()));
+                return getContentAsync(endpoint, cacheControl, caller, null, refinementMap, uriFieldFilter, null);
+            }
+        };
+    }
+
+    /**
+     * The resources returned by a multi URI request are matched to the URIs they were requested with, so
+     * the field filter must include their URI.
+     */
+    @Nullable
+    private static String withUriField(@Nullable String fieldFilter) {
+        if (fieldFilter == null || fieldFilter.isEmpty()) {
+            return fieldFilter;
+        }
+        for (final String field : fieldFilter.split(",")) {
+            if (field.trim().equals(URI_FIELD)) {
+                return fieldFilter;
+            }
+        }
+        return fieldFilter + ',' + URI_FIELD;
+    }
+
+    @NotNull
+    private static String joinUris(@NotNull List<String> uris) {
+        final StringBuilder builder = new StringBuilder();
+        for (final String uri : uris) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(uri);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * A GET call that returns a cached response right away, even if it is stale, and revalidates it in the
+     * background. This takes network latency out of the read path for content that changes slowly.
+     * <ul>
+     * <li>A cached response younger than the max age of the cache control is delivered to the callback and
+     * isn't revalidated.</li>
+     * <li>A cached response which is older, but by no more than {@code staleWhileRevalidateSeconds}, is
+     * delivered to the callback and a network request is made to revalidate it. Its result is delivered to
+     * the refresh callback.</li>
+     * <li>If there is no usable cached response, a regular request is made and its result is delivered to
+     * the callback. The refresh callback isn't invoked.</li>
+     * </ul>
+     * The in memory cache is checked first, then the disk cache.
+     *
+     * @param uri                         URI of the resource to GET
+     * @param cacheControl                Cache control type, whose max age is the time during which a cached
+     *                                    response is fresh. If null, the configured max age is used.
+     * @param staleWhileRevalidateSeconds How long after becoming stale a cached response may still be
+     *                                    delivered while it is revalidated
+     * @param caller                      The {@link GetRequestCaller} for the expected response type
+     * @param query                       Query string for hitting the search endpoint
+     * @param refinementMap               Used to refine lists (generally for search) with sorts and filters
+     * @param fieldFilter                 The string of fields to include in the response
+     * @param callback                    The callback for the cached response, or the network response if
+     *                                    nothing usable was cached
+     * @param refreshCallback             The callback for the response of the revalidation, may be null if
+     *                                    the caller is only interested in keeping the caches up to date
+     * @return a {@link Call} for the first response, cancelling it doesn't cancel the revalidation.
+     * @see <a href="https://tools.ietf.org/html/rfc5861">RFC 5861</a>
+     */
+    @Nullable
+    public <DataType_T> Call<DataType_T> getContentStaleWhileRevalidate(
+            @NotNull String uri,
+            @Nullable CacheControl cacheControl,
+            int staleWhileRevalidateSeconds,
+            @NotNull Caller<DataType_T> caller,
+            @Nullable String query,
+            @Nullable Map<String, String> refinementMap,
+            @Nullable String fieldFilter,
+            @NotNull VimeoCallback<DataType_T> callback,
+            @Nullable VimeoCallback<DataType_T> refreshCallback) {
+        if (uri.isEmpty()) {
+            callback.failure(new VimeoError("Uri cannot be empty!"));
+            return null;
+        }
+        if (staleWhileRevalidateSeconds < 0) {
+            throw new AssertionError("staleWhileRevalidateSeconds cannot be negative");
+        }
+
+        final CacheControl freshCacheControl = createCacheControl(uri, cacheControl);
+        final Map<String, String> queryMap = createQueryMap(query, refinementMap, fieldFilter);
+        if (freshCacheControl.noStore()) {
+            // The endpoint is never cached, so there is nothing to serve stale
+            return enqueueGet(uri, freshCacheControl, caller, queryMap, callback, false);
+        }
+        final int maxAge = freshCacheControl.maxAgeSeconds() != -1
+                           ? freshCacheControl.maxAgeSeconds()
+                           : mConfiguration.mCacheMaxAge;
+        final Revalidation<DataType_T> revalidation =
+                new Revalidation<>(this, uri, caller, queryMap, refreshCallback);
+
+        if (mDecodedObjectCache != null) {
+            final GetRequestKey key = GetRequestKey.create(uri, queryMap, getAuthHeader(), caller);
+            final retrofit2.Response<DataType_T> cachedResponse =
+                    mDecodedObjectCache.get(key, (long) maxAge + staleWhileRevalidateSeconds);
+            if (cachedResponse != null) {
+                final Call<DataType_T> call = caller.call(getAuthHeader(),
+                                                          uri,
+                                                          queryMap,
+                                                          freshCacheControl.toString(),
+                                                          null,
+                                                          null,
+                                                          mUnscopedVimeoService);
+                if (!mDecodedObjectCache.isFresh(key, maxAge)) {
+                    revalidation.start();
+                }
+                return deliverFromMemory(call, cachedResponse, callback);
+            }
+        }
+
+        // OkHttp considers responses without an explicit lifetime stale right away, so accept any response
+        // within the window and decide from its age whether it is fresh
+        final CacheControl staleCacheControl = new CacheControl.Builder()
+                .onlyIfCached()
+                .maxStale(maxAge + staleWhileRevalidateSeconds, TimeUnit.SECONDS)
+                .build();
+        final StaleWhileRevalidateCallback<DataType_T> staleCallback =
+                new StaleWhileRevalidateCallback<>(this, freshCacheControl, maxAge, staleWhileRevalidateSeconds,
+                                                   callback, revalidation);
+        return enqueueGet(uri, staleCacheControl, caller, queryMap, staleCallback, false);
+    }
+
+    /**
+     * Makes an asynchronous GET request, serving it from memory if possible.
+     *
+     * @param uri                 URI of the resource to GET
+     * @param requestCacheControl the cache control sent with the request
+     * @param caller              the caller for the expected response type
+     * @param queryMap            the query parameters, including the field filter
+     * @param callback            the callback for the response
+     * @param lookupMemory        true to check the in memory cache before making the request
+     * @return the call for the request
+     */
+    @NotNull
+    private <DataType_T> Call<DataType_T> enqueueGet(@NotNull String uri,
+                                                     @NotNull CacheControl requestCacheControl,
+                                                     @NotNull Caller<DataType_T> caller,
+                                                     @NotNull Map<String, String> queryMap,
+                                                     @NotNull Callback<DataType_T> callback,
+                                                     boolean lookupMemory) {
+        final String cacheHeaderValue = requestCacheControl.toString();
+        final String authHeader = getAuthHeader();
+        final GetRequestKey key = GetRequestKey.create(uri, queryMap, authHeader, caller);
+
+        Callback<DataType_T> networkCallback = callback;
+        CachedResponse<DataType_T> revalidated = null;
+        if (mDecodedObjectCache != null && !requestCacheControl.noStore()) {
+            if (lookupMemory) {
+                final retrofit2.Response<DataType_T> cachedResponse = getFromMemory(key, requestCacheControl);
+                if (cachedResponse != null) {
+                    final Call<DataType_T> call = caller.call(authHeader,
+                                                              uri,
+                                                              queryMap,
+                                                              cacheHeaderValue,
+                                                              null,
+                                                              null,
+                                                              mUnscopedVimeoService);
+                    return deliverFromMemory(call, cachedResponse, callback);
+                }
+            }
+            revalidated = getRevalidated(key, requestCacheControl);
+            networkCallback = mDecodedObjectCache.cachingCallback(key, revalidated, callback);
+        }
+        Call<DataType_T> call = caller.call(authHeader,
+                                            uri,
+                                            queryMap,
+                                            cacheHeaderValue,
+                                            revalidated != null ? revalidated.getETag() : null,
+                                            revalidated != null ? revalidated.getLastModified() : null,
+                                            mVimeoService);
+        if (mHedger != null) {
+            call = mHedger.hedge(call);
+        }
+
+        // Calls of a cancellation scope are never shared, so that cancelling them only affects the scope, and
+        // critical calls aren't either, so that they never wait on a call of a lower priority
+        if (mCancellationScope != null || mRequestPriority == RequestPriority.CRITICAL) {
+            call.enqueue(networkCallback);
+            return call;
+        }
+
+        if (mRequestBatcher != null && lookupMemory && revalidated == null) {
+            final Call<DataType_T> batchedCall =
+                    enqueueBatched(uri, requestCacheControl, caller, queryMap, call, networkCallback);
+            if (batchedCall != null) {
+                return batchedCall;
+            }
+        }
+
+        if (mConfiguration.isRequestCoalescingEnabled()) {
+            return mInFlightRequestRegistry.enqueue(key, cacheHeaderValue, mRequestPriority, call, networkCallback);
+        }
+        call.enqueue(networkCallback);
+        return call;
+    }
+
+    /**
+     * Hands a request for a single video, user or channel to the {@link RequestBatcher}.
+     *
+     * @return the call for the request, or null if it can't be batched and must be made on its own
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private <DataType_T> Call<DataType_T> enqueueBatched(@NotNull String uri,
+                                                         @NotNull CacheControl cacheControl,
+                                                         @NotNull Caller<DataType_T> caller,
+                                                         @NotNull Map<String, String> queryMap,
+                                                         @NotNull Call<DataType_T> call,
+                                                         @NotNull Callback<DataType_T> callback) {
+        final Call<?> batchedCall;
+        if (caller == GetRequestCaller.VIDEO) {
+            batchedCall = enqueueBatched(Vimeo.ENDPOINT_VIDEOS, GetRequestCaller.VIDEO_LIST, VIDEO_URI_EXTRACTOR,
+                                         uri, cacheControl, queryMap,
+                                         (Call<Video>) call, (Callback<Video>) callback);
+        } else if (caller == GetRequestCaller.USER) {
+            batchedCall = enqueueBatched(Vimeo.ENDPOINT_USERS, GetRequestCaller.USER_LIST, USER_URI_EXTRACTOR,
+                                         uri, cacheControl, queryMap,
+                                         (Call<User>) call, (Callback<User>) callback);
+        } else if (caller == GetRequestCaller.CHANNEL) {
+            batchedCall = enqueueBatched(Vimeo.ENDPOINT_CHANNELS, GetRequestCaller.CHANNEL_LIST,
+                                         CHANNEL_URI_EXTRACTOR, uri, cacheControl, queryMap,
+                                         (Call<Channel>) call, (Callback<Channel>) callback);
+        } else {
+            batchedCall = null;
+        }
+        return (Call<DataType_T>) batchedCall;
+    }
+
+    @Nullable
+    private <ItemType_T, ListType_T extends BaseResponseList<ItemType_T>> Call<ItemType_T>
+    enqueueBatched(@NotNull String endpoint,
+                   @NotNull Caller<ListType_T> listCaller,
+                   @NotNull UriExtractor<ItemType_T> uriExtractor,
+                   @NotNull String uri,
+                   @NotNull CacheControl cacheControl,
+                   @NotNull Map<String, String> queryMap,
+                   @NotNull Call<ItemType_T> call,
+                   @NotNull Callback<ItemType_T> callback) {
+        assert mRequestBatcher != null;
+        if (!isBatchable(endpoint, uri, queryMap)) {
+            return null;
+        }
+        final String fieldFilter = queryMap.get(Vimeo.PARAMETER_GET_FIELD_FILTER);
+        // Only requests that would be answered by the same multi URI request can share a batch
+        final String batchKey = endpoint + '\n' + getAuthHeader() + '\n' + cacheControl + '\n' + fieldFilter +
+                                '\n' + mRequestPriority;
+        final ChunkLoader<ItemType_T> chunkLoader =
+                this.<ItemType_T, ListType_T>createChunkLoader(endpoint, listCaller, cacheControl, fieldFilter);
+        return mRequestBatcher.enqueue(batchKey, uri, call, chunkLoader, uriExtractor, callback);
+    }
+
+    /**
+     * @return true if the URI is that of a single resource of the endpoint, such as {@code /videos/12345},
+     * and the request has no parameter other than a field filter
+     */
+    private static boolean isBatchable(@NotNull String endpoint,
+                                       @NotNull String uri,
+                                       @NotNull Map<String, String> queryMap) {
+        for (final String parameter : queryMap.keySet()) {
+            if (!Vimeo.PARAMETER_GET_FIELD_FILTER.equals(parameter)) {
+                return false;
+            }
+        }
+        final String prefix = endpoint + '/';
+        final String path = uri.startsWith("/") ? uri : '/' + uri;
+        if (!path.startsWith(prefix) || path.length() == prefix.length()) {
+            return false;
+        }
+        for (int i = prefix.length(); i < path.length(); i++) {
+            if (!Character.isDigit(path.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The network request made to revalidate a stale response, started at most once.
+     */
+    private static final class Revalidation<DataType_T> implements Callback<DataType_T> {
+
+        private final VimeoClient mClient;
+        private final String mUri;
+        private final Caller<DataType_T> mCaller;
+        private final Map<String, String> mQueryMap;
+        @Nullable
+        private final Callback<DataType_T> mRefreshCallback;
+        private final AtomicBoolean mStarted = new AtomicBoolean();
+
+        Revalidation(@NotNull VimeoClient client,
+                     @NotNull String uri,
+                     @NotNull Caller<DataType_T> caller,
+                     @NotNull Map<String, String> queryMap,
+                     @Nullable Callback<DataType_T> refreshCallback) {
+            mClient = client;
+            mUri = uri;
+            mCaller = caller;
+            mQueryMap = queryMap;
+            mRefreshCallback = refreshCallback;
+        }
+
+        void start() {
+            if (mStarted.compareAndSet(false, true)) {
+                mClient.enqueueGet(mUri, CacheControl.FORCE_NETWORK, mCaller, mQueryMap, this, false);
+            }
+        }
+
+        @Override
+        public void onResponse(Call<DataType_T> call, Response<DataType_T> response) {
+            if (mRefreshCallback != null) {
+                mRefreshCallback.onResponse(call, response);
+            }
+        }
+
+        @Override
+        public void onFailure(Call<DataType_T> call, Throwable t) {
+            if (mRefreshCallback != null) {
+                mRefreshCallback.onFailure(call, t);
+            }
+        }
+    }
+
+    /**
+     * Handles the response of the cache only request made for a stale-while-revalidate call. A stale
+     * response is revalidated, and if nothing usable was cached a regular request is made instead.
+     */
+    private static final class StaleWhileRevalidateCallback<DataType_T> implements Callback<DataType_T> {
+
+        private final VimeoClient mClient;
+        private final CacheControl mFreshCacheControl;
+        private final int mMaxAgeSeconds;
+        private final int mStaleWhileRevalidateSeconds;
+        private final Callback<DataType_T> mCallback;
+        private final Revalidation<DataType_T> mRevalidation;
+
+        StaleWhileRevalidateCallback(@NotNull VimeoClient client,
+                                     @NotNull CacheControl freshCacheControl,
+                                     int maxAgeSeconds,
+                                     int staleWhileRevalidateSeconds,
+                                     @NotNull Callback<DataType_T> callback,
+                                     @NotNull Revalidation<DataType_T> revalidation) {
+            mClient = client;
+            mFreshCacheControl = freshCacheControl;
+            mMaxAgeSeconds = maxAgeSeconds;
+            mStaleWhileRevalidateSeconds = staleWhileRevalidateSeconds;
+            mCallback = callback;
+            mRevalidation = revalidation;
+        }
+
+        @Override
+        public void onResponse(Call<DataType_T> call, Response<DataType_T> response) {
+            // OkHttp answers cache only requests with a 504 when nothing usable was cached
+            final boolean cached = response.code() != HttpURLConnection.HTTP_GATEWAY_TIMEOUT
+                                   || response.raw().networkResponse() != null;
+            final CacheFreshness freshness = cached
+                                             ? CacheFreshness.of(response.raw(),
+                                                                 mMaxAgeSeconds,
+                                                                 mStaleWhileRevalidateSeconds)
+                                             : CacheFreshness.EXPIRED;
+            if (freshness == CacheFreshness.EXPIRED) {
+                mClient.enqueueGet(mRevalidation.mUri,
+                                   mFreshCacheControl,
+                                   mRevalidation.mCaller,
+                                   mRevalidation.mQueryMap,
+                                   mCallback,
+                                   false);
+                return;
+            }
+            if (freshness == CacheFreshness.STALE) {
+                mRevalidation.start();
+            }
+            mCallback.onResponse(call, response);
+        }
+
+        @Override
+        public void onFailure(Call<DataType_T> call, Throwable t) {
+            mCallback.onFailure(call, t);
+        }
+    }
+
     /**
      * A generic GET call that takes in the URI of the specific resource and fetches content synchronously.
      *
@@ -1435,15 +2504,43 @@ public class VimeoClient {
             throw new AssertionError("uri cannot be null or empty");
         }
 
-        final String cacheHeaderValue = createCacheControlString(cacheControl);
+        final CacheControl requestCacheControl = createCacheControl(uri, cacheControl);
+        final String cacheHeaderValue = requestCacheControl.toString();
         final Map<String, String> queryMap = createQueryMap(query, refinementMap, fieldFilter);
-        final Call<DataType_T> call = caller.call(getAuthHeader(),
+        final String authHeader = getAuthHeader();
+        final GetRequestKey key = GetRequestKey.create(uri, queryMap, authHeader, caller);
+        final boolean useMemoryCache = mDecodedObjectCache != null && !requestCacheControl.noStore();
+        CachedResponse<DataType_T> revalidated = null;
+        if (useMemoryCache) {
+            final retrofit2.Response<DataType_T> cachedResponse = getFromMemory(key, requestCacheControl);
+            if (cachedResponse != null) {
+                return cachedResponse;
+            }
+            revalidated = getRevalidated(key, requestCacheControl);
+        }
+        final Call<DataType_T> call = caller.call(authHeader,
                                                   uri,
                                                   queryMap,
                                                   cacheHeaderValue,
+                                                  revalidated != null ? revalidated.getETag() : null,
+                                                  revalidated != null ? revalidated.getLastModified() : null,
                                                   mVimeoService);
+
         try {
-            return call.execute();
+            final retrofit2.Response<DataType_T> response;
+            if (mDeadlineMillis > 0) {
+                // Cancelling a coalesced call wouldn't release the threads waiting on it, so it's made alone
+                response = DeadlineCall.execute(call, mDeadlineMillis, TimeUnit.MILLISECONDS);
+            } else if (mConfiguration.isRequestCoalescingEnabled() && mCancellationScope == null &&
+                       mRequestPriority != RequestPriority.CRITICAL) {
+                response = mInFlightRequestRegistry.execute(key, cacheHeaderValue, mRequestPriority, call);
+            } else {
+                response = call.execute();
+            }
+            if (useMemoryCache) {
+                return mDecodedObjectCache.resolve(key, revalidated, response);
+            }
+            return response;
         } catch (final IOException ioe) {
             return null;
         }
@@ -1529,7 +2626,7 @@ public class VimeoClient {
         try {
             final Response<Void> response = call.execute();
             if (!isSuccessfulResponse(response)) {
-                vimeoError = VimeoNetworkUtil.getErrorFromResponse(response);
+                vimeoError = VimeoNetworkUtil.getErrorFromResponse(response, mLogger);
                 if (vimeoError == null) {
                     vimeoError = new VimeoError();
                 }
@@ -1679,9 +2776,10 @@ public class VimeoClient {
 
     public String getAuthHeader() {
         final String credential;
+        final VimeoAccount vimeoAccount = mAccountOwner.mVimeoAccount;
 
-        if (mVimeoAccount != null && mVimeoAccount.isAuthenticated()) {
-            credential = "Bearer " + mVimeoAccount.getAccessToken();
+        if (vimeoAccount != null && vimeoAccount.isAuthenticated()) {
+            credential = "Bearer " + vimeoAccount.getAccessToken();
         } else {
             credential = getBasicAuthHeader();
         }
@@ -1695,24 +2793,78 @@ public class VimeoClient {
     }
 
     @NotNull
-    private String createCacheControlString(@Nullable CacheControl cacheControl) {
+    private String createCacheControlString(@NotNull String uri, @Nullable CacheControl cacheControl) {
+        return createCacheControl(uri, cacheControl).toString();
+    }
+
+    /**
+     * Creates the cache control sent with a request. The {@link CachePolicy} registered for the endpoint
+     * provides the default max age and max stale, and endpoints that must not be cached are always fetched
+     * from the network.
+     *
+     * @see Configuration#getCachePolicyRegistry()
+     */
+    @NotNull
+    private CacheControl createCacheControl(@NotNull String uri, @Nullable CacheControl cacheControl) {
+        final CachePolicy policy = mConfiguration.getCachePolicyRegistry().getPolicy(uri);
+        if (policy != null && !policy.isStored()) {
+            return NO_STORE_CACHE_CONTROL;
+        }
+        final int maxAge = policy != null ? policy.getTimeToLiveSeconds() : mConfiguration.mCacheMaxAge;
+        final int maxStale = policy != null ? policy.getMaxStaleSeconds() : 0;
+
         if (cacheControl != null) {
             if (cacheControl.onlyIfCached()) {
                 final CacheControl.Builder builder = VimeoNetworkUtil.getCacheControlBuilder(cacheControl);
                 // If no max age specified on CacheControl then set it to our default [KV]
                 if (cacheControl.maxAgeSeconds() == -1) {
-                    builder.maxAge(mConfiguration.mCacheMaxAge, TimeUnit.SECONDS);
+                    builder.maxAge(maxAge, TimeUnit.SECONDS);
                 }
                 // CacheControl.FORCE_CACHE defaults stale to Integer.MAX so we need to overwrite it
                 // so that a max age can actually do it's job [KV]
-                builder.maxStale(0, TimeUnit.SECONDS);
+                builder.maxStale(maxStale, TimeUnit.SECONDS);
                 cacheControl = builder.build();
             }
         } else {
-            cacheControl =
-                    new CacheControl.Builder().maxAge(mConfiguration.mCacheMaxAge, TimeUnit.SECONDS).build();
+            final CacheControl.Builder builder = new CacheControl.Builder().maxAge(maxAge, TimeUnit.SECONDS);
+            if (maxStale > 0) {
+                builder.maxStale(maxStale, TimeUnit.SECONDS);
+            }
+            cacheControl = builder.build();
+        }
+        return cacheControl;
+    }
+
+    /**
+     * Gets the response held in memory that a request can revalidate with a conditional request. Cache only
+     * requests never reach the server and aren't made conditional.
+     *
+     * @return the response held in memory that the request revalidates, or null if there is none.
+     */
+    @Nullable
+    private <DataType_T> CachedResponse<DataType_T> getRevalidated(@NotNull GetRequestKey key,
+                                                                   @NotNull CacheControl cacheControl) {
+        if (mDecodedObjectCache == null || cacheControl.onlyIfCached()) {
+            return null;
+        }
+        return mDecodedObjectCache.getForRevalidation(key);
+    }
+
+    /**
+     * Looks up a decoded response in memory, honouring the max age and max stale of the cache control.
+     * {@link CacheControl#FORCE_NETWORK} and other no-cache requests always go to the network.
+     */
+    @Nullable
+    private <DataType_T> retrofit2.Response<DataType_T> getFromMemory(@NotNull GetRequestKey key,
+                                                                     @NotNull CacheControl cacheControl) {
+        if (mDecodedObjectCache == null || cacheControl.noCache()) {
+            return null;
         }
-        return cacheControl.toString();
+        final long maxAge = cacheControl.maxAgeSeconds() != -1
+                            ? cacheControl.maxAgeSeconds()
+                            : mConfiguration.mCacheMaxAge;
+        final long maxStale = Math.max(cacheControl.maxStaleSeconds(), 0);
+        return mDecodedObjectCache.get(key, maxAge + maxStale);
     }
 
     @SuppressWarnings("WeakerAccess")
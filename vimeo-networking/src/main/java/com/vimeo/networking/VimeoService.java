@@ -57,6 +57,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.DELETE;
@@ -69,6 +70,7 @@ import retrofit2.http.PATCH;
 import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.QueryMap;
+import retrofit2.http.Streaming;
 import retrofit2.http.Url;
 
 /**
@@ -220,25 +222,33 @@ public interface VimeoService {
     Call<AppConfiguration> getAppConfiguration(@Header("Authorization") String authHeader,
                                                @Url String uri,
                                                @QueryMap Map<String, String> options,
-                                               @Header("Cache-Control") String cacheHeaderValue);
+                                               @Header("Cache-Control") String cacheHeaderValue,
+                                               @Header("If-None-Match") String ifNoneMatch,
+                                               @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<Category> getCategory(@Header("Authorization") String authHeader,
                                @Url String uri,
                                @QueryMap Map<String, String> options,
-                               @Header("Cache-Control") String cacheHeaderValue);
+                               @Header("Cache-Control") String cacheHeaderValue,
+                               @Header("If-None-Match") String ifNoneMatch,
+                               @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<Channel> getChannel(@Header("Authorization") String authHeader,
                              @Url String uri,
                              @QueryMap Map<String, String> options,
-                             @Header("Cache-Control") String cacheHeaderValue);
+                             @Header("Cache-Control") String cacheHeaderValue,
+                             @Header("If-None-Match") String ifNoneMatch,
+                             @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<Comment> getComment(@Header("Authorization") String authHeader,
                              @Url String uri,
                              @QueryMap Map<String, String> options,
-                             @Header("Cache-Control") String cacheHeaderValue);
+                             @Header("Cache-Control") String cacheHeaderValue,
+                             @Header("If-None-Match") String ifNoneMatch,
+                             @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<Document> getDocument(@Header("Authorization") String authHeader, @Url String uri);
@@ -247,37 +257,49 @@ public interface VimeoService {
     Call<TvodItem> getTvodItem(@Header("Authorization") String authHeader,
                                @Url String uri,
                                @QueryMap Map<String, String> options,
-                               @Header("Cache-Control") String cacheHeaderValue);
+                               @Header("Cache-Control") String cacheHeaderValue,
+                               @Header("If-None-Match") String ifNoneMatch,
+                               @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<User> getUser(@Header("Authorization") String authHeader,
                        @Url String uri,
                        @QueryMap Map<String, String> options,
-                       @Header("Cache-Control") String cacheHeaderValue);
+                       @Header("Cache-Control") String cacheHeaderValue,
+                       @Header("If-None-Match") String ifNoneMatch,
+                       @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<Video> getVideo(@Header("Authorization") String authHeader,
                          @Url String uri,
                          @QueryMap Map<String, String> options,
-                         @Header("Cache-Control") String cacheHeaderValue);
+                         @Header("Cache-Control") String cacheHeaderValue,
+                         @Header("If-None-Match") String ifNoneMatch,
+                         @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<LiveStats> getLiveStats(@Header("Authorization") String authHeader,
                                  @Url String uri,
                                  @QueryMap Map<String, String> options,
-                                 @Header("Cache-Control") String cacheHeaderValue);
+                                 @Header("Cache-Control") String cacheHeaderValue,
+                                 @Header("If-None-Match") String ifNoneMatch,
+                                 @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<Void> getVoid(@Header("Authorization") String authHeader,
                        @Url String uri,
                        @QueryMap Map<String, String> options,
-                       @Header("Cache-Control") String cacheHeaderValue);
+                       @Header("Cache-Control") String cacheHeaderValue,
+                       @Header("If-None-Match") String ifNoneMatch,
+                       @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<Product> getProduct(@Header("Authorization") String authHeader,
                              @Url String uri,
                              @QueryMap Map<String, String> options,
-                             @Header("Cache-Control") String cacheHeaderValue);
+                             @Header("Cache-Control") String cacheHeaderValue,
+                             @Header("If-None-Match") String ifNoneMatch,
+                             @Header("If-Modified-Since") String ifModifiedSince);
 
     // </editor-fold>
 
@@ -291,73 +313,97 @@ public interface VimeoService {
     Call<CategoryList> getCategoryList(@Header("Authorization") String authHeader,
                                        @Url String uri,
                                        @QueryMap Map<String, String> options,
-                                       @Header("Cache-Control") String cacheHeaderValue);
+                                       @Header("Cache-Control") String cacheHeaderValue,
+                                       @Header("If-None-Match") String ifNoneMatch,
+                                       @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<ChannelList> getChannelList(@Header("Authorization") String authHeader,
                                      @Url String uri,
                                      @QueryMap Map<String, String> options,
-                                     @Header("Cache-Control") String cacheHeaderValue);
+                                     @Header("Cache-Control") String cacheHeaderValue,
+                                     @Header("If-None-Match") String ifNoneMatch,
+                                     @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<CommentList> getCommentList(@Header("Authorization") String authHeader,
                                      @Url String uri,
                                      @QueryMap Map<String, String> options,
-                                     @Header("Cache-Control") String cacheHeaderValue);
+                                     @Header("Cache-Control") String cacheHeaderValue,
+                                     @Header("If-None-Match") String ifNoneMatch,
+                                     @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<FeedList> getFeedList(@Header("Authorization") String authHeader,
                                @Url String uri,
                                @QueryMap Map<String, String> options,
-                               @Header("Cache-Control") String cacheHeaderValue);
+                               @Header("Cache-Control") String cacheHeaderValue,
+                               @Header("If-None-Match") String ifNoneMatch,
+                               @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<NotificationList> getNotificationList(@Header("Authorization") String authHeader,
                                                @Url String uri,
                                                @QueryMap Map<String, String> options,
-                                               @Header("Cache-Control") String cacheHeaderValue);
+                                               @Header("Cache-Control") String cacheHeaderValue,
+                                               @Header("If-None-Match") String ifNoneMatch,
+                                               @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<ProgramContentItemList> getProgramContentItemList(@Header("Authorization") String authHeader,
                                                            @Url String uri,
                                                            @QueryMap Map<String, String> options,
-                                                           @Header("Cache-Control") String cacheHeaderValue);
+                                                           @Header("Cache-Control") String cacheHeaderValue,
+                                                           @Header("If-None-Match") String ifNoneMatch,
+                                                           @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<RecommendationList> getRecommendationList(@Header("Authorization") String authHeader,
                                                    @Url String uri,
                                                    @QueryMap Map<String, String> options,
-                                                   @Header("Cache-Control") String cacheHeaderValue);
+                                                   @Header("Cache-Control") String cacheHeaderValue,
+                                                   @Header("If-None-Match") String ifNoneMatch,
+                                                   @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<SearchResponse> getSearchResponse(@Header("Authorization") String authHeader,
                                            @Url String uri,
                                            @QueryMap Map<String, String> options,
-                                           @Header("Cache-Control") String cacheHeaderValue);
+                                           @Header("Cache-Control") String cacheHeaderValue,
+                                           @Header("If-None-Match") String ifNoneMatch,
+                                           @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<SeasonList> getSeasonList(@Header("Authorization") String authHeader,
                                    @Url String uri,
                                    @QueryMap Map<String, String> options,
-                                   @Header("Cache-Control") String cacheHeaderValue);
+                                   @Header("Cache-Control") String cacheHeaderValue,
+                                   @Header("If-None-Match") String ifNoneMatch,
+                                   @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<TvodList> getTvodList(@Header("Authorization") String authHeader,
                                @Url String uri,
                                @QueryMap Map<String, String> options,
-                               @Header("Cache-Control") String cacheHeaderValue);
+                               @Header("Cache-Control") String cacheHeaderValue,
+                               @Header("If-None-Match") String ifNoneMatch,
+                               @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<UserList> getUserList(@Header("Authorization") String authHeader,
                                @Url String uri,
                                @QueryMap Map<String, String> options,
-                               @Header("Cache-Control") String cacheHeaderValue);
+                               @Header("Cache-Control") String cacheHeaderValue,
+                               @Header("If-None-Match") String ifNoneMatch,
+                               @Header("If-Modified-Since") String ifModifiedSince);
 
     @GET
     Call<VideoList> getVideoList(@Header("Authorization") String authHeader,
                                  @Url String uri,
                                  @QueryMap Map<String, String> options,
-                                 @Header("Cache-Control") String cacheHeaderValue);
+                                 @Header("Cache-Control") String cacheHeaderValue,
+                                 @Header("If-None-Match") String ifNoneMatch,
+                                 @Header("If-Modified-Since") String ifModifiedSince);
 
 
     @GET
@@ -408,6 +454,16 @@ public interface VimeoService {
                      @QueryMap Map<String, String> options,
                      @Header("Cache-Control") String cacheHeaderValue);
 
+    /**
+     * A GET whose response body isn't buffered, so that it can be decoded while it is read.
+     */
+    @Streaming
+    @GET
+    Call<ResponseBody> getStream(@Header("Authorization") String authHeader,
+                                 @Url String uri,
+                                 @QueryMap Map<String, String> options,
+                                 @Header("Cache-Control") String cacheHeaderValue);
+
     @POST
     Call<Object> POST(@Header("Authorization") String authHeader,
                       @Url String uri,
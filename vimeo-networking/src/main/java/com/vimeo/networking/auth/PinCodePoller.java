@@ -0,0 +1,229 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.auth;
+
+import com.vimeo.networking.utils.DaemonThreadFactory;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls any number of pin code (device grant) logins on a shared scheduler, each with its own interval and
+ * expiry. No thread is dedicated to a session, so thousands of them can be active at once.
+ * <p>
+ * A session polls once right away, and schedules its next poll an interval after the previous poll
+ * reported its result, so that polls never overlap when the API is slow. It ends when it is cancelled,
+ * when a poll {@link Session#finish() finishes} it, or when it expires, whichever comes first. Sessions are
+ * independent: ending one doesn't affect the others.
+ * <p>
+ * This class is thread safe.
+ */
+public final class PinCodePoller {
+
+    @Nullable
+    private static PinCodePoller sSharedInstance;
+
+    @NotNull
+    private final ScheduledExecutorService mScheduler;
+
+    private final AtomicInteger mActiveSessionCount = new AtomicInteger();
+
+    /**
+     * @param scheduler the scheduler on which polls are started. Polls must be asynchronous, so a single
+     *                  thread can serve many sessions.
+     */
+    public PinCodePoller(@NotNull ScheduledExecutorService scheduler) {
+        mScheduler = scheduler;
+    }
+
+    /**
+     * @return the poller shared by the whole process, which runs on a single daemon thread.
+     */
+    @NotNull
+    public static synchronized PinCodePoller getShared() {
+        if (sSharedInstance == null) {
+            final ScheduledThreadPoolExecutor scheduler =
+                    new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("Vimeo Pin Code Poller"));
+            // Cancelled sessions shouldn't linger in the queue until their next poll was due
+            scheduler.setRemoveOnCancelPolicy(true);
+            sSharedInstance = new PinCodePoller(scheduler);
+        }
+        return sSharedInstance;
+    }
+
+    /**
+     * Starts polling a login.
+     *
+     * @param interval  the time to wait between the result of a poll and the next poll.
+     * @param expiresIn the time after which the login expires.
+     * @param unit      the unit of the interval and expiry.
+     * @param poll      the poll to run.
+     * @return the session, which can be used to cancel the polling.
+     */
+    @NotNull
+    public Session start(long interval, long expiresIn, @NotNull TimeUnit unit, @NotNull Poll poll) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval <= 0: " + interval);
+        }
+        final Session session = new Session(this, unit.toNanos(interval), unit.toNanos(expiresIn), poll);
+        mActiveSessionCount.incrementAndGet();
+        session.schedule(0);
+        return session;
+    }
+
+    /**
+     * @return the number of sessions that haven't ended yet.
+     */
+    public int getActiveSessionCount() {
+        return mActiveSessionCount.get();
+    }
+
+    /**
+     * An attempt to complete a login, made at every interval of a {@link Session}.
+     */
+    public interface Poll {
+
+        /**
+         * Checks whether the login completed. Must not block: the result is reported asynchronously by
+         * calling {@link Session#pollAgain()} or {@link Session#finish()}.
+         *
+         * @param session the session being polled.
+         */
+        void poll(@NotNull Session session);
+
+        /**
+         * Called when the session expired before it was finished or cancelled.
+         */
+        void onExpired();
+    }
+
+    /**
+     * The polling of one login.
+     */
+    public static final class Session {
+
+        @NotNull
+        private final PinCodePoller mPoller;
+
+        private final long mIntervalNanos;
+
+        private final long mExpiresAtNanos;
+
+        @NotNull
+        private final Poll mPoll;
+
+        @Nullable
+        private ScheduledFuture<?> mNextPoll;
+
+        private boolean mEnded;
+
+        Session(@NotNull PinCodePoller poller, long intervalNanos, long expiresInNanos, @NotNull Poll poll) {
+            mPoller = poller;
+            mIntervalNanos = intervalNanos;
+            mExpiresAtNanos = System.nanoTime() + expiresInNanos;
+            mPoll = poll;
+        }
+
+        /**
+         * Schedules the next poll, to be called when a poll found that the login isn't complete yet.
+         */
+        public void pollAgain() {
+            schedule(mIntervalNanos);
+        }
+
+        /**
+         * Ends the session, to be called when a poll found that the login completed or failed.
+         *
+         * @return true if the session was active, false if it had already ended, for example because it was
+         * cancelled. The result of the poll should only be delivered if this returns true.
+         */
+        public boolean finish() {
+            return end();
+        }
+
+        /**
+         * Stops polling. The {@link Poll} isn't notified.
+         */
+        public void cancel() {
+            end();
+        }
+
+        public synchronized boolean isActive() {
+            return !mEnded;
+        }
+
+        private void schedule(long delayNanos) {
+            final long remainingNanos = mExpiresAtNanos - System.nanoTime();
+            final boolean expires = delayNanos >= remainingNanos;
+            synchronized (this) {
+                if (mEnded) {
+                    return;
+                }
+                try {
+                    mNextPoll = mPoller.mScheduler.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (expires) {
+                                if (end()) {
+                                    mPoll.onExpired();
+                                }
+                            } else if (isActive()) {
+                                mPoll.poll(Session.this);
+                            }
+                        }
+                    }, Math.max(0, Math.min(delayNanos, remainingNanos)), TimeUnit.NANOSECONDS);
+                } catch (final RejectedExecutionException e) {
+                    mEnded = true;
+                    mPoller.mActiveSessionCount.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+
+        private boolean end() {
+            final ScheduledFuture<?> nextPoll;
+            synchronized (this) {
+                if (mEnded) {
+                    return false;
+                }
+                mEnded = true;
+                nextPoll = mNextPoll;
+                mNextPoll = null;
+            }
+            mPoller.mActiveSessionCount.decrementAndGet();
+            if (nextPoll != null) {
+                nextPoll.cancel(false);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.batch;
+
+import com.vimeo.networking.callbacks.VimeoCallback;
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.model.error.VimeoError;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Looks up several resources by URI with as few requests as possible, using the {@code uris} filter of the
+ * collection endpoints of the API, for example {@code /videos?uris=/videos/1,/videos/2}.
+ * <p>
+ * The URIs are split into chunks of at most {@code maxChunkSize} URIs, and every chunk is requested at the
+ * same time. A URI missing from the response of its chunk, or whose chunk failed, is reported as an error of
+ * the {@link MultiGetResult} without failing the other URIs.
+ *
+ * @param <ItemType_T> the type of the resources.
+ */
+public final class MultiGetLoader<ItemType_T> {
+
+    /**
+     * The largest number of URIs the API accepts in a single request.
+     */
+    public static final int MAX_CHUNK_SIZE = 100;
+
+    /**
+     * Loads the resources of a chunk of URIs.
+     */
+    public interface ChunkLoader<ItemType_T> {
+
+        /**
+         * @param uris the URIs of the resources, at most {@code maxChunkSize} of them.
+         * @return a future completed with the resources that were found, cancelling it cancels the request.
+         */
+        @NotNull
+        VimeoFuture<? extends BaseResponseList<ItemType_T>> loadChunk(@NotNull List<String> uris);
+    }
+
+    /**
+     * Extracts the URI of a resource, such as {@link com.vimeo.networking.model.Video#getUri()}.
+     */
+    public interface UriExtractor<ItemType_T> {
+
+        @Nullable
+        String getUri(@NotNull ItemType_T item);
+    }
+
+    @NotNull
+    private final ChunkLoader<ItemType_T> mChunkLoader;
+
+    @NotNull
+    private final UriExtractor<ItemType_T> mUriExtractor;
+
+    private final int mMaxChunkSize;
+
+    public MultiGetLoader(@NotNull ChunkLoader<ItemType_T> chunkLoader,
+                          @NotNull UriExtractor<ItemType_T> uriExtractor,
+                          int maxChunkSize) {
+        if (maxChunkSize < 1 || maxChunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("maxChunkSize must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        mChunkLoader = chunkLoader;
+        mUriExtractor = uriExtractor;
+        mMaxChunkSize = maxChunkSize;
+    }
+
+    public MultiGetLoader(@NotNull ChunkLoader<ItemType_T> chunkLoader,
+                          @NotNull UriExtractor<ItemType_T> uriExtractor) {
+        this(chunkLoader, uriExtractor, MAX_CHUNK_SIZE);
+    }
+
+    /**
+     * Looks up resources by URI.
+     *
+     * @param uris     the URIs of the resources, duplicates are only requested once.
+     * @param executor the executor on which the callbacks of the future are invoked by default, may be null.
+     * @return a future completed with the resources found and the errors of the others, which never fails
+     * unless cancelled. Cancelling it cancels every request.
+     */
+    @NotNull
+    public VimeoFuture<MultiGetResult<ItemType_T>> getAll(@NotNull Collection<String> uris,
+                                                          @Nullable Executor executor) {
+        final List<String> distinctUris = new ArrayList<>(new LinkedHashSet<>(uris));
+        final Lookup lookup = new Lookup(distinctUris, new VimeoFuture<MultiGetResult<ItemType_T>>(executor));
+        for (int start = 0; start < distinctUris.size(); start += mMaxChunkSize) {
+            lookup.loadChunk(distinctUris.subList(start, Math.min(start + mMaxChunkSize, distinctUris.size())));
+        }
+        lookup.completeIfDone();
+        return lookup.mResult;
+    }
+
+    /**
+     * @return the canonical form of a URI, with a leading slash.
+     */
+    @NotNull
+    static String normalize(@NotNull String uri) {
+        return uri.startsWith("/") ? uri : '/' + uri;
+    }
+
+    /**
+     * The state of one {@link #getAll(Collection, Executor)}.
+     */
+    private final class Lookup {
+
+        @NotNull
+        private final List<String> mUris;
+
+        @NotNull
+        private final VimeoFuture<MultiGetResult<ItemType_T>> mResult;
+
+        @NotNull
+        private final Map<String, ItemType_T> mItems = new HashMap<>();
+
+        @NotNull
+        private final Map<String, VimeoError> mErrors = new HashMap<>();
+
+        @NotNull
+        private final List<VimeoFuture<?>> mPendingLoads = new ArrayList<>();
+
+        Lookup(@NotNull List<String> uris, @NotNull VimeoFuture<MultiGetResult<ItemType_T>> result) {
+            mUris = uris;
+            mResult = result;
+            mResult.addCallback(new VimeoCallback<MultiGetResult<ItemType_T>>() {
+                @Override
+                public void success(MultiGetResult<ItemType_T> multiGetResult) {
+                }
+
+                @Override
+                public void failure(VimeoError error) {
+                    cancelPendingLoads();
+                }
+            }, null);
+        }
+
+        void loadChunk(@NotNull final List<String> uris) {
+            final VimeoFuture<? extends BaseResponseList<ItemType_T>> load = mChunkLoader.loadChunk(uris);
+            synchronized (this) {
+                mPendingLoads.add(load);
+            }
+            load.map(new VimeoFuture.Transformation<BaseResponseList<ItemType_T>, Void>() {
+                @Override
+                public Void apply(BaseResponseList<ItemType_T> page) {
+                    onChunkLoaded(load, uris, page);
+                    return null;
+                }
+            }).addCallback(new VimeoCallback<Void>() {
+                @Override
+                public void success(Void aVoid) {
+                }
+
+                @Override
+                public void failure(VimeoError error) {
+                    onChunkFailed(load, uris, error);
+                }
+            }, null);
+        }
+
+        private void onChunkLoaded(@NotNull VimeoFuture<?> load,
+                                   @NotNull List<String> uris,
+                                   @Nullable BaseResponseList<ItemType_T> page) {
+            synchronized (this) {
+                if (!mPendingLoads.remove(load)) {
+                    return;
+                }
+                final Map<String, ItemType_T> found = new HashMap<>();
+                if (page != null && page.getData() != null) {
+                    for (final ItemType_T item : page.getData()) {
+                        final String uri = item != null ? mUriExtractor.getUri(item) : null;
+                        if (uri != null) {
+                            found.put(normalize(uri), item);
+                        }
+                    }
+                }
+                for (final String uri : uris) {
+                    final ItemType_T item = found.get(normalize(uri));
+                    if (item != null) {
+                        mItems.put(uri, item);
+                    } else {
+                        final VimeoError error = new VimeoError("Not found: " + uri);
+                        error.setHttpStatusCode(404);
+                        mErrors.put(uri, error);
+                    }
+                }
+            }
+            completeIfDone();
+        }
+
+        private void onChunkFailed(@NotNull VimeoFuture<?> load,
+                                   @NotNull List<String> uris,
+                                   @NotNull VimeoError error) {
+            synchronized (this) {
+                if (!mPendingLoads.remove(load)) {
+                    return;
+                }
+                for (final String uri : uris) {
+                    mErrors.put(uri, error);
+                }
+            }
+            completeIfDone();
+        }
+
+        void completeIfDone() {
+            final MultiGetResult<ItemType_T> result;
+            synchronized (this) {
+                if (!mPendingLoads.isEmpty() || mItems.size() + mErrors.size() < mUris.size()) {
+                    return;
+                }
+                final Map<String, ItemType_T> items = new LinkedHashMap<>();
+                final Map<String, VimeoError> errors = new LinkedHashMap<>();
+                for (final String uri : mUris) {
+                    if (mItems.containsKey(uri)) {
+                        items.put(uri, mItems.get(uri));
+                    } else {
+                        errors.put(uri, mErrors.get(uri));
+                    }
+                }
+                result = new MultiGetResult<>(items, errors);
+            }
+            mResult.set(result);
+        }
+
+        private void cancelPendingLoads() {
+            final List<VimeoFuture<?>> pendingLoads;
+            synchronized (this) {
+                pendingLoads = new ArrayList<>(mPendingLoads);
+                mPendingLoads.clear();
+            }
+            for (final VimeoFuture<?> pendingLoad : pendingLoads) {
+                pendingLoad.cancel();
+            }
+        }
+    }
+}
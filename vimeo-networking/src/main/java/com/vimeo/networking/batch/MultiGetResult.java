@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.batch;
+
+import com.vimeo.networking.model.error.VimeoError;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The result of looking up several resources by URI: the resources that were found, and an error for each
+ * URI that couldn't be resolved.
+ *
+ * @param <ItemType_T> the type of the resources.
+ */
+public final class MultiGetResult<ItemType_T> {
+
+    @NotNull
+    private final Map<String, ItemType_T> mItems;
+
+    @NotNull
+    private final Map<String, VimeoError> mErrors;
+
+    MultiGetResult(@NotNull Map<String, ItemType_T> items, @NotNull Map<String, VimeoError> errors) {
+        mItems = Collections.unmodifiableMap(items);
+        mErrors = Collections.unmodifiableMap(errors);
+    }
+
+    /**
+     * @return the resources that were found, by the URI they were requested with, in request order.
+     */
+    @NotNull
+    public Map<String, ItemType_T> getItems() {
+        return mItems;
+    }
+
+    /**
+     * @return the errors of the URIs that couldn't be resolved, either because the resource doesn't exist or
+     * isn't visible, or because the request that included it failed.
+     */
+    @NotNull
+    public Map<String, VimeoError> getErrors() {
+        return mErrors;
+    }
+
+    @Nullable
+    public ItemType_T get(@NotNull String uri) {
+        return mItems.get(uri);
+    }
+
+    @Nullable
+    public VimeoError getError(@NotNull String uri) {
+        return mErrors.get(uri);
+    }
+
+    /**
+     * @return true if every URI was resolved.
+     */
+    public boolean isComplete() {
+        return mErrors.isEmpty();
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.batch;
+
+import com.vimeo.networking.batch.MultiGetLoader.ChunkLoader;
+import com.vimeo.networking.batch.MultiGetLoader.UriExtractor;
+import com.vimeo.networking.callbacks.VimeoCallback;
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.model.error.VimeoError;
+import com.vimeo.networking.requests.RequestTimer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Collects the requests for single resources made within a short window and merges them into one multi URI
+ * request, in the manner of a DataLoader.
+ * <p>
+ * Requests are grouped by a key identifying everything but the URI of the resource, such as the endpoint,
+ * the field filter and the credentials. A group is sent once the window elapsed since its first request, or
+ * as soon as it holds {@code maxBatchSize} requests. Each request then receives its resource as if it had
+ * been requested on its own. A resource missing from the response, for example because it isn't visible to
+ * the multi URI request, is requested on its own so that its caller receives the same error it would have
+ * otherwise. If the multi URI request fails altogether, every request of the batch is sent on its own.
+ * <p>
+ * This class is thread safe.
+ */
+public final class RequestBatcher {
+
+    private static final String CANCELED_MESSAGE = "Canceled";
+
+    private final long mWindowMillis;
+
+    private final int mMaxBatchSize;
+
+    @NotNull
+    private final ScheduledExecutorService mScheduler;
+
+    @NotNull
+    private final Map<String, Batch<?>> mOpenBatches = new HashMap<>();
+
+    private final AtomicLong mRequestCount = new AtomicLong();
+
+    private final AtomicLong mBatchCount = new AtomicLong();
+
+    private final AtomicLong mFallbackCount = new AtomicLong();
+
+    /**
+     * @param window       how long a request waits for others to be batched with.
+     * @param unit         the unit of the window.
+     * @param maxBatchSize the largest number of requests merged into one, at most
+     *                     {@link MultiGetLoader#MAX_CHUNK_SIZE}.
+     */
+    public RequestBatcher(long window, @NotNull TimeUnit unit, int maxBatchSize) {
+        this(window, unit, maxBatchSize, RequestTimer.get());
+    }
+
+    RequestBatcher(long window,
+                   @NotNull TimeUnit unit,
+                   int maxBatchSize,
+                   @NotNull ScheduledExecutorService scheduler) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window <= 0: " + window);
+        }
+        if (maxBatchSize < 1 || maxBatchSize > MultiGetLoader.MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("maxBatchSize must be between 1 and " + MultiGetLoader.MAX_CHUNK_SIZE);
+        }
+        mWindowMillis = unit.toMillis(window);
+        mMaxBatchSize = maxBatchSize;
+        mScheduler = scheduler;
+    }
+
+    /**
+     * Adds a request to the batch of its group.
+     *
+     * @param batchKey     the key of the group, requests with the same key must only differ by their URI.
+     * @param uri          the URI of the resource.
+     * @param call         the call that would request the resource on its own. It is only used if the
+     *                     resource is missing from the response of the batch.
+     * @param chunkLoader  the loader of the multi URI request of the group.
+     * @param uriExtractor the extractor of the URI of the resources.
+     * @param callback     the callback notified of the resource.
+     * @return a call that can be used to cancel the request.
+     */
+    @NotNull
+    public <ItemType_T> Call<ItemType_T> enqueue(@NotNull String batchKey,
+                                                 @NotNull String uri,
+                                                 @NotNull Call<ItemType_T> call,
+                                                 @NotNull ChunkLoader<ItemType_T> chunkLoader,
+                                                 @NotNull UriExtractor<ItemType_T> uriExtractor,
+                                                 @NotNull Callback<ItemType_T> callback) {
+        mRequestCount.incrementAndGet();
+        final BatchedCall<ItemType_T> batchedCall = new BatchedCall<>(uri, call, callback);
+        Batch<ItemType_T> batchToSend = null;
+        synchronized (mOpenBatches) {
+            @SuppressWarnings("unchecked")
+            Batch<ItemType_T> batch = (Batch<ItemType_T>) mOpenBatches.get(batchKey);
+            if (batch == null) {
+                batch = new Batch<>(batchKey, chunkLoader, uriExtractor);
+                mOpenBatches.put(batchKey, batch);
+                final Batch<ItemType_T> scheduledBatch = batch;
+                mScheduler.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (close(scheduledBatch)) {
+                            scheduledBatch.send();
+                        }
+                    }
+                }, mWindowMillis, TimeUnit.MILLISECONDS);
+            }
+            batch.add(batchedCall);
+            if (batch.size() >= mMaxBatchSize) {
+                mOpenBatches.remove(batchKey);
+                batchToSend = batch;
+            }
+        }
+        if (batchToSend != null) {
+            batchToSend.send();
+        }
+        return batchedCall;
+    }
+
+    /**
+     * @return the number of requests that went through the batcher.
+     */
+    public long getRequestCount() {
+        return mRequestCount.get();
+    }
+
+    /**
+     * @return the number of multi URI requests sent.
+     */
+    public long getBatchCount() {
+        return mBatchCount.get();
+    }
+
+    /**
+     * @return the number of requests that had to be sent on their own because their resource was missing
+     * from the response of their batch, or their batch failed.
+     */
+    public long getFallbackCount() {
+        return mFallbackCount.get();
+    }
+
+    /**
+     * @return the average number of requests per multi URI request, 0 if none was sent.
+     */
+    public double getAverageBatchSize() {
+        final long batchCount = mBatchCount.get();
+        return batchCount == 0 ? 0 : (double) (mRequestCount.get() - currentlyOpenCount()) / batchCount;
+    }
+
+    private int currentlyOpenCount() {
+        synchronized (mOpenBatches) {
+            int count = 0;
+            for (final Batch<?> batch : mOpenBatches.values()) {
+                count += batch.size();
+            }
+            return count;
+        }
+    }
+
+    /**
+     * @return true if the batch was still open, in which case the caller must send it.
+     */
+    private boolean close(@NotNull Batch<?> batch) {
+        synchronized (mOpenBatches) {
+            if (mOpenBatches.get(batch.mKey) == batch) {
+                mOpenBatches.remove(batch.mKey);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The requests of a group collected during one window.
+     */
+    private final class Batch<ItemType_T> {
+
+        @NotNull
+        private final String mKey;
+
+        @NotNull
+        private final ChunkLoader<ItemType_T> mChunkLoader;
+
+        @NotNull
+        private final UriExtractor<ItemType_T> mUriExtractor;
+
+        @NotNull
+        private final List<BatchedCall<ItemType_T>> mCalls = new ArrayList<>();
+
+        Batch(@NotNull String key,
+              @NotNull ChunkLoader<ItemType_T> chunkLoader,
+              @NotNull UriExtractor<ItemType_T> uriExtractor) {
+            mKey = key;
+            mChunkLoader = chunkLoader;
+            mUriExtractor = uriExtractor;
+        }
+
+        void add(@NotNull BatchedCall<ItemType_T> call) {
+            mCalls.add(call);
+        }
+
+        int size() {
+            return mCalls.size();
+        }
+
+        void send() {
+            final Map<String, List<BatchedCall<ItemType_T>>> callsByUri = new LinkedHashMap<>();
+            for (final BatchedCall<ItemType_T> call : mCalls) {
+                final String uri = MultiGetLoader.normalize(call.mUri);
+                List<BatchedCall<ItemType_T>> calls = callsByUri.get(uri);
+                if (calls == null) {
+                    calls = new ArrayList<>();
+                    callsByUri.put(uri, calls);
+                }
+                calls.add(call);
+            }
+            mBatchCount.incrementAndGet();
+            final VimeoFuture<? extends BaseResponseList<ItemType_T>> load =
+                    mChunkLoader.loadChunk(new ArrayList<>(callsByUri.keySet()));
+            load.map(new VimeoFuture.Transformation<BaseResponseList<ItemType_T>, Void>() {
+                @Override
+                public Void apply(BaseResponseList<ItemType_T> page) {
+                    onLoaded(callsByUri, page);
+                    return null;
+                }
+            }).addCallback(new VimeoCallback<Void>() {
+                @Override
+                public void success(Void aVoid) {
+                }
+
+                @Override
+                public void failure(VimeoError error) {
+                    // Each request is sent on its own so that its caller receives its own error
+                    for (final List<BatchedCall<ItemType_T>> calls : callsByUri.values()) {
+                        for (final BatchedCall<ItemType_T> call : calls) {
+                            if (call.start()) {
+                                mFallbackCount.incrementAndGet();
+                                call.fallBack();
+                            }
+                        }
+                    }
+                }
+            }, null);
+        }
+
+        private void onLoaded(@NotNull Map<String, List<BatchedCall<ItemType_T>>> callsByUri,
+                              @Nullable BaseResponseList<ItemType_T> page) {
+            final Map<String, ItemType_T> items = new HashMap<>();
+            if (page != null && page.getData() != null) {
+                for (final ItemType_T item : page.getData()) {
+                    final String uri = item != null ? mUriExtractor.getUri(item) : null;
+                    if (uri != null) {
+                        items.put(MultiGetLoader.normalize(uri), item);
+                    }
+                }
+            }
+            for (final Map.Entry<String, List<BatchedCall<ItemType_T>>> entry : callsByUri.entrySet()) {
+                final ItemType_T item = items.get(entry.getKey());
+                for (final BatchedCall<ItemType_T> call : entry.getValue()) {
+                    if (!call.start()) {
+                        continue;
+                    }
+                    if (item != null) {
+                        call.mCallback.onResponse(call, Response.success(item));
+                    } else {
+                        mFallbackCount.incrementAndGet();
+                        call.fallBack();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The {@link Call} handed out for a batched request. Cancelling it only drops this request.
+     */
+    private static final class BatchedCall<ItemType_T> implements Call<ItemType_T> {
+
+        @NotNull
+        private final String mUri;
+
+        @NotNull
+        private final Call<ItemType_T> mCall;
+
+        @NotNull
+        private final Callback<ItemType_T> mCallback;
+
+        private boolean mStarted;
+
+        private boolean mCanceled;
+
+        BatchedCall(@NotNull String uri, @NotNull Call<ItemType_T> call, @NotNull Callback<ItemType_T> callback) {
+            mUri = uri;
+            mCall = call;
+            mCallback = callback;
+        }
+
+        /**
+         * @return true if the result can be delivered, false if the call was cancelled.
+         */
+        synchronized boolean start() {
+            if (mCanceled) {
+                return false;
+            }
+            mStarted = true;
+            return true;
+        }
+
+        void fallBack() {
+            mCall.enqueue(mCallback);
+        }
+
+        @Override
+        public Response<ItemType_T> execute() {
+            throw new IllegalStateException("Already executed.");
+        }
+
+        @Override
+        public void enqueue(Callback<ItemType_T> callback) {
+            throw new IllegalStateException("Already executed.");
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return true;
+        }
+
+        @Override
+        public void cancel() {
+            final boolean started;
+            synchronized (this) {
+                if (mCanceled) {
+                    return;
+                }
+                mCanceled = true;
+                started = mStarted;
+            }
+            if (started) {
+                // Already delivered, or sent on its own
+                mCall.cancel();
+            } else {
+                mCallback.onFailure(this, new IOException(CANCELED_MESSAGE));
+            }
+        }
+
+        @Override
+        public synchronized boolean isCanceled() {
+            return mCanceled;
+        }
+
+        @SuppressWarnings("CloneDoesntCallSuperClone")
+        @Override
+        public Call<ItemType_T> clone() {
+            return mCall.clone();
+        }
+
+        @Override
+        public Request request() {
+            return mCall.request();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The freshness of a response served from the cache for a stale-while-revalidate request, decided from the
+ * time the response was received from the network rather than from the freshness OkHttp computes. Most
+ * API responses have no explicit lifetime, so OkHttp considers them stale as soon as they are stored.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc5861">RFC 5861</a>
+ */
+public enum CacheFreshness {
+
+    /**
+     * The response is younger than the max age, it can be used as is.
+     */
+    FRESH,
+
+    /**
+     * The response is older than the max age, but within the stale-while-revalidate window. It can be used
+     * while it is revalidated.
+     */
+    STALE,
+
+    /**
+     * The response is too old to be used.
+     */
+    EXPIRED;
+
+    /**
+     * @param response                    the cached response.
+     * @param maxAgeSeconds               the time during which a response is fresh.
+     * @param staleWhileRevalidateSeconds how long after becoming stale a response may still be used.
+     * @return the freshness of the response.
+     */
+    @NotNull
+    public static CacheFreshness of(@NotNull okhttp3.Response response,
+                                    long maxAgeSeconds,
+                                    long staleWhileRevalidateSeconds) {
+        final long receivedAtMillis = response.receivedResponseAtMillis();
+        if (receivedAtMillis <= 0) {
+            // The age isn't known, serve the response but revalidate it
+            return STALE;
+        }
+        final long ageMillis = System.currentTimeMillis() - receivedAtMillis;
+        if (ageMillis <= TimeUnit.SECONDS.toMillis(maxAgeSeconds)) {
+            return FRESH;
+        }
+        if (ageMillis <= TimeUnit.SECONDS.toMillis(maxAgeSeconds + staleWhileRevalidateSeconds)) {
+            return STALE;
+        }
+        return EXPIRED;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.cache;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * How responses from an endpoint may be cached: whether they are stored at all, how long they stay fresh,
+ * and how long after that a stale response may still be served from the cache.
+ *
+ * @see CachePolicyRegistry
+ */
+public final class CachePolicy {
+
+    private static final CachePolicy NO_STORE = new CachePolicy(false, 0, 0);
+
+    private final boolean mStore;
+    private final int mTimeToLiveSeconds;
+    private final int mMaxStaleSeconds;
+
+    private CachePolicy(boolean store, int timeToLiveSeconds, int maxStaleSeconds) {
+        mStore = store;
+        mTimeToLiveSeconds = timeToLiveSeconds;
+        mMaxStaleSeconds = maxStaleSeconds;
+    }
+
+    /**
+     * @return a policy for responses that must never be cached, such as authentication responses or live
+     * data.
+     */
+    @NotNull
+    public static CachePolicy noStore() {
+        return NO_STORE;
+    }
+
+    /**
+     * @param timeToLive the duration during which a cached response is fresh.
+     * @param unit       the unit of the duration.
+     * @return a policy for responses that may be cached and are fresh for the given duration.
+     */
+    @NotNull
+    public static CachePolicy timeToLive(long timeToLive, @NotNull TimeUnit unit) {
+        if (timeToLive < 0) {
+            throw new IllegalArgumentException("timeToLive < 0: " + timeToLive);
+        }
+        return new CachePolicy(true, toClampedSeconds(timeToLive, unit), 0);
+    }
+
+    /**
+     * @param maxStale the duration after expiry during which a cached response may still be served.
+     * @param unit     the unit of the duration.
+     * @return a copy of this policy which allows stale responses to be served.
+     */
+    @NotNull
+    public CachePolicy withMaxStale(long maxStale, @NotNull TimeUnit unit) {
+        if (maxStale < 0) {
+            throw new IllegalArgumentException("maxStale < 0: " + maxStale);
+        }
+        if (!mStore) {
+            throw new IllegalStateException("Responses that aren't stored can't be served stale");
+        }
+        return new CachePolicy(true, mTimeToLiveSeconds, toClampedSeconds(maxStale, unit));
+    }
+
+    private static int toClampedSeconds(long duration, @NotNull TimeUnit unit) {
+        final long seconds = unit.toSeconds(duration);
+        return seconds > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) seconds;
+    }
+
+    /**
+     * @return true if responses may be cached, false otherwise.
+     */
+    public boolean isStored() {
+        return mStore;
+    }
+
+    /**
+     * @return the number of seconds during which a cached response is fresh.
+     */
+    public int getTimeToLiveSeconds() {
+        return mTimeToLiveSeconds;
+    }
+
+    /**
+     * @return the number of seconds after expiry during which a cached response may still be served.
+     */
+    public int getMaxStaleSeconds() {
+        return mMaxStaleSeconds;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final CachePolicy that = (CachePolicy) o;
+
+        return mStore == that.mStore &&
+               mTimeToLiveSeconds == that.mTimeToLiveSeconds &&
+               mMaxStaleSeconds == that.mMaxStaleSeconds;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = mStore ? 1 : 0;
+        result = 31 * result + mTimeToLiveSeconds;
+        result = 31 * result + mMaxStaleSeconds;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        if (!mStore) {
+            return "CachePolicy{no-store}";
+        }
+        return "CachePolicy{ttl=" + mTimeToLiveSeconds + "s, maxStale=" + mMaxStaleSeconds + "s}";
+    }
+}
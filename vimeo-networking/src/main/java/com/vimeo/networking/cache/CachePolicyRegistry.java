@@ -0,0 +1,177 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * A table of {@link CachePolicy cache policies} keyed by endpoint pattern. Policies are matched against the
+ * path of a request in the order they were registered, and the first match wins.
+ * <p>
+ * Patterns are paths in which {@code *} matches a single path segment and {@code **} matches any number of
+ * segments, for example {@code /users/*} or {@code /oauth/**}. A trailing {@code /**} also matches the
+ * path without it, so {@code /oauth/**} matches {@code /oauth}.
+ * <p>
+ * This class is thread safe, policies may be registered while requests are being made.
+ */
+public final class CachePolicyRegistry {
+
+    @NotNull
+    private final List<Rule> mRules = new CopyOnWriteArrayList<>();
+
+    /**
+     * @return a registry with the default policies for the Vimeo API:
+     * <ul>
+     * <li>authentication, tokens and notifications are never cached,</li>
+     * <li>live stats are never cached,</li>
+     * <li>documents (terms of service, privacy policy...) are fresh for a week,</li>
+     * <li>the app configuration is fresh for six hours and may be served stale for a day.</li>
+     * </ul>
+     * Other endpoints aren't covered, and keep using the cache control of the request.
+     */
+    @NotNull
+    public static CachePolicyRegistry createDefault() {
+        return new CachePolicyRegistry()
+                .register("/oauth/**", CachePolicy.noStore())
+                .register("/tokens/**", CachePolicy.noStore())
+                .register("/me/notifications/**", CachePolicy.noStore())
+                .register("/users/*/notifications/**", CachePolicy.noStore())
+                .register("**/live_stats", CachePolicy.noStore())
+                .register("/documents/**", CachePolicy.timeToLive(7, TimeUnit.DAYS))
+                .register("/configs/**", CachePolicy.timeToLive(6, TimeUnit.HOURS).withMaxStale(1, TimeUnit.DAYS));
+    }
+
+    /**
+     * Registers a policy for the endpoints matching a pattern. It only applies to paths which don't match
+     * a previously registered pattern.
+     *
+     * @param pattern the pattern of the endpoint paths.
+     * @param policy  the policy to apply to the matching endpoints.
+     * @return this registry.
+     */
+    @NotNull
+    public CachePolicyRegistry register(@NotNull String pattern, @NotNull CachePolicy policy) {
+        mRules.add(new Rule(compile(pattern), policy));
+        return this;
+    }
+
+    /**
+     * Gets the policy for a request.
+     *
+     * @param uri the URI of the request: a path, optionally with a query string, or an absolute URL.
+     * @return the policy of the first pattern matching the path, or null if there is none.
+     */
+    @Nullable
+    public CachePolicy getPolicy(@NotNull String uri) {
+        final String path = toPath(uri);
+        for (final Rule rule : mRules) {
+            if (rule.mPattern.matcher(path).matches()) {
+                return rule.mPolicy;
+            }
+        }
+        return null;
+    }
+
+    @NotNull
+    private static String toPath(@NotNull String uri) {
+        String path = uri;
+        final int schemeEnd = path.indexOf("://");
+        if (schemeEnd >= 0) {
+            final int pathStart = path.indexOf('/', schemeEnd + 3);
+            path = pathStart >= 0 ? path.substring(pathStart) : "/";
+        }
+        final int queryStart = path.indexOf('?');
+        if (queryStart >= 0) {
+            path = path.substring(0, queryStart);
+        }
+        if (!path.startsWith("/")) {
+            path = '/' + path;
+        }
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return path;
+    }
+
+    @NotNull
+    static Pattern compile(@NotNull String pattern) {
+        String glob = pattern.startsWith("/") || pattern.startsWith("**") ? pattern : '/' + pattern;
+        final StringBuilder regex = new StringBuilder();
+        int i = 0;
+        while (i < glob.length()) {
+            if (glob.startsWith("/**", i) && i + 3 == glob.length()) {
+                regex.append("(?:/.*)?");
+                i += 3;
+            } else if (glob.startsWith("**/", i)) {
+                regex.append("(?:.*/)?");
+                i += 3;
+            } else if (glob.startsWith("**", i)) {
+                regex.append(".*");
+                i += 2;
+            } else if (glob.charAt(i) == '*') {
+                regex.append("[^/]*");
+                i++;
+            } else {
+                final int next = nextWildcard(glob, i);
+                regex.append(Pattern.quote(glob.substring(i, next)));
+                i = next;
+            }
+        }
+        if (glob.startsWith("**")) {
+            // Paths always start with a slash, which the leading wildcard swallows
+            regex.insert(0, "/?");
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static int nextWildcard(@NotNull String glob, int from) {
+        for (int i = from; i < glob.length(); i++) {
+            if (glob.charAt(i) == '*' || (glob.startsWith("/**", i) && i + 3 == glob.length())) {
+                return i;
+            }
+        }
+        return glob.length();
+    }
+
+    private static final class Rule {
+
+        @NotNull
+        final Pattern mPattern;
+
+        @NotNull
+        final CachePolicy mPolicy;
+
+        Rule(@NotNull Pattern pattern, @NotNull CachePolicy policy) {
+            mPattern = pattern;
+            mPolicy = policy;
+        }
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.cache;
+
+import com.vimeo.networking.Vimeo;
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.requests.GetRequestKey;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.HttpURLConnection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * A size bounded, in memory cache of already decoded responses, which sits in front of the OkHttp disk
+ * cache. A hit saves both the disk read and the decoding of the body.
+ * <p>
+ * Entries are weighted by the size of the body they were decoded from, or by an estimate based on the
+ * number of decoded items when it isn't known, and evicted in least recently used order once the total
+ * weight exceeds the maximum size. Each entry remembers when its response was received from the network so
+ * that lookups can honour the max age requested for a call, even for responses served by the disk cache.
+ * <p>
+ * Entries also keep the {@code ETag} and {@code Last-Modified} validators of their response, so that an
+ * expired entry can be revalidated with a conditional request: a {@code 304 Not Modified} answer reuses the
+ * decoded response without reading or decoding a body.
+ * <p>
+ * The cached model objects are shared by every caller that gets a hit, they shouldn't be modified.
+ * <p>
+ * This class is thread safe.
+ */
+public final class DecodedObjectCache {
+
+    /**
+     * The weight given to a decoded object, or to each item of a decoded list, when the length of the body
+     * isn't known, for example because the body was compressed or chunked. API responses are usually
+     * compressed, and OkHttp drops their length when it decompresses them.
+     */
+    static final long DEFAULT_ENTRY_WEIGHT = 8 * 1024;
+
+    private final long mMaxSize;
+
+    private long mSize;
+
+    private long mHitCount;
+
+    private long mMissCount;
+
+    private long mNotModifiedCount;
+
+    @NotNull
+    private final LinkedHashMap<GetRequestKey, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param maxSize the maximum total weight of the cached entries, in bytes of decoded body.
+     */
+    public DecodedObjectCache(long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize <= 0");
+        }
+        mMaxSize = maxSize;
+    }
+
+    /**
+     * Gets a cached response if it isn't older than the given age.
+     *
+     * @param key           the key of the request.
+     * @param maxAgeSeconds the maximum age in seconds of the response. An older response is left in the
+     *                      cache, as a later request may accept it.
+     * @return the cached response, or null if there is no fresh enough response.
+     */
+    @Nullable
+    public synchronized <DataType_T> Response<DataType_T> get(@NotNull GetRequestKey key, long maxAgeSeconds) {
+        final Entry entry = mEntries.get(key);
+        if (entry == null || entry.getAgeMillis() > TimeUnit.SECONDS.toMillis(maxAgeSeconds)) {
+            mMissCount++;
+            return null;
+        }
+        mHitCount++;
+        @SuppressWarnings("unchecked")
+        final Response<DataType_T> response = (Response<DataType_T>) entry.mResponse;
+        return response;
+    }
+
+    /**
+     * Gets a cached response of any age that can be revalidated with a conditional request.
+     *
+     * @param key the key of the request.
+     * @return the cached response with its validators, or null if there is none or it has no validators.
+     */
+    @Nullable
+    public synchronized <DataType_T> CachedResponse<DataType_T> getForRevalidation(@NotNull GetRequestKey key) {
+        final Entry entry = mEntries.get(key);
+        if (entry == null || (entry.mETag == null && entry.mLastModified == null)) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        final Response<DataType_T> response = (Response<DataType_T>) entry.mResponse;
+        return new CachedResponse<>(response, entry.mETag, entry.mLastModified);
+    }
+
+    /**
+     * Resolves the response of a request that may have been revalidated. A {@code 304 Not Modified} response
+     * is replaced by the cached response it validated, which is then considered fresh again. Any other
+     * successful response is cached.
+     *
+     * @param key         the key of the request.
+     * @param revalidated the cached response whose validators were sent with the request, may be null.
+     * @param response    the response received for the request.
+     * @return the response to deliver.
+     */
+    @NotNull
+    public <DataType_T> Response<DataType_T> resolve(@NotNull GetRequestKey key,
+                                                      @Nullable CachedResponse<DataType_T> revalidated,
+                                                      @NotNull Response<DataType_T> response) {
+        if (response.code() != HttpURLConnection.HTTP_NOT_MODIFIED) {
+            put(key, response);
+            return response;
+        }
+        CachedResponse<DataType_T> validated = revalidated;
+        final String eTag = response.raw().request().header(Vimeo.HEADER_IF_NONE_MATCH);
+        if (validated == null || (eTag != null && !eTag.equals(validated.getETag()))) {
+            // The network call may have been shared with a request that sent other validators
+            validated = getForRevalidation(key);
+        }
+        if (validated == null) {
+            return response;
+        }
+        synchronized (this) {
+            mNotModifiedCount++;
+        }
+        put(key, validated.getResponse(), getReceivedAtMillis(response));
+        return validated.getResponse();
+    }
+
+    /**
+     * @param key           the key of the request.
+     * @param maxAgeSeconds the maximum age in seconds of a fresh response.
+     * @return true if a response is cached for the request and it isn't older than the given age.
+     */
+    public synchronized boolean isFresh(@NotNull GetRequestKey key, long maxAgeSeconds) {
+        final Entry entry = mEntries.get(key);
+        return entry != null && entry.getAgeMillis() <= TimeUnit.SECONDS.toMillis(maxAgeSeconds);
+    }
+
+    /**
+     * Caches a response. Unsuccessful responses and responses without a body are ignored. The age of the
+     * entry starts when the response was received from the network, not when it is stored, so a stale
+     * response served by the disk cache stays stale.
+     *
+     * @param key      the key of the request.
+     * @param response the response of the request.
+     */
+    public void put(@NotNull GetRequestKey key, @NotNull Response<?> response) {
+        put(key, response, getReceivedAtMillis(response));
+    }
+
+    private void put(@NotNull GetRequestKey key, @NotNull Response<?> response, long receivedAtMillis) {
+        if (!response.isSuccessful() || response.body() == null) {
+            return;
+        }
+        final okhttp3.Headers headers = response.headers();
+        final Entry entry = new Entry(response,
+                                      weigh(response),
+                                      receivedAtMillis,
+                                      headers.get(Vimeo.HEADER_ETAG),
+                                      headers.get(Vimeo.HEADER_LAST_MODIFIED));
+        if (entry.mWeight > mMaxSize) {
+            remove(key);
+            return;
+        }
+        synchronized (this) {
+            final Entry previous = mEntries.put(key, entry);
+            if (previous != null) {
+                mSize -= previous.mWeight;
+            }
+            mSize += entry.mWeight;
+            trimToSize();
+        }
+    }
+
+    /**
+     * Wraps a callback so that the successful response it receives is cached.
+     *
+     * @param key         the key of the request.
+     * @param revalidated the cached response whose validators are sent with the request, may be null.
+     * @param callback    the callback to wrap.
+     * @return a callback that resolves and caches the response before notifying the wrapped callback.
+     * @see #resolve(GetRequestKey, CachedResponse, Response)
+     */
+    @NotNull
+    public <DataType_T> Callback<DataType_T> cachingCallback(@NotNull GetRequestKey key,
+                                                             @Nullable CachedResponse<DataType_T> revalidated,
+                                                             @NotNull Callback<DataType_T> callback) {
+        return new CachingCallback<>(this, key, revalidated, callback);
+    }
+
+    /**
+     * Removes the cached response of a request, if any.
+     *
+     * @param key the key of the request.
+     */
+    public synchronized void remove(@NotNull GetRequestKey key) {
+        final Entry previous = mEntries.remove(key);
+        if (previous != null) {
+            mSize -= previous.mWeight;
+        }
+    }
+
+    /**
+     * Removes all the cached responses.
+     */
+    public synchronized void evictAll() {
+        mEntries.clear();
+        mSize = 0;
+    }
+
+    /**
+     * @return the total weight of the cached responses.
+     */
+    public synchronized long size() {
+        return mSize;
+    }
+
+    public long maxSize() {
+        return mMaxSize;
+    }
+
+    public synchronized int getEntryCount() {
+        return mEntries.size();
+    }
+
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * @return the number of cached responses reused because the server answered {@code 304 Not Modified}.
+     */
+    public synchronized long getNotModifiedCount() {
+        return mNotModifiedCount;
+    }
+
+    private void trimToSize() {
+        final Iterator<Map.Entry<GetRequestKey, Entry>> iterator = mEntries.entrySet().iterator();
+        while (mSize > mMaxSize && iterator.hasNext()) {
+            mSize -= iterator.next().getValue().mWeight;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * OkHttp keeps the time at which a response was received from the network on the responses it serves
+     * from the disk cache, so the age of an entry doesn't restart when it is read back from disk.
+     */
+    private static long getReceivedAtMillis(@NotNull Response<?> response) {
+        final long receivedAtMillis = response.raw().receivedResponseAtMillis();
+        return receivedAtMillis > 0 ? receivedAtMillis : System.currentTimeMillis();
+    }
+
+    /**
+     * Retrofit keeps the length of the decoded body on the raw response. When it isn't known, the weight is
+     * estimated from the number of decoded objects.
+     */
+    private static long weigh(@NotNull Response<?> response) {
+        final ResponseBody rawBody = response.raw().body();
+        final long contentLength = rawBody != null ? rawBody.contentLength() : -1;
+        if (contentLength > 0) {
+            return contentLength;
+        }
+        final Object body = response.body();
+        if (body instanceof BaseResponseList && ((BaseResponseList<?>) body).getData() != null) {
+            return Math.max(1, ((BaseResponseList<?>) body).getData().size()) * DEFAULT_ENTRY_WEIGHT;
+        }
+        return DEFAULT_ENTRY_WEIGHT;
+    }
+
+    private static final class CachingCallback<DataType_T> implements Callback<DataType_T> {
+
+        @NotNull
+        private final DecodedObjectCache mCache;
+
+        @NotNull
+        private final GetRequestKey mKey;
+
+        @Nullable
+        private final CachedResponse<DataType_T> mRevalidated;
+
+        @NotNull
+        private final Callback<DataType_T> mCallback;
+
+        CachingCallback(@NotNull DecodedObjectCache cache,
+                        @NotNull GetRequestKey key,
+                        @Nullable CachedResponse<DataType_T> revalidated,
+                        @NotNull Callback<DataType_T> callback) {
+            mCache = cache;
+            mKey = key;
+            mRevalidated = revalidated;
+            mCallback = callback;
+        }
+
+        @Override
+        public void onResponse(Call<DataType_T> call, Response<DataType_T> response) {
+            mCallback.onResponse(call, mCache.resolve(mKey, mRevalidated, response));
+        }
+
+        @Override
+        public void onFailure(Call<DataType_T> call, Throwable t) {
+            mCallback.onFailure(call, t);
+        }
+    }
+
+    /**
+     * A cached response along with the validators that can be sent to check whether it is still current.
+     */
+    public static final class CachedResponse<DataType_T> {
+
+        @NotNull
+        private final Response<DataType_T> mResponse;
+
+        @Nullable
+        private final String mETag;
+
+        @Nullable
+        private final String mLastModified;
+
+        CachedResponse(@NotNull Response<DataType_T> response, @Nullable String eTag, @Nullable String lastModified) {
+            mResponse = response;
+            mETag = eTag;
+            mLastModified = lastModified;
+        }
+
+        @NotNull
+        public Response<DataType_T> getResponse() {
+            return mResponse;
+        }
+
+        @Nullable
+        public String getETag() {
+            return mETag;
+        }
+
+        @Nullable
+        public String getLastModified() {
+            return mLastModified;
+        }
+    }
+
+    private static final class Entry {
+
+        @NotNull
+        final Response<?> mResponse;
+
+        final long mWeight;
+
+        final long mReceivedAtMillis;
+
+        @Nullable
+        final String mETag;
+
+        @Nullable
+        final String mLastModified;
+
+        Entry(@NotNull Response<?> response,
+              long weight,
+              long receivedAtMillis,
+              @Nullable String eTag,
+              @Nullable String lastModified) {
+            mResponse = response;
+            mWeight = weight;
+            mReceivedAtMillis = receivedAtMillis;
+            mETag = eTag;
+            mLastModified = lastModified;
+        }
+
+        long getAgeMillis() {
+            return System.currentTimeMillis() - mReceivedAtMillis;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.callbacks;
+
+import com.vimeo.networking.logging.VimeoLogger;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The executor on which the callbacks of requests run, such as {@link VimeoCallback#success(Object)}. It
+ * hands callbacks to another executor so that they don't hold the OkHttp dispatcher threads, and measures
+ * how long each of them takes. Callbacks slower than a threshold are logged, since they delay every
+ * callback queued behind them.
+ * <p>
+ * This class is thread safe.
+ */
+public final class MonitoredCallbackExecutor implements Executor {
+
+    @NotNull
+    private final Executor mDelegate;
+
+    private final long mSlowThresholdNanos;
+
+    @NotNull
+    private final VimeoLogger mLogger;
+
+    private final AtomicLong mCallbackCount = new AtomicLong();
+
+    private final AtomicLong mSlowCallbackCount = new AtomicLong();
+
+    private final AtomicLong mTotalDurationNanos = new AtomicLong();
+
+    private final AtomicLong mMaxDurationNanos = new AtomicLong();
+
+    /**
+     * @param delegate      the executor on which callbacks run.
+     * @param slowThreshold the duration above which a callback is considered slow and logged.
+     * @param unit          the unit of the threshold.
+     * @param logger        the logger for slow callbacks.
+     */
+    public MonitoredCallbackExecutor(@NotNull Executor delegate,
+                                     long slowThreshold,
+                                     @NotNull TimeUnit unit,
+                                     @NotNull VimeoLogger logger) {
+        mDelegate = delegate;
+        mSlowThresholdNanos = unit.toNanos(slowThreshold);
+        mLogger = logger;
+    }
+
+    @Override
+    public void execute(@NotNull final Runnable callback) {
+        mDelegate.execute(new Runnable() {
+            @Override
+            public void run() {
+                final long start = System.nanoTime();
+                try {
+                    callback.run();
+                } finally {
+                    onCallbackRun(System.nanoTime() - start);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the number of callbacks that ran.
+     */
+    public long getCallbackCount() {
+        return mCallbackCount.get();
+    }
+
+    /**
+     * @return the number of callbacks that took longer than the threshold.
+     */
+    public long getSlowCallbackCount() {
+        return mSlowCallbackCount.get();
+    }
+
+    /**
+     * @return the average duration of a callback in milliseconds, 0 if none ran.
+     */
+    public double getAverageDurationMillis() {
+        final long count = mCallbackCount.get();
+        return count == 0 ? 0 : (double) mTotalDurationNanos.get() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return the duration of the slowest callback in milliseconds.
+     */
+    public long getMaxDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(mMaxDurationNanos.get());
+    }
+
+    private void onCallbackRun(long durationNanos) {
+        mCallbackCount.incrementAndGet();
+        mTotalDurationNanos.addAndGet(durationNanos);
+        long max = mMaxDurationNanos.get();
+        while (durationNanos > max && !mMaxDurationNanos.compareAndSet(max, durationNanos)) {
+            max = mMaxDurationNanos.get();
+        }
+        if (durationNanos > mSlowThresholdNanos) {
+            mSlowCallbackCount.incrementAndGet();
+            mLogger.e("Slow callback on " + Thread.currentThread().getName() + ": " +
+                      TimeUnit.NANOSECONDS.toMillis(durationNanos) + "ms");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.callbacks;
+
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.streaming.StreamingListDecoder.ItemConsumer;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A callback for a list decoded while it is read from the network. {@link #item(Object)} is called for each
+ * item as soon as it is decoded, then {@link #success(Object)} is called with the list without its items,
+ * which holds the paging, total and other fields of the response.
+ * <p>
+ * If the request fails while the items are read, {@link #failure(com.vimeo.networking.model.error.VimeoError)}
+ * is called after the items that were already decoded.
+ */
+public abstract class StreamingListCallback<ItemType_T, ListType_T extends BaseResponseList<ItemType_T>>
+        extends VimeoCallback<ListType_T> implements ItemConsumer<ItemType_T> {
+
+    public abstract void item(@NotNull ItemType_T item);
+
+    @Override
+    public final void onItem(@NotNull ItemType_T item) {
+        item(item);
+    }
+}
@@ -51,6 +51,7 @@ import com.vimeo.networking.model.tvod.TvodItem;
 import com.vimeo.networking.model.tvod.TvodList;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Map;
 
@@ -70,7 +71,7 @@ public final class GetRequestCaller {
      * {@link VimeoClient#getContent(String, CacheControl, Caller, String, Map, String, VimeoCallback)} or
      * {@link VimeoClient#getContentSync(String, CacheControl, String, Map, String, Caller)}
      * to get an {@link AppConfiguration} response from an API endpoint. This caller will call through to
-     * {@link VimeoService#getAppConfiguration(String, String, Map, String)}
+     * {@link VimeoService#getAppConfiguration(String, String, Map, String, String, String)}
      */
     public static final Caller<AppConfiguration> APP_CONFIGURATION =
             new Caller<AppConfiguration>() {
@@ -81,8 +82,11 @@ public final class GetRequestCaller {
                                                    @NotNull String uri,
                                                    @NotNull Map<String, String> queryMap,
                                                    @NotNull String cacheHeader,
+                                                   @Nullable String ifNoneMatch,
+                                                   @Nullable String ifModifiedSince,
                                                    @NotNull VimeoService vimeoService) {
-                    return vimeoService.getAppConfiguration(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getAppConfiguration(authHeader, uri, queryMap, cacheHeader,
+                                                            ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -91,7 +95,7 @@ public final class GetRequestCaller {
      * {@link VimeoClient#getContent(String, CacheControl, Caller, String, Map, String, VimeoCallback)} or
      * {@link VimeoClient#getContentSync(String, CacheControl, String, Map, String, Caller)}
      * to get an {@link Category} response from an API endpoint. This caller will call through to
-     * {@link VimeoService#getCategory(String, String, Map, String)}
+     * {@link VimeoService#getCategory(String, String, Map, String, String, String)}
      */
     public static final Caller<Category> CATEGORY =
             new Caller<Category>() {
@@ -102,8 +106,11 @@ public final class GetRequestCaller {
                                            @NotNull String uri,
                                            @NotNull Map<String, String> queryMap,
                                            @NotNull String cacheHeader,
+                                           @Nullable String ifNoneMatch,
+                                           @Nullable String ifModifiedSince,
                                            @NotNull VimeoService vimeoService) {
-                    return vimeoService.getCategory(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getCategory(authHeader, uri, queryMap, cacheHeader,
+                                                    ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -122,8 +129,11 @@ public final class GetRequestCaller {
                                           @NotNull String uri,
                                           @NotNull Map<String, String> queryMap,
                                           @NotNull String cacheHeader,
+                                          @Nullable String ifNoneMatch,
+                                          @Nullable String ifModifiedSince,
                                           @NotNull VimeoService vimeoService) {
-                    return vimeoService.getChannel(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getChannel(authHeader, uri, queryMap, cacheHeader,
+                                                   ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -142,8 +152,11 @@ public final class GetRequestCaller {
                                                @NotNull String uri,
                                                @NotNull Map<String, String> queryMap,
                                                @NotNull String cacheHeader,
+                                               @Nullable String ifNoneMatch,
+                                               @Nullable String ifModifiedSince,
                                                @NotNull VimeoService vimeoService) {
-                    return vimeoService.getCategoryList(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getCategoryList(authHeader, uri, queryMap, cacheHeader,
+                                                        ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -162,8 +175,11 @@ public final class GetRequestCaller {
                                               @NotNull String uri,
                                               @NotNull Map<String, String> queryMap,
                                               @NotNull String cacheHeader,
+                                              @Nullable String ifNoneMatch,
+                                              @Nullable String ifModifiedSince,
                                               @NotNull VimeoService vimeoService) {
-                    return vimeoService.getChannelList(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getChannelList(authHeader, uri, queryMap, cacheHeader,
+                                                       ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -182,8 +198,11 @@ public final class GetRequestCaller {
                                           @NotNull String uri,
                                           @NotNull Map<String, String> queryMap,
                                           @NotNull String cacheHeader,
+                                          @Nullable String ifNoneMatch,
+                                          @Nullable String ifModifiedSince,
                                           @NotNull VimeoService vimeoService) {
-                    return vimeoService.getComment(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getComment(authHeader, uri, queryMap, cacheHeader,
+                                                   ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -202,8 +221,11 @@ public final class GetRequestCaller {
                                               @NotNull String uri,
                                               @NotNull Map<String, String> queryMap,
                                               @NotNull String cacheHeader,
+                                              @Nullable String ifNoneMatch,
+                                              @Nullable String ifModifiedSince,
                                               @NotNull VimeoService vimeoService) {
-                    return vimeoService.getCommentList(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getCommentList(authHeader, uri, queryMap, cacheHeader,
+                                                       ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -222,8 +244,11 @@ public final class GetRequestCaller {
                                            @NotNull String uri,
                                            @NotNull Map<String, String> queryMap,
                                            @NotNull String cacheHeader,
+                                           @Nullable String ifNoneMatch,
+                                           @Nullable String ifModifiedSince,
                                            @NotNull VimeoService vimeoService) {
-                    return vimeoService.getFeedList(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getFeedList(authHeader, uri, queryMap, cacheHeader,
+                                                    ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -242,8 +267,11 @@ public final class GetRequestCaller {
                                             @NotNull String uri,
                                             @NotNull Map<String, String> queryMap,
                                             @NotNull String cacheHeader,
+                                            @Nullable String ifNoneMatch,
+                                            @Nullable String ifModifiedSince,
                                             @NotNull VimeoService vimeoService) {
-                    return vimeoService.getLiveStats(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getLiveStats(authHeader, uri, queryMap, cacheHeader,
+                                                     ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -263,8 +291,11 @@ public final class GetRequestCaller {
                         @NotNull String uri,
                         @NotNull Map<String, String> queryMap,
                         @NotNull String cacheHeader,
+                        @Nullable String ifNoneMatch,
+                        @Nullable String ifModifiedSince,
                         @NotNull VimeoService vimeoService) {
-                    return vimeoService.getNotificationList(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getNotificationList(authHeader, uri, queryMap, cacheHeader,
+                                                            ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -284,8 +315,11 @@ public final class GetRequestCaller {
                         @NotNull String uri,
                         @NotNull Map<String, String> queryMap,
                         @NotNull String cacheHeader,
+                        @Nullable String ifNoneMatch,
+                        @Nullable String ifModifiedSince,
                         @NotNull VimeoService vimeoService) {
-                    return vimeoService.getProgramContentItemList(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getProgramContentItemList(authHeader, uri, queryMap, cacheHeader,
+                                                                  ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -304,8 +338,11 @@ public final class GetRequestCaller {
                                                      @NotNull String uri,
                                                      @NotNull Map<String, String> queryMap,
                                                      @NotNull String cacheHeader,
+                                                     @Nullable String ifNoneMatch,
+                                                     @Nullable String ifModifiedSince,
                                                      @NotNull VimeoService vimeoService) {
-                    return vimeoService.getRecommendationList(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getRecommendationList(authHeader, uri, queryMap, cacheHeader,
+                                                              ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -324,8 +361,11 @@ public final class GetRequestCaller {
                                                  @NotNull String uri,
                                                  @NotNull Map<String, String> queryMap,
                                                  @NotNull String cacheHeader,
+                                                 @Nullable String ifNoneMatch,
+                                                 @Nullable String ifModifiedSince,
                                                  @NotNull VimeoService vimeoService) {
-                    return vimeoService.getSearchResponse(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getSearchResponse(authHeader, uri, queryMap, cacheHeader,
+                                                          ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -344,8 +384,11 @@ public final class GetRequestCaller {
                                              @NotNull String uri,
                                              @NotNull Map<String, String> queryMap,
                                              @NotNull String cacheHeader,
+                                             @Nullable String ifNoneMatch,
+                                             @Nullable String ifModifiedSince,
                                              @NotNull VimeoService vimeoService) {
-                    return vimeoService.getSeasonList(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getSeasonList(authHeader, uri, queryMap, cacheHeader,
+                                                      ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -364,8 +407,11 @@ public final class GetRequestCaller {
                                            @NotNull String uri,
                                            @NotNull Map<String, String> queryMap,
                                            @NotNull String cacheHeader,
+                                           @Nullable String ifNoneMatch,
+                                           @Nullable String ifModifiedSince,
                                            @NotNull VimeoService vimeoService) {
-                    return vimeoService.getTvodItem(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getTvodItem(authHeader, uri, queryMap, cacheHeader,
+                                                    ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -384,8 +430,11 @@ public final class GetRequestCaller {
                                            @NotNull String uri,
                                            @NotNull Map<String, String> queryMap,
                                            @NotNull String cacheHeader,
+                                           @Nullable String ifNoneMatch,
+                                           @Nullable String ifModifiedSince,
                                            @NotNull VimeoService vimeoService) {
-                    return vimeoService.getTvodList(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getTvodList(authHeader, uri, queryMap, cacheHeader,
+                                                    ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -404,8 +453,10 @@ public final class GetRequestCaller {
                                        @NotNull String uri,
                                        @NotNull Map<String, String> queryMap,
                                        @NotNull String cacheHeader,
+                                       @Nullable String ifNoneMatch,
+                                       @Nullable String ifModifiedSince,
                                        @NotNull VimeoService vimeoService) {
-                    return vimeoService.getUser(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getUser(authHeader, uri, queryMap, cacheHeader, ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -424,8 +475,10 @@ public final class GetRequestCaller {
                                         @NotNull String uri,
                                         @NotNull Map<String, String> queryMap,
                                         @NotNull String cacheHeader,
+                                        @Nullable String ifNoneMatch,
+                                        @Nullable String ifModifiedSince,
                                         @NotNull VimeoService vimeoService) {
-                    return vimeoService.getVideo(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getVideo(authHeader, uri, queryMap, cacheHeader, ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -444,8 +497,10 @@ public final class GetRequestCaller {
                                        @NotNull String uri,
                                        @NotNull Map<String, String> queryMap,
                                        @NotNull String cacheHeader,
+                                       @Nullable String ifNoneMatch,
+                                       @Nullable String ifModifiedSince,
                                        @NotNull VimeoService vimeoService) {
-                    return vimeoService.getVoid(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getVoid(authHeader, uri, queryMap, cacheHeader, ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -464,8 +519,11 @@ public final class GetRequestCaller {
                                            @NotNull String uri,
                                            @NotNull Map<String, String> queryMap,
                                            @NotNull String cacheHeader,
+                                           @Nullable String ifNoneMatch,
+                                           @Nullable String ifModifiedSince,
                                            @NotNull VimeoService vimeoService) {
-                    return vimeoService.getUserList(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getUserList(authHeader, uri, queryMap, cacheHeader,
+                                                    ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -484,8 +542,11 @@ public final class GetRequestCaller {
                                             @NotNull String uri,
                                             @NotNull Map<String, String> queryMap,
                                             @NotNull String cacheHeader,
+                                            @Nullable String ifNoneMatch,
+                                            @Nullable String ifModifiedSince,
                                             @NotNull VimeoService vimeoService) {
-                    return vimeoService.getVideoList(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getVideoList(authHeader, uri, queryMap, cacheHeader,
+                                                     ifNoneMatch, ifModifiedSince);
                 }
             };
 
@@ -504,8 +565,11 @@ public final class GetRequestCaller {
                                           @NotNull String uri,
                                           @NotNull Map<String, String> queryMap,
                                           @NotNull String cacheHeader,
+                                          @Nullable String ifNoneMatch,
+                                          @Nullable String ifModifiedSince,
                                           @NotNull VimeoService vimeoService) {
-                    return vimeoService.getProduct(authHeader, uri, queryMap, cacheHeader);
+                    return vimeoService.getProduct(authHeader, uri, queryMap, cacheHeader,
+                                                   ifNoneMatch, ifModifiedSince);
                 }
             };
 
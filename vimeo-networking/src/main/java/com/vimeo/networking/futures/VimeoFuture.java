@@ -0,0 +1,422 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.futures;
+
+import com.vimeo.networking.callbacks.VimeoCallback;
+import com.vimeo.networking.model.error.VimeoError;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import retrofit2.Call;
+
+/**
+ * The pending result of an asynchronous request, which completes either with the model or with a
+ * {@link VimeoError}. It is the composable counterpart of {@link VimeoCallback}: callbacks can be added at
+ * any time, even after completion, and futures can be chained with {@link #map(Transformation)} and
+ * {@link #then(AsyncTransformation)} instead of nesting callbacks.
+ * <p>
+ * Nothing in this class blocks. Callbacks are invoked on the executor given when adding them, or on the
+ * default executor of the future, or else on the thread that completed the future.
+ * <p>
+ * Cancelling the future cancels the underlying {@link Call}, as well as the futures it was chained from. The
+ * future then completes with an error for which {@link VimeoError#isCanceledError()} is true.
+ * <p>
+ * This class is thread safe.
+ *
+ * @param <ResultType_T> the type of the result.
+ */
+public final class VimeoFuture<ResultType_T> {
+
+    /**
+     * Transforms the result of a future.
+     */
+    public interface Transformation<InputType_T, OutputType_T> {
+
+        OutputType_T apply(InputType_T input);
+    }
+
+    /**
+     * Transforms the result of a future into another future, usually a request that depends on it.
+     */
+    public interface AsyncTransformation<InputType_T, OutputType_T> {
+
+        @NotNull
+        VimeoFuture<OutputType_T> apply(InputType_T input);
+    }
+
+    private static final String CANCELED_MESSAGE = "Canceled";
+
+    private static final Cancellable NO_OP = new Cancellable() {
+        @Override
+        public void cancel() {
+        }
+    };
+
+    @Nullable
+    private final Executor mDefaultExecutor;
+
+    @NotNull
+    private final List<ListenerRegistration<ResultType_T>> mListeners = new ArrayList<>();
+
+    @Nullable
+    private Cancellable mCancellable;
+
+    private boolean mDone;
+
+    @Nullable
+    private ResultType_T mResult;
+
+    @Nullable
+    private VimeoError mError;
+
+    /**
+     * @param defaultExecutor the executor on which callbacks added without an executor are invoked. If null,
+     *                        they are invoked on the thread that completes the future.
+     */
+    public VimeoFuture(@Nullable Executor defaultExecutor) {
+        mDefaultExecutor = defaultExecutor;
+    }
+
+    /**
+     * @return a future that is already completed with the result.
+     */
+    @NotNull
+    public static <ResultType_T> VimeoFuture<ResultType_T> success(@Nullable ResultType_T result,
+                                                                   @Nullable Executor defaultExecutor) {
+        final VimeoFuture<ResultType_T> future = new VimeoFuture<>(defaultExecutor);
+        future.set(result);
+        return future;
+    }
+
+    /**
+     * @return a future that is already completed with the error.
+     */
+    @NotNull
+    public static <ResultType_T> VimeoFuture<ResultType_T> failure(@NotNull VimeoError error,
+                                                                   @Nullable Executor defaultExecutor) {
+        final VimeoFuture<ResultType_T> future = new VimeoFuture<>(defaultExecutor);
+        future.setError(error);
+        return future;
+    }
+
+    /**
+     * Completes the future with a result.
+     *
+     * @return true if the future was completed, false if it was already done.
+     */
+    public boolean set(@Nullable ResultType_T result) {
+        return complete(result, null) != null;
+    }
+
+    /**
+     * Completes the future with an error.
+     *
+     * @return true if the future was completed, false if it was already done.
+     */
+    public boolean setError(@NotNull VimeoError error) {
+        return complete(null, error) != null;
+    }
+
+    /**
+     * Sets the call producing the result of this future, so that cancelling the future cancels it. If the
+     * future was already cancelled, the call is cancelled right away.
+     */
+    public void setCall(@Nullable final Call<?> call) {
+        if (call == null) {
+            return;
+        }
+        setCancellable(new Cancellable() {
+            @Override
+            public void cancel() {
+                call.cancel();
+            }
+        });
+    }
+
+    /**
+     * @return a callback that completes this future, to pass to the methods of
+     * {@link com.vimeo.networking.VimeoClient} that take one.
+     */
+    @NotNull
+    public VimeoCallback<ResultType_T> asCallback() {
+        return new VimeoCallback<ResultType_T>() {
+            @Override
+            public void success(ResultType_T result) {
+                set(result);
+            }
+
+            @Override
+            public void failure(VimeoError error) {
+                setError(error);
+            }
+        };
+    }
+
+    /**
+     * Adds a callback invoked on the default executor once the future completes. If it already completed, the
+     * callback is invoked right away.
+     *
+     * @return this future.
+     */
+    @NotNull
+    public VimeoFuture<ResultType_T> addCallback(@NotNull VimeoCallback<ResultType_T> callback) {
+        return addCallback(callback, mDefaultExecutor);
+    }
+
+    /**
+     * Adds a callback invoked on the given executor once the future completes. If it already completed, the
+     * callback is invoked right away.
+     *
+     * @param callback the callback.
+     * @param executor the executor on which the callback is invoked, null to invoke it on the thread that
+     *                 completes the future.
+     * @return this future.
+     */
+    @NotNull
+    public VimeoFuture<ResultType_T> addCallback(@NotNull VimeoCallback<ResultType_T> callback,
+                                                 @Nullable Executor executor) {
+        final ListenerRegistration<ResultType_T> registration = new ListenerRegistration<>(callback, executor);
+        synchronized (this) {
+            if (!mDone) {
+                mListeners.add(registration);
+                return this;
+            }
+        }
+        registration.notifyCompletion(this);
+        return this;
+    }
+
+    /**
+     * Chains a synchronous transformation of the result. Errors are passed through unchanged, and a runtime
+     * exception thrown by the transformation fails the returned future.
+     *
+     * @return a future completed with the transformed result.
+     */
+    @NotNull
+    public <OutputType_T> VimeoFuture<OutputType_T> map(
+            @NotNull final Transformation<? super ResultType_T, OutputType_T> transformation) {
+        final VimeoFuture<OutputType_T> output = new VimeoFuture<>(mDefaultExecutor);
+        output.setCancellable(asCancellable());
+        addCallback(new VimeoCallback<ResultType_T>() {
+            @Override
+            public void success(ResultType_T result) {
+                final OutputType_T transformed;
+                try {
+                    transformed = transformation.apply(result);
+                } catch (final RuntimeException e) {
+                    output.setError(new VimeoError(e.getMessage(), e));
+                    return;
+                }
+                output.set(transformed);
+            }
+
+            @Override
+            public void failure(VimeoError error) {
+                output.setError(error);
+            }
+        }, null);
+        return output;
+    }
+
+    /**
+     * Chains an asynchronous operation, usually a request that depends on the result of this one. Errors are
+     * passed through unchanged. Cancelling the returned future cancels whichever of the two is in progress.
+     *
+     * @return a future completed with the result of the future returned by the transformation.
+     */
+    @NotNull
+    public <OutputType_T> VimeoFuture<OutputType_T> then(
+            @NotNull final AsyncTransformation<? super ResultType_T, OutputType_T> transformation) {
+        final VimeoFuture<OutputType_T> output = new VimeoFuture<>(mDefaultExecutor);
+        output.setCancellable(asCancellable());
+        addCallback(new VimeoCallback<ResultType_T>() {
+            @Override
+            public void success(ResultType_T result) {
+                final VimeoFuture<OutputType_T> next;
+                try {
+                    next = transformation.apply(result);
+                } catch (final RuntimeException e) {
+                    output.setError(new VimeoError(e.getMessage(), e));
+                    return;
+                }
+                output.setCancellable(next.asCancellable());
+                next.addCallback(output.asCallback(), null);
+            }
+
+            @Override
+            public void failure(VimeoError error) {
+                output.setError(error);
+            }
+        }, null);
+        return output;
+    }
+
+    /**
+     * Cancels the request producing the result, and completes the future with a cancellation error.
+     *
+     * @return true if the future was cancelled, false if it was already done.
+     */
+    public boolean cancel() {
+        final VimeoError error = new VimeoError(CANCELED_MESSAGE);
+        error.setDeveloperMessage(CANCELED_MESSAGE);
+        error.setIsCanceledError(true);
+        final Cancellable cancellable = complete(null, error);
+        if (cancellable == null) {
+            return false;
+        }
+        cancellable.cancel();
+        return true;
+    }
+
+    public synchronized boolean isDone() {
+        return mDone;
+    }
+
+    public synchronized boolean isCancelled() {
+        return mError != null && mError.isCanceledError();
+    }
+
+    /**
+     * @return true if the future completed with a result rather than an error.
+     */
+    public synchronized boolean isSuccessful() {
+        return mDone && mError == null;
+    }
+
+    /**
+     * @return the result, or null if the future hasn't completed or failed. This never blocks.
+     */
+    @Nullable
+    public synchronized ResultType_T getResult() {
+        return mResult;
+    }
+
+    /**
+     * @return the error, or null if the future hasn't completed or succeeded. This never blocks.
+     */
+    @Nullable
+    public synchronized VimeoError getError() {
+        return mError;
+    }
+
+    /**
+     * Completes the future and notifies the callbacks.
+     *
+     * @return the cancellable that was producing the result, or null if the future was already done.
+     */
+    @Nullable
+    private Cancellable complete(@Nullable ResultType_T result, @Nullable VimeoError error) {
+        final Cancellable cancellable;
+        final List<ListenerRegistration<ResultType_T>> listeners;
+        synchronized (this) {
+            if (mDone) {
+                return null;
+            }
+            mDone = true;
+            mResult = result;
+            mError = error;
+            cancellable = mCancellable != null ? mCancellable : NO_OP;
+            mCancellable = null;
+            listeners = new ArrayList<>(mListeners);
+            mListeners.clear();
+        }
+        for (final ListenerRegistration<ResultType_T> listener : listeners) {
+            listener.notifyCompletion(this);
+        }
+        return cancellable;
+    }
+
+    private void setCancellable(@NotNull Cancellable cancellable) {
+        final boolean canceled;
+        synchronized (this) {
+            if (!mDone) {
+                mCancellable = cancellable;
+                return;
+            }
+            canceled = mError != null && mError.isCanceledError();
+        }
+        if (canceled) {
+            cancellable.cancel();
+        }
+    }
+
+    @NotNull
+    private Cancellable asCancellable() {
+        return new Cancellable() {
+            @Override
+            public void cancel() {
+                VimeoFuture.this.cancel();
+            }
+        };
+    }
+
+    private interface Cancellable {
+
+        void cancel();
+    }
+
+    private static final class ListenerRegistration<ResultType_T> {
+
+        @NotNull
+        private final VimeoCallback<ResultType_T> mCallback;
+
+        @Nullable
+        private final Executor mExecutor;
+
+        ListenerRegistration(@NotNull VimeoCallback<ResultType_T> callback, @Nullable Executor executor) {
+            mCallback = callback;
+            mExecutor = executor;
+        }
+
+        void notifyCompletion(@NotNull VimeoFuture<ResultType_T> future) {
+            final ResultType_T result;
+            final VimeoError error;
+            synchronized (future) {
+                result = future.mResult;
+                error = future.mError;
+            }
+            final Runnable notification = new Runnable() {
+                @Override
+                public void run() {
+                    if (error != null) {
+                        mCallback.failure(error);
+                    } else {
+                        mCallback.success(result);
+                    }
+                }
+            };
+            if (mExecutor != null) {
+                mExecutor.execute(notification);
+            } else {
+                notification.run();
+            }
+        }
+    }
+}
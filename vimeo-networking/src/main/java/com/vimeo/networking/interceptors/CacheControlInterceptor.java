@@ -35,7 +35,11 @@ import okhttp3.Response;
  * Rewrite the server's cache-control header because our server sets all {@code Cache-Control} headers
  * to {@code no-store}
  * Created by brentwatson on 8/7/17.
+ *
+ * @deprecated this makes the responses of every endpoint cacheable, use {@link CachePolicyInterceptor}
+ * which applies the policy registered for each endpoint.
  */
+@Deprecated
 public class CacheControlInterceptor implements Interceptor {
 
     @Override
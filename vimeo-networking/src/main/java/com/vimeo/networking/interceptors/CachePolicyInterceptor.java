@@ -0,0 +1,78 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.interceptors;
+
+import com.vimeo.networking.Vimeo;
+import com.vimeo.networking.cache.CachePolicy;
+import com.vimeo.networking.cache.CachePolicyRegistry;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Rewrites the server's {@code Cache-Control} header, which is {@code no-store} for every endpoint, according
+ * to the {@link CachePolicy} registered for the endpoint:
+ * <ul>
+ * <li>responses from endpoints that must not be cached stay {@code no-store},</li>
+ * <li>responses from endpoints with a time to live are {@code public} and fresh for that time,</li>
+ * <li>responses from other endpoints are {@code public}, their freshness is left to the request.</li>
+ * </ul>
+ * This must be added as a network interceptor so that the OkHttp cache sees the rewritten header.
+ */
+public final class CachePolicyInterceptor implements Interceptor {
+
+    private static final String NO_STORE = "no-store";
+    private static final String MAX_AGE = ", max-age=";
+
+    @NotNull
+    private final CachePolicyRegistry mCachePolicyRegistry;
+
+    public CachePolicyInterceptor(@NotNull CachePolicyRegistry cachePolicyRegistry) {
+        mCachePolicyRegistry = cachePolicyRegistry;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        final CachePolicy policy = mCachePolicyRegistry.getPolicy(request.url().encodedPath());
+        final String cacheControl;
+        if (policy == null) {
+            cacheControl = Vimeo.HEADER_CACHE_PUBLIC;
+        } else if (!policy.isStored()) {
+            cacheControl = NO_STORE;
+        } else {
+            cacheControl = Vimeo.HEADER_CACHE_PUBLIC + MAX_AGE + policy.getTimeToLiveSeconds();
+        }
+        return chain.proceed(request)
+                .newBuilder()
+                .header(Vimeo.HEADER_CACHE_CONTROL, cacheControl)
+                .build();
+    }
+}
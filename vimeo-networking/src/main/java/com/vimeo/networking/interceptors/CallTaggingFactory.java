@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.interceptors;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+
+/**
+ * Makes the calls of an {@link OkHttpClient} with a tag referencing the call, so that an interceptor can
+ * tell whether the call it is working for was cancelled, see {@link #isCanceled(Request)}. The interceptors
+ * of OkHttp 3.3 have no access to their call, and a cancelled call only fails once it proceeds.
+ * <p>
+ * Requests built from the request of a call keep its tag, so this works anywhere in the chain.
+ */
+public final class CallTaggingFactory implements Call.Factory {
+
+    @NotNull
+    private final OkHttpClient mClient;
+
+    public CallTaggingFactory(@NotNull OkHttpClient client) {
+        mClient = client;
+    }
+
+    /**
+     * @return the client making the calls.
+     */
+    @NotNull
+    public OkHttpClient getClient() {
+        return mClient;
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        final CallTag tag = new CallTag();
+        final Call call = mClient.newCall(request.newBuilder().tag(tag).build());
+        tag.mCall = call;
+        return call;
+    }
+
+    /**
+     * @param request the request of a call, or a request built from it.
+     * @return true if the call was made by a {@link CallTaggingFactory} and was cancelled since.
+     */
+    public static boolean isCanceled(@NotNull Request request) {
+        final Object tag = request.tag();
+        if (!(tag instanceof CallTag)) {
+            return false;
+        }
+        final Call call = ((CallTag) tag).mCall;
+        return call != null && call.isCanceled();
+    }
+
+    private static final class CallTag {
+
+        @Nullable
+        private volatile Call mCall;
+    }
+}
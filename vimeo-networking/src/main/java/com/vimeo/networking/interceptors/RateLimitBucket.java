@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.interceptors;
+
+/**
+ * The state of the rate limit of one access token, as last reported by the {@code X-RateLimit-Limit},
+ * {@code X-RateLimit-Remaining} and {@code X-RateLimit-Reset} response headers.
+ * <p>
+ * The remaining count is decremented locally every time a request is dispatched, so that requests sent
+ * before the next response arrives are accounted for. When it gets low, requests are paced so that the
+ * remaining capacity is spread evenly until the reset, and once it is exhausted they are held until the reset
+ * and then released one at a time rather than all at once.
+ * <p>
+ * This class is thread safe.
+ */
+public final class RateLimitBucket {
+
+    /**
+     * The fraction of the limit below which requests are paced. Above it, requests are sent right away.
+     */
+    private static final double PACING_THRESHOLD = 0.2;
+
+    /**
+     * The spacing between requests released at the reset, when the new capacity isn't known yet.
+     */
+    private static final long RESET_SPACING_MILLIS = 100;
+
+    private int mLimit = -1;
+    private int mRemaining = -1;
+    private long mResetTimeMillis = -1;
+    private long mNextSlotMillis;
+
+    RateLimitBucket() {
+    }
+
+    /**
+     * @return the number of requests allowed in a window, or -1 if it isn't known yet.
+     */
+    public synchronized int getLimit() {
+        return mLimit;
+    }
+
+    /**
+     * @return the number of requests that can still be made before the reset, or -1 if it isn't known yet.
+     */
+    public synchronized int getRemaining() {
+        if (mResetTimeMillis >= 0 && System.currentTimeMillis() >= mResetTimeMillis) {
+            return mLimit;
+        }
+        return mRemaining;
+    }
+
+    /**
+     * @return the time at which the capacity is reset, in milliseconds since the epoch, or -1 if it isn't known.
+     */
+    public synchronized long getResetTimeMillis() {
+        return mResetTimeMillis;
+    }
+
+    /**
+     * Reserves a slot for a request.
+     *
+     * @param nowMillis the current time in milliseconds.
+     * @return how long the request should wait before being sent, in milliseconds.
+     */
+    synchronized long reserve(long nowMillis) {
+        if (mRemaining < 0 || mResetTimeMillis < 0) {
+            return 0;
+        }
+        final boolean belowThreshold = mRemaining <= mLimit * PACING_THRESHOLD;
+        if (nowMillis >= mResetTimeMillis) {
+            if (!belowThreshold) {
+                return 0;
+            }
+            // The window was reset after running low, release the requests one at a time until a response
+            // tells us about the new window
+            final long slot = Math.max(nowMillis, mNextSlotMillis);
+            mNextSlotMillis = slot + RESET_SPACING_MILLIS;
+            return slot - nowMillis;
+        }
+        if (mRemaining == 0) {
+            final long slot = Math.max(mResetTimeMillis, mNextSlotMillis);
+            mNextSlotMillis = slot + RESET_SPACING_MILLIS;
+            return slot - nowMillis;
+        }
+        final long slot;
+        if (belowThreshold) {
+            slot = Math.max(nowMillis, mNextSlotMillis);
+            mNextSlotMillis = slot + (mResetTimeMillis - nowMillis) / mRemaining;
+        } else {
+            slot = nowMillis;
+        }
+        mRemaining--;
+        return slot - nowMillis;
+    }
+
+    /**
+     * Updates the bucket with the values reported by the server.
+     */
+    synchronized void update(int limit, int remaining, long resetTimeMillis) {
+        if (resetTimeMillis != mResetTimeMillis) {
+            // New window, the pacing of the previous one no longer applies
+            mNextSlotMillis = 0;
+        }
+        mLimit = limit;
+        mRemaining = remaining;
+        mResetTimeMillis = resetTimeMillis;
+    }
+
+    /**
+     * Records that the server rejected a request because the limit was reached.
+     *
+     * @param resetTimeMillis the time at which requests can be made again, or -1 if it isn't known.
+     */
+    synchronized void exhaust(long resetTimeMillis) {
+        mRemaining = 0;
+        if (resetTimeMillis >= 0) {
+            mResetTimeMillis = Math.max(mResetTimeMillis, resetTimeMillis);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "RateLimitBucket{" +
+               "limit=" + mLimit +
+               ", remaining=" + mRemaining +
+               ", resetTimeMillis=" + mResetTimeMillis +
+               '}';
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.interceptors;
+
+import com.google.gson.internal.bind.util.ISO8601Utils;
+import com.vimeo.networking.Vimeo;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Tracks the rate limit reported by the API for each access token, and optionally paces requests so that
+ * they stay under it.
+ * <p>
+ * Every response updates the {@link RateLimitBucket} of the {@code Authorization} header it was made with.
+ * When pacing is enabled, each request reserves a slot in its bucket with {@link #reserve(String)} and is
+ * held until then before being dispatched, which spreads the requests evenly when the remaining capacity is
+ * low and holds them until the reset once it is exhausted. A request that would have to wait longer than the
+ * max wait is sent right away and left for the server to accept or reject.
+ * <p>
+ * This must be added as an application interceptor. The requests are held by
+ * {@link com.vimeo.networking.requests.RateLimitPacer}, as holding them in an interceptor would tie up a
+ * dispatcher thread and a connection for the whole wait.
+ */
+public final class RateLimitInterceptor implements Interceptor {
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final String NO_AUTHORIZATION = "";
+
+    @NotNull
+    private final ConcurrentMap<String, RateLimitBucket> mBuckets = new ConcurrentHashMap<>();
+
+    private final long mMaxWaitMillis;
+
+    /**
+     * @param maxWait the longest a request may be held to stay under the rate limit, 0 to only track the
+     *                rate limit without pacing requests.
+     * @param unit    the unit of the max wait.
+     */
+    public RateLimitInterceptor(long maxWait, @NotNull TimeUnit unit) {
+        mMaxWaitMillis = unit.toMillis(maxWait);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        final RateLimitBucket bucket = getOrCreateBucket(request.header(Vimeo.HEADER_AUTHORIZATION));
+        final Response response = chain.proceed(request);
+        if (response.networkResponse() == null) {
+            // Served from the cache, which doesn't tell anything about the current window
+            return response;
+        }
+        final long resetTimeMillis = parseResetTime(response.header(Vimeo.HEADER_RATE_LIMIT_RESET));
+        final int limit = parseInt(response.header(Vimeo.HEADER_RATE_LIMIT_LIMIT));
+        final int remaining = parseInt(response.header(Vimeo.HEADER_RATE_LIMIT_REMAINING));
+        if (limit >= 0 && remaining >= 0 && resetTimeMillis >= 0) {
+            bucket.update(limit, remaining, resetTimeMillis);
+        }
+        if (response.code() == HTTP_TOO_MANY_REQUESTS) {
+            bucket.exhaust(resetTimeMillis >= 0 ? resetTimeMillis : getRetryAfterTimeMillis(response));
+        }
+        return response;
+    }
+
+    /**
+     * Reserves a slot in the rate limit for a request about to be dispatched. Requests served by the OkHttp
+     * disk cache use a slot as well, as whether a request hits the cache isn't known until it is sent.
+     *
+     * @param authHeader the {@code Authorization} header the request is made with.
+     * @return how long the request must be held before being dispatched, in milliseconds. This is 0 when
+     * pacing is disabled, or when the request would have to wait longer than the max wait.
+     */
+    public long reserve(@Nullable String authHeader) {
+        if (mMaxWaitMillis <= 0) {
+            return 0;
+        }
+        final long delayMillis = getOrCreateBucket(authHeader).reserve(System.currentTimeMillis());
+        return delayMillis <= mMaxWaitMillis ? delayMillis : 0;
+    }
+
+    /**
+     * @param authHeader the {@code Authorization} header the requests are made with.
+     * @return the rate limit of the access token, or null if no request was made with it.
+     */
+    @Nullable
+    public RateLimitBucket getBucket(@Nullable String authHeader) {
+        return mBuckets.get(authHeader != null ? authHeader : NO_AUTHORIZATION);
+    }
+
+    @NotNull
+    private RateLimitBucket getOrCreateBucket(@Nullable String authHeader) {
+        final String key = authHeader != null ? authHeader : NO_AUTHORIZATION;
+        final RateLimitBucket bucket = mBuckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        final RateLimitBucket newBucket = new RateLimitBucket();
+        final RateLimitBucket existing = mBuckets.putIfAbsent(key, newBucket);
+        return existing != null ? existing : newBucket;
+    }
+
+    private static int parseInt(@Nullable String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * The reset time is an ISO 8601 date, but seconds since the epoch are accepted as well.
+     *
+     * @return the reset time in milliseconds since the epoch, or -1 if it is missing or malformed.
+     */
+    static long parseResetTime(@Nullable String value) {
+        if (value == null) {
+            return -1;
+        }
+        final String trimmed = value.trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(trimmed));
+        } catch (final NumberFormatException ignored) {
+            // Not a timestamp, may be a date
+        }
+        try {
+            return ISO8601Utils.parse(trimmed, new ParsePosition(0)).getTime();
+        } catch (final ParseException e) {
+            return -1;
+        }
+    }
+
+    private static long getRetryAfterTimeMillis(@NotNull Response response) {
+        final long retryAfterMillis = RetryInterceptor.getRetryAfterMillis(response);
+        return retryAfterMillis >= 0 ? System.currentTimeMillis() + retryAfterMillis : -1;
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.interceptors;
+
+import com.vimeo.networking.Vimeo;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.HttpURLConnection;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Retries idempotent requests that failed because of a transient problem, as configured by a
+ * {@link RetryPolicy}. The number of retries made for each endpoint is recorded, endpoints being the paths
+ * of the requests with their numeric segments replaced by {@code {id}}.
+ * <p>
+ * This is an application interceptor, so that each attempt goes through the rest of the chain again. When
+ * the calls are made by a {@link CallTaggingFactory}, a call cancelled while waiting to be retried stops
+ * waiting right away.
+ */
+public final class RetryInterceptor implements Interceptor {
+
+    private static final String HTTP_DATE_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final String ID_SEGMENT = "/{id}";
+    private static final long SLEEP_SLICE_MILLIS = 50;
+
+    @NotNull
+    private final RetryPolicy mRetryPolicy;
+
+    @NotNull
+    private final Random mRandom = new Random();
+
+    @NotNull
+    private final ConcurrentMap<String, AtomicLong> mRetryCounts = new ConcurrentHashMap<>();
+
+    private final double mMaxBudget;
+
+    private double mBudget;
+
+    public RetryInterceptor(@NotNull RetryPolicy retryPolicy) {
+        mRetryPolicy = retryPolicy;
+        mMaxBudget = Math.max(retryPolicy.getBudgetReserve(), 1);
+        mBudget = retryPolicy.getBudgetReserve();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        depositToBudget();
+        if (!isIdempotent(request) || request.cacheControl().onlyIfCached()) {
+            return chain.proceed(request);
+        }
+
+        long previousDelayMillis = mRetryPolicy.getBaseDelayMillis();
+        int attempt = 0;
+        while (true) {
+            final Response response;
+            try {
+                response = chain.proceed(request);
+            } catch (final IOException e) {
+                if (!isConnectionFailure(e) || attempt >= mRetryPolicy.getMaxRetries() || !withdrawFromBudget()) {
+                    throw e;
+                }
+                previousDelayMillis = nextDelayMillis(previousDelayMillis);
+                attempt++;
+                recordRetry(request);
+                sleep(request, previousDelayMillis);
+                continue;
+            }
+
+            if (!isRetryable(response) || attempt >= mRetryPolicy.getMaxRetries()) {
+                return response;
+            }
+            final long retryAfterMillis = getRetryAfterMillis(response);
+            if (retryAfterMillis > mRetryPolicy.getMaxDelayMillis() || !withdrawFromBudget()) {
+                return response;
+            }
+            previousDelayMillis = retryAfterMillis >= 0 ? retryAfterMillis : nextDelayMillis(previousDelayMillis);
+            attempt++;
+            recordRetry(request);
+            if (response.body() != null) {
+                response.body().close();
+            }
+            sleep(request, previousDelayMillis);
+        }
+    }
+
+    /**
+     * @return the number of retries made for each endpoint.
+     */
+    @NotNull
+    public Map<String, Long> getRetryCounts() {
+        final Map<String, Long> retryCounts = new HashMap<>();
+        for (final Map.Entry<String, AtomicLong> entry : mRetryCounts.entrySet()) {
+            retryCounts.put(entry.getKey(), entry.getValue().get());
+        }
+        return Collections.unmodifiableMap(retryCounts);
+    }
+
+    /**
+     * @param endpoint the endpoint, in the form {@code /videos/{id}/comments}.
+     * @return the number of retries made for the endpoint.
+     */
+    public long getRetryCount(@NotNull String endpoint) {
+        final AtomicLong retryCount = mRetryCounts.get(endpoint);
+        return retryCount != null ? retryCount.get() : 0;
+    }
+
+    /**
+     * @return the number of retries that the budget currently allows.
+     */
+    public synchronized int getAvailableRetries() {
+        return (int) mBudget;
+    }
+
+    @NotNull
+    private static String toEndpoint(@NotNull Request request) {
+        return NUMERIC_SEGMENT.matcher(request.url().encodedPath()).replaceAll(ID_SEGMENT);
+    }
+
+    private static boolean isIdempotent(@NotNull Request request) {
+        final String method = request.method();
+        return "GET".equals(method) || "PUT".equals(method) || "DELETE".equals(method);
+    }
+
+    private static boolean isConnectionFailure(@NotNull IOException e) {
+        return e instanceof ConnectException ||
+               e instanceof NoRouteToHostException ||
+               e instanceof UnknownHostException;
+    }
+
+    /**
+     * Responses synthesized by the cache, such as the 504 answering an unsatisfiable cache only request,
+     * don't come from the network and aren't retried.
+     */
+    private static boolean isRetryable(@NotNull Response response) {
+        if (response.networkResponse() == null) {
+            return false;
+        }
+        final int code = response.code();
+        return code == HTTP_TOO_MANY_REQUESTS ||
+               (code >= HttpURLConnection.HTTP_INTERNAL_ERROR && code != HttpURLConnection.HTTP_NOT_IMPLEMENTED);
+    }
+
+    /**
+     * @return the delay requested by the {@code Retry-After} header in milliseconds, or -1 if there is none.
+     */
+    static long getRetryAfterMillis(@NotNull Response response) {
+        final String retryAfter = response.header(Vimeo.HEADER_RETRY_AFTER);
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(Long.parseLong(retryAfter.trim()), 0));
+        } catch (final NumberFormatException ignored) {
+            // Not a number of seconds, may be a date
+        }
+        final Date date = parseHttpDate(retryAfter);
+        if (date == null) {
+            return -1;
+        }
+        return Math.max(date.getTime() - System.currentTimeMillis(), 0);
+    }
+
+    @Nullable
+    private static Date parseHttpDate(@NotNull String value) {
+        final SimpleDateFormat format = new SimpleDateFormat(HTTP_DATE_FORMAT, Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        format.setLenient(false);
+        try {
+            return format.parse(value.trim());
+        } catch (final ParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Decorrelated jitter: a random delay between the base delay and three times the previous delay, capped
+     * at the max delay.
+     */
+    private long nextDelayMillis(long previousDelayMillis) {
+        final long baseDelayMillis = mRetryPolicy.getBaseDelayMillis();
+        final long upperBound = Math.max(previousDelayMillis * 3, baseDelayMillis + 1);
+        final long delayMillis;
+        synchronized (mRandom) {
+            delayMillis = baseDelayMillis + (long) (mRandom.nextDouble() * (upperBound - baseDelayMillis));
+        }
+        return Math.min(delayMillis, mRetryPolicy.getMaxDelayMillis());
+    }
+
+    private synchronized void depositToBudget() {
+        mBudget = Math.min(mBudget + mRetryPolicy.getBudgetRatio(), mMaxBudget);
+    }
+
+    private synchronized boolean withdrawFromBudget() {
+        if (mBudget < 1) {
+            return false;
+        }
+        mBudget--;
+        return true;
+    }
+
+    private void recordRetry(@NotNull Request request) {
+        final String endpoint = toEndpoint(request);
+        AtomicLong retryCount = mRetryCounts.get(endpoint);
+        if (retryCount == null) {
+            final AtomicLong newRetryCount = new AtomicLong();
+            retryCount = mRetryCounts.putIfAbsent(endpoint, newRetryCount);
+            if (retryCount == null) {
+                retryCount = newRetryCount;
+            }
+        }
+        retryCount.incrementAndGet();
+    }
+
+    /**
+     * Waits before a retry, in short slices so that a cancelled call stops waiting.
+     *
+     * @throws IOException if the call was cancelled or the thread was interrupted while waiting.
+     */
+    private static void sleep(@NotNull Request request, long delayMillis) throws IOException {
+        final long deadlineMillis = System.currentTimeMillis() + delayMillis;
+        long remainingMillis = delayMillis;
+        while (remainingMillis > 0) {
+            if (CallTaggingFactory.isCanceled(request)) {
+                throw new IOException("Canceled");
+            }
+            try {
+                Thread.sleep(Math.min(remainingMillis, SLEEP_SLICE_MILLIS));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry");
+            }
+            remainingMillis = deadlineMillis - System.currentTimeMillis();
+        }
+        if (CallTaggingFactory.isCanceled(request)) {
+            throw new IOException("Canceled");
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.interceptors;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configures how the {@link RetryInterceptor} retries failed requests.
+ * <p>
+ * Only idempotent requests ({@code GET}, {@code PUT} and {@code DELETE}) are retried, after a connection
+ * failure, a {@code 429 Too Many Requests} or a {@code 5xx} response. The delay between attempts uses
+ * decorrelated jitter between the base and max delays, unless the server asks for a specific delay with a
+ * {@code Retry-After} header.
+ * <p>
+ * Retries are limited by a client wide budget: every request adds {@link #getBudgetRatio()} of a retry to
+ * the budget, and every retry consumes one, so that retries never exceed that fraction of the traffic. The
+ * budget starts with, and never holds more than, {@link #getBudgetReserve()} retries so that a few retries
+ * are possible when the traffic is low.
+ */
+public final class RetryPolicy {
+
+    private static final int DEFAULT_MAX_RETRIES = 2;
+    private static final long DEFAULT_BASE_DELAY_MILLIS = 200;
+    private static final long DEFAULT_MAX_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final double DEFAULT_BUDGET_RATIO = 0.1;
+    private static final int DEFAULT_BUDGET_RESERVE = 10;
+
+    private final int mMaxRetries;
+    private final long mBaseDelayMillis;
+    private final long mMaxDelayMillis;
+    private final double mBudgetRatio;
+    private final int mBudgetReserve;
+
+    private RetryPolicy(@NotNull Builder builder) {
+        mMaxRetries = builder.mMaxRetries;
+        mBaseDelayMillis = builder.mBaseDelayMillis;
+        mMaxDelayMillis = builder.mMaxDelayMillis;
+        mBudgetRatio = builder.mBudgetRatio;
+        mBudgetReserve = builder.mBudgetReserve;
+    }
+
+    /**
+     * @return a policy with the default settings: at most 2 retries per request, delays between 200
+     * milliseconds and 10 seconds, and retries limited to 10% of the requests.
+     */
+    @NotNull
+    public static RetryPolicy createDefault() {
+        return new Builder().build();
+    }
+
+    /**
+     * @return the maximum number of times a single request is retried.
+     */
+    public int getMaxRetries() {
+        return mMaxRetries;
+    }
+
+    public long getBaseDelayMillis() {
+        return mBaseDelayMillis;
+    }
+
+    /**
+     * @return the maximum delay before a retry. A request whose {@code Retry-After} is longer isn't retried.
+     */
+    public long getMaxDelayMillis() {
+        return mMaxDelayMillis;
+    }
+
+    /**
+     * @return the maximum fraction of the requests that may be retries.
+     */
+    public double getBudgetRatio() {
+        return mBudgetRatio;
+    }
+
+    /**
+     * @return the number of retries that may be made regardless of the traffic.
+     */
+    public int getBudgetReserve() {
+        return mBudgetReserve;
+    }
+
+    /**
+     * Builder used to construct the RetryPolicy
+     */
+    public static final class Builder {
+
+        private int mMaxRetries = DEFAULT_MAX_RETRIES;
+        private long mBaseDelayMillis = DEFAULT_BASE_DELAY_MILLIS;
+        private long mMaxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+        private double mBudgetRatio = DEFAULT_BUDGET_RATIO;
+        private int mBudgetReserve = DEFAULT_BUDGET_RESERVE;
+
+        public Builder setMaxRetries(int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("maxRetries < 0: " + maxRetries);
+            }
+            mMaxRetries = maxRetries;
+            return this;
+        }
+
+        public Builder setBaseDelay(long baseDelay, @NotNull TimeUnit unit) {
+            if (baseDelay <= 0) {
+                throw new IllegalArgumentException("baseDelay <= 0: " + baseDelay);
+            }
+            mBaseDelayMillis = unit.toMillis(baseDelay);
+            return this;
+        }
+
+        public Builder setMaxDelay(long maxDelay, @NotNull TimeUnit unit) {
+            if (maxDelay <= 0) {
+                throw new IllegalArgumentException("maxDelay <= 0: " + maxDelay);
+            }
+            mMaxDelayMillis = unit.toMillis(maxDelay);
+            return this;
+        }
+
+        /**
+         * @param budgetRatio the maximum fraction of the requests that may be retries, between 0 and 1.
+         */
+        public Builder setBudgetRatio(double budgetRatio) {
+            if (budgetRatio < 0 || budgetRatio > 1) {
+                throw new IllegalArgumentException("budgetRatio must be between 0 and 1: " + budgetRatio);
+            }
+            mBudgetRatio = budgetRatio;
+            return this;
+        }
+
+        /**
+         * @param budgetReserve the number of retries that may be made regardless of the traffic.
+         */
+        public Builder setBudgetReserve(int budgetReserve) {
+            if (budgetReserve < 0) {
+                throw new IllegalArgumentException("budgetReserve < 0: " + budgetReserve);
+            }
+            mBudgetReserve = budgetReserve;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            if (mBaseDelayMillis > mMaxDelayMillis) {
+                throw new IllegalArgumentException("baseDelay must not be greater than maxDelay");
+            }
+            return new RetryPolicy(this);
+        }
+    }
+}
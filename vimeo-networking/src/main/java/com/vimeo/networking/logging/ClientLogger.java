@@ -30,73 +30,53 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * Simple utility class to delegate logging when it is not known whether VimeoClient has been initialized yet
+ * Simple utility class to delegate logging when it is not known whether VimeoClient has been initialized yet.
+ * All calls are forwarded to a process wide {@link VimeoLogger}, which is also the logger used by the shared
+ * {@link com.vimeo.networking.VimeoClient} instance.
  * <p>
  * Created by zetterstromk on 6/22/16.
  */
-@SuppressWarnings("UseOfSystemOutOrSystemErr")
 public final class ClientLogger {
 
-    @Nullable
-    private static LogProvider sLoggerProvider;
-
     @NotNull
-    private static LogLevel sLogLevel = LogLevel.DEBUG;
-
+    private static final VimeoLogger sDefaultLogger = new VimeoLogger(null, LogLevel.DEBUG);
 
     private ClientLogger() {
     }
 
+    /**
+     * @return the process wide logger that this class delegates to.
+     */
+    @NotNull
+    public static VimeoLogger getDefaultLogger() {
+        return sDefaultLogger;
+    }
+
     public static void setLogProvider(@Nullable LogProvider logProvider) {
-        sLoggerProvider = logProvider;
+        sDefaultLogger.setLogProvider(logProvider);
     }
 
     public static void setLogLevel(@NotNull LogLevel logLevel) {
-        sLogLevel = logLevel;
+        sDefaultLogger.setLogLevel(logLevel);
     }
 
     public static LogLevel getLogLevel() {
-        return sLogLevel;
+        return sDefaultLogger.getLogLevel();
     }
 
     public static void e(String error) {
-        if (sLogLevel.ordinal() <= LogLevel.ERROR.ordinal()) {
-            if (sLoggerProvider != null) {
-                sLoggerProvider.e(error);
-            } else {
-                System.out.println(error);
-            }
-        }
+        sDefaultLogger.e(error);
     }
 
     public static void e(String error, Exception exception) {
-        if (sLogLevel.ordinal() <= LogLevel.ERROR.ordinal()) {
-            if (sLoggerProvider != null) {
-                sLoggerProvider.e(error, exception);
-            } else {
-                System.out.println(error);
-                exception.printStackTrace();
-            }
-        }
+        sDefaultLogger.e(error, exception);
     }
 
     public static void d(String debug) {
-        if (sLogLevel.ordinal() <= LogLevel.DEBUG.ordinal()) {
-            if (sLoggerProvider != null) {
-                sLoggerProvider.d(debug);
-            } else {
-                System.out.println(debug);
-            }
-        }
+        sDefaultLogger.d(debug);
     }
 
     public static void v(String verbose) {
-        if (sLogLevel.ordinal() <= LogLevel.VERBOSE.ordinal()) {
-            if (sLoggerProvider != null) {
-                sLoggerProvider.v(verbose);
-            } else {
-                System.out.println(verbose);
-            }
-        }
+        sDefaultLogger.v(verbose);
     }
 }
@@ -23,115 +23,357 @@
 package com.vimeo.networking.logging;
 
 import com.google.gson.Gson;
-import com.google.gson.JsonObject;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.vimeo.networking.Configuration;
 import com.vimeo.networking.Vimeo.LogLevel;
 import com.vimeo.networking.VimeoClient;
+import com.vimeo.networking.utils.DaemonThreadFactory;
 import com.vimeo.networking.utils.VimeoNetworkUtil;
 
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
 import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import okhttp3.HttpUrl;
 import okhttp3.Interceptor;
 import okhttp3.Request;
+import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Source;
 
 /**
  * An interceptor for logging the requests and responses for each individual call. This class relies on the
- * {@link LogLevel} passed into the {@link Configuration} which initialized {@link VimeoClient}
+ * {@link LogLevel} passed into the {@link Configuration} which initialized {@link VimeoClient}, and logs to
+ * the {@link VimeoLogger} belonging to that client.
+ * <p>
+ * At the {@link LogLevel#VERBOSE} level the bodies are logged as well. By default they are read and logged
+ * in full. When a maximum body size is given, response bodies aren't read by the interceptor: their first
+ * bytes are copied as the caller reads them, and the rest is streamed without being held in memory. These
+ * bodies are formatted and logged on a background thread once they were read, so that pretty printing
+ * doesn't slow down the calls. At most
+ * {@value #MAX_PENDING_BODIES} bodies wait to be formatted, further bodies are dropped rather than held in
+ * memory, see {@link #getDroppedBodyCount()}.
  * <p>
  * Created by zetterstromk on 10/23/15.
  */
 public class LoggingInterceptor implements Interceptor {
 
+    private static final int MAX_LOG_SIZE = 1000;
+    private static final long FORMATTER_THREAD_KEEP_ALIVE_SECONDS = 30;
+    private static final int MAX_PENDING_BODIES = 32;
+    private static final long NO_MAX_BODY_SIZE = -1;
+
+    @Nullable
+    private static Executor sFormatterExecutor;
+
+    @Nullable
+    private static Gson sPrettyGson;
+
+    @NotNull
+    private final VimeoLogger mLogger;
+
+    private final long mMaxBodySize;
+
+    @NotNull
+    private final Executor mFormatterExecutor;
+
+    @NotNull
+    private final AtomicLong mDroppedBodyCount = new AtomicLong();
+
+    /**
+     * Creates an interceptor that logs to {@link ClientLogger}.
+     */
+    public LoggingInterceptor() {
+        this(ClientLogger.getDefaultLogger());
+    }
+
+    /**
+     * Creates an interceptor that logs to the provided logger, with the bodies in full.
+     *
+     * @param logger the logger that requests and responses are written to.
+     */
+    public LoggingInterceptor(@NotNull VimeoLogger logger) {
+        this(logger, NO_MAX_BODY_SIZE, getFormatterExecutor());
+    }
+
+    /**
+     * Creates an interceptor that logs to the provided logger, with the bodies truncated to a maximum size.
+     *
+     * @param logger      the logger that requests and responses are written to.
+     * @param maxBodySize the number of bytes of each body that are logged, longer bodies are truncated. 0 to
+     *                    not log bodies.
+     */
+    public LoggingInterceptor(@NotNull VimeoLogger logger, long maxBodySize) {
+        this(logger, checkMaxBodySize(maxBodySize), getFormatterExecutor());
+    }
+
+    LoggingInterceptor(@NotNull VimeoLogger logger, long maxBodySize, @NotNull Executor formatterExecutor) {
+        mLogger = logger;
+        mMaxBodySize = maxBodySize;
+        mFormatterExecutor = formatterExecutor;
+    }
+
+    private static long checkMaxBodySize(long maxBodySize) {
+        if (maxBodySize < 0) {
+            throw new IllegalArgumentException("maxBodySize < 0: " + maxBodySize);
+        }
+        return maxBodySize;
+    }
+
+    /**
+     * @return the number of bodies that weren't logged because too many bodies were waiting to be formatted.
+     */
+    public long getDroppedBodyCount() {
+        return mDroppedBodyCount.get();
+    }
+
     @Override
     public Response intercept(Chain chain) throws IOException {
-        if (ClientLogger.getLogLevel().ordinal() <= LogLevel.DEBUG.ordinal()) {
+        if (mLogger.isLoggable(LogLevel.DEBUG)) {
             Request request = chain.request();
 
             HttpUrl httpUrl = request.url();
 
             long t1 = System.nanoTime();
-            ClientLogger.d("--------- REQUEST ---------");
-            ClientLogger.d("METHOD: " + request.method());
-            ClientLogger.d("ENDPOINT: " + httpUrl.encodedPath());
+            mLogger.d("--------- REQUEST ---------");
+            mLogger.d("METHOD: " + request.method());
+            mLogger.d("ENDPOINT: " + httpUrl.encodedPath());
             try {
-                if (request.body() != null && shouldLogVerbose()) {
-                    ClientLogger.v("QUERY: " + httpUrl.query());
-                    ClientLogger.v("--------- REQUEST BODY ---------");
-                    Request copy = request.newBuilder().build();
-                    Buffer requestBuffer = new Buffer();
-                    copy.body().writeTo(requestBuffer);
-                    verboseLogLongJson(requestBuffer.readUtf8());
-                    ClientLogger.v("--------- REQUEST BODY END ---------");
+                if (request.body() != null && shouldLogBodies()) {
+                    mLogger.v("QUERY: " + httpUrl.query());
+                    if (mMaxBodySize == NO_MAX_BODY_SIZE) {
+                        logFullRequestBody(request.body());
+                    } else {
+                        logRequestBody(httpUrl.encodedPath(), request.body());
+                    }
                 }
             } catch (Exception e) {
-                ClientLogger.e("Exception in LoggingInterceptor", e);
+                mLogger.e("Exception in LoggingInterceptor", e);
             }
-            ClientLogger.d("--------- REQUEST END ---------");
+            mLogger.d("--------- REQUEST END ---------");
 
             Response response = chain.proceed(request);
             long t2 = System.nanoTime();
 
-            ClientLogger.d("--------- RESPONSE ---------");
-            ClientLogger.d("ENDPOINT: " + httpUrl.encodedPath());
-            ClientLogger.d("STATUS CODE: " + response.code());
-            ClientLogger.d(String.format("REQUEST TIME: %.1fms", (t2 - t1) / 1e6d));
+            mLogger.d("--------- RESPONSE ---------");
+            mLogger.d("ENDPOINT: " + httpUrl.encodedPath());
+            mLogger.d("STATUS CODE: " + response.code());
+            mLogger.d(String.format("REQUEST TIME: %.1fms", (t2 - t1) / 1e6d));
 
-            String responseBodyString = response.body().string();
-            if (shouldLogVerbose()) {
-                ClientLogger.v("--------- RESPONSE BODY ---------");
-                verboseLogLongJson(responseBodyString);
-                ClientLogger.v("--------- RESPONSE BODY END ---------");
+            final ResponseBody body = response.body();
+            if (body != null && shouldLogBodies() && mMaxBodySize == NO_MAX_BODY_SIZE) {
+                final String bodyString = body.string();
+                mLogger.v("--------- RESPONSE BODY ---------");
+                verboseLogLongString(toPrettyFormat(bodyString));
+                mLogger.v("--------- RESPONSE BODY END ---------");
+                mLogger.d("--------- RESPONSE END ---------");
+                // The body can only be read once, so it is rebuilt from what was read
+                return response.newBuilder()
+                        .body(ResponseBody.create(body.contentType(), bodyString))
+                        .build();
             }
-            ClientLogger.d("--------- RESPONSE END ---------");
+            mLogger.d("--------- RESPONSE END ---------");
 
-            // You need to reconstruct the body because it can only be read once 1/27/16 [KV]
+            if (body == null || !shouldLogBodies()) {
+                return response;
+            }
+            // The body can only be read once, so it is copied while the caller reads it
+            final Source source = new BodyTeeSource(body.source(), httpUrl.encodedPath(), body.contentLength());
             return response.newBuilder()
-                    .body(ResponseBody.create(response.body().contentType(), responseBodyString))
+                    .body(ResponseBody.create(body.contentType(), body.contentLength(), Okio.buffer(source)))
                     .build();
         } else {
             return chain.proceed(chain.request());
         }
     }
 
-    private boolean shouldLogVerbose() {
-        return ClientLogger.getLogLevel().ordinal() <= LogLevel.VERBOSE.ordinal();
+    private boolean shouldLogBodies() {
+        return mMaxBodySize != 0 && mLogger.isLoggable(LogLevel.VERBOSE);
+    }
+
+    /**
+     * Logs a request body in full on the calling thread.
+     */
+    private void logFullRequestBody(@NotNull RequestBody body) throws IOException {
+        mLogger.v("--------- REQUEST BODY ---------");
+        final Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        verboseLogLongString(toPrettyFormat(buffer.readUtf8()));
+        mLogger.v("--------- REQUEST BODY END ---------");
+    }
+
+    /**
+     * Logs a request body, unless it is longer than the maximum size or of unknown length, as it would have to
+     * be written in full to be logged. Request bodies are usually small JSON documents.
+     */
+    private void logRequestBody(@NotNull String endpoint, @NotNull RequestBody body) throws IOException {
+        final long contentLength = body.contentLength();
+        if (contentLength < 0 || contentLength > mMaxBodySize) {
+            mLogger.v("REQUEST BODY: " + (contentLength < 0 ? "unknown length" : contentLength + " bytes"));
+            return;
+        }
+        final Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        logBody("REQUEST BODY", endpoint, buffer, false);
+    }
+
+    /**
+     * Formats and logs a body on the formatter thread.
+     *
+     * @param title     the title of the logged block.
+     * @param endpoint  the endpoint the body was sent to or received from.
+     * @param body      the logged bytes of the body.
+     * @param truncated true if the body is longer than the logged bytes.
+     */
+    private void logBody(@NotNull final String title, @NotNull final String endpoint, @NotNull final Buffer body,
+                         final boolean truncated) {
+        final Runnable formatting = new Runnable() {
+            @Override
+            public void run() {
+                final long size = body.size();
+                final String text = body.readUtf8();
+                mLogger.v("--------- " + title + ": " + endpoint + " ---------");
+                if (truncated) {
+                    mLogger.v("(truncated to " + size + " bytes)");
+                    verboseLogLongString(text);
+                } else {
+                    verboseLogLongString(toPrettyFormat(text));
+                }
+                mLogger.v("--------- " + title + " END ---------");
+            }
+        };
+        try {
+            mFormatterExecutor.execute(formatting);
+        } catch (final RejectedExecutionException e) {
+            mDroppedBodyCount.incrementAndGet();
+            mLogger.v("--------- " + title + ": " + endpoint + " DROPPED, too many bodies to log ---------");
+        }
     }
 
-    private void verboseLogLongJson(String jsonString) {
-        int maxLogSize = 1000;
-        String veryLongString = toPrettyFormat(jsonString);
-        for (int i = 0; i <= veryLongString.length() / maxLogSize; i++) {
-            int start = i * maxLogSize;
-            int end = (i + 1) * maxLogSize;
+    private void verboseLogLongString(@NotNull String veryLongString) {
+        for (int i = 0; i <= veryLongString.length() / MAX_LOG_SIZE; i++) {
+            int start = i * MAX_LOG_SIZE;
+            int end = (i + 1) * MAX_LOG_SIZE;
             end = end > veryLongString.length() ? veryLongString.length() : end;
-            ClientLogger.v(veryLongString.substring(start, end));
+            mLogger.v(veryLongString.substring(start, end));
         }
     }
 
     /**
-     * Convert a JSON string to pretty print version
+     * Convert a JSON string to pretty print version.
      *
      * @param jsonString string to make pretty
+     * @return the pretty string, or the string itself if it isn't JSON.
      */
-    private String toPrettyFormat(String jsonString) {
-        String prettyString = "";
-        if (jsonString != null && !jsonString.isEmpty()) {
-            try {
-                JsonParser parser = new JsonParser();
-                JsonObject json = parser.parse(jsonString).getAsJsonObject();
+    @NotNull
+    private String toPrettyFormat(@NotNull String jsonString) {
+        if (jsonString.isEmpty()) {
+            return jsonString;
+        }
+        try {
+            JsonElement json = new JsonParser().parse(jsonString);
+            return getPrettyGson().toJson(json);
+        } catch (Exception e) {
+            return jsonString;
+        }
+    }
 
-                Gson gson = VimeoNetworkUtil.getGsonBuilder().setPrettyPrinting().create();
-                prettyString = gson.toJson(json);
-            } catch (Exception e) {
-                ClientLogger.e("Error making body pretty response/request");
-            }
+    @NotNull
+    private static synchronized Gson getPrettyGson() {
+        if (sPrettyGson == null) {
+            sPrettyGson = VimeoNetworkUtil.getGsonBuilder().setPrettyPrinting().create();
+        }
+        return sPrettyGson;
+    }
+
+    @NotNull
+    private static synchronized Executor getFormatterExecutor() {
+        if (sFormatterExecutor == null) {
+            // A single thread keeps the bodies in the order in which they were read
+            final ThreadPoolExecutor executor =
+                    new ThreadPoolExecutor(1, 1, FORMATTER_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                                           new ArrayBlockingQueue<Runnable>(MAX_PENDING_BODIES),
+                                           new DaemonThreadFactory("Vimeo Log Formatter"));
+            // The thread only lives while there are bodies to log
+            executor.allowCoreThreadTimeOut(true);
+            sFormatterExecutor = executor;
         }
-        return prettyString;
+        return sFormatterExecutor;
     }
 
+    /**
+     * A source that copies the first bytes read from a response body, and logs them once the body was read to
+     * the end or closed.
+     */
+    private final class BodyTeeSource extends ForwardingSource {
+
+        @NotNull
+        private final String mEndpoint;
+
+        private final long mContentLength;
+
+        @NotNull
+        private final Buffer mCopy = new Buffer();
+
+        private long mBytesRead;
+
+        private boolean mTruncated;
+
+        private boolean mLogged;
+
+        BodyTeeSource(@NotNull Source delegate, @NotNull String endpoint, long contentLength) {
+            super(delegate);
+            mEndpoint = endpoint;
+            mContentLength = contentLength;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            final long read = super.read(sink, byteCount);
+            if (read == -1) {
+                log();
+                return read;
+            }
+            mBytesRead += read;
+            final long copied = Math.min(read, mMaxBodySize - mCopy.size());
+            if (copied > 0) {
+                sink.copyTo(mCopy, sink.size() - read, copied);
+            }
+            if (copied < read) {
+                mTruncated = true;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!mLogged) {
+                // Readers often stop at the end of the content without reading the end of the stream
+                if (mContentLength >= 0 && mBytesRead < mContentLength) {
+                    mTruncated = true;
+                }
+                log();
+            }
+            super.close();
+        }
+
+        private void log() {
+            if (!mLogged) {
+                mLogged = true;
+                logBody("RESPONSE BODY", mEndpoint, mCopy, mTruncated);
+            }
+        }
+    }
 }
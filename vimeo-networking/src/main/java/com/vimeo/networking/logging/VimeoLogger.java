@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.logging;
+
+import com.vimeo.networking.Vimeo.LogLevel;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A logger bound to a single {@link LogProvider} and {@link LogLevel}. Each
+ * {@link com.vimeo.networking.VimeoClient} owns one of these so that several clients
+ * living in the same process can log independently of each other. {@link ClientLogger}
+ * delegates to a process wide default instance.
+ */
+@SuppressWarnings("UseOfSystemOutOrSystemErr")
+public final class VimeoLogger {
+
+    @Nullable
+    private volatile LogProvider mLogProvider;
+
+    @NotNull
+    private volatile LogLevel mLogLevel;
+
+    public VimeoLogger(@Nullable LogProvider logProvider, @Nullable LogLevel logLevel) {
+        mLogProvider = logProvider;
+        mLogLevel = logLevel != null ? logLevel : LogLevel.DEBUG;
+    }
+
+    public void setLogProvider(@Nullable LogProvider logProvider) {
+        mLogProvider = logProvider;
+    }
+
+    public void setLogLevel(@NotNull LogLevel logLevel) {
+        mLogLevel = logLevel;
+    }
+
+    @NotNull
+    public LogLevel getLogLevel() {
+        return mLogLevel;
+    }
+
+    /**
+     * @param logLevel the level to check.
+     * @return true if messages logged at the given level will be output, false otherwise.
+     */
+    public boolean isLoggable(@NotNull LogLevel logLevel) {
+        return mLogLevel.ordinal() <= logLevel.ordinal();
+    }
+
+    public void e(String error) {
+        if (isLoggable(LogLevel.ERROR)) {
+            final LogProvider logProvider = mLogProvider;
+            if (logProvider != null) {
+                logProvider.e(error);
+            } else {
+                System.out.println(error);
+            }
+        }
+    }
+
+    public void e(String error, Exception exception) {
+        if (isLoggable(LogLevel.ERROR)) {
+            final LogProvider logProvider = mLogProvider;
+            if (logProvider != null) {
+                logProvider.e(error, exception);
+            } else {
+                System.out.println(error);
+                exception.printStackTrace();
+            }
+        }
+    }
+
+    public void d(String debug) {
+        if (isLoggable(LogLevel.DEBUG)) {
+            final LogProvider logProvider = mLogProvider;
+            if (logProvider != null) {
+                logProvider.d(debug);
+            } else {
+                System.out.println(debug);
+            }
+        }
+    }
+
+    public void v(String verbose) {
+        if (isLoggable(LogLevel.VERBOSE)) {
+            final LogProvider logProvider = mLogProvider;
+            if (logProvider != null) {
+                logProvider.v(verbose);
+            } else {
+                System.out.println(verbose);
+            }
+        }
+    }
+}
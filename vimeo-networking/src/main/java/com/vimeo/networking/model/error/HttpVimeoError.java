@@ -0,0 +1,100 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.model.error;
+
+import com.vimeo.networking.logging.ClientLogger;
+import com.vimeo.networking.logging.VimeoLogger;
+import com.vimeo.networking.utils.VimeoNetworkUtil;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import retrofit2.Response;
+
+/**
+ * A {@link VimeoError} for a response the API answered with an error status. The error body is only decoded
+ * the first time one of its fields is accessed, since many callers only look at the status code, and no stack
+ * trace is captured, as it would only point at the callback that received the response. This keeps bursts
+ * of error responses cheap to handle.
+ */
+public class HttpVimeoError extends VimeoError {
+
+    private static final long serialVersionUID = 3604786318373530254L;
+
+    /**
+     * The error body of the response until it is decoded
+     */
+    @Nullable
+    private byte[] mErrorBody;
+
+    /**
+     * The logger of the client that received the response, to which a failure to decode the body is logged
+     */
+    @Nullable
+    private transient VimeoLogger mLogger;
+
+    /**
+     * @param response  the response with an error status.
+     * @param errorBody the content of the error body of the response, or null if it had none.
+     */
+    public HttpVimeoError(@NotNull Response<?> response, @Nullable byte[] errorBody) {
+        this(response, errorBody, ClientLogger.getDefaultLogger());
+    }
+
+    /**
+     * @param response  the response with an error status.
+     * @param errorBody the content of the error body of the response, or null if it had none.
+     * @param logger    the logger of the client that received the response.
+     */
+    public HttpVimeoError(@NotNull Response<?> response, @Nullable byte[] errorBody, @NotNull VimeoLogger logger) {
+        setResponse(response);
+        mErrorBody = errorBody;
+        mLogger = logger;
+    }
+
+    @Override
+    protected synchronized void decodeBody() {
+        final byte[] errorBody = mErrorBody;
+        if (errorBody == null) {
+            return;
+        }
+        mErrorBody = null;
+        // The logger isn't serialized, an error read back from a stream logs to the default logger
+        final VimeoLogger logger = mLogger != null ? mLogger : ClientLogger.getDefaultLogger();
+        final VimeoError decodedError = VimeoNetworkUtil.decodeError(errorBody, logger);
+        if (decodedError != null) {
+            mErrorMessage = decodedError.mErrorMessage;
+            mLink = decodedError.mLink;
+            mDeveloperMessage = decodedError.mDeveloperMessage;
+            mErrorCode = decodedError.mErrorCode;
+            mInvalidParameters = decodedError.mInvalidParameters;
+        }
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -91,26 +91,32 @@ public class VimeoError extends RuntimeException {
     }
 
     public void setLink(String link) {
+        decodeBody();
         this.mLink = link;
     }
 
     public String getLink() {
+        decodeBody();
         return this.mLink;
     }
 
     public void setErrorMessage(String errorMessage) {
+        decodeBody();
         this.mErrorMessage = errorMessage;
     }
 
     public String getErrorMessage() {
+        decodeBody();
         return this.mErrorMessage;
     }
 
     public void setDeveloperMessage(String developerMessage) {
+        decodeBody();
         this.mDeveloperMessage = developerMessage;
     }
 
     public String getDeveloperMessage() {
+        decodeBody();
         if (this.mDeveloperMessage == null || this.mDeveloperMessage.isEmpty()) {
             return this.mErrorMessage;
         }
@@ -118,19 +124,23 @@ public class VimeoError extends RuntimeException {
     }
 
     public void setErrorCode(ErrorCode errorCode) {
+        decodeBody();
         this.mErrorCode = errorCode;
     }
 
     @NotNull
     public ErrorCode getErrorCode() {
+        decodeBody();
         return mErrorCode == null ? ErrorCode.DEFAULT : this.mErrorCode;
     }
 
     public void setInvalidParameters(List<InvalidParameter> invalidParameters) {
+        decodeBody();
         this.mInvalidParameters = invalidParameters;
     }
 
     public List<InvalidParameter> getInvalidParameters() {
+        decodeBody();
         return this.mInvalidParameters;
     }
 
@@ -141,6 +151,7 @@ public class VimeoError extends RuntimeException {
      */
     @Nullable
     public InvalidParameter getInvalidParameter() {
+        decodeBody();
         return mInvalidParameters != null && !mInvalidParameters.isEmpty() ? mInvalidParameters.get(0) : null;
     }
 
@@ -153,6 +164,13 @@ public class VimeoError extends RuntimeException {
         return getInvalidParameter() != null ? getInvalidParameter().getErrorCode() : null;
     }
 
+    /**
+     * Called before the fields read from the response body are accessed, so that subclasses can decode the
+     * body only when it is needed.
+     */
+    protected void decodeBody() {
+    }
+
     public Exception getException() {
         return mException;
     }
@@ -224,6 +242,7 @@ public class VimeoError extends RuntimeException {
     }
 
     public void addInvalidParameter(String field, ErrorCode code, String developerMessage) {
+        decodeBody();
         InvalidParameter invalidParameter = new InvalidParameter(field, code, developerMessage);
         if (this.mInvalidParameters == null) {
             mInvalidParameters = new ArrayList<>();
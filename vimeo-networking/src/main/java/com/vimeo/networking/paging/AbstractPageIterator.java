@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.paging;
+
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.model.BaseResponseList;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the items of the pages returned by {@link #takePage()}.
+ *
+ * @param <ItemType_T> the type of the items of the collection.
+ */
+abstract class AbstractPageIterator<ItemType_T> implements Iterator<ItemType_T>, Closeable {
+
+    @NotNull
+    private Iterator<ItemType_T> mCurrentItems = Collections.<ItemType_T>emptyList().iterator();
+
+    /**
+     * Waits for the next page.
+     *
+     * @return the next page, or null if the collection was exhausted or the iterator closed.
+     */
+    @Nullable
+    abstract BaseResponseList<ItemType_T> takePage();
+
+    /**
+     * Stops the iteration, cancelling the pending requests and dropping the buffered pages.
+     */
+    @Override
+    public void close() {
+        mCurrentItems = Collections.<ItemType_T>emptyList().iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!mCurrentItems.hasNext()) {
+            final BaseResponseList<ItemType_T> page = takePage();
+            if (page == null) {
+                return false;
+            }
+            final List<ItemType_T> data = page.getData();
+            if (data != null) {
+                mCurrentItems = data.iterator();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public ItemType_T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return mCurrentItems.next();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("remove");
+    }
+
+    @NotNull
+    static <ItemType_T> VimeoFuture<BaseResponseList<ItemType_T>> upcast(
+            @NotNull VimeoFuture<? extends BaseResponseList<ItemType_T>> future) {
+        return future.map(new VimeoFuture.Transformation<BaseResponseList<ItemType_T>, BaseResponseList<ItemType_T>>() {
+            @Override
+            public BaseResponseList<ItemType_T> apply(BaseResponseList<ItemType_T> input) {
+                return input;
+            }
+        });
+    }
+}
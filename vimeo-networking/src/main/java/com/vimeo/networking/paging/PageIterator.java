@@ -0,0 +1,226 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.paging;
+
+import com.vimeo.networking.callbacks.VimeoCallback;
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.model.Paging;
+import com.vimeo.networking.model.error.VimeoError;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Iterates over every item of a paginated collection, such as the videos of a user, following the
+ * {@link Paging#getNext()} links one page at a time.
+ * <p>
+ * Pages are only loaded as the consumer makes progress: at most {@code maxBufferedPages} pages are loaded or
+ * being loaded ahead of the page being iterated over, so memory stays bounded however large the collection
+ * is. {@link #hasNext()} blocks while the page it needs is loaded, so the iterator must not be used on the
+ * thread the responses are delivered on, such as the Android main thread.
+ * <p>
+ * A failed request is thrown as a {@link VimeoError} from {@link #hasNext()} or {@link #next()}. Call
+ * {@link #close()} when stopping early to cancel the pending request.
+ * <p>
+ * This class isn't thread safe, it is meant to be consumed by a single thread.
+ *
+ * @param <ItemType_T> the type of the items of the collection.
+ */
+public final class PageIterator<ItemType_T> extends AbstractPageIterator<ItemType_T> {
+
+    /**
+     * The default number of pages loaded ahead of the consumer.
+     */
+    public static final int DEFAULT_MAX_BUFFERED_PAGES = 1;
+
+    @NotNull
+    private final PageLoader<ItemType_T> mPageLoader;
+
+    private final int mMaxBufferedPages;
+
+    @NotNull
+    private final Object mLock = new Object();
+
+    @NotNull
+    private final Deque<BaseResponseList<ItemType_T>> mBufferedPages = new ArrayDeque<>();
+
+    @Nullable
+    private String mNextUri;
+
+    @Nullable
+    private VimeoFuture<?> mPendingLoad;
+
+    @Nullable
+    private VimeoError mError;
+
+    private int mTotal = -1;
+
+    private boolean mClosed;
+
+    /**
+     * @param pageLoader       the loader of the pages.
+     * @param firstPageUri     the URI of the first page of the collection.
+     * @param maxBufferedPages the maximum number of pages loaded ahead of the page being iterated over.
+     */
+    public PageIterator(@NotNull PageLoader<ItemType_T> pageLoader,
+                        @NotNull String firstPageUri,
+                        int maxBufferedPages) {
+        if (maxBufferedPages < 1) {
+            throw new IllegalArgumentException("maxBufferedPages < 1: " + maxBufferedPages);
+        }
+        mPageLoader = pageLoader;
+        mMaxBufferedPages = maxBufferedPages;
+        mNextUri = firstPageUri;
+        synchronized (mLock) {
+            requestMoreLocked();
+        }
+    }
+
+    public PageIterator(@NotNull PageLoader<ItemType_T> pageLoader, @NotNull String firstPageUri) {
+        this(pageLoader, firstPageUri, DEFAULT_MAX_BUFFERED_PAGES);
+    }
+
+    /**
+     * @return the total number of items in the collection as reported by the first page, or -1 if it hasn't
+     * been loaded yet.
+     */
+    public int getTotal() {
+        synchronized (mLock) {
+            return mTotal;
+        }
+    }
+
+    /**
+     * Stops the iteration, cancelling the pending request and dropping the buffered pages.
+     */
+    @Override
+    public void close() {
+        final VimeoFuture<?> pendingLoad;
+        synchronized (mLock) {
+            if (mClosed) {
+                return;
+            }
+            mClosed = true;
+            mBufferedPages.clear();
+            pendingLoad = mPendingLoad;
+            mPendingLoad = null;
+            mLock.notifyAll();
+        }
+        super.close();
+        if (pendingLoad != null) {
+            pendingLoad.cancel();
+        }
+    }
+
+    @Nullable
+    @Override
+    BaseResponseList<ItemType_T> takePage() {
+        synchronized (mLock) {
+            while (true) {
+                if (mClosed) {
+                    return null;
+                }
+                if (!mBufferedPages.isEmpty()) {
+                    final BaseResponseList<ItemType_T> page = mBufferedPages.removeFirst();
+                    requestMoreLocked();
+                    return page;
+                }
+                if (mError != null) {
+                    throw mError;
+                }
+                if (mPendingLoad == null && mNextUri == null) {
+                    return null;
+                }
+                try {
+                    mLock.wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    final VimeoError error = new VimeoError("Interrupted while waiting for a page", e);
+                    error.setIsCanceledError(true);
+                    throw error;
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts loading the next page if the buffer has room for it.
+     */
+    private void requestMoreLocked() {
+        final String uri = mNextUri;
+        if (mClosed || mError != null || mPendingLoad != null || uri == null ||
+            mBufferedPages.size() >= mMaxBufferedPages) {
+            return;
+        }
+        mNextUri = null;
+        final VimeoFuture<BaseResponseList<ItemType_T>> load = upcast(mPageLoader.loadPage(uri));
+        mPendingLoad = load;
+        load.addCallback(new VimeoCallback<BaseResponseList<ItemType_T>>() {
+            @Override
+            public void success(BaseResponseList<ItemType_T> page) {
+                onPageLoaded(load, page);
+            }
+
+            @Override
+            public void failure(VimeoError error) {
+                onPageFailed(load, error);
+            }
+        }, null);
+    }
+
+    private void onPageLoaded(@NotNull VimeoFuture<?> load, @Nullable BaseResponseList<ItemType_T> page) {
+        synchronized (mLock) {
+            if (mPendingLoad != load) {
+                return;
+            }
+            mPendingLoad = null;
+            if (page != null) {
+                if (mTotal < 0) {
+                    mTotal = page.getTotal();
+                }
+                final Paging paging = page.getPaging();
+                mNextUri = paging != null ? paging.getNext() : null;
+                mBufferedPages.addLast(page);
+            }
+            requestMoreLocked();
+            mLock.notifyAll();
+        }
+    }
+
+    private void onPageFailed(@NotNull VimeoFuture<?> load, @NotNull VimeoError error) {
+        synchronized (mLock) {
+            if (mPendingLoad != load) {
+                return;
+            }
+            mPendingLoad = null;
+            mError = error;
+            mLock.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.paging;
+
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.model.BaseResponseList;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Loads the pages of a paginated collection.
+ *
+ * @param <ItemType_T> the type of the items of the collection.
+ * @see VimeoPageLoader
+ */
+public interface PageLoader<ItemType_T> {
+
+    /**
+     * Asynchronously loads a page.
+     *
+     * @param uri the URI of the page, as found in {@link com.vimeo.networking.model.Paging}.
+     * @return a future completed with the page, cancelling it cancels the request.
+     */
+    @NotNull
+    VimeoFuture<? extends BaseResponseList<ItemType_T>> loadPage(@NotNull String uri);
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.paging;
+
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.model.Paging;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Computes the URIs of the pages of a collection from its first page, using the {@code total},
+ * {@code page} and {@code per_page} fields of {@link BaseResponseList}.
+ */
+final class PageUris {
+
+    private static final String PAGE_PARAMETER = "page";
+
+    @NotNull
+    private final String mTemplateUri;
+
+    private final int mFirstPage;
+
+    private final int mLastPage;
+
+    private PageUris(@NotNull String templateUri, int firstPage, int lastPage) {
+        mTemplateUri = templateUri;
+        mFirstPage = firstPage;
+        mLastPage = lastPage;
+    }
+
+    /**
+     * @param firstPage the first page of the collection.
+     * @return the URIs of the pages, or null if the first page doesn't provide enough information to compute
+     * them.
+     */
+    @Nullable
+    static PageUris from(@NotNull BaseResponseList<?> firstPage) {
+        final Paging paging = firstPage.getPaging();
+        final String nextUri = paging != null ? paging.getNext() : null;
+        if (nextUri == null || firstPage.getTotal() <= 0 || firstPage.getPerPage() <= 0 ||
+            firstPage.getPage() <= 0 || withPage(nextUri, firstPage.getPage() + 1) == null) {
+            return null;
+        }
+        final int lastPage = (firstPage.getTotal() + firstPage.getPerPage() - 1) / firstPage.getPerPage();
+        return new PageUris(nextUri, firstPage.getPage(), lastPage);
+    }
+
+    /**
+     * @return the number of pages of the collection.
+     */
+    int getPageCount() {
+        return mLastPage - mFirstPage + 1;
+    }
+
+    /**
+     * @param index the index of the page, 0 being the first page.
+     * @return the URI of the page.
+     */
+    @NotNull
+    String getUri(int index) {
+        final String uri = withPage(mTemplateUri, mFirstPage + index);
+        assert uri != null;
+        return uri;
+    }
+
+    /**
+     * @return the URI with its {@code page} query parameter set to the page, or null if it doesn't have one.
+     */
+    @Nullable
+    static String withPage(@NotNull String uri, int page) {
+        final int queryStart = uri.indexOf('?');
+        if (queryStart < 0) {
+            return null;
+        }
+        final String[] parameters = uri.substring(queryStart + 1).split("&");
+        final StringBuilder builder = new StringBuilder(uri.length()).append(uri, 0, queryStart + 1);
+        boolean replaced = false;
+        for (int i = 0; i < parameters.length; i++) {
+            if (i > 0) {
+                builder.append('&');
+            }
+            final String parameter = parameters[i];
+            if (!replaced && parameter.startsWith(PAGE_PARAMETER + '=')) {
+                builder.append(PAGE_PARAMETER).append('=').append(page);
+                replaced = true;
+            } else {
+                builder.append(parameter);
+            }
+        }
+        return replaced ? builder.toString() : null;
+    }
+}
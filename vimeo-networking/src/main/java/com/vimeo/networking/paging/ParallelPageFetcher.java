@@ -0,0 +1,234 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.paging;
+
+import com.vimeo.networking.callbacks.VimeoCallback;
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.model.Paging;
+import com.vimeo.networking.model.error.VimeoError;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads every item of a paginated collection, loading several pages at the same time.
+ * <p>
+ * Once the first page is known, the URIs of all the remaining pages are computed from its {@code total},
+ * {@code page} and {@code per_page} fields and loaded with at most {@code maxConcurrentRequests} requests in
+ * flight. If they don't allow it, the {@link Paging#getNext()} links are followed one page at a time.
+ * <p>
+ * The items are assembled in the order of the pages. When the collection changes during the enumeration,
+ * items can shift from one page to the next and be returned twice, so duplicates are removed, two items
+ * being duplicates if they are {@link Object#equals(Object) equal}. Models such as {@code Video} and
+ * {@code User} compare their identifiers, which must then be included by the field filter.
+ * <p>
+ * This class is thread safe, and nothing in it blocks.
+ *
+ * @param <ItemType_T> the type of the items of the collection.
+ */
+public final class ParallelPageFetcher<ItemType_T> {
+
+    /**
+     * The default maximum number of pages loaded at the same time.
+     */
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+
+    @NotNull
+    private final PageLoader<ItemType_T> mPageLoader;
+
+    private final int mMaxConcurrentRequests;
+
+    /**
+     * @param pageLoader            the loader of the pages.
+     * @param maxConcurrentRequests the maximum number of pages loaded at the same time.
+     */
+    public ParallelPageFetcher(@NotNull PageLoader<ItemType_T> pageLoader, int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests < 1: " + maxConcurrentRequests);
+        }
+        mPageLoader = pageLoader;
+        mMaxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public ParallelPageFetcher(@NotNull PageLoader<ItemType_T> pageLoader) {
+        this(pageLoader, DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+
+    /**
+     * Loads every item of a collection.
+     *
+     * @param firstPageUri the URI of the first page of the collection.
+     * @param executor     the executor on which the callbacks of the future are invoked by default, may be
+     *                     null.
+     * @return a future completed with the items of every page, in order and without duplicates, or with the
+     * error of the first page that failed. Cancelling it cancels every pending request.
+     */
+    @NotNull
+    public VimeoFuture<List<ItemType_T>> fetchAll(@NotNull String firstPageUri, @Nullable Executor executor) {
+        final Fetch fetch = new Fetch(new VimeoFuture<List<ItemType_T>>(executor));
+        fetch.start(firstPageUri);
+        return fetch.mResult;
+    }
+
+    /**
+     * The state of one {@link #fetchAll(String, Executor)}.
+     */
+    private final class Fetch {
+
+        @NotNull
+        private final VimeoFuture<List<ItemType_T>> mResult;
+
+        @NotNull
+        private final List<BaseResponseList<ItemType_T>> mPages = new ArrayList<>();
+
+        @NotNull
+        private final Map<Integer, VimeoFuture<?>> mPendingLoads = new HashMap<>();
+
+        @Nullable
+        private PageUris mPageUris;
+
+        private int mNextIndexToLoad;
+
+        private boolean mDone;
+
+        Fetch(@NotNull VimeoFuture<List<ItemType_T>> result) {
+            mResult = result;
+            mResult.addCallback(new VimeoCallback<List<ItemType_T>>() {
+                @Override
+                public void success(List<ItemType_T> items) {
+                }
+
+                @Override
+                public void failure(VimeoError error) {
+                    if (error.isCanceledError()) {
+                        cancelPendingLoads();
+                    }
+                }
+            }, null);
+        }
+
+        void start(@NotNull String firstPageUri) {
+            synchronized (this) {
+                mNextIndexToLoad = 1;
+                load(0, firstPageUri);
+            }
+        }
+
+        private void load(final int index, @NotNull String uri) {
+            while (mPages.size() <= index) {
+                mPages.add(null);
+            }
+            final VimeoFuture<BaseResponseList<ItemType_T>> load =
+                    AbstractPageIterator.upcast(mPageLoader.loadPage(uri));
+            mPendingLoads.put(index, load);
+            load.addCallback(new VimeoCallback<BaseResponseList<ItemType_T>>() {
+                @Override
+                public void success(BaseResponseList<ItemType_T> page) {
+                    onPageLoaded(index, page);
+                }
+
+                @Override
+                public void failure(VimeoError error) {
+                    onPageFailed(index, error);
+                }
+            }, null);
+        }
+
+        private void onPageLoaded(int index, @Nullable BaseResponseList<ItemType_T> page) {
+            final List<ItemType_T> items;
+            synchronized (this) {
+                if (mDone || mPendingLoads.remove(index) == null) {
+                    return;
+                }
+                mPages.set(index, page);
+                if (index == 0 && page != null) {
+                    mPageUris = PageUris.from(page);
+                }
+                if (mPageUris != null) {
+                    while (mNextIndexToLoad < mPageUris.getPageCount() &&
+                           mPendingLoads.size() < mMaxConcurrentRequests) {
+                        final int nextIndex = mNextIndexToLoad++;
+                        load(nextIndex, mPageUris.getUri(nextIndex));
+                    }
+                } else {
+                    final Paging paging = page != null ? page.getPaging() : null;
+                    final String nextUri = paging != null ? paging.getNext() : null;
+                    if (nextUri != null) {
+                        load(mNextIndexToLoad++, nextUri);
+                    }
+                }
+                // Pages already loaded complete synchronously, which may have finished the fetch
+                if (mDone || !mPendingLoads.isEmpty()) {
+                    return;
+                }
+                mDone = true;
+                items = assemble();
+            }
+            mResult.set(items);
+        }
+
+        private void onPageFailed(int index, @NotNull VimeoError error) {
+            synchronized (this) {
+                if (mDone || mPendingLoads.remove(index) == null) {
+                    return;
+                }
+            }
+            mResult.setError(error);
+            cancelPendingLoads();
+        }
+
+        private void cancelPendingLoads() {
+            final List<VimeoFuture<?>> pendingLoads;
+            synchronized (this) {
+                mDone = true;
+                pendingLoads = new ArrayList<>(mPendingLoads.values());
+                mPendingLoads.clear();
+            }
+            for (final VimeoFuture<?> pendingLoad : pendingLoads) {
+                pendingLoad.cancel();
+            }
+        }
+
+        @NotNull
+        private List<ItemType_T> assemble() {
+            final Set<ItemType_T> items = new LinkedHashSet<>();
+            for (final BaseResponseList<ItemType_T> page : mPages) {
+                if (page != null && page.getData() != null) {
+                    items.addAll(page.getData());
+                }
+            }
+            return new ArrayList<>(items);
+        }
+    }
+}
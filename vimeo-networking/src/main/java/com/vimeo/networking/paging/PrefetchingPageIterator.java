@@ -0,0 +1,288 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.paging;
+
+import com.vimeo.networking.callbacks.VimeoCallback;
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.model.Paging;
+import com.vimeo.networking.model.error.VimeoError;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Iterates over every item of a paginated collection while loading the following pages in the background,
+ * so that network time overlaps with the processing of the current page.
+ * <p>
+ * Once the first page is known, the URIs of the following pages are computed from its {@code total},
+ * {@code page} and {@code per_page} fields, so that several pages can be loaded at the same time. If they
+ * don't allow it, the {@link Paging#getNext()} links are followed one page at a time.
+ * <p>
+ * The number of pages loaded ahead of the consumer adapts between 1 and {@code maxPrefetchPages}: it grows
+ * every time the consumer has to wait for a page, and shrinks when pages pile up because the consumer is
+ * slower than the network. Call {@link #close()} when stopping early to cancel every pending request.
+ * <p>
+ * {@link #hasNext()} blocks while the page it needs is loaded, so the iterator must not be used on the thread
+ * the responses are delivered on, such as the Android main thread. This class isn't thread safe, it is meant
+ * to be consumed by a single thread.
+ *
+ * @param <ItemType_T> the type of the items of the collection.
+ */
+public final class PrefetchingPageIterator<ItemType_T> extends AbstractPageIterator<ItemType_T> {
+
+    /**
+     * The default maximum number of pages loaded ahead of the consumer.
+     */
+    public static final int DEFAULT_MAX_PREFETCH_PAGES = 4;
+
+    @NotNull
+    private final PageLoader<ItemType_T> mPageLoader;
+
+    private final int mMaxPrefetchPages;
+
+    @NotNull
+    private final Object mLock = new Object();
+
+    /**
+     * Pages loaded but not consumed yet, by index.
+     */
+    @NotNull
+    private final Map<Integer, BaseResponseList<ItemType_T>> mLoadedPages = new HashMap<>();
+
+    @NotNull
+    private final Map<Integer, VimeoFuture<?>> mPendingLoads = new HashMap<>();
+
+    /**
+     * The URIs of the pages, once they can be computed from the first page.
+     */
+    @Nullable
+    private PageUris mPageUris;
+
+    /**
+     * The URI of the page at {@link #mNextIndexToLoad} when following the next links.
+     */
+    @Nullable
+    private String mNextUri;
+
+    private int mNextIndexToLoad;
+
+    private int mNextIndexToTake;
+
+    private int mWindow = 1;
+
+    @Nullable
+    private VimeoError mError;
+
+    private boolean mClosed;
+
+    /**
+     * @param pageLoader       the loader of the pages.
+     * @param firstPageUri     the URI of the first page of the collection.
+     * @param maxPrefetchPages the maximum number of pages loaded ahead of the page being iterated over.
+     */
+    public PrefetchingPageIterator(@NotNull PageLoader<ItemType_T> pageLoader,
+                                   @NotNull String firstPageUri,
+                                   int maxPrefetchPages) {
+        if (maxPrefetchPages < 1) {
+            throw new IllegalArgumentException("maxPrefetchPages < 1: " + maxPrefetchPages);
+        }
+        mPageLoader = pageLoader;
+        mMaxPrefetchPages = maxPrefetchPages;
+        mNextUri = firstPageUri;
+        synchronized (mLock) {
+            loadMoreLocked();
+        }
+    }
+
+    public PrefetchingPageIterator(@NotNull PageLoader<ItemType_T> pageLoader, @NotNull String firstPageUri) {
+        this(pageLoader, firstPageUri, DEFAULT_MAX_PREFETCH_PAGES);
+    }
+
+    /**
+     * @return the current number of pages loaded ahead of the consumer.
+     */
+    public int getPrefetchWindow() {
+        synchronized (mLock) {
+            return mWindow;
+        }
+    }
+
+    @Override
+    public void close() {
+        final List<VimeoFuture<?>> pendingLoads;
+        synchronized (mLock) {
+            if (mClosed) {
+                return;
+            }
+            mClosed = true;
+            mLoadedPages.clear();
+            pendingLoads = new ArrayList<>(mPendingLoads.values());
+            mPendingLoads.clear();
+            mLock.notifyAll();
+        }
+        super.close();
+        for (final VimeoFuture<?> pendingLoad : pendingLoads) {
+            pendingLoad.cancel();
+        }
+    }
+
+    @Nullable
+    @Override
+    BaseResponseList<ItemType_T> takePage() {
+        synchronized (mLock) {
+            boolean waited = false;
+            while (true) {
+                if (mClosed) {
+                    return null;
+                }
+                final BaseResponseList<ItemType_T> page = mLoadedPages.remove(mNextIndexToTake);
+                if (page != null) {
+                    mNextIndexToTake++;
+                    adaptWindowLocked(waited);
+                    loadMoreLocked();
+                    return page;
+                }
+                if (mError != null) {
+                    throw mError;
+                }
+                if (!mPendingLoads.containsKey(mNextIndexToTake) && !hasPageLocked(mNextIndexToTake)) {
+                    return null;
+                }
+                waited = true;
+                try {
+                    mLock.wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    final VimeoError error = new VimeoError("Interrupted while waiting for a page", e);
+                    error.setIsCanceledError(true);
+                    throw error;
+                }
+            }
+        }
+    }
+
+    /**
+     * A consumer waiting for pages is faster than the network, so more pages are loaded ahead. Pages piling up
+     * mean that it is slower, so fewer are.
+     */
+    private void adaptWindowLocked(boolean waited) {
+        if (waited) {
+            mWindow = Math.min(mWindow * 2, mMaxPrefetchPages);
+        } else if (mLoadedPages.size() >= mWindow && mWindow > 1) {
+            mWindow--;
+        }
+    }
+
+    private boolean hasPageLocked(int index) {
+        if (mPageUris != null) {
+            return index < mPageUris.getPageCount();
+        }
+        return index == mNextIndexToLoad && mNextUri != null;
+    }
+
+    /**
+     * Starts loading pages until the window is full.
+     */
+    private void loadMoreLocked() {
+        while (!mClosed && mError == null && hasPageLocked(mNextIndexToLoad) &&
+               mNextIndexToLoad - mNextIndexToTake < mWindow) {
+            final int index = mNextIndexToLoad;
+            final String uri;
+            if (mPageUris != null) {
+                uri = mPageUris.getUri(index);
+            } else {
+                uri = mNextUri;
+                mNextUri = null;
+            }
+            assert uri != null;
+            mNextIndexToLoad++;
+            final VimeoFuture<BaseResponseList<ItemType_T>> load = upcast(mPageLoader.loadPage(uri));
+            mPendingLoads.put(index, load);
+            load.addCallback(new VimeoCallback<BaseResponseList<ItemType_T>>() {
+                @Override
+                public void success(BaseResponseList<ItemType_T> page) {
+                    onPageLoaded(index, page);
+                }
+
+                @Override
+                public void failure(VimeoError error) {
+                    onPageFailed(index, error);
+                }
+            }, null);
+        }
+    }
+
+    private void onPageLoaded(int index, @Nullable BaseResponseList<ItemType_T> page) {
+        final boolean missingPage;
+        synchronized (mLock) {
+            missingPage = page == null && mPageUris != null;
+        }
+        if (missingPage) {
+            // The page count is known, so skipping the page would silently drop its items
+            onPageFailed(index, new VimeoError("No content for page " + (index + 1)));
+            return;
+        }
+        synchronized (mLock) {
+            if (mPendingLoads.remove(index) == null) {
+                return;
+            }
+            if (page != null) {
+                if (index == 0) {
+                    mPageUris = PageUris.from(page);
+                }
+                if (mPageUris == null) {
+                    final Paging paging = page.getPaging();
+                    mNextUri = paging != null ? paging.getNext() : null;
+                }
+                mLoadedPages.put(index, page);
+            }
+            loadMoreLocked();
+            mLock.notifyAll();
+        }
+    }
+
+    private void onPageFailed(int index, @NotNull VimeoError error) {
+        final List<VimeoFuture<?>> pendingLoads;
+        synchronized (mLock) {
+            if (mPendingLoads.remove(index) == null) {
+                return;
+            }
+            mError = error;
+            // The iteration can't go past the failed page, the pages after it are no longer needed
+            pendingLoads = new ArrayList<>(mPendingLoads.values());
+            mPendingLoads.clear();
+            mLock.notifyAll();
+        }
+        for (final VimeoFuture<?> pendingLoad : pendingLoads) {
+            pendingLoad.cancel();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.paging;
+
+import com.vimeo.networking.Vimeo;
+import com.vimeo.networking.VimeoClient;
+import com.vimeo.networking.VimeoClient.Caller;
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.model.BaseResponseList;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+
+import okhttp3.CacheControl;
+
+/**
+ * A {@link PageLoader} loading the pages through
+ * {@link VimeoClient#getContentAsync(String, CacheControl, Caller, String, java.util.Map, String, Executor)},
+ * so that they benefit from its caching and request coalescing.
+ *
+ * @param <ItemType_T> the type of the items of the collection.
+ */
+public final class VimeoPageLoader<ItemType_T> implements PageLoader<ItemType_T> {
+
+    @NotNull
+    private final VimeoClient mClient;
+
+    @NotNull
+    private final Caller<? extends BaseResponseList<ItemType_T>> mCaller;
+
+    @NotNull
+    private final CacheControl mCacheControl;
+
+    @Nullable
+    private final String mFieldFilter;
+
+    /**
+     * @param client       the client making the requests.
+     * @param caller       the caller for the type of the collection, for example
+     *                     {@link com.vimeo.networking.callers.GetRequestCaller#VIDEO_LIST}.
+     * @param cacheControl the cache control of the requests.
+     * @param fieldFilter  the fields to include in the items, applied to pages whose URI doesn't already
+     *                     include a field filter. May be null.
+     */
+    public VimeoPageLoader(@NotNull VimeoClient client,
+                           @NotNull Caller<? extends BaseResponseList<ItemType_T>> caller,
+                           @NotNull CacheControl cacheControl,
+                           @Nullable String fieldFilter) {
+        mClient = client;
+        mCaller = caller;
+        mCacheControl = cacheControl;
+        mFieldFilter = fieldFilter;
+    }
+
+    @NotNull
+    @Override
+    public VimeoFuture<? extends BaseResponseList<ItemType_T>> loadPage(@NotNull String uri) {
+        // The paging links of the API repeat the query of the first page, field filter included
+        final String fieldFilter = hasFieldFilter(uri) ? null : mFieldFilter;
+        return load(uri, mCaller, fieldFilter);
+    }
+
+    @NotNull
+    private <ListType_T extends BaseResponseList<ItemType_T>> VimeoFuture<ListType_T> load(
+            @NotNull String uri,
+            @NotNull Caller<ListType_T> caller,
+            @Nullable String fieldFilter) {
+        return mClient.getContentAsync(uri, mCacheControl, caller, null, null, fieldFilter, null);
+    }
+
+    /**
+     * @param uri the URI of a page.
+     * @return true if the query of the URI has a field filter parameter. Parameters whose name merely ends
+     * with the name of the field filter, such as {@code container_fields}, don't count.
+     */
+    static boolean hasFieldFilter(@NotNull String uri) {
+        final int queryStart = uri.indexOf('?');
+        if (queryStart < 0) {
+            return false;
+        }
+        final int fragmentStart = uri.indexOf('#', queryStart);
+        final String query = uri.substring(queryStart + 1, fragmentStart < 0 ? uri.length() : fragmentStart);
+        for (final String parameter : query.split("&")) {
+            final int nameEnd = parameter.indexOf('=');
+            final String name = nameEnd < 0 ? parameter : parameter.substring(0, nameEnd);
+            if (Vimeo.PARAMETER_GET_FIELD_FILTER.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import retrofit2.Call;
+
+/**
+ * A group of calls that are cancelled together, for example every request made on behalf of a screen that
+ * is going away.
+ * <p>
+ * Calls join the scope when they are created through a service returned by
+ * {@link #wrap(Class, Object)} or passed to {@link #track(Call)}, and leave it when they complete or are
+ * cancelled. A call that is created but never executed stays in the scope until it is cancelled, either
+ * directly or through the scope.
+ * {@link #cancelAll()} cancels the calls of the scope, and {@link #close()} additionally cancels every call
+ * made through the scope afterwards.
+ * <p>
+ * Cancelling a call that was never executed is cheap, so it is done on the calling thread. Cancelling a call
+ * in flight may close its connection, so those are cancelled together in a single task on the cancellation
+ * executor, usually the executor of the OkHttp dispatcher, rather than on the calling thread.
+ * <p>
+ * This class is thread safe.
+ */
+public final class CancellationScope implements Closeable {
+
+    @NotNull
+    private final Executor mCancellationExecutor;
+
+    @NotNull
+    private final Set<ScopedCall<?>> mCalls = new LinkedHashSet<>();
+
+    private boolean mClosed;
+
+    /**
+     * @param cancellationExecutor the executor on which calls in flight are cancelled, usually
+     *                             {@link okhttp3.Dispatcher#executorService()}.
+     */
+    public CancellationScope(@NotNull Executor cancellationExecutor) {
+        mCancellationExecutor = cancellationExecutor;
+    }
+
+    /**
+     * Cancels a group of calls, cancelling those in flight on the given executor.
+     *
+     * @param calls    the calls to cancel, null elements are ignored.
+     * @param executor the executor on which the calls in flight are cancelled.
+     */
+    public static void cancel(@NotNull Collection<? extends Call<?>> calls, @NotNull Executor executor) {
+        final List<Call<?>> executedCalls = new ArrayList<>();
+        for (final Call<?> call : calls) {
+            if (call == null || call.isCanceled()) {
+                continue;
+            }
+            if (call.isExecuted()) {
+                executedCalls.add(call);
+            } else {
+                call.cancel();
+            }
+        }
+        if (executedCalls.isEmpty()) {
+            return;
+        }
+
+        final Runnable cancellation = new Runnable() {
+            @Override
+            public void run() {
+                for (final Call<?> call : executedCalls) {
+                    call.cancel();
+                }
+            }
+        };
+        try {
+            executor.execute(cancellation);
+        } catch (final RejectedExecutionException e) {
+            // The executor was shut down, so is the transport, and the calls won't hold a connection for long
+            cancellation.run();
+        }
+    }
+
+    /**
+     * Wraps a Retrofit service so that every call it creates is part of this scope.
+     *
+     * @param serviceType the interface of the service.
+     * @param service     the service.
+     * @return a service creating calls that are part of this scope.
+     */
+    @NotNull
+    public <ServiceType_T> ServiceType_T wrap(@NotNull Class<ServiceType_T> serviceType,
+                                             @NotNull ServiceType_T service) {
+        return ServiceDecorator.decorate(serviceType, service, new ServiceDecorator.CallDecorator() {
+            @NotNull
+            @Override
+            public <DataType_T> Call<DataType_T> decorate(@NotNull Call<DataType_T> call) {
+                return track(call);
+            }
+        });
+    }
+
+    /**
+     * Adds a call to this scope. If the scope is closed, the call is cancelled right away and fails with a
+     * cancellation once executed.
+     *
+     * @param call the call to add.
+     * @return a call that leaves the scope when it completes or is cancelled. It must be used in place of the
+     * given call.
+     */
+    @NotNull
+    public <DataType_T> Call<DataType_T> track(@NotNull Call<DataType_T> call) {
+        final ScopedCall<DataType_T> scopedCall = new ScopedCall<>(this, call);
+        final boolean closed;
+        synchronized (mCalls) {
+            closed = mClosed;
+            if (!closed) {
+                mCalls.add(scopedCall);
+            }
+        }
+        if (closed) {
+            call.cancel();
+        }
+        return scopedCall;
+    }
+
+    /**
+     * Cancels the calls currently in this scope. Calls added afterwards are not affected.
+     */
+    public void cancelAll() {
+        final List<ScopedCall<?>> calls;
+        synchronized (mCalls) {
+            calls = new ArrayList<>(mCalls);
+            mCalls.clear();
+        }
+        cancel(calls, mCancellationExecutor);
+    }
+
+    /**
+     * Cancels the calls in this scope and every call added to it afterwards.
+     */
+    @Override
+    public void close() {
+        synchronized (mCalls) {
+            mClosed = true;
+        }
+        cancelAll();
+    }
+
+    public boolean isClosed() {
+        synchronized (mCalls) {
+            return mClosed;
+        }
+    }
+
+    /**
+     * @return the number of calls in this scope that haven't completed yet.
+     */
+    public int getActiveCallCount() {
+        synchronized (mCalls) {
+            return mCalls.size();
+        }
+    }
+
+    void remove(@NotNull ScopedCall<?> call) {
+        synchronized (mCalls) {
+            mCalls.remove(call);
+        }
+    }
+}
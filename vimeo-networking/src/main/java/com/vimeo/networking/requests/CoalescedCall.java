@@ -0,0 +1,99 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.jetbrains.annotations.NotNull;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * The {@link Call} handed out for a request made through the {@link InFlightRequestRegistry}. It represents
+ * one request attached to a shared network call: cancelling it only detaches that request.
+ * <p>
+ * The call is already executed, so {@link #execute()} and {@link #enqueue(Callback)} throw. Use
+ * {@link #clone()} to make a new, independent call for the same request.
+ */
+final class CoalescedCall<DataType_T> implements Call<DataType_T> {
+
+    @NotNull
+    private final InFlightRequest<DataType_T> mRequest;
+
+    @NotNull
+    private final Callback<DataType_T> mCallback;
+
+    private volatile boolean mCanceled;
+
+    CoalescedCall(@NotNull InFlightRequest<DataType_T> request, @NotNull Callback<DataType_T> callback) {
+        mRequest = request;
+        mCallback = callback;
+    }
+
+    @NotNull
+    Callback<DataType_T> getCallback() {
+        return mCallback;
+    }
+
+    @Override
+    public Response<DataType_T> execute() {
+        throw new IllegalStateException("Already executed.");
+    }
+
+    @Override
+    public void enqueue(Callback<DataType_T> callback) {
+        throw new IllegalStateException("Already executed.");
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return true;
+    }
+
+    @Override
+    public void cancel() {
+        if (!mCanceled) {
+            mCanceled = true;
+            mRequest.unsubscribe(this);
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return mCanceled;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public Call<DataType_T> clone() {
+        return mRequest.getCall().clone();
+    }
+
+    @Override
+    public Request request() {
+        return mRequest.getCall().request();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * A {@link Call} whose response is already known, for example because it was found in memory. The response
+ * is delivered on the callback executor rather than on the calling thread, so that callers see the same
+ * asynchronous behavior as for a network call.
+ * <p>
+ * Like any call, it can be executed or enqueued once, so that it can be part of a {@link CancellationScope}
+ * before the response is delivered.
+ */
+public final class CompletedCall<DataType_T> implements Call<DataType_T> {
+
+    @NotNull
+    private final Call<DataType_T> mOriginalCall;
+
+    @NotNull
+    private final Response<DataType_T> mResponse;
+
+    @NotNull
+    private final Executor mExecutor;
+
+    private final AtomicBoolean mExecuted = new AtomicBoolean();
+
+    private volatile boolean mCanceled;
+
+    private CompletedCall(@NotNull Call<DataType_T> originalCall,
+                          @NotNull Response<DataType_T> response,
+                          @NotNull Executor executor) {
+        mOriginalCall = originalCall;
+        mResponse = response;
+        mExecutor = executor;
+    }
+
+    /**
+     * Creates a call for a known response, which is delivered once the call is executed or enqueued.
+     *
+     * @param originalCall the call that would have been made to obtain the response. It isn't executed,
+     *                     but is used to describe the request and to make new calls with {@link #clone()}.
+     * @param response     the response to deliver.
+     * @param executor     the executor on which the callback is notified.
+     * @return a call delivering the response.
+     */
+    @NotNull
+    public static <DataType_T> Call<DataType_T> create(@NotNull Call<DataType_T> originalCall,
+                                                       @NotNull Response<DataType_T> response,
+                                                       @NotNull Executor executor) {
+        return new CompletedCall<>(originalCall, response, executor);
+    }
+
+    /**
+     * Delivers a known response to a callback.
+     *
+     * @param originalCall the call that would have been made to obtain the response. It isn't executed,
+     *                     but is used to describe the request and to make new calls with {@link #clone()}.
+     * @param response     the response to deliver.
+     * @param callback     the callback to notify.
+     * @param executor     the executor on which the callback is notified.
+     * @return a call that can be used to cancel the delivery.
+     */
+    @NotNull
+    public static <DataType_T> Call<DataType_T> deliver(@NotNull Call<DataType_T> originalCall,
+                                                        @NotNull Response<DataType_T> response,
+                                                        @NotNull Callback<DataType_T> callback,
+                                                        @NotNull Executor executor) {
+        final Call<DataType_T> call = create(originalCall, response, executor);
+        call.enqueue(callback);
+        return call;
+    }
+
+    @Override
+    public Response<DataType_T> execute() throws IOException {
+        if (!mExecuted.compareAndSet(false, true)) {
+            throw new IllegalStateException("Already executed.");
+        }
+        if (mCanceled) {
+            throw new IOException("Canceled");
+        }
+        return mResponse;
+    }
+
+    @Override
+    public void enqueue(final Callback<DataType_T> callback) {
+        if (!mExecuted.compareAndSet(false, true)) {
+            throw new IllegalStateException("Already executed.");
+        }
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (mCanceled) {
+                    callback.onFailure(CompletedCall.this, new IOException("Canceled"));
+                } else {
+                    callback.onResponse(CompletedCall.this, mResponse);
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return mExecuted.get();
+    }
+
+    @Override
+    public void cancel() {
+        mCanceled = true;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return mCanceled;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public Call<DataType_T> clone() {
+        return mOriginalCall.clone();
+    }
+
+    @Override
+    public Request request() {
+        return mOriginalCall.request();
+    }
+}
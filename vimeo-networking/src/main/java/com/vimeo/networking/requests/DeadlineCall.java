@@ -0,0 +1,260 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Bounds the total time of a request, including the time spent waiting to be dispatched, retried or
+ * attached to another request, unlike the connect and read timeouts of the OkHttp client which only bound
+ * single network operations.
+ * <p>
+ * The request is made with {@link #getCallback()} as its callback and the resulting call is handed to
+ * {@link #start(Call)}. If the request hasn't completed when the deadline passes, its call is cancelled and
+ * the callback is notified with an {@link InterruptedIOException}. Since the request wasn't cancelled by the
+ * caller, {@link #isCanceled()} returns false in that case.
+ */
+public final class DeadlineCall<DataType_T> implements Call<DataType_T> {
+
+    @NotNull
+    private final Callback<DataType_T> mCallback;
+
+    private final long mTimeoutMillis;
+
+    @Nullable
+    private Call<DataType_T> mCall;
+
+    @Nullable
+    private ScheduledFuture<?> mTimer;
+
+    private boolean mStarted;
+
+    private boolean mCompleted;
+
+    private volatile boolean mExpired;
+
+    private volatile boolean mCanceled;
+
+    /**
+     * @param callback the callback to notify with the result of the request.
+     * @param timeout  the time the request may take.
+     * @param unit     the unit of the timeout.
+     */
+    public DeadlineCall(@NotNull Callback<DataType_T> callback, long timeout, @NotNull TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("timeout <= 0: " + timeout);
+        }
+        mCallback = callback;
+        mTimeoutMillis = unit.toMillis(timeout);
+    }
+
+    /**
+     * Synchronously executes a call, cancelling it if it takes longer than the timeout.
+     *
+     * @param call    the call to execute.
+     * @param timeout the time the call may take.
+     * @param unit    the unit of the timeout.
+     * @return the response of the call.
+     * @throws InterruptedIOException if the deadline passed before the call completed.
+     * @throws IOException            if the call failed.
+     */
+    @NotNull
+    public static <DataType_T> Response<DataType_T> execute(@NotNull final Call<DataType_T> call,
+                                                            long timeout,
+                                                            @NotNull TimeUnit unit) throws IOException {
+        final long timeoutMillis = unit.toMillis(timeout);
+        final AtomicBoolean expired = new AtomicBoolean();
+        final ScheduledFuture<?> timer = RequestTimer.get().schedule(new Runnable() {
+            @Override
+            public void run() {
+                expired.set(true);
+                call.cancel();
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+        try {
+            return call.execute();
+        } catch (final IOException e) {
+            if (expired.get()) {
+                throw deadlineExceeded(timeoutMillis);
+            }
+            throw e;
+        } finally {
+            timer.cancel(false);
+        }
+    }
+
+    /**
+     * @return the callback with which the request must be made.
+     */
+    @NotNull
+    public Callback<DataType_T> getCallback() {
+        return new Callback<DataType_T>() {
+            @Override
+            public void onResponse(Call<DataType_T> call, Response<DataType_T> response) {
+                if (complete()) {
+                    mCallback.onResponse(DeadlineCall.this, response);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<DataType_T> call, Throwable t) {
+                if (complete()) {
+                    mCallback.onFailure(DeadlineCall.this, mExpired ? deadlineExceeded(mTimeoutMillis) : t);
+                }
+            }
+        };
+    }
+
+    /**
+     * Starts the deadline of a request.
+     *
+     * @param call the call of the request, which is cancelled when the deadline passes.
+     * @return this call, to be handed out in place of the call of the request.
+     */
+    @NotNull
+    public DeadlineCall<DataType_T> start(@NotNull final Call<DataType_T> call) {
+        synchronized (this) {
+            if (mStarted) {
+                throw new IllegalStateException("Already executed.");
+            }
+            mStarted = true;
+            mCall = call;
+            if (mCompleted) {
+                return this;
+            }
+            mTimer = RequestTimer.get().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (DeadlineCall.this) {
+                        if (mCompleted) {
+                            return;
+                        }
+                        mExpired = true;
+                    }
+                    call.cancel();
+                }
+            }, mTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        if (mCanceled) {
+            cancel();
+        }
+        return this;
+    }
+
+    /**
+     * @return true if the request was cancelled because the deadline passed.
+     */
+    public boolean isExpired() {
+        return mExpired;
+    }
+
+    /**
+     * Marks the request as completed and stops the timer.
+     *
+     * @return true if the request wasn't already completed.
+     */
+    private boolean complete() {
+        final ScheduledFuture<?> timer;
+        synchronized (this) {
+            if (mCompleted) {
+                return false;
+            }
+            mCompleted = true;
+            timer = mTimer;
+        }
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        return true;
+    }
+
+    @NotNull
+    private static InterruptedIOException deadlineExceeded(long timeoutMillis) {
+        return new InterruptedIOException("Deadline of " + timeoutMillis + "ms exceeded");
+    }
+
+    @Override
+    public Response<DataType_T> execute() {
+        throw new IllegalStateException("Already executed.");
+    }
+
+    @Override
+    public void enqueue(Callback<DataType_T> callback) {
+        throw new IllegalStateException("Already executed.");
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return true;
+    }
+
+    @Override
+    public void cancel() {
+        mCanceled = true;
+        final Call<DataType_T> call;
+        synchronized (this) {
+            call = mCall;
+        }
+        if (call != null) {
+            call.cancel();
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return mCanceled;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public Call<DataType_T> clone() {
+        return getCall().clone();
+    }
+
+    @Override
+    public Request request() {
+        return getCall().request();
+    }
+
+    @NotNull
+    private synchronized Call<DataType_T> getCall() {
+        if (mCall == null) {
+            throw new IllegalStateException("The deadline wasn't started");
+        }
+        return mCall;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import com.vimeo.networking.Vimeo;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Identifies a GET request made through {@link com.vimeo.networking.VimeoClient#getContent}. Two keys are
+ * equal if the requests would be expected to produce the same decoded result: same method, path, query
+ * parameters, field filter, authorization and response type.
+ * <p>
+ * The key is canonical: query parameters embedded in the URI are merged with the query map, parameters are
+ * sorted, and the order of the entries in the field filter is ignored.
+ */
+public final class GetRequestKey {
+
+    private static final String METHOD_GET = "GET";
+
+    @NotNull
+    private final String mMethod;
+
+    @NotNull
+    private final String mPath;
+
+    @NotNull
+    private final SortedMap<String, String> mQueryMap;
+
+    @Nullable
+    private final String mFieldFilter;
+
+    @NotNull
+    private final String mAuthHeader;
+
+    @NotNull
+    private final Object mResponseType;
+
+    private final int mHashCode;
+
+    private GetRequestKey(@NotNull String method,
+                          @NotNull String path,
+                          @NotNull SortedMap<String, String> queryMap,
+                          @Nullable String fieldFilter,
+                          @NotNull String authHeader,
+                          @NotNull Object responseType) {
+        mMethod = method;
+        mPath = path;
+        mQueryMap = queryMap;
+        mFieldFilter = fieldFilter;
+        mAuthHeader = authHeader;
+        mResponseType = responseType;
+
+        int result = mMethod.hashCode();
+        result = 31 * result + mPath.hashCode();
+        result = 31 * result + mQueryMap.hashCode();
+        result = 31 * result + (mFieldFilter != null ? mFieldFilter.hashCode() : 0);
+        result = 31 * result + mAuthHeader.hashCode();
+        result = 31 * result + mResponseType.hashCode();
+        mHashCode = result;
+    }
+
+    /**
+     * Creates a key for a GET request.
+     *
+     * @param uri          the URI of the request, which may contain a query string.
+     * @param queryMap     the query parameters of the request, including the field filter if any.
+     * @param authHeader   the value of the {@code Authorization} header sent with the request.
+     * @param responseType an object identifying how the response is decoded, for example the
+     *                     {@link com.vimeo.networking.VimeoClient.Caller} used to make the request.
+     * @return a canonical key for the request.
+     */
+    @NotNull
+    public static GetRequestKey create(@NotNull String uri,
+                                       @NotNull Map<String, String> queryMap,
+                                       @NotNull String authHeader,
+                                       @NotNull Object responseType) {
+        final SortedMap<String, String> canonicalQuery = new TreeMap<>();
+        String path = uri;
+        final int queryStart = uri.indexOf('?');
+        if (queryStart >= 0) {
+            path = uri.substring(0, queryStart);
+            parseQuery(uri.substring(queryStart + 1), canonicalQuery);
+        }
+        if (!path.startsWith("/") && !path.contains("://")) {
+            path = '/' + path;
+        }
+        canonicalQuery.putAll(queryMap);
+
+        final String fieldFilter = canonicalFieldFilter(canonicalQuery.remove(Vimeo.PARAMETER_GET_FIELD_FILTER));
+
+        return new GetRequestKey(METHOD_GET, path, canonicalQuery, fieldFilter, authHeader, responseType);
+    }
+
+    private static void parseQuery(@NotNull String query, @NotNull Map<String, String> queryMap) {
+        for (final String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            final int separator = pair.indexOf('=');
+            final String name = separator >= 0 ? pair.substring(0, separator) : pair;
+            final String value = separator >= 0 ? pair.substring(separator + 1) : "";
+            queryMap.put(decode(name), decode(value));
+        }
+    }
+
+    @NotNull
+    private static String decode(@NotNull String value) {
+        try {
+            return URLDecoder.decode(value, "UTF-8");
+        } catch (final UnsupportedEncodingException | IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    @Nullable
+    private static String canonicalFieldFilter(@Nullable String fieldFilter) {
+        if (fieldFilter == null || fieldFilter.isEmpty()) {
+            return null;
+        }
+        final String[] fields = fieldFilter.split(",");
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = fields[i].trim();
+        }
+        Arrays.sort(fields);
+        final StringBuilder builder = new StringBuilder(fieldFilter.length());
+        for (final String field : fields) {
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(field);
+        }
+        return builder.toString();
+    }
+
+    @NotNull
+    public String getMethod() {
+        return mMethod;
+    }
+
+    /**
+     * @return the path of the request, always starting with a {@code /} unless it is an absolute URL.
+     */
+    @NotNull
+    public String getPath() {
+        return mPath;
+    }
+
+    /**
+     * @return the sorted query parameters of the request, excluding the field filter.
+     */
+    @NotNull
+    public SortedMap<String, String> getQueryMap() {
+        return mQueryMap;
+    }
+
+    /**
+     * @return the field filter of the request with its entries sorted, or null if there is none.
+     */
+    @Nullable
+    public String getFieldFilter() {
+        return mFieldFilter;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final GetRequestKey that = (GetRequestKey) o;
+
+        return mHashCode == that.mHashCode &&
+               mMethod.equals(that.mMethod) &&
+               mPath.equals(that.mPath) &&
+               mQueryMap.equals(that.mQueryMap) &&
+               (mFieldFilter != null ? mFieldFilter.equals(that.mFieldFilter) : that.mFieldFilter == null) &&
+               mAuthHeader.equals(that.mAuthHeader) &&
+               mResponseType.equals(that.mResponseType);
+    }
+
+    @Override
+    public int hashCode() {
+        return mHashCode;
+    }
+
+    /**
+     * @return a description of the request. The authorization is deliberately left out.
+     */
+    @Override
+    public String toString() {
+        return mMethod + ' ' + mPath + ' ' + mQueryMap + (mFieldFilter != null ? " fields=" + mFieldFilter : "");
+    }
+}
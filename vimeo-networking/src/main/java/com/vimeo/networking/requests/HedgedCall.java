@@ -0,0 +1,219 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * A {@link Call} made through a {@link Hedger}. When enqueued, a second attempt is scheduled for when the
+ * hedge delay elapses, and the callback receives the first response of either attempt. A failed attempt
+ * only fails the call once the other attempt, if any, failed as well.
+ */
+final class HedgedCall<DataType_T> implements Call<DataType_T> {
+
+    @NotNull
+    private final Hedger mHedger;
+
+    @NotNull
+    private final Call<DataType_T> mPrimary;
+
+    @Nullable
+    private Call<DataType_T> mHedge;
+
+    @Nullable
+    private Callback<DataType_T> mCallback;
+
+    @Nullable
+    private ScheduledFuture<?> mTimer;
+
+    private long mStartNanos;
+
+    private int mPendingAttempts;
+
+    private boolean mCompleted;
+
+    private volatile boolean mCanceled;
+
+    HedgedCall(@NotNull Hedger hedger, @NotNull Call<DataType_T> primary) {
+        mHedger = hedger;
+        mPrimary = primary;
+    }
+
+    @Override
+    public Response<DataType_T> execute() throws IOException {
+        return mPrimary.execute();
+    }
+
+    @Override
+    public void enqueue(Callback<DataType_T> callback) {
+        final long hedgeDelay = mHedger.getHedgeDelayMillis();
+        synchronized (this) {
+            if (mCallback != null) {
+                throw new IllegalStateException("Already executed.");
+            }
+            mCallback = callback;
+            mStartNanos = System.nanoTime();
+            mPendingAttempts = 1;
+        }
+        mHedger.onRequest();
+        mPrimary.enqueue(new AttemptCallback(false));
+        if (hedgeDelay >= 0) {
+            final ScheduledFuture<?> timer = mHedger.getScheduler().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    startHedge();
+                }
+            }, hedgeDelay, TimeUnit.MILLISECONDS);
+            synchronized (this) {
+                mTimer = timer;
+            }
+        }
+    }
+
+    private void startHedge() {
+        final Call<DataType_T> hedge;
+        synchronized (this) {
+            if (mCompleted || mCanceled || !mHedger.tryHedge()) {
+                return;
+            }
+            hedge = mPrimary.clone();
+            mHedge = hedge;
+            mPendingAttempts++;
+        }
+        hedge.enqueue(new AttemptCallback(true));
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return mPrimary.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        mCanceled = true;
+        final Call<DataType_T> hedge;
+        final ScheduledFuture<?> timer;
+        synchronized (this) {
+            hedge = mHedge;
+            timer = mTimer;
+        }
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        mPrimary.cancel();
+        if (hedge != null) {
+            hedge.cancel();
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return mCanceled;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public Call<DataType_T> clone() {
+        return new HedgedCall<>(mHedger, mPrimary.clone());
+    }
+
+    @Override
+    public Request request() {
+        return mPrimary.request();
+    }
+
+    private final class AttemptCallback implements Callback<DataType_T> {
+
+        private final boolean mIsHedge;
+
+        AttemptCallback(boolean isHedge) {
+            mIsHedge = isHedge;
+        }
+
+        @Override
+        public void onResponse(Call<DataType_T> call, Response<DataType_T> response) {
+            final Call<DataType_T> loser;
+            final Callback<DataType_T> callback;
+            synchronized (HedgedCall.this) {
+                if (mCompleted) {
+                    return;
+                }
+                loser = complete(mIsHedge ? mPrimary : mHedge);
+                callback = mCallback;
+            }
+            if (response.raw().networkResponse() != null) {
+                // Responses served by the disk cache would make the network look faster than it is
+                mHedger.recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mStartNanos));
+            }
+            if (mIsHedge) {
+                mHedger.onHedgeWon();
+            }
+            if (loser != null) {
+                loser.cancel();
+            }
+            assert callback != null;
+            callback.onResponse(HedgedCall.this, response);
+        }
+
+        @Override
+        public void onFailure(Call<DataType_T> call, Throwable t) {
+            final Callback<DataType_T> callback;
+            synchronized (HedgedCall.this) {
+                mPendingAttempts--;
+                if (mCompleted || (mPendingAttempts > 0 && !mCanceled)) {
+                    return;
+                }
+                complete(null);
+                callback = mCallback;
+            }
+            assert callback != null;
+            callback.onFailure(HedgedCall.this, t);
+        }
+
+        /**
+         * Marks the call as completed and stops the hedge timer, must be called while holding the lock.
+         *
+         * @return the other attempt, which should be cancelled.
+         */
+        @Nullable
+        private Call<DataType_T> complete(@Nullable Call<DataType_T> otherAttempt) {
+            mCompleted = true;
+            if (mTimer != null) {
+                mTimer.cancel(false);
+            }
+            return otherAttempt;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import retrofit2.Call;
+
+/**
+ * Hedges idempotent requests to cut the tail of their latency: if a request hasn't been answered once a
+ * percentile of the recent latencies has elapsed, a second, identical request is made and whichever is
+ * answered first is kept, the other being cancelled.
+ * <p>
+ * Latencies are sampled from the last {@value #SAMPLE_COUNT} requests, and nothing is hedged until
+ * {@value #MIN_SAMPLE_COUNT} of them were recorded. To bound the extra load on the API, at most
+ * {@value #MAX_HEDGE_RATIO} of the requests are hedged.
+ * <p>
+ * This class is thread safe.
+ */
+public final class Hedger {
+
+    private static final int SAMPLE_COUNT = 128;
+
+    private static final int MIN_SAMPLE_COUNT = 20;
+
+    /**
+     * The share of requests that may be hedged.
+     */
+    public static final double MAX_HEDGE_RATIO = 0.1;
+
+    private final double mPercentile;
+
+    @NotNull
+    private final ScheduledExecutorService mScheduler;
+
+    @NotNull
+    private final long[] mLatencies = new long[SAMPLE_COUNT];
+
+    private int mSampleCount;
+
+    private int mNextSample;
+
+    private long mRequestCount;
+
+    private long mHedgeCount;
+
+    private final AtomicLong mHedgeWinCount = new AtomicLong();
+
+    /**
+     * @param percentile the percentile of the latency after which requests are hedged, between 0 and 1
+     *                   exclusive, for example 0.95.
+     */
+    public Hedger(double percentile) {
+        this(percentile, RequestTimer.get());
+    }
+
+    Hedger(double percentile, @NotNull ScheduledExecutorService scheduler) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1: " + percentile);
+        }
+        mPercentile = percentile;
+        mScheduler = scheduler;
+    }
+
+    /**
+     * Wraps the call of an idempotent request so that it is hedged when enqueued. Synchronous executions
+     * aren't hedged, as they would need a thread per attempt.
+     *
+     * @param call the call to wrap, which is cloned to make the second attempt.
+     * @return the hedged call.
+     */
+    @NotNull
+    public <DataType_T> Call<DataType_T> hedge(@NotNull Call<DataType_T> call) {
+        return new HedgedCall<>(this, call);
+    }
+
+    /**
+     * @return the delay after which requests are currently hedged in milliseconds, or -1 if too few
+     * latencies were recorded yet.
+     */
+    public long getHedgeDelayMillis() {
+        final long[] latencies;
+        synchronized (this) {
+            if (mSampleCount < MIN_SAMPLE_COUNT) {
+                return -1;
+            }
+            latencies = Arrays.copyOf(mLatencies, mSampleCount);
+        }
+        Arrays.sort(latencies);
+        return latencies[(int) Math.ceil(mPercentile * latencies.length) - 1];
+    }
+
+    /**
+     * @return the number of hedged requests that were enqueued.
+     */
+    public synchronized long getRequestCount() {
+        return mRequestCount;
+    }
+
+    /**
+     * @return the number of requests for which a second attempt was made.
+     */
+    public synchronized long getHedgeCount() {
+        return mHedgeCount;
+    }
+
+    /**
+     * @return the number of requests answered by their second attempt first.
+     */
+    public long getHedgeWinCount() {
+        return mHedgeWinCount.get();
+    }
+
+    @NotNull
+    ScheduledExecutorService getScheduler() {
+        return mScheduler;
+    }
+
+    synchronized void onRequest() {
+        mRequestCount++;
+    }
+
+    /**
+     * Claims a hedge from the budget.
+     *
+     * @return true if a second attempt may be made.
+     */
+    synchronized boolean tryHedge() {
+        if (mHedgeCount + 1 > mRequestCount * MAX_HEDGE_RATIO) {
+            return false;
+        }
+        mHedgeCount++;
+        return true;
+    }
+
+    void onHedgeWon() {
+        mHedgeWinCount.incrementAndGet();
+    }
+
+    synchronized void recordLatency(long latencyMillis) {
+        mLatencies[mNextSample] = latencyMillis;
+        mNextSample = (mNextSample + 1) % SAMPLE_COUNT;
+        if (mSampleCount < SAMPLE_COUNT) {
+            mSampleCount++;
+        }
+    }
+}
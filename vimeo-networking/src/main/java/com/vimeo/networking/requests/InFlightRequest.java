@@ -0,0 +1,270 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import com.vimeo.networking.requests.InFlightRequestRegistry.FlightKey;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * A single network call shared by every request attached to it through the {@link InFlightRequestRegistry}.
+ * Asynchronous requests are tracked as {@link CoalescedCall} subscribers, synchronous requests as waiters.
+ * <p>
+ * The error body of a response can only be read once, so it is buffered when the call completes and every
+ * request receives its own copy of the response.
+ */
+final class InFlightRequest<DataType_T> implements Callback<DataType_T> {
+
+    private static final String CANCELED_MESSAGE = "Canceled";
+
+    @NotNull
+    private final InFlightRequestRegistry mRegistry;
+
+    @NotNull
+    private final FlightKey mKey;
+
+    @NotNull
+    private final Call<DataType_T> mCall;
+
+    private final boolean mExecutedSynchronously;
+
+    private final CountDownLatch mCompletionLatch = new CountDownLatch(1);
+
+    @NotNull
+    private final List<CoalescedCall<DataType_T>> mSubscribers = new ArrayList<>();
+
+    private int mWaiterCount;
+
+    private boolean mCompleted;
+
+    @Nullable
+    private Response<DataType_T> mResponse;
+
+    @Nullable
+    private byte[] mErrorBody;
+
+    @Nullable
+    private MediaType mErrorContentType;
+
+    @Nullable
+    private Throwable mFailure;
+
+    InFlightRequest(@NotNull InFlightRequestRegistry registry,
+                    @NotNull FlightKey key,
+                    @NotNull Call<DataType_T> call,
+                    boolean executedSynchronously) {
+        mRegistry = registry;
+        mKey = key;
+        mCall = call;
+        mExecutedSynchronously = executedSynchronously;
+    }
+
+    @NotNull
+    Call<DataType_T> getCall() {
+        return mCall;
+    }
+
+    @NotNull
+    synchronized CoalescedCall<DataType_T> subscribe(@NotNull Callback<DataType_T> callback) {
+        final CoalescedCall<DataType_T> handle = new CoalescedCall<>(this, callback);
+        mSubscribers.add(handle);
+        return handle;
+    }
+
+    synchronized void addWaiter() {
+        mWaiterCount++;
+    }
+
+    /**
+     * @return true if nothing is attached to this request anymore and it hasn't completed yet.
+     */
+    synchronized boolean isIdle() {
+        return !mCompleted && mSubscribers.isEmpty() && mWaiterCount == 0;
+    }
+
+    /**
+     * Detaches a subscriber, which is notified of the cancellation. The network call is cancelled if it was
+     * the last request attached to it.
+     */
+    void unsubscribe(@NotNull final CoalescedCall<DataType_T> handle) {
+        synchronized (this) {
+            if (mCompleted || !mSubscribers.remove(handle)) {
+                return;
+            }
+        }
+        cancelIfIdle();
+        final IOException canceled = new IOException(CANCELED_MESSAGE);
+        final Runnable notification = new Runnable() {
+            @Override
+            public void run() {
+                handle.getCallback().onFailure(handle, canceled);
+            }
+        };
+        final Executor executor = mRegistry.getCallbackExecutor();
+        if (executor != null) {
+            executor.execute(notification);
+        } else {
+            notification.run();
+        }
+    }
+
+    /**
+     * Waits for the request to complete.
+     *
+     * @return a copy of the response.
+     * @throws IOException if the call failed, or the thread was interrupted while waiting.
+     */
+    @NotNull
+    Response<DataType_T> await() throws IOException {
+        try {
+            mCompletionLatch.await();
+        } catch (final InterruptedException e) {
+            synchronized (this) {
+                mWaiterCount--;
+            }
+            cancelIfIdle();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + mKey);
+        }
+
+        synchronized (this) {
+            final Throwable failure = mFailure;
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw new IOException(failure);
+            }
+            return copyResponse();
+        }
+    }
+
+    @Override
+    public void onResponse(Call<DataType_T> call, Response<DataType_T> response) {
+        mRegistry.remove(mKey, this);
+        final List<CoalescedCall<DataType_T>> subscribers;
+        synchronized (this) {
+            final ResponseBody errorBody = response.errorBody();
+            if (!response.isSuccessful() && errorBody != null) {
+                mErrorContentType = errorBody.contentType();
+                try {
+                    mErrorBody = errorBody.bytes();
+                } catch (final IOException e) {
+                    mErrorBody = new byte[0];
+                }
+            }
+            mResponse = response;
+            subscribers = complete();
+        }
+        mCompletionLatch.countDown();
+
+        for (final CoalescedCall<DataType_T> subscriber : subscribers) {
+            deliver(new Runnable() {
+                @Override
+                public void run() {
+                    final Response<DataType_T> copy;
+                    synchronized (InFlightRequest.this) {
+                        copy = copyResponse();
+                    }
+                    subscriber.getCallback().onResponse(subscriber, copy);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void onFailure(Call<DataType_T> call, final Throwable t) {
+        mRegistry.remove(mKey, this);
+        final List<CoalescedCall<DataType_T>> subscribers;
+        synchronized (this) {
+            mFailure = t;
+            subscribers = complete();
+        }
+        mCompletionLatch.countDown();
+
+        for (final CoalescedCall<DataType_T> subscriber : subscribers) {
+            deliver(new Runnable() {
+                @Override
+                public void run() {
+                    subscriber.getCallback().onFailure(subscriber, t);
+                }
+            });
+        }
+    }
+
+    @NotNull
+    private List<CoalescedCall<DataType_T>> complete() {
+        mCompleted = true;
+        final List<CoalescedCall<DataType_T>> subscribers = new ArrayList<>(mSubscribers);
+        mSubscribers.clear();
+        return subscribers;
+    }
+
+    private void cancelIfIdle() {
+        if (mRegistry.removeIfIdle(mKey, this)) {
+            mCall.cancel();
+        }
+    }
+
+    @NotNull
+    private Response<DataType_T> copyResponse() {
+        final Response<DataType_T> response = mResponse;
+        assert response != null;
+        if (mErrorBody == null) {
+            return response;
+        }
+        return Response.error(ResponseBody.create(mErrorContentType, mErrorBody), response.raw());
+    }
+
+    /**
+     * Asynchronous callbacks are already on the callback executor when the network call was enqueued, but
+     * need to be moved there when the result was obtained by a synchronous request.
+     */
+    private void deliver(@NotNull Runnable runnable) {
+        final Executor executor = mRegistry.getCallbackExecutor();
+        if (mExecutedSynchronously && executor != null) {
+            executor.execute(runnable);
+        } else {
+            runnable.run();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Collapses identical GET requests that are in flight at the same time into a single network call.
+ * <p>
+ * The first request made for a {@link GetRequestKey}, cache header and {@link RequestPriority} is sent over
+ * the network. Requests for the same key made before it completes attach to it instead of making a call of
+ * their own, and all of them receive the same decoded result. Requests of different priorities are never
+ * collapsed, so that a request never waits on a call dispatched after it because of a lower priority.
+ * Each request receives its own {@link Call} handle, cancelling it only detaches that request; the network
+ * call is cancelled once every request attached to it is gone.
+ * <p>
+ * This class is thread safe.
+ */
+public final class InFlightRequestRegistry {
+
+    @NotNull
+    private final Map<FlightKey, InFlightRequest<?>> mInFlightRequests = new HashMap<>();
+
+    @Nullable
+    private final Executor mCallbackExecutor;
+
+    private final AtomicLong mNetworkCallCount = new AtomicLong();
+
+    private final AtomicLong mCoalescedCallCount = new AtomicLong();
+
+    /**
+     * @param callbackExecutor the executor on which asynchronous callbacks are delivered when the result was
+     *                         obtained by a synchronous request, usually
+     *                         {@link retrofit2.Retrofit#callbackExecutor()}. If null, callbacks are invoked
+     *                         on the thread that obtained the result.
+     */
+    public InFlightRequestRegistry(@Nullable Executor callbackExecutor) {
+        mCallbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Asynchronously executes a request, or attaches to an identical request that is already in flight.
+     *
+     * @param key         the key identifying the request.
+     * @param cacheHeader the cache header of the request. Requests with different cache headers are never
+     *                    collapsed, as they may not be served from the same place.
+     * @param priority    the priority with which the call is dispatched.
+     * @param call        the call to enqueue if no identical request is in flight. It is discarded otherwise.
+     * @param callback    the callback to notify with the result.
+     * @return a call that can be used to cancel this request without affecting others attached to it.
+     */
+    @NotNull
+    public <DataType_T> Call<DataType_T> enqueue(@NotNull GetRequestKey key,
+                                                 @NotNull String cacheHeader,
+                                                 @NotNull RequestPriority priority,
+                                                 @NotNull Call<DataType_T> call,
+                                                 @NotNull Callback<DataType_T> callback) {
+        final FlightKey flightKey = new FlightKey(key, cacheHeader, priority);
+        final InFlightRequest<DataType_T> request;
+        final CoalescedCall<DataType_T> handle;
+        synchronized (mInFlightRequests) {
+            @SuppressWarnings("unchecked")
+            final InFlightRequest<DataType_T> existing = (InFlightRequest<DataType_T>) mInFlightRequests.get(flightKey);
+            if (existing != null) {
+                mCoalescedCallCount.incrementAndGet();
+                return existing.subscribe(callback);
+            }
+            request = new InFlightRequest<>(this, flightKey, call, false);
+            handle = request.subscribe(callback);
+            mInFlightRequests.put(flightKey, request);
+        }
+        mNetworkCallCount.incrementAndGet();
+        call.enqueue(request);
+        return handle;
+    }
+
+    /**
+     * Synchronously executes a request, or waits for the result of an identical request that is already in
+     * flight.
+     *
+     * @param key         the key identifying the request.
+     * @param cacheHeader the cache header of the request.
+     * @param priority    the priority with which the call is dispatched.
+     * @param call        the call to execute if no identical request is in flight. It is discarded otherwise.
+     * @return the response of the request.
+     * @throws IOException if the request failed, or if the thread was interrupted while waiting.
+     * @see #enqueue(GetRequestKey, String, RequestPriority, Call, Callback)
+     */
+    @NotNull
+    public <DataType_T> Response<DataType_T> execute(@NotNull GetRequestKey key,
+                                                     @NotNull String cacheHeader,
+                                                     @NotNull RequestPriority priority,
+                                                     @NotNull Call<DataType_T> call) throws IOException {
+        final FlightKey flightKey = new FlightKey(key, cacheHeader, priority);
+        final InFlightRequest<DataType_T> request;
+        synchronized (mInFlightRequests) {
+            @SuppressWarnings("unchecked")
+            final InFlightRequest<DataType_T> existing = (InFlightRequest<DataType_T>) mInFlightRequests.get(flightKey);
+            if (existing != null) {
+                mCoalescedCallCount.incrementAndGet();
+                existing.addWaiter();
+                request = existing;
+            } else {
+                request = new InFlightRequest<>(this, flightKey, call, true);
+                request.addWaiter();
+                mInFlightRequests.put(flightKey, request);
+            }
+        }
+
+        if (request.getCall() == call) {
+            mNetworkCallCount.incrementAndGet();
+            try {
+                request.onResponse(call, call.execute());
+            } catch (final IOException | RuntimeException e) {
+                request.onFailure(call, e);
+            }
+        }
+        return request.await();
+    }
+
+    /**
+     * @return the number of requests that were sent over the network.
+     */
+    public long getNetworkCallCount() {
+        return mNetworkCallCount.get();
+    }
+
+    /**
+     * @return the number of requests that attached to an identical in flight request instead of making a
+     * network call of their own.
+     */
+    public long getCoalescedCallCount() {
+        return mCoalescedCallCount.get();
+    }
+
+    /**
+     * @return the number of distinct requests currently in flight.
+     */
+    public int getInFlightCount() {
+        synchronized (mInFlightRequests) {
+            return mInFlightRequests.size();
+        }
+    }
+
+    @Nullable
+    Executor getCallbackExecutor() {
+        return mCallbackExecutor;
+    }
+
+    /**
+     * Removes the request from the registry so that no more requests attach to it.
+     */
+    void remove(@NotNull FlightKey key, @NotNull InFlightRequest<?> request) {
+        synchronized (mInFlightRequests) {
+            if (mInFlightRequests.get(key) == request) {
+                mInFlightRequests.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Removes the request from the registry if nothing is attached to it anymore.
+     *
+     * @return true if the request was removed and its network call should be cancelled.
+     */
+    boolean removeIfIdle(@NotNull FlightKey key, @NotNull InFlightRequest<?> request) {
+        synchronized (mInFlightRequests) {
+            if (mInFlightRequests.get(key) == request && request.isIdle()) {
+                mInFlightRequests.remove(key);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    static final class FlightKey {
+
+        @NotNull
+        private final GetRequestKey mKey;
+
+        @NotNull
+        private final String mCacheHeader;
+
+        @NotNull
+        private final RequestPriority mPriority;
+
+        FlightKey(@NotNull GetRequestKey key, @NotNull String cacheHeader, @NotNull RequestPriority priority) {
+            mKey = key;
+            mCacheHeader = cacheHeader;
+            mPriority = priority;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            final FlightKey that = (FlightKey) o;
+
+            return mKey.equals(that.mKey) && mCacheHeader.equals(that.mCacheHeader) && mPriority == that.mPriority;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mKey.hashCode();
+            result = 31 * result + mCacheHeader.hashCode();
+            result = 31 * result + mPriority.hashCode();
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return mKey.toString();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * The {@link Call} handed out for a call paced by the {@link RateLimitPacer}. Enqueuing it reserves a slot
+ * in the rate limit, and the call it wraps is only enqueued once the slot comes.
+ */
+final class PacedCall<DataType_T> implements Call<DataType_T> {
+
+    private static final String CANCELED_MESSAGE = "Canceled";
+
+    @NotNull
+    private final RateLimitPacer mPacer;
+
+    @NotNull
+    private final Call<DataType_T> mCall;
+
+    @Nullable
+    private Callback<DataType_T> mCallback;
+
+    @Nullable
+    private ScheduledFuture<?> mTimer;
+
+    /**
+     * True once the wrapped call was enqueued, or once the call was cancelled while waiting for its slot.
+     */
+    private boolean mWaitOver;
+
+    private boolean mCanceled;
+
+    PacedCall(@NotNull RateLimitPacer pacer, @NotNull Call<DataType_T> call) {
+        mPacer = pacer;
+        mCall = call;
+    }
+
+    /**
+     * Enqueues the wrapped call, unless it was cancelled while waiting.
+     */
+    private void dispatch() {
+        final Callback<DataType_T> callback;
+        synchronized (this) {
+            if (mWaitOver) {
+                return;
+            }
+            mWaitOver = true;
+            callback = mCallback;
+        }
+        assert callback != null;
+        mCall.enqueue(new Callback<DataType_T>() {
+            @Override
+            public void onResponse(Call<DataType_T> call, Response<DataType_T> response) {
+                callback.onResponse(PacedCall.this, response);
+            }
+
+            @Override
+            public void onFailure(Call<DataType_T> call, Throwable t) {
+                callback.onFailure(PacedCall.this, t);
+            }
+        });
+    }
+
+    @Override
+    public Response<DataType_T> execute() throws IOException {
+        final long delayMillis = mPacer.reserve(mCall);
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the rate limit");
+            }
+        }
+        return mCall.execute();
+    }
+
+    @Override
+    public void enqueue(Callback<DataType_T> callback) {
+        synchronized (this) {
+            if (mCallback != null) {
+                throw new IllegalStateException("Already executed.");
+            }
+            mCallback = callback;
+        }
+        final long delayMillis = mPacer.reserve(mCall);
+        if (delayMillis <= 0) {
+            dispatch();
+            return;
+        }
+        final ScheduledFuture<?> timer = RequestTimer.get().schedule(new Runnable() {
+            @Override
+            public void run() {
+                dispatch();
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+        synchronized (this) {
+            mTimer = timer;
+        }
+    }
+
+    @Override
+    public synchronized boolean isExecuted() {
+        return mCallback != null || mCall.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        final boolean waiting;
+        final Callback<DataType_T> callback;
+        final ScheduledFuture<?> timer;
+        synchronized (this) {
+            mCanceled = true;
+            waiting = mCallback != null && !mWaitOver;
+            if (waiting) {
+                mWaitOver = true;
+            }
+            callback = mCallback;
+            timer = mTimer;
+        }
+        if (!waiting) {
+            mCall.cancel();
+            return;
+        }
+        if (timer != null) {
+            timer.cancel(false);
+        }
+        // The call was still waiting, so its callback is notified here instead of by the wrapped call
+        assert callback != null;
+        final Runnable notification = new Runnable() {
+            @Override
+            public void run() {
+                callback.onFailure(PacedCall.this, new IOException(CANCELED_MESSAGE));
+            }
+        };
+        final Executor executor = mPacer.getCallbackExecutor();
+        if (executor != null) {
+            executor.execute(notification);
+        } else {
+            notification.run();
+        }
+    }
+
+    @Override
+    public synchronized boolean isCanceled() {
+        return mCanceled || mCall.isCanceled();
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public Call<DataType_T> clone() {
+        return new PacedCall<>(mPacer, mCall.clone());
+    }
+
+    @Override
+    public Request request() {
+        return mCall.request();
+    }
+}
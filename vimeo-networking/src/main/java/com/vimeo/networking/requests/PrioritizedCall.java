@@ -0,0 +1,162 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * The {@link Call} handed out for a call dispatched by the {@link PriorityScheduler}. Enqueuing it puts it
+ * in line with the other calls of its priority, and the call it wraps is only enqueued once its turn comes.
+ */
+final class PrioritizedCall<DataType_T> implements Call<DataType_T> {
+
+    private static final String CANCELED_MESSAGE = "Canceled";
+
+    @NotNull
+    private final PriorityScheduler mScheduler;
+
+    @NotNull
+    private final Call<DataType_T> mCall;
+
+    @NotNull
+    private final RequestPriority mPriority;
+
+    @Nullable
+    private Callback<DataType_T> mCallback;
+
+    private boolean mCanceled;
+
+    PrioritizedCall(@NotNull PriorityScheduler scheduler,
+                    @NotNull Call<DataType_T> call,
+                    @NotNull RequestPriority priority) {
+        mScheduler = scheduler;
+        mCall = call;
+        mPriority = priority;
+    }
+
+    @NotNull
+    RequestPriority getPriority() {
+        return mPriority;
+    }
+
+    /**
+     * Enqueues the wrapped call, once the scheduler decided it can run.
+     */
+    void start() {
+        final Callback<DataType_T> callback;
+        synchronized (this) {
+            callback = mCallback;
+        }
+        assert callback != null;
+        mCall.enqueue(new Callback<DataType_T>() {
+            @Override
+            public void onResponse(Call<DataType_T> call, Response<DataType_T> response) {
+                mScheduler.onFinished(PrioritizedCall.this);
+                callback.onResponse(PrioritizedCall.this, response);
+            }
+
+            @Override
+            public void onFailure(Call<DataType_T> call, Throwable t) {
+                mScheduler.onFinished(PrioritizedCall.this);
+                callback.onFailure(PrioritizedCall.this, t);
+            }
+        });
+    }
+
+    @Override
+    public Response<DataType_T> execute() throws IOException {
+        return mCall.execute();
+    }
+
+    @Override
+    public void enqueue(Callback<DataType_T> callback) {
+        synchronized (this) {
+            if (mCallback != null) {
+                throw new IllegalStateException("Already executed.");
+            }
+            mCallback = callback;
+        }
+        mScheduler.enqueue(this);
+    }
+
+    @Override
+    public synchronized boolean isExecuted() {
+        return mCallback != null || mCall.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        synchronized (this) {
+            mCanceled = true;
+        }
+        if (!mScheduler.remove(this)) {
+            mCall.cancel();
+            return;
+        }
+        // The call was still waiting, so its callback is notified here instead of by the wrapped call
+        final Callback<DataType_T> callback;
+        synchronized (this) {
+            callback = mCallback;
+        }
+        assert callback != null;
+        final Runnable notification = new Runnable() {
+            @Override
+            public void run() {
+                callback.onFailure(PrioritizedCall.this, new IOException(CANCELED_MESSAGE));
+            }
+        };
+        final Executor executor = mScheduler.getCallbackExecutor();
+        if (executor != null) {
+            executor.execute(notification);
+        } else {
+            notification.run();
+        }
+    }
+
+    @Override
+    public synchronized boolean isCanceled() {
+        return mCanceled || mCall.isCanceled();
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public Call<DataType_T> clone() {
+        return new PrioritizedCall<>(mScheduler, mCall.clone(), mPriority);
+    }
+
+    @Override
+    public Request request() {
+        return mCall.request();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import retrofit2.Call;
+
+/**
+ * Dispatches asynchronous requests by {@link RequestPriority}, so that requests someone is waiting for
+ * don't queue behind background work in the OkHttp dispatcher.
+ * <p>
+ * At most {@code maxConcurrentRequests} normal and background requests run at once, of which at most
+ * {@code maxBackgroundRequests} are background requests. Requests over these limits wait here, and when a
+ * request completes the oldest waiting normal request is dispatched first, then the oldest background one.
+ * Critical requests are dispatched right away, so the limit should leave some room under the limits of the
+ * OkHttp dispatcher for them to start without waiting there.
+ * <p>
+ * Synchronous requests are executed right away, as they don't go through the dispatcher queue.
+ * <p>
+ * This class is thread safe.
+ */
+public final class PriorityScheduler {
+
+    private final int mMaxConcurrentRequests;
+
+    private final int mMaxBackgroundRequests;
+
+    @Nullable
+    private final Executor mCallbackExecutor;
+
+    @NotNull
+    private final Map<RequestPriority, ArrayDeque<PrioritizedCall<?>>> mWaitingCalls =
+            new EnumMap<>(RequestPriority.class);
+
+    private int mRunningCount;
+
+    private int mRunningBackgroundCount;
+
+    /**
+     * @param maxConcurrentRequests the number of normal and background requests that can run at once.
+     * @param maxBackgroundRequests the number of background requests that can run at once.
+     * @param callbackExecutor      the executor on which the cancellation of a waiting request is delivered,
+     *                              usually {@link retrofit2.Retrofit#callbackExecutor()}. If null, it is
+     *                              delivered on the cancelling thread.
+     */
+    public PriorityScheduler(int maxConcurrentRequests,
+                             int maxBackgroundRequests,
+                             @Nullable Executor callbackExecutor) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("maxConcurrentRequests < 1: " + maxConcurrentRequests);
+        }
+        if (maxBackgroundRequests < 1 || maxBackgroundRequests > maxConcurrentRequests) {
+            throw new IllegalArgumentException("maxBackgroundRequests must be between 1 and " +
+                                               maxConcurrentRequests);
+        }
+        mMaxConcurrentRequests = maxConcurrentRequests;
+        mMaxBackgroundRequests = maxBackgroundRequests;
+        mCallbackExecutor = callbackExecutor;
+        for (final RequestPriority priority : RequestPriority.values()) {
+            mWaitingCalls.put(priority, new ArrayDeque<PrioritizedCall<?>>());
+        }
+    }
+
+    /**
+     * Wraps a Retrofit service so that the calls it creates are dispatched with the given priority.
+     *
+     * @param serviceType the interface of the service.
+     * @param service     the service.
+     * @param priority    the priority of the calls.
+     * @return a service creating prioritized calls.
+     */
+    @NotNull
+    public <ServiceType_T> ServiceType_T wrap(@NotNull Class<ServiceType_T> serviceType,
+                                             @NotNull ServiceType_T service,
+                                             @NotNull final RequestPriority priority) {
+        return ServiceDecorator.decorate(serviceType, service, new ServiceDecorator.CallDecorator() {
+            @NotNull
+            @Override
+            public <DataType_T> Call<DataType_T> decorate(@NotNull Call<DataType_T> call) {
+                return prioritize(call, priority);
+            }
+        });
+    }
+
+    /**
+     * @param call     the call to dispatch.
+     * @param priority the priority of the call.
+     * @return a call that is dispatched by priority when enqueued. It must be used in place of the given call.
+     */
+    @NotNull
+    public <DataType_T> Call<DataType_T> prioritize(@NotNull Call<DataType_T> call,
+                                                    @NotNull RequestPriority priority) {
+        return new PrioritizedCall<>(this, call, priority);
+    }
+
+    /**
+     * @param priority the priority of the requests to count.
+     * @return the number of requests of the priority waiting to be dispatched.
+     */
+    public synchronized int getWaitingCount(@NotNull RequestPriority priority) {
+        return mWaitingCalls.get(priority).size();
+    }
+
+    /**
+     * @return the number of normal and background requests running.
+     */
+    public synchronized int getRunningCount() {
+        return mRunningCount;
+    }
+
+    /**
+     * @return the number of background requests running.
+     */
+    public synchronized int getRunningBackgroundCount() {
+        return mRunningBackgroundCount;
+    }
+
+    @Nullable
+    Executor getCallbackExecutor() {
+        return mCallbackExecutor;
+    }
+
+    void enqueue(@NotNull PrioritizedCall<?> call) {
+        if (call.getPriority() != RequestPriority.CRITICAL) {
+            synchronized (this) {
+                mWaitingCalls.get(call.getPriority()).add(call);
+            }
+            startWaitingCalls();
+        } else {
+            call.start();
+        }
+    }
+
+    /**
+     * @return true if the call was waiting and won't be dispatched anymore.
+     */
+    synchronized boolean remove(@NotNull PrioritizedCall<?> call) {
+        return mWaitingCalls.get(call.getPriority()).remove(call);
+    }
+
+    void onFinished(@NotNull PrioritizedCall<?> call) {
+        if (call.getPriority() == RequestPriority.CRITICAL) {
+            return;
+        }
+        synchronized (this) {
+            mRunningCount--;
+            if (call.getPriority() == RequestPriority.BACKGROUND) {
+                mRunningBackgroundCount--;
+            }
+        }
+        startWaitingCalls();
+    }
+
+    private void startWaitingCalls() {
+        final List<PrioritizedCall<?>> calls = new ArrayList<>();
+        synchronized (this) {
+            final ArrayDeque<PrioritizedCall<?>> normalCalls = mWaitingCalls.get(RequestPriority.NORMAL);
+            final ArrayDeque<PrioritizedCall<?>> backgroundCalls = mWaitingCalls.get(RequestPriority.BACKGROUND);
+            while (mRunningCount < mMaxConcurrentRequests) {
+                if (!normalCalls.isEmpty()) {
+                    calls.add(normalCalls.poll());
+                } else if (!backgroundCalls.isEmpty() && mRunningBackgroundCount < mMaxBackgroundRequests) {
+                    calls.add(backgroundCalls.poll());
+                    mRunningBackgroundCount++;
+                } else {
+                    break;
+                }
+                mRunningCount++;
+            }
+        }
+        // Calls are started outside of the lock, as they may complete synchronously
+        for (final PrioritizedCall<?> call : calls) {
+            call.start();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import com.vimeo.networking.Vimeo;
+import com.vimeo.networking.interceptors.RateLimitInterceptor;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+
+import okhttp3.Request;
+import retrofit2.Call;
+
+/**
+ * Holds requests until their slot in the rate limit tracked by a {@link RateLimitInterceptor}, before they
+ * are dispatched.
+ * <p>
+ * An asynchronous request that has to wait is scheduled on the {@link RequestTimer}, and the call it wraps is
+ * only enqueued once its slot comes, so it holds neither a dispatcher thread nor a connection while waiting.
+ * A synchronous request waits on the calling thread before it is executed.
+ * <p>
+ * This class is thread safe.
+ */
+public final class RateLimitPacer {
+
+    @NotNull
+    private final RateLimitInterceptor mRateLimitInterceptor;
+
+    @Nullable
+    private final Executor mCallbackExecutor;
+
+    /**
+     * @param rateLimitInterceptor the interceptor tracking the rate limit, which must have pacing enabled.
+     * @param callbackExecutor     the executor on which the cancellation of a waiting request is delivered,
+     *                             usually {@link retrofit2.Retrofit#callbackExecutor()}. If null, it is
+     *                             delivered on the cancelling thread.
+     */
+    public RateLimitPacer(@NotNull RateLimitInterceptor rateLimitInterceptor,
+                          @Nullable Executor callbackExecutor) {
+        mRateLimitInterceptor = rateLimitInterceptor;
+        mCallbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Wraps a Retrofit service so that the calls it creates are paced.
+     *
+     * @param serviceType the interface of the service.
+     * @param service     the service.
+     * @return a service creating paced calls.
+     */
+    @NotNull
+    public <ServiceType_T> ServiceType_T wrap(@NotNull Class<ServiceType_T> serviceType,
+                                             @NotNull ServiceType_T service) {
+        return ServiceDecorator.decorate(serviceType, service, new ServiceDecorator.CallDecorator() {
+            @NotNull
+            @Override
+            public <DataType_T> Call<DataType_T> decorate(@NotNull Call<DataType_T> call) {
+                return pace(call);
+            }
+        });
+    }
+
+    /**
+     * @param call the call to pace.
+     * @return a call that waits for its slot in the rate limit before being dispatched. It must be used in
+     * place of the given call.
+     */
+    @NotNull
+    public <DataType_T> Call<DataType_T> pace(@NotNull Call<DataType_T> call) {
+        return new PacedCall<>(this, call);
+    }
+
+    @Nullable
+    Executor getCallbackExecutor() {
+        return mCallbackExecutor;
+    }
+
+    /**
+     * Reserves a slot in the rate limit for a call about to be dispatched.
+     *
+     * @return how long the call must wait before being dispatched, in milliseconds.
+     */
+    long reserve(@NotNull Call<?> call) {
+        final Request request;
+        try {
+            request = call.request();
+        } catch (final RuntimeException e) {
+            // The request can't be built, so the call fails on its own as soon as it is dispatched
+            return 0;
+        }
+        return mRateLimitInterceptor.reserve(request.header(Vimeo.HEADER_AUTHORIZATION));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+/**
+ * The priority of a request, which decides the order in which the {@link PriorityScheduler} dispatches
+ * requests when more of them are waiting than it lets run at once.
+ */
+public enum RequestPriority {
+
+    /**
+     * Requests a user is waiting for to start an interaction, such as the video to play or the current
+     * user. They are dispatched right away, regardless of how many requests are running.
+     */
+    CRITICAL,
+
+    /**
+     * Requests made on behalf of what the user is looking at. This is the default.
+     */
+    NORMAL,
+
+    /**
+     * Requests nobody is waiting for, such as prefetching, crawling pages or polling notifications. They
+     * are only dispatched when no normal request is waiting, and have their own concurrency limit.
+     */
+    BACKGROUND
+}
@@ -0,0 +1,106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * The {@link Call} handed out for a call that is part of a {@link CancellationScope}. It behaves like the
+ * call it wraps, and leaves the scope once it completes or is cancelled.
+ */
+final class ScopedCall<DataType_T> implements Call<DataType_T> {
+
+    @NotNull
+    private final CancellationScope mScope;
+
+    @NotNull
+    private final Call<DataType_T> mCall;
+
+    ScopedCall(@NotNull CancellationScope scope, @NotNull Call<DataType_T> call) {
+        mScope = scope;
+        mCall = call;
+    }
+
+    @Override
+    public Response<DataType_T> execute() throws IOException {
+        try {
+            return mCall.execute();
+        } finally {
+            mScope.remove(this);
+        }
+    }
+
+    @Override
+    public void enqueue(final Callback<DataType_T> callback) {
+        mCall.enqueue(new Callback<DataType_T>() {
+            @Override
+            public void onResponse(Call<DataType_T> call, Response<DataType_T> response) {
+                mScope.remove(ScopedCall.this);
+                callback.onResponse(ScopedCall.this, response);
+            }
+
+            @Override
+            public void onFailure(Call<DataType_T> call, Throwable t) {
+                mScope.remove(ScopedCall.this);
+                callback.onFailure(ScopedCall.this, t);
+            }
+        });
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return mCall.isExecuted();
+    }
+
+    @Override
+    public void cancel() {
+        // A call cancelled before it was executed never completes, so it would otherwise stay in the scope
+        mScope.remove(this);
+        mCall.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return mCall.isCanceled();
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public Call<DataType_T> clone() {
+        return mScope.track(mCall.clone());
+    }
+
+    @Override
+    public Request request() {
+        return mCall.request();
+    }
+}
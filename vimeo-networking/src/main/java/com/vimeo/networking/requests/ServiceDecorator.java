@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import retrofit2.Call;
+
+/**
+ * Wraps a Retrofit service so that every {@link Call} it creates goes through a {@link CallDecorator}.
+ */
+final class ServiceDecorator implements InvocationHandler {
+
+    /**
+     * Replaces a call created by a service.
+     */
+    interface CallDecorator {
+
+        @NotNull
+        <DataType_T> Call<DataType_T> decorate(@NotNull Call<DataType_T> call);
+    }
+
+    @NotNull
+    private final Object mService;
+
+    @NotNull
+    private final CallDecorator mDecorator;
+
+    private ServiceDecorator(@NotNull Object service, @NotNull CallDecorator decorator) {
+        mService = service;
+        mDecorator = decorator;
+    }
+
+    @NotNull
+    static <ServiceType_T> ServiceType_T decorate(@NotNull Class<ServiceType_T> serviceType,
+                                                 @NotNull ServiceType_T service,
+                                                 @NotNull CallDecorator decorator) {
+        final Object proxy = Proxy.newProxyInstance(serviceType.getClassLoader(),
+                                                    new Class<?>[]{serviceType},
+                                                    new ServiceDecorator(service, decorator));
+        return serviceType.cast(proxy);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        final Object result;
+        try {
+            result = method.invoke(mService, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+        if (result instanceof Call) {
+            return mDecorator.decorate((Call<?>) result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.streaming;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.streaming.StreamingListDecoder.ItemConsumer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * A {@link Call} for a list whose items are decoded with a {@link StreamingListDecoder} while the response is
+ * read from the network. Items are handed to the {@link ItemConsumer} as they are decoded, and the callback
+ * then receives the list without its items, holding the paging, total and other fields of the response.
+ * <p>
+ * The response must be read on a background thread, so asynchronous calls are executed on the background
+ * executor, and their items and result are delivered on the callback executor, in order. At most
+ * {@value #MAX_PENDING_ITEMS} items wait on the callback executor, decoding pauses until the consumer catches
+ * up. No item is delivered once the call is cancelled or the consumer threw.
+ */
+public final class StreamingListCall<ItemType_T, ListType_T extends BaseResponseList<ItemType_T>>
+        implements Call<ListType_T> {
+
+    static final int MAX_PENDING_ITEMS = 16;
+
+    @NotNull
+    private final Call<ResponseBody> mBodyCall;
+
+    @NotNull
+    private final StreamingListDecoder<ItemType_T, ListType_T> mDecoder;
+
+    @NotNull
+    private final Gson mGson;
+
+    @NotNull
+    private final ItemConsumer<ItemType_T> mConsumer;
+
+    @NotNull
+    private final Executor mBackgroundExecutor;
+
+    @Nullable
+    private final Executor mCallbackExecutor;
+
+    /**
+     * A permit per item that can be handed to the callback executor before the consumer catches up
+     */
+    @NotNull
+    private final Semaphore mPendingItems = new Semaphore(MAX_PENDING_ITEMS);
+
+    private boolean mExecuted;
+
+    private volatile boolean mCanceled;
+
+    /**
+     * @param bodyCall           the call for the raw response, which must be made with
+     *                           {@link retrofit2.http.Streaming} so that it isn't buffered.
+     * @param decoder            the decoder of the list.
+     * @param gson               the Gson instance holding the type adapters of the models.
+     * @param consumer           the consumer of the items.
+     * @param backgroundExecutor the executor on which asynchronous calls read the response.
+     * @param callbackExecutor   the executor on which the items and result of asynchronous calls are
+     *                           delivered, it must run tasks in order. If null, they are delivered on the
+     *                           background thread.
+     */
+    public StreamingListCall(@NotNull Call<ResponseBody> bodyCall,
+                             @NotNull StreamingListDecoder<ItemType_T, ListType_T> decoder,
+                             @NotNull Gson gson,
+                             @NotNull ItemConsumer<ItemType_T> consumer,
+                             @NotNull Executor backgroundExecutor,
+                             @Nullable Executor callbackExecutor) {
+        mBodyCall = bodyCall;
+        mDecoder = decoder;
+        mGson = gson;
+        mConsumer = consumer;
+        mBackgroundExecutor = backgroundExecutor;
+        mCallbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Executes the call, handing the items to the consumer on the calling thread.
+     */
+    @Override
+    public Response<ListType_T> execute() throws IOException {
+        markExecuted();
+        return read(mConsumer);
+    }
+
+    @Override
+    public void enqueue(final Callback<ListType_T> callback) {
+        markExecuted();
+        final ItemConsumer<ItemType_T> consumer = new ItemConsumer<ItemType_T>() {
+            @Override
+            public void onItem(@NotNull final ItemType_T item) throws IOException {
+                acquirePendingItem();
+                deliver(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            if (!mCanceled) {
+                                mConsumer.onItem(item);
+                            }
+                        } catch (final IOException e) {
+                            // The consumer asked to stop, the failure is delivered once decoding stops
+                            cancel();
+                        } catch (final RuntimeException e) {
+                            cancel();
+                            throw e;
+                        } finally {
+                            mPendingItems.release();
+                        }
+                    }
+                });
+            }
+        };
+        mBackgroundExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    final Response<ListType_T> response = read(consumer);
+                    deliver(new Runnable() {
+                        @Override
+                        public void run() {
+                            callback.onResponse(StreamingListCall.this, response);
+                        }
+                    });
+                } catch (final IOException | JsonParseException e) {
+                    deliver(new Runnable() {
+                        @Override
+                        public void run() {
+                            callback.onFailure(StreamingListCall.this, e);
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    @NotNull
+    private Response<ListType_T> read(@NotNull final ItemConsumer<ItemType_T> consumer) throws IOException {
+        final Response<ResponseBody> response = mBodyCall.execute();
+        final ResponseBody body = response.body();
+        if (!response.isSuccessful() || body == null) {
+            final ResponseBody errorBody = response.errorBody();
+            return Response.error(errorBody != null ? errorBody : ResponseBody.create(null, new byte[0]),
+                                  response.raw());
+        }
+        try {
+            final ListType_T list = mDecoder.decode(mGson, body.charStream(), new ItemConsumer<ItemType_T>() {
+                @Override
+                public void onItem(@NotNull ItemType_T item) throws IOException {
+                    if (mCanceled) {
+                        throw new IOException("Canceled");
+                    }
+                    consumer.onItem(item);
+                }
+            });
+            return Response.success(list, response.raw());
+        } finally {
+            body.close();
+        }
+    }
+
+    /**
+     * Waits until the item can be handed to the callback executor without exceeding
+     * {@link #MAX_PENDING_ITEMS}, or until the call is cancelled.
+     */
+    private void acquirePendingItem() throws IOException {
+        try {
+            mPendingItems.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the consumer");
+        }
+        if (mCanceled) {
+            mPendingItems.release();
+            throw new IOException("Canceled");
+        }
+    }
+
+    private void deliver(@NotNull Runnable runnable) {
+        if (mCallbackExecutor != null) {
+            mCallbackExecutor.execute(runnable);
+        } else {
+            runnable.run();
+        }
+    }
+
+    private synchronized void markExecuted() {
+        if (mExecuted) {
+            throw new IllegalStateException("Already executed.");
+        }
+        mExecuted = true;
+    }
+
+    @Override
+    public synchronized boolean isExecuted() {
+        return mExecuted;
+    }
+
+    @Override
+    public void cancel() {
+        mCanceled = true;
+        // Wakes up the decoder if it is waiting for the consumer, it then notices the cancellation
+        mPendingItems.release();
+        mBodyCall.cancel();
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return mCanceled;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override
+    public Call<ListType_T> clone() {
+        return new StreamingListCall<>(mBodyCall.clone(), mDecoder, mGson, mConsumer, mBackgroundExecutor,
+                                       mCallbackExecutor);
+    }
+
+    @Override
+    public Request request() {
+        return mBodyCall.request();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.streaming;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.model.Channel;
+import com.vimeo.networking.model.ChannelList;
+import com.vimeo.networking.model.User;
+import com.vimeo.networking.model.UserList;
+import com.vimeo.networking.model.Video;
+import com.vimeo.networking.model.VideoList;
+import com.vimeo.networking.model.search.SearchResponse;
+import com.vimeo.networking.model.search.SearchResult;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+
+/**
+ * Decodes a list response incrementally: each item of the {@code data} array is handed to an
+ * {@link ItemConsumer} as soon as it is parsed, instead of the whole list being materialized first. The
+ * other fields of the response, such as the paging, total and facets, are decoded into a list whose data is
+ * empty once the whole response was read.
+ * <p>
+ * Only one item is held in memory at a time, so the peak heap of a page no longer grows with its size.
+ *
+ * @param <ItemType_T> the type of the items.
+ * @param <ListType_T> the type of the list.
+ */
+public final class StreamingListDecoder<ItemType_T, ListType_T extends BaseResponseList<ItemType_T>> {
+
+    public static final StreamingListDecoder<Video, VideoList> VIDEO_LIST =
+            new StreamingListDecoder<>(VideoList.class, Video.class);
+
+    public static final StreamingListDecoder<User, UserList> USER_LIST =
+            new StreamingListDecoder<>(UserList.class, User.class);
+
+    public static final StreamingListDecoder<Channel, ChannelList> CHANNEL_LIST =
+            new StreamingListDecoder<>(ChannelList.class, Channel.class);
+
+    public static final StreamingListDecoder<SearchResult, SearchResponse> SEARCH_RESPONSE =
+            new StreamingListDecoder<>(SearchResponse.class, SearchResult.class);
+
+    private static final String DATA_FIELD = "data";
+
+    /**
+     * Receives the items of a list as they are decoded.
+     */
+    public interface ItemConsumer<ItemType_T> {
+
+        /**
+         * Called on the decoding thread for each item, in the order of the response.
+         *
+         * @param item the decoded item.
+         * @throws IOException to stop decoding, for example because the request was cancelled.
+         */
+        void onItem(@NotNull ItemType_T item) throws IOException;
+    }
+
+    @NotNull
+    private final Class<ListType_T> mListClass;
+
+    @NotNull
+    private final Class<ItemType_T> mItemClass;
+
+    public StreamingListDecoder(@NotNull Class<ListType_T> listClass, @NotNull Class<ItemType_T> itemClass) {
+        mListClass = listClass;
+        mItemClass = itemClass;
+    }
+
+    @NotNull
+    public Class<ListType_T> getListClass() {
+        return mListClass;
+    }
+
+    /**
+     * Decodes a list response.
+     *
+     * @param gson     the Gson instance holding the type adapters of the models.
+     * @param json     the JSON of the response, which isn't closed.
+     * @param consumer the consumer of the items.
+     * @return the list without its items, holding the other fields of the response.
+     * @throws IOException        if the JSON couldn't be read, or the consumer stopped decoding.
+     * @throws JsonParseException if the JSON isn't a list response.
+     */
+    @NotNull
+    public ListType_T decode(@NotNull Gson gson,
+                             @NotNull Reader json,
+                             @NotNull ItemConsumer<ItemType_T> consumer) throws IOException {
+        final TypeAdapter<ItemType_T> itemAdapter = gson.getAdapter(mItemClass);
+        final TypeAdapter<JsonElement> elementAdapter = gson.getAdapter(JsonElement.class);
+        final JsonObject envelope = new JsonObject();
+
+        final JsonReader reader = new JsonReader(json);
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (DATA_FIELD.equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    final ItemType_T item = itemAdapter.read(reader);
+                    if (item != null) {
+                        consumer.onItem(item);
+                    }
+                }
+                reader.endArray();
+            } else {
+                envelope.add(name, elementAdapter.read(reader));
+            }
+        }
+        reader.endObject();
+
+        final ListType_T list = gson.fromJson(envelope, mListClass);
+        if (list == null) {
+            throw new JsonParseException("Empty list response");
+        }
+        list.setData(new ArrayList<ItemType_T>());
+        return list;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.utils;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.internal.bind.util.ISO8601Utils;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.vimeo.networking.logging.ClientLogger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.Date;
+
+/**
+ * A streaming {@link TypeAdapter} for dates in the ISO 8601 format, such as {@code 2015-05-21T14:24:03+00:00}.
+ * <p>
+ * Unlike {@link ISO8601Wrapper}, dates are read straight from the {@link JsonReader} without building a
+ * {@link com.google.gson.JsonElement} first. The two formats the API emits, with a {@code +hh:mm} offset or a
+ * {@code Z}, are parsed without allocating, anything else goes through {@link ISO8601Utils}. Recently seen
+ * timestamps are cached, as the dates of a response often repeat, for example the modification times of the
+ * pictures of a video.
+ * <p>
+ * Incorrectly formatted dates are logged and read as null, so that they don't fail the whole response.
+ */
+public final class ISO8601DateAdapter extends TypeAdapter<Date> {
+
+    private static final int CACHE_SIZE = 64;
+
+    // yyyy-MM-ddTHH:mm:ssZ
+    private static final int UTC_LENGTH = 20;
+
+    // yyyy-MM-ddTHH:mm:ss+hh:mm
+    private static final int OFFSET_LENGTH = 25;
+
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * MILLIS_PER_MINUTE;
+
+    private static final int DAYS_PER_ERA = 146097;
+
+    // Days from 0000-03-01 to 1970-01-01
+    private static final int EPOCH_DAY_OFFSET = 719468;
+
+    /**
+     * A direct mapped cache of parsed timestamps, entries are immutable so they can be shared across threads
+     * without locking, and a lost update only costs a parse.
+     */
+    @NotNull
+    private final CacheEntry[] mCache = new CacheEntry[CACHE_SIZE];
+
+    @Override
+    public void write(JsonWriter out, Date value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(ISO8601Utils.format(value));
+        }
+    }
+
+    @Override
+    public Date read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        final String value = in.nextString();
+        final int index = value.hashCode() & (CACHE_SIZE - 1);
+        final CacheEntry entry = mCache[index];
+        if (entry != null && entry.mValue.equals(value)) {
+            return new Date(entry.mTime);
+        }
+
+        final Date date = parse(value);
+        if (date != null) {
+            mCache[index] = new CacheEntry(value, date.getTime());
+        }
+        return date;
+    }
+
+    /**
+     * @return the date, or null if the value isn't a valid ISO 8601 date.
+     */
+    @Nullable
+    static Date parse(@NotNull String value) {
+        final long time = parseFast(value);
+        if (time != Long.MIN_VALUE) {
+            return new Date(time);
+        }
+        try {
+            return ISO8601Utils.parse(value, new ParsePosition(0));
+        } catch (final ParseException e) {
+            ClientLogger.e("Incorrectly formatted date sent from server: " + value, e);
+            return null;
+        }
+    }
+
+    /**
+     * Parses the formats emitted by the API.
+     *
+     * @return the time in milliseconds since the epoch, or {@link Long#MIN_VALUE} if the value isn't in one
+     * of the formats.
+     */
+    private static long parseFast(@NotNull String value) {
+        final int length = value.length();
+        if ((length != UTC_LENGTH && length != OFFSET_LENGTH) ||
+            value.charAt(4) != '-' || value.charAt(7) != '-' || value.charAt(10) != 'T' ||
+            value.charAt(13) != ':' || value.charAt(16) != ':') {
+            return Long.MIN_VALUE;
+        }
+        final int year = parseDigits(value, 0, 4);
+        final int month = parseDigits(value, 5, 7);
+        final int day = parseDigits(value, 8, 10);
+        final int hour = parseDigits(value, 11, 13);
+        final int minute = parseDigits(value, 14, 16);
+        final int second = parseDigits(value, 17, 19);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month) ||
+            hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return Long.MIN_VALUE;
+        }
+
+        final int offsetMinutes;
+        final char zone = value.charAt(19);
+        if (length == UTC_LENGTH) {
+            if (zone != 'Z') {
+                return Long.MIN_VALUE;
+            }
+            offsetMinutes = 0;
+        } else {
+            final int offsetHours = parseDigits(value, 20, 22);
+            final int offsetMinutesOfHour = parseDigits(value, 23, 25);
+            if ((zone != '+' && zone != '-') || value.charAt(22) != ':' ||
+                offsetHours < 0 || offsetHours > 23 || offsetMinutesOfHour < 0 || offsetMinutesOfHour > 59) {
+                return Long.MIN_VALUE;
+            }
+            final int offset = offsetHours * 60 + offsetMinutesOfHour;
+            offsetMinutes = zone == '+' ? offset : -offset;
+        }
+
+        final long minutes = (hour * 60 + minute) - offsetMinutes;
+        return epochDay(year, month, day) * MILLIS_PER_DAY + minutes * MILLIS_PER_MINUTE + second * 1000L;
+    }
+
+    /**
+     * @return the value of the digits between start inclusive and end exclusive, or -1 if one of the
+     * characters isn't a digit.
+     */
+    private static int parseDigits(@NotNull String value, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            final int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                final boolean leapYear = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leapYear ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * @return the number of days between 1970-01-01 and the date of the proleptic Gregorian calendar.
+     */
+    private static long epochDay(int year, int month, int day) {
+        // Years are counted from March so that the leap day is the last day of the year
+        final int marchYear = month <= 2 ? year - 1 : year;
+        final int era = marchYear / 400;
+        final int yearOfEra = marchYear - era * 400;
+        final int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (long) era * DAYS_PER_ERA + dayOfEra - EPOCH_DAY_OFFSET;
+    }
+
+    private static final class CacheEntry {
+
+        @NotNull
+        private final String mValue;
+
+        private final long mTime;
+
+        CacheEntry(@NotNull String value, long time) {
+            mValue = value;
+            mTime = time;
+        }
+    }
+}
@@ -24,8 +24,12 @@ import java.util.Date;
  * to absorb date parsing errors or log them correctly.
  * Additionally, the default adapter was not serializing the
  * dates correctly.
+ *
+ * @deprecated Gson wraps serializers and deserializers in an adapter that builds a tree of every value, use
+ * the streaming {@link ISO8601DateAdapter} instead.
  */
 @SuppressWarnings("WeakerAccess")
+@Deprecated
 public final class ISO8601Wrapper {
 
     private ISO8601Wrapper() {
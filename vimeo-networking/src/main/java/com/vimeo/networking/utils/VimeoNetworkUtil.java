@@ -27,15 +27,21 @@ package com.vimeo.networking.utils;
 import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.vimeo.networking.VimeoClient;
+import com.google.gson.TypeAdapter;
+import com.vimeo.networking.logging.ClientLogger;
+import com.vimeo.networking.logging.VimeoLogger;
+import com.vimeo.networking.model.error.HttpVimeoError;
 import com.vimeo.networking.model.error.VimeoError;
+import com.vimeo.networking.requests.CancellationScope;
 import com.vimeo.stag.generated.Stag;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
-import java.lang.annotation.Annotation;
 import java.net.URLDecoder;
 import java.util.ArrayList;
 import java.util.Date;
@@ -43,13 +49,14 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import okhttp3.CacheControl;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
-import retrofit2.Converter;
 import retrofit2.Response;
 import retrofit2.converter.gson.GsonConverterFactory;
 
@@ -61,9 +68,17 @@ import retrofit2.converter.gson.GsonConverterFactory;
 @SuppressWarnings("unused")
 public class VimeoNetworkUtil {
 
+    private static final long CANCELLATION_THREAD_KEEP_ALIVE_SECONDS = 30;
+
     @Nullable
     private static Gson sGson;
 
+    @Nullable
+    private static TypeAdapter<VimeoError> sErrorAdapter;
+
+    @Nullable
+    private static Executor sCancellationExecutor;
+
     /**
      * Static helper method that automatically applies the VimeoClient Gson preferences
      * <p>
@@ -90,8 +105,7 @@ public class VimeoNetworkUtil {
     public static GsonBuilder getGsonBuilder() {
         // Example date: "2015-05-21T14:24:03+00:00"
         return new GsonBuilder().registerTypeAdapterFactory(new Stag.Factory())
-                .registerTypeAdapter(Date.class, ISO8601Wrapper.getDateSerializer())
-                .registerTypeAdapter(Date.class, ISO8601Wrapper.getDateDeserializer())
+                .registerTypeAdapter(Date.class, new ISO8601DateAdapter())
                 .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES);
     }
 
@@ -160,49 +174,119 @@ public class VimeoNetworkUtil {
         return builder;
     }
 
-    /** A helper which cancels an array of {@link Call} objects. */
+    /**
+     * A helper which cancels an array of {@link Call} objects. Calls that were never executed are cancelled
+     * right away, and calls in flight are cancelled together on a shared background thread, since closing
+     * their connection must not happen on the main thread.
+     *
+     * @see CancellationScope
+     */
     public static void cancelCalls(@NotNull final ArrayList<Call> callsToCancel) {
-        final List<Call> callList = new CopyOnWriteArrayList<>(callsToCancel);
-        new Thread(new Runnable() {
-            @Override
-            public void run() {
-                for (Call call : callList) {
-                    if (call != null) {
-                        call.cancel();
-                    }
-                }
-            }
-        }).start();
+        final List<Call<?>> calls = new ArrayList<>(callsToCancel.size());
+        for (final Call call : callsToCancel) {
+            calls.add(call);
+        }
+        CancellationScope.cancel(calls, getCancellationExecutor());
+    }
+
+    @NotNull
+    private static synchronized Executor getCancellationExecutor() {
+        if (sCancellationExecutor == null) {
+            final ThreadPoolExecutor executor =
+                    new ThreadPoolExecutor(1, 1, CANCELLATION_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                                           new LinkedBlockingQueue<Runnable>(),
+                                           new DaemonThreadFactory("Vimeo Call Cancellation"));
+            // The thread only lives while there are calls to cancel
+            executor.allowCoreThreadTimeOut(true);
+            sCancellationExecutor = executor;
+        }
+        return sCancellationExecutor;
     }
 
     /**
      * This utility method takes a Retrofit response and extracts a {@link VimeoError} object out of it if
      * applicable. It will return null in the case where there has been a successful response.
+     * <p>
+     * The error body is decoded with the shared {@link Gson} instance from {@link #getGson()}, which is the
+     * same decoder used by every {@link com.vimeo.networking.VimeoClient}, so this doesn't depend on which
+     * client made the request. It is only decoded once a field of the error is accessed, see
+     * {@link HttpVimeoError}. Failures to read or decode the body are logged to {@link ClientLogger}.
      *
      * @param response A non-null response from the Vimeo API
      * @return a {@link VimeoError} object extracted from the response or null
+     * @see #getErrorFromResponse(Response, VimeoLogger)
      */
     @Nullable
     public static <ResponseType_T> VimeoError getErrorFromResponse(@Nullable final Response<ResponseType_T> response) {
+        return getErrorFromResponse(response, ClientLogger.getDefaultLogger());
+    }
+
+    /**
+     * Extracts a {@link VimeoError} from a response, like {@link #getErrorFromResponse(Response)}, logging the
+     * failures to read or decode the error body to the logger of the client that made the request.
+     *
+     * @param response a response from the Vimeo API.
+     * @param logger   the logger of the client that made the request.
+     * @return a {@link VimeoError} object extracted from the response or null
+     */
+    @Nullable
+    public static <ResponseType_T> VimeoError getErrorFromResponse(@Nullable final Response<ResponseType_T> response,
+                                                                   @NotNull VimeoLogger logger) {
         if (response != null && response.isSuccessful()) {
             return null;
         }
-        VimeoError vimeoError = null;
-        if (response != null && response.errorBody() != null) {
+        if (response == null) {
+            return new VimeoError();
+        }
+        // The body is read right away to release the connection, but only decoded if the error is inspected
+        byte[] errorBodyContent = null;
+        final ResponseBody errorBody = response.errorBody();
+        if (errorBody != null) {
             try {
-                final Converter<ResponseBody, VimeoError> errorConverter = VimeoClient.getInstance()
-                        .getRetrofit()
-                        .responseBodyConverter(VimeoError.class, new Annotation[0]);
-                vimeoError = errorConverter.convert(response.errorBody());
-            } catch (final Exception e) {
-                //noinspection CallToPrintStackTrace
-                e.printStackTrace();
+                errorBodyContent = errorBody.bytes();
+            } catch (final IOException e) {
+                logger.e("Couldn't read error body", e);
+            } finally {
+                errorBody.close();
             }
         }
-        if (vimeoError == null) {
-            vimeoError = new VimeoError();
+        return new HttpVimeoError(response, errorBodyContent, logger);
+    }
+
+    /**
+     * Decodes the body of an error response.
+     *
+     * @param errorBody the content of the error body.
+     * @return the decoded error, or null if the body isn't a JSON error.
+     */
+    @Nullable
+    public static VimeoError decodeError(@NotNull byte[] errorBody) {
+        return decodeError(errorBody, ClientLogger.getDefaultLogger());
+    }
+
+    /**
+     * Decodes the body of an error response. The adapter is shared by the whole process, like the
+     * {@link Gson} instance of {@link #getGson()} it comes from, as every client decodes errors the same way.
+     *
+     * @param errorBody the content of the error body.
+     * @param logger    the logger to which a failure to decode the body is logged.
+     * @return the decoded error, or null if the body isn't a JSON error.
+     */
+    @Nullable
+    public static VimeoError decodeError(@NotNull byte[] errorBody, @NotNull VimeoLogger logger) {
+        try {
+            return getErrorAdapter().fromJson(new InputStreamReader(new ByteArrayInputStream(errorBody), "UTF-8"));
+        } catch (final Exception e) {
+            logger.e("Couldn't decode error body", e);
+            return null;
+        }
+    }
+
+    @NotNull
+    private static synchronized TypeAdapter<VimeoError> getErrorAdapter() {
+        if (sErrorAdapter == null) {
+            sErrorAdapter = getGson().getAdapter(VimeoError.class);
         }
-        vimeoError.setResponse(response);
-        return vimeoError;
+        return sErrorAdapter;
     }
 }
@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking;
+
+import com.vimeo.networking.model.User;
+import com.vimeo.networking.model.Video;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link Projection}.
+ */
+public class ProjectionTest {
+
+    @Test
+    public void testFieldFilterFollowsDeclaredPaths() throws Exception {
+        final Projection projection = Projection.of(Video.class, "uri", "name", "pictures.sizes.link", "uri");
+
+        Assert.assertEquals("uri,name,pictures.sizes.link", projection.getFieldFilter());
+    }
+
+    @Test
+    public void testIdenticalProjectionsAreShared() throws Exception {
+        Assert.assertSame(Projection.of(Video.class, "uri", "user.name"),
+                          Projection.of(Video.class, "uri", "user.name"));
+    }
+
+    @Test
+    public void testNestedProjectionIsPrefixed() throws Exception {
+        final Projection owner = Projection.of(User.class, "uri", "name");
+
+        final Projection projection = Projection.builder(Video.class).fields("uri").include("user", owner).build();
+
+        Assert.assertEquals("uri,user.uri,user.name", projection.getFieldFilter());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownFieldIsRejected() throws Exception {
+        Projection.of(Video.class, "pictures.unknown");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFieldOfValueIsRejected() throws Exception {
+        Projection.of(Video.class, "name.length");
+    }
+}
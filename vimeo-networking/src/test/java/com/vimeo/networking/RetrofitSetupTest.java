@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking;
+
+import com.vimeo.networking.interceptors.CallTaggingFactory;
+import com.vimeo.networking.interceptors.RateLimitInterceptor;
+import com.vimeo.networking.logging.LoggingInterceptor;
+import com.vimeo.networking.logging.VimeoLogger;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import retrofit2.Retrofit;
+
+/**
+ * Tests for {@link RetrofitSetup}.
+ */
+public class RetrofitSetupTest {
+
+    @Test
+    public void testDerivedRetrofitSharesTransportButNotLogger() throws Exception {
+        final Configuration configuration = new Configuration.Builder("token").enableCertPinning(false).build();
+        final Retrofit source = new RetrofitSetup(configuration, null).createRetrofit();
+
+        final Retrofit derived = new RetrofitSetup(configuration, null, new VimeoLogger(null, Vimeo.LogLevel.VERBOSE))
+                .deriveRetrofit(source);
+
+        final OkHttpClient sourceClient = ((CallTaggingFactory) source.callFactory()).getClient();
+        final OkHttpClient derivedClient = ((CallTaggingFactory) derived.callFactory()).getClient();
+        Assert.assertNotSame(sourceClient, derivedClient);
+        Assert.assertSame(sourceClient.connectionPool(), derivedClient.connectionPool());
+        Assert.assertSame(sourceClient.dispatcher(), derivedClient.dispatcher());
+        Assert.assertEquals(source.baseUrl(), derived.baseUrl());
+        Assert.assertEquals(sourceClient.interceptors().size(), derivedClient.interceptors().size());
+        for (int i = 0; i < sourceClient.interceptors().size(); i++) {
+            final Interceptor interceptor = sourceClient.interceptors().get(i);
+            if (interceptor instanceof LoggingInterceptor) {
+                Assert.assertNotSame(interceptor, derivedClient.interceptors().get(i));
+                Assert.assertTrue(derivedClient.interceptors().get(i) instanceof LoggingInterceptor);
+            } else {
+                Assert.assertSame(interceptor, derivedClient.interceptors().get(i));
+            }
+        }
+        Assert.assertEquals(1, countLoggingInterceptors(derivedClient));
+    }
+
+    @Test
+    public void testClientsCreatedFromOneConfigurationHaveTheirOwnInterceptors() throws Exception {
+        final Configuration configuration = new Configuration.Builder("token").enableCertPinning(false).build();
+        final int interceptorCount = configuration.mInterceptors.size();
+        final int networkInterceptorCount = configuration.mNetworkInterceptors.size();
+
+        final OkHttpClient first = getClient(VimeoClient.create(configuration));
+        final OkHttpClient second = getClient(VimeoClient.create(configuration));
+
+        Assert.assertEquals(interceptorCount, configuration.mInterceptors.size());
+        Assert.assertEquals(networkInterceptorCount, configuration.mNetworkInterceptors.size());
+        Assert.assertEquals(first.interceptors().size(), second.interceptors().size());
+        Assert.assertEquals(first.networkInterceptors().size(), second.networkInterceptors().size());
+        Assert.assertEquals(1, countInterceptors(second, RateLimitInterceptor.class));
+        Assert.assertNotSame(findInterceptor(first, RateLimitInterceptor.class),
+                             findInterceptor(second, RateLimitInterceptor.class));
+    }
+
+    @NotNull
+    private static OkHttpClient getClient(@NotNull VimeoClient client) {
+        return ((CallTaggingFactory) client.getRetrofit().callFactory()).getClient();
+    }
+
+    private static int countLoggingInterceptors(@NotNull OkHttpClient client) {
+        return countInterceptors(client, LoggingInterceptor.class);
+    }
+
+    private static int countInterceptors(@NotNull OkHttpClient client, @NotNull Class<?> type) {
+        int count = 0;
+        for (final Interceptor interceptor : client.interceptors()) {
+            if (type.isInstance(interceptor)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Interceptor findInterceptor(@NotNull OkHttpClient client, @NotNull Class<?> type) {
+        for (final Interceptor interceptor : client.interceptors()) {
+            if (type.isInstance(interceptor)) {
+                return interceptor;
+            }
+        }
+        return null;
+    }
+}
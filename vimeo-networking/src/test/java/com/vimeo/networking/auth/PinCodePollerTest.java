@@ -0,0 +1,123 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.auth;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for {@link PinCodePoller}.
+ */
+public class PinCodePollerTest {
+
+    private ScheduledThreadPoolExecutor mScheduler;
+
+    private PinCodePoller mPoller;
+
+    @Before
+    public void setUp() throws Exception {
+        mScheduler = new ScheduledThreadPoolExecutor(1);
+        mPoller = new PinCodePoller(mScheduler);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        mScheduler.shutdownNow();
+    }
+
+    @Test
+    public void testSessionPollsUntilFinished() throws Exception {
+        final CountingPoll poll = new CountingPoll(3);
+        mPoller.start(5, 5000, TimeUnit.MILLISECONDS, poll);
+
+        Assert.assertTrue(poll.mFinished.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(3, poll.mPollCount.get());
+        Assert.assertEquals(0, mPoller.getActiveSessionCount());
+    }
+
+    @Test
+    public void testSessionExpires() throws Exception {
+        final CountingPoll poll = new CountingPoll(Integer.MAX_VALUE);
+        mPoller.start(5, 30, TimeUnit.MILLISECONDS, poll);
+
+        Assert.assertTrue(poll.mExpired.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(0, mPoller.getActiveSessionCount());
+    }
+
+    @Test
+    public void testCancellingASessionDoesNotAffectOthers() throws Exception {
+        final CountingPoll cancelledPoll = new CountingPoll(Integer.MAX_VALUE);
+        final CountingPoll otherPoll = new CountingPoll(2);
+        final PinCodePoller.Session cancelled = mPoller.start(1, 1, TimeUnit.MINUTES, cancelledPoll);
+        mPoller.start(5, 1000, TimeUnit.MILLISECONDS, otherPoll);
+
+        cancelled.cancel();
+
+        Assert.assertTrue(otherPoll.mFinished.await(5, TimeUnit.SECONDS));
+        Assert.assertFalse(cancelled.isActive());
+        Assert.assertFalse(cancelled.finish());
+        Assert.assertEquals(0, mPoller.getActiveSessionCount());
+    }
+
+    /**
+     * Finishes its session once it polled a given number of times.
+     */
+    private static final class CountingPoll implements PinCodePoller.Poll {
+
+        private final int mPollsToFinish;
+
+        private final AtomicInteger mPollCount = new AtomicInteger();
+
+        private final CountDownLatch mFinished = new CountDownLatch(1);
+
+        private final CountDownLatch mExpired = new CountDownLatch(1);
+
+        CountingPoll(int pollsToFinish) {
+            mPollsToFinish = pollsToFinish;
+        }
+
+        @Override
+        public void poll(@NotNull PinCodePoller.Session session) {
+            if (mPollCount.incrementAndGet() < mPollsToFinish) {
+                session.pollAgain();
+            } else if (session.finish()) {
+                mFinished.countDown();
+            }
+        }
+
+        @Override
+        public void onExpired() {
+            mExpired.countDown();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.batch;
+
+import com.vimeo.networking.batch.MultiGetLoader.ChunkLoader;
+import com.vimeo.networking.batch.MultiGetLoader.UriExtractor;
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.model.error.VimeoError;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for {@link MultiGetLoader}.
+ */
+public class MultiGetLoaderTest {
+
+    private static final UriExtractor<String> IDENTITY = new UriExtractor<String>() {
+        @Override
+        public String getUri(@NotNull String item) {
+            return item;
+        }
+    };
+
+    private List<List<String>> mRequestedChunks;
+
+    private MultiGetLoader<String> mLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        mRequestedChunks = new ArrayList<>();
+        mLoader = new MultiGetLoader<>(new ChunkLoader<String>() {
+            @NotNull
+            @Override
+            public VimeoFuture<TestList> loadChunk(@NotNull List<String> uris) {
+                mRequestedChunks.add(new ArrayList<>(uris));
+                if (uris.contains("/videos/5")) {
+                    return VimeoFuture.failure(new VimeoError("Server error"), null);
+                }
+                final TestList list = new TestList();
+                final ArrayList<String> data = new ArrayList<>();
+                for (final String uri : uris) {
+                    if (!uri.equals("/videos/2")) {
+                        data.add(uri);
+                    }
+                }
+                list.setData(data);
+                return VimeoFuture.success(list, null);
+            }
+        }, IDENTITY, 2);
+    }
+
+    @Test
+    public void testUrisAreRequestedInChunks() throws Exception {
+        final VimeoFuture<MultiGetResult<String>> result =
+                mLoader.getAll(Arrays.asList("/videos/1", "/videos/3", "/videos/4", "/videos/1"), null);
+
+        Assert.assertEquals(2, mRequestedChunks.size());
+        Assert.assertEquals(Arrays.asList("/videos/1", "/videos/3"), mRequestedChunks.get(0));
+        Assert.assertEquals(Arrays.asList("/videos/1", "/videos/3", "/videos/4"),
+                            new ArrayList<>(result.getResult().getItems().keySet()));
+        Assert.assertTrue(result.getResult().isComplete());
+    }
+
+    @Test
+    public void testFailuresAreReportedPerUri() throws Exception {
+        final MultiGetResult<String> result =
+                mLoader.getAll(Arrays.asList("/videos/1", "/videos/2", "/videos/5", "/videos/6"), null).getResult();
+
+        Assert.assertEquals("/videos/1", result.get("/videos/1"));
+        Assert.assertEquals(404, result.getError("/videos/2").getHttpStatusCode());
+        Assert.assertEquals("Server error", result.getError("/videos/5").getDeveloperMessage());
+        Assert.assertEquals("Server error", result.getError("/videos/6").getDeveloperMessage());
+        Assert.assertFalse(result.isComplete());
+    }
+
+    @Test
+    public void testEmptyLookupCompletesImmediately() throws Exception {
+        final VimeoFuture<MultiGetResult<String>> result = mLoader.getAll(new ArrayList<String>(), null);
+
+        Assert.assertTrue(result.isSuccessful());
+        Assert.assertTrue(mRequestedChunks.isEmpty());
+    }
+
+    private static final class TestList extends BaseResponseList<String> {
+
+        @Override
+        public Class<String> getModelClass() {
+            return String.class;
+        }
+    }
+}
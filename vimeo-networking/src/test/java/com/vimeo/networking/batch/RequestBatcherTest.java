@@ -0,0 +1,219 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.batch;
+
+import com.vimeo.networking.batch.MultiGetLoader.ChunkLoader;
+import com.vimeo.networking.batch.MultiGetLoader.UriExtractor;
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.model.BaseResponseList;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Tests for {@link RequestBatcher}.
+ */
+public class RequestBatcherTest {
+
+    private static final String BATCH_KEY = "/videos";
+
+    private static final UriExtractor<String> IDENTITY = new UriExtractor<String>() {
+        @Override
+        public String getUri(@NotNull String item) {
+            return item;
+        }
+    };
+
+    private List<List<String>> mRequestedChunks;
+
+    private List<VimeoFuture<TestList>> mPendingChunks;
+
+    private ChunkLoader<String> mChunkLoader;
+
+    private RequestBatcher mBatcher;
+
+    @Before
+    public void setUp() throws Exception {
+        mRequestedChunks = new ArrayList<>();
+        mPendingChunks = new ArrayList<>();
+        mChunkLoader = new ChunkLoader<String>() {
+            @NotNull
+            @Override
+            public VimeoFuture<TestList> loadChunk(@NotNull List<String> uris) {
+                mRequestedChunks.add(new ArrayList<>(uris));
+                final VimeoFuture<TestList> future = new VimeoFuture<>(null);
+                mPendingChunks.add(future);
+                return future;
+            }
+        };
+        mBatcher = new RequestBatcher(1, TimeUnit.MINUTES, 2);
+    }
+
+    @Test
+    public void testFullBatchIsSentAsOneRequest() throws Exception {
+        final RecordingCallback first = new RecordingCallback();
+        final RecordingCallback second = new RecordingCallback();
+        mBatcher.enqueue(BATCH_KEY, "/videos/1", new TestCall(), mChunkLoader, IDENTITY, first);
+        Assert.assertTrue(mRequestedChunks.isEmpty());
+        mBatcher.enqueue(BATCH_KEY, "videos/2", new TestCall(), mChunkLoader, IDENTITY, second);
+
+        Assert.assertEquals(1, mRequestedChunks.size());
+        Assert.assertEquals(Arrays.asList("/videos/1", "/videos/2"), mRequestedChunks.get(0));
+
+        mPendingChunks.get(0).set(TestList.of("/videos/2", "/videos/1"));
+        Assert.assertEquals("/videos/1", first.mItem);
+        Assert.assertEquals("/videos/2", second.mItem);
+        Assert.assertEquals(2, mBatcher.getRequestCount());
+        Assert.assertEquals(1, mBatcher.getBatchCount());
+        Assert.assertEquals(2.0, mBatcher.getAverageBatchSize(), 0);
+    }
+
+    @Test
+    public void testBatchIsSentWhenWindowElapses() throws Exception {
+        mBatcher = new RequestBatcher(10, TimeUnit.MILLISECONDS, 2);
+        mBatcher.enqueue(BATCH_KEY, "/videos/1", new TestCall(), mChunkLoader, IDENTITY, new RecordingCallback());
+
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (mBatcher.getBatchCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        Assert.assertEquals(1, mBatcher.getBatchCount());
+    }
+
+    @Test
+    public void testMissingItemIsRequestedOnItsOwn() throws Exception {
+        final TestCall missingCall = new TestCall();
+        final RecordingCallback found = new RecordingCallback();
+        final RecordingCallback missing = new RecordingCallback();
+        mBatcher.enqueue(BATCH_KEY, "/videos/1", new TestCall(), mChunkLoader, IDENTITY, found);
+        mBatcher.enqueue(BATCH_KEY, "/videos/2", missingCall, mChunkLoader, IDENTITY, missing);
+
+        mPendingChunks.get(0).set(TestList.of("/videos/1"));
+        Assert.assertEquals("/videos/1", found.mItem);
+        Assert.assertSame(missing, missingCall.mEnqueuedCallback);
+        Assert.assertEquals(1, mBatcher.getFallbackCount());
+    }
+
+    @Test
+    public void testCancelledRequestIsNotDelivered() throws Exception {
+        final RecordingCallback cancelled = new RecordingCallback();
+        final RecordingCallback kept = new RecordingCallback();
+        final Call<String> call =
+                mBatcher.enqueue(BATCH_KEY, "/videos/1", new TestCall(), mChunkLoader, IDENTITY, cancelled);
+        mBatcher.enqueue(BATCH_KEY, "/videos/2", new TestCall(), mChunkLoader, IDENTITY, kept);
+
+        call.cancel();
+        mPendingChunks.get(0).set(TestList.of("/videos/1", "/videos/2"));
+
+        Assert.assertTrue(call.isCanceled());
+        Assert.assertNull(cancelled.mItem);
+        Assert.assertTrue(cancelled.mFailure instanceof IOException);
+        Assert.assertEquals("/videos/2", kept.mItem);
+    }
+
+    private static final class RecordingCallback implements Callback<String> {
+
+        private String mItem;
+
+        private Throwable mFailure;
+
+        @Override
+        public void onResponse(Call<String> call, Response<String> response) {
+            mItem = response.body();
+        }
+
+        @Override
+        public void onFailure(Call<String> call, Throwable t) {
+            mFailure = t;
+        }
+    }
+
+    private static final class TestCall implements Call<String> {
+
+        private Callback<String> mEnqueuedCallback;
+
+        @Override
+        public Response<String> execute() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void enqueue(Callback<String> callback) {
+            mEnqueuedCallback = callback;
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mEnqueuedCallback != null;
+        }
+
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return false;
+        }
+
+        @SuppressWarnings("CloneDoesntCallSuperClone")
+        @Override
+        public Call<String> clone() {
+            return new TestCall();
+        }
+
+        @Override
+        public Request request() {
+            return null;
+        }
+    }
+
+    private static final class TestList extends BaseResponseList<String> {
+
+        static TestList of(String... uris) {
+            final TestList list = new TestList();
+            list.setData(new ArrayList<>(Arrays.asList(uris)));
+            return list;
+        }
+
+        @Override
+        public Class<String> getModelClass() {
+            return String.class;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Tests for {@link CacheFreshness}.
+ */
+public class CacheFreshnessTest {
+
+    private static final long MAX_AGE = 60;
+    private static final long STALE_WHILE_REVALIDATE = 120;
+
+    @NotNull
+    private static Response createResponse(long receivedAtMillis) {
+        return new Response.Builder()
+                .code(200)
+                .message("OK")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("https://api.vimeo.com/videos").build())
+                .receivedResponseAtMillis(receivedAtMillis)
+                .build();
+    }
+
+    @NotNull
+    private static Response createResponseOfAge(long ageSeconds) {
+        return createResponse(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(ageSeconds));
+    }
+
+    @Test
+    public void testResponseWithinMaxAgeIsFresh() throws Exception {
+        Assert.assertEquals(CacheFreshness.FRESH,
+                            CacheFreshness.of(createResponseOfAge(0), MAX_AGE, STALE_WHILE_REVALIDATE));
+        Assert.assertEquals(CacheFreshness.FRESH,
+                            CacheFreshness.of(createResponseOfAge(MAX_AGE - 1), MAX_AGE, STALE_WHILE_REVALIDATE));
+    }
+
+    @Test
+    public void testResponseWithinWindowIsStale() throws Exception {
+        Assert.assertEquals(CacheFreshness.STALE,
+                            CacheFreshness.of(createResponseOfAge(MAX_AGE + 1), MAX_AGE, STALE_WHILE_REVALIDATE));
+        Assert.assertEquals(CacheFreshness.STALE,
+                            CacheFreshness.of(createResponseOfAge(MAX_AGE + STALE_WHILE_REVALIDATE - 1),
+                                              MAX_AGE,
+                                              STALE_WHILE_REVALIDATE));
+    }
+
+    @Test
+    public void testResponseBeyondWindowIsExpired() throws Exception {
+        Assert.assertEquals(CacheFreshness.EXPIRED,
+                            CacheFreshness.of(createResponseOfAge(MAX_AGE + STALE_WHILE_REVALIDATE + 1),
+                                              MAX_AGE,
+                                              STALE_WHILE_REVALIDATE));
+        Assert.assertEquals(CacheFreshness.EXPIRED, CacheFreshness.of(createResponseOfAge(MAX_AGE + 1), MAX_AGE, 0));
+    }
+
+    @Test
+    public void testResponseOfUnknownAgeIsStale() throws Exception {
+        Assert.assertEquals(CacheFreshness.STALE,
+                            CacheFreshness.of(createResponse(0), MAX_AGE, STALE_WHILE_REVALIDATE));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.cache;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link CachePolicyRegistry}.
+ */
+public class CachePolicyRegistryTest {
+
+    private static final CachePolicy ONE_HOUR = CachePolicy.timeToLive(1, TimeUnit.HOURS);
+    private static final CachePolicy ONE_DAY = CachePolicy.timeToLive(1, TimeUnit.DAYS);
+
+    private CachePolicyRegistry mRegistry;
+
+    @Before
+    public void setUp() throws Exception {
+        mRegistry = new CachePolicyRegistry();
+    }
+
+    @Test
+    public void testSingleSegmentWildcard() throws Exception {
+        mRegistry.register("/videos/*", ONE_HOUR);
+
+        Assert.assertEquals(ONE_HOUR, mRegistry.getPolicy("/videos/1"));
+        Assert.assertEquals(ONE_HOUR, mRegistry.getPolicy("videos/1?fields=name"));
+        Assert.assertNull(mRegistry.getPolicy("/videos/1/comments"));
+        Assert.assertNull(mRegistry.getPolicy("/users/1"));
+    }
+
+    @Test
+    public void testTrailingMultiSegmentWildcardMatchesParent() throws Exception {
+        mRegistry.register("/oauth/**", CachePolicy.noStore());
+
+        Assert.assertEquals(CachePolicy.noStore(), mRegistry.getPolicy("/oauth"));
+        Assert.assertEquals(CachePolicy.noStore(), mRegistry.getPolicy("/oauth/authorize/password"));
+        Assert.assertNull(mRegistry.getPolicy("/oauthx"));
+    }
+
+    @Test
+    public void testLeadingMultiSegmentWildcard() throws Exception {
+        mRegistry.register("**/live_stats", CachePolicy.noStore());
+
+        Assert.assertEquals(CachePolicy.noStore(), mRegistry.getPolicy("/live_stats"));
+        Assert.assertEquals(CachePolicy.noStore(), mRegistry.getPolicy("/me/videos/1/live_stats"));
+        Assert.assertNull(mRegistry.getPolicy("/me/videos/1"));
+    }
+
+    @Test
+    public void testFirstMatchWins() throws Exception {
+        mRegistry.register("/videos/1", ONE_DAY);
+        mRegistry.register("/videos/*", ONE_HOUR);
+
+        Assert.assertEquals(ONE_DAY, mRegistry.getPolicy("/videos/1"));
+        Assert.assertEquals(ONE_HOUR, mRegistry.getPolicy("/videos/2"));
+    }
+
+    @Test
+    public void testAbsoluteUrl() throws Exception {
+        mRegistry.register("/configs/**", ONE_HOUR);
+
+        Assert.assertEquals(ONE_HOUR, mRegistry.getPolicy("https://api.vimeo.com/configs?version=1"));
+    }
+
+    @Test
+    public void testDefaultPolicies() throws Exception {
+        final CachePolicyRegistry registry = CachePolicyRegistry.createDefault();
+
+        Assert.assertFalse(registry.getPolicy("/oauth/authorize/client").isStored());
+        Assert.assertFalse(registry.getPolicy("/tokens").isStored());
+        Assert.assertEquals(TimeUnit.DAYS.toSeconds(7),
+                            registry.getPolicy("documents/termsofservice").getTimeToLiveSeconds());
+        Assert.assertTrue(registry.getPolicy("/configs").getMaxStaleSeconds() > 0);
+        Assert.assertNull(registry.getPolicy("/videos/1"));
+    }
+}
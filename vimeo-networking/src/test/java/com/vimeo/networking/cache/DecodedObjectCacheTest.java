@@ -0,0 +1,223 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.cache;
+
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.requests.GetRequestKey;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+/**
+ * Tests for {@link DecodedObjectCache}.
+ */
+public class DecodedObjectCacheTest {
+
+    private static final String AUTH_HEADER = "Bearer token";
+    private static final long ONE_HOUR = 60 * 60;
+
+    private DecodedObjectCache mCache;
+
+    @Before
+    public void setUp() throws Exception {
+        mCache = new DecodedObjectCache(1000);
+    }
+
+    @NotNull
+    private static GetRequestKey createKey(@NotNull String uri) {
+        return GetRequestKey.create(uri, Collections.<String, String>emptyMap(), AUTH_HEADER, String.class);
+    }
+
+    @NotNull
+    private static Response<String> createResponse(@NotNull String body, int contentLength) {
+        final okhttp3.Response raw = new okhttp3.Response.Builder()
+                .code(200)
+                .message("OK")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("https://api.vimeo.com/").build())
+                .body(ResponseBody.create(null, new byte[contentLength]))
+                .build();
+        return Response.success(body, raw);
+    }
+
+    @Test
+    public void testGetReturnsCachedResponse() throws Exception {
+        final Response<String> response = createResponse("video", 100);
+        mCache.put(createKey("/videos/1"), response);
+
+        Assert.assertSame(response, mCache.<String>get(createKey("/videos/1"), ONE_HOUR));
+        Assert.assertNull(mCache.<String>get(createKey("/videos/2"), ONE_HOUR));
+        Assert.assertEquals(1, mCache.getHitCount());
+        Assert.assertEquals(1, mCache.getMissCount());
+    }
+
+    @Test
+    public void testKeyIsCanonical() throws Exception {
+        final Map<String, String> firstQuery = new HashMap<>();
+        firstQuery.put("fields", "name,uri");
+        firstQuery.put("page", "2");
+        final Map<String, String> secondQuery = new HashMap<>();
+        secondQuery.put("fields", "uri, name");
+        final Response<String> response = createResponse("video", 100);
+
+        mCache.put(GetRequestKey.create("videos/1", firstQuery, AUTH_HEADER, String.class), response);
+
+        Assert.assertSame(response, mCache.<String>get(
+                GetRequestKey.create("/videos/1?page=2", secondQuery, AUTH_HEADER, String.class), ONE_HOUR));
+        Assert.assertNull(mCache.<String>get(
+                GetRequestKey.create("/videos/1?page=2", secondQuery, "Bearer other", String.class), ONE_HOUR));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() throws Exception {
+        mCache.put(createKey("/videos/1"), createResponse("1", 400));
+        mCache.put(createKey("/videos/2"), createResponse("2", 400));
+        Assert.assertNotNull(mCache.get(createKey("/videos/1"), ONE_HOUR));
+
+        mCache.put(createKey("/videos/3"), createResponse("3", 400));
+
+        Assert.assertNotNull(mCache.get(createKey("/videos/1"), ONE_HOUR));
+        Assert.assertNull(mCache.get(createKey("/videos/2"), ONE_HOUR));
+        Assert.assertNotNull(mCache.get(createKey("/videos/3"), ONE_HOUR));
+        Assert.assertEquals(800, mCache.size());
+    }
+
+    @Test
+    public void testUnknownLengthUsesDefaultWeight() throws Exception {
+        final DecodedObjectCache cache = new DecodedObjectCache(DecodedObjectCache.DEFAULT_ENTRY_WEIGHT);
+        cache.put(createKey("/videos/1"), createResponse("1", 0));
+
+        Assert.assertEquals(DecodedObjectCache.DEFAULT_ENTRY_WEIGHT, cache.size());
+    }
+
+    @Test
+    public void testUnknownLengthOfListIsEstimatedFromItems() throws Exception {
+        final DecodedObjectCache cache = new DecodedObjectCache(10 * DecodedObjectCache.DEFAULT_ENTRY_WEIGHT);
+        final okhttp3.Response raw = new okhttp3.Response.Builder()
+                .code(200)
+                .message("OK")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("https://api.vimeo.com/videos").build())
+                .build();
+        cache.put(createKey("/videos"), Response.success(TestList.of("a", "b", "c"), raw));
+
+        Assert.assertEquals(3 * DecodedObjectCache.DEFAULT_ENTRY_WEIGHT, cache.size());
+    }
+
+    @Test
+    public void testAgeStartsWhenResponseWasReceived() throws Exception {
+        final okhttp3.Response raw = new okhttp3.Response.Builder()
+                .code(200)
+                .message("OK")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("https://api.vimeo.com/videos/1").build())
+                .body(ResponseBody.create(null, new byte[100]))
+                .receivedResponseAtMillis(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(50))
+                .build();
+        final GetRequestKey key = createKey("/videos/1");
+        mCache.put(key, Response.success("video", raw));
+
+        Assert.assertTrue(mCache.isFresh(key, ONE_HOUR));
+        Assert.assertFalse(mCache.isFresh(key, 30 * 60));
+        Assert.assertNull(mCache.get(key, 30 * 60));
+    }
+
+    @Test
+    public void testUnsuccessfulResponsesAreNotCached() throws Exception {
+        mCache.put(createKey("/videos/1"), Response.<String>error(404, ResponseBody.create(null, "")));
+
+        Assert.assertNull(mCache.get(createKey("/videos/1"), ONE_HOUR));
+        Assert.assertEquals(0, mCache.size());
+    }
+
+    @Test
+    public void testNotModifiedReusesCachedResponse() throws Exception {
+        final okhttp3.Response cachedRaw = new okhttp3.Response.Builder()
+                .code(200)
+                .message("OK")
+                .protocol(Protocol.HTTP_1_1)
+                .header("ETag", "\"v1\"")
+                .request(new Request.Builder().url("https://api.vimeo.com/videos/1").build())
+                .body(ResponseBody.create(null, new byte[100]))
+                .build();
+        final Response<String> cachedResponse = Response.success("video", cachedRaw);
+        final GetRequestKey key = createKey("/videos/1");
+        mCache.put(key, cachedResponse);
+
+        final DecodedObjectCache.CachedResponse<String> revalidated = mCache.getForRevalidation(key);
+        Assert.assertNotNull(revalidated);
+        Assert.assertEquals("\"v1\"", revalidated.getETag());
+
+        final okhttp3.Response notModifiedRaw = new okhttp3.Response.Builder()
+                .code(304)
+                .message("Not Modified")
+                .protocol(Protocol.HTTP_1_1)
+                .request(new Request.Builder().url("https://api.vimeo.com/videos/1")
+                                 .header("If-None-Match", "\"v1\"")
+                                 .build())
+                .build();
+        final Response<String> notModified = Response.error(ResponseBody.create(null, new byte[0]), notModifiedRaw);
+
+        Assert.assertSame(cachedResponse, mCache.resolve(key, revalidated, notModified));
+        Assert.assertEquals(1, mCache.getNotModifiedCount());
+    }
+
+    @Test
+    public void testEvictAll() throws Exception {
+        mCache.put(createKey("/videos/1"), createResponse("1", 100));
+        mCache.evictAll();
+
+        Assert.assertNull(mCache.get(createKey("/videos/1"), ONE_HOUR));
+        Assert.assertEquals(0, mCache.size());
+    }
+
+    private static final class TestList extends BaseResponseList<String> {
+
+        static TestList of(String... items) {
+            final TestList list = new TestList();
+            list.setData(new ArrayList<>(Arrays.asList(items)));
+            return list;
+        }
+
+        @Override
+        public Class<String> getModelClass() {
+            return String.class;
+        }
+    }
+}
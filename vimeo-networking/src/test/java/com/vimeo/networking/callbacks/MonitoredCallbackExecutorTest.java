@@ -0,0 +1,96 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.callbacks;
+
+import com.vimeo.networking.Vimeo.LogLevel;
+import com.vimeo.networking.logging.VimeoLogger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link MonitoredCallbackExecutor}.
+ */
+public class MonitoredCallbackExecutorTest {
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private MonitoredCallbackExecutor mExecutor;
+
+    @Before
+    public void setUp() throws Exception {
+        mExecutor = new MonitoredCallbackExecutor(DIRECT_EXECUTOR, 20, TimeUnit.MILLISECONDS,
+                                                  new VimeoLogger(null, LogLevel.NONE));
+    }
+
+    @Test
+    public void testSlowCallbacksAreCounted() throws Exception {
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(40);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        Assert.assertEquals(2, mExecutor.getCallbackCount());
+        Assert.assertEquals(1, mExecutor.getSlowCallbackCount());
+        Assert.assertTrue(mExecutor.getMaxDurationMillis() >= 40);
+    }
+
+    @Test
+    public void testFailingCallbacksAreMeasured() throws Exception {
+        try {
+            mExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    throw new IllegalStateException();
+                }
+            });
+            Assert.fail();
+        } catch (final IllegalStateException expected) {
+            // The failure reaches the delegate executor
+        }
+
+        Assert.assertEquals(1, mExecutor.getCallbackCount());
+    }
+}
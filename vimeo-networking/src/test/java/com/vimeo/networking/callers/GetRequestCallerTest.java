@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.callers;
+
+import com.vimeo.networking.Vimeo;
+import com.vimeo.networking.VimeoService;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Tests for {@link GetRequestCaller}.
+ */
+public class GetRequestCallerTest {
+
+    private static final String CACHE_HEADER = "max-age=60, max-stale=30";
+
+    private VimeoService mVimeoService;
+
+    @Before
+    public void setUp() throws Exception {
+        mVimeoService = new Retrofit.Builder().baseUrl("https://api.vimeo.com")
+                .client(new OkHttpClient())
+                .addConverterFactory(GsonConverterFactory.create())
+                .build()
+                .create(VimeoService.class);
+    }
+
+    @Test
+    public void testValidatorsAreSentAsConditions() throws Exception {
+        final Request request = GetRequestCaller.VIDEO.call("Bearer token",
+                                                            "/videos/1",
+                                                            Collections.<String, String>emptyMap(),
+                                                            CACHE_HEADER,
+                                                            "W/\"a,b\"",
+                                                            "Mon, 01 Jan 2018 00:00:00 GMT",
+                                                            mVimeoService).request();
+
+        Assert.assertEquals("W/\"a,b\"", request.header(Vimeo.HEADER_IF_NONE_MATCH));
+        Assert.assertEquals("Mon, 01 Jan 2018 00:00:00 GMT", request.header(Vimeo.HEADER_IF_MODIFIED_SINCE));
+        Assert.assertEquals(CACHE_HEADER, request.header(Vimeo.HEADER_CACHE_CONTROL));
+    }
+
+    @Test
+    public void testNoConditionsWithoutValidators() throws Exception {
+        final Request request = GetRequestCaller.VIDEO.call("Bearer token",
+                                                            "/videos/1",
+                                                            Collections.<String, String>emptyMap(),
+                                                            CACHE_HEADER,
+                                                            null,
+                                                            null,
+                                                            mVimeoService).request();
+
+        Assert.assertNull(request.header(Vimeo.HEADER_IF_NONE_MATCH));
+        Assert.assertNull(request.header(Vimeo.HEADER_IF_MODIFIED_SINCE));
+        Assert.assertEquals(CACHE_HEADER, request.header(Vimeo.HEADER_CACHE_CONTROL));
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.futures;
+
+import com.vimeo.networking.callbacks.VimeoCallback;
+import com.vimeo.networking.futures.VimeoFuture.AsyncTransformation;
+import com.vimeo.networking.futures.VimeoFuture.Transformation;
+import com.vimeo.networking.model.error.VimeoError;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Tests for {@link VimeoFuture}.
+ */
+public class VimeoFutureTest {
+
+    private List<Runnable> mQueuedTasks;
+
+    private Executor mExecutor;
+
+    @Before
+    public void setUp() throws Exception {
+        mQueuedTasks = new ArrayList<>();
+        mExecutor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                mQueuedTasks.add(command);
+            }
+        };
+    }
+
+    @Test
+    public void testCallbackAddedAfterCompletionIsInvoked() throws Exception {
+        final VimeoFuture<String> future = new VimeoFuture<>(null);
+        future.set("video");
+
+        final RecordingCallback<String> callback = new RecordingCallback<>();
+        future.addCallback(callback);
+
+        Assert.assertEquals("video", callback.mResult);
+        Assert.assertTrue(future.isSuccessful());
+    }
+
+    @Test
+    public void testCallbacksRunOnExecutor() throws Exception {
+        final VimeoFuture<String> future = new VimeoFuture<>(mExecutor);
+        final RecordingCallback<String> callback = new RecordingCallback<>();
+        future.addCallback(callback);
+        future.set("video");
+
+        Assert.assertNull(callback.mResult);
+        Assert.assertEquals(1, mQueuedTasks.size());
+        mQueuedTasks.get(0).run();
+        Assert.assertEquals("video", callback.mResult);
+    }
+
+    @Test
+    public void testMapTransformsResult() throws Exception {
+        final VimeoFuture<String> future = new VimeoFuture<>(null);
+        final VimeoFuture<Integer> length = future.map(new Transformation<String, Integer>() {
+            @Override
+            public Integer apply(String input) {
+                return input.length();
+            }
+        });
+        future.set("video");
+
+        Assert.assertEquals(Integer.valueOf(5), length.getResult());
+    }
+
+    @Test
+    public void testThenChainsFutures() throws Exception {
+        final VimeoFuture<String> first = new VimeoFuture<>(null);
+        final VimeoFuture<String> second = new VimeoFuture<>(null);
+        final VimeoFuture<String> chained = first.then(new AsyncTransformation<String, String>() {
+            @Override
+            public VimeoFuture<String> apply(String input) {
+                return second;
+            }
+        });
+
+        first.set("video");
+        Assert.assertFalse(chained.isDone());
+        second.set("user");
+        Assert.assertEquals("user", chained.getResult());
+    }
+
+    @Test
+    public void testErrorPropagatesThroughChain() throws Exception {
+        final VimeoFuture<String> future = new VimeoFuture<>(null);
+        final VimeoFuture<Integer> length = future.map(new Transformation<String, Integer>() {
+            @Override
+            public Integer apply(String input) {
+                return input.length();
+            }
+        });
+        final VimeoError error = new VimeoError("failed");
+        future.setError(error);
+
+        Assert.assertSame(error, length.getError());
+        Assert.assertFalse(length.isSuccessful());
+    }
+
+    @Test
+    public void testCancelPropagatesUpstream() throws Exception {
+        final VimeoFuture<String> first = new VimeoFuture<>(null);
+        final VimeoFuture<String> second = new VimeoFuture<>(null);
+        final VimeoFuture<String> chained = first.then(new AsyncTransformation<String, String>() {
+            @Override
+            public VimeoFuture<String> apply(String input) {
+                return second;
+            }
+        });
+        first.set("video");
+
+        Assert.assertTrue(chained.cancel());
+        Assert.assertTrue(chained.isCancelled());
+        Assert.assertTrue(second.isCancelled());
+        Assert.assertFalse(chained.cancel());
+    }
+
+    @Test
+    public void testCompletionAfterCancelIsIgnored() throws Exception {
+        final VimeoFuture<String> future = new VimeoFuture<>(null);
+        future.cancel();
+
+        Assert.assertFalse(future.set("video"));
+        Assert.assertNull(future.getResult());
+        Assert.assertTrue(future.getError().isCanceledError());
+    }
+
+    private static final class RecordingCallback<ResultType_T> extends VimeoCallback<ResultType_T> {
+
+        private ResultType_T mResult;
+
+        private VimeoError mError;
+
+        @Override
+        public void success(ResultType_T result) {
+            mResult = result;
+        }
+
+        @Override
+        public void failure(VimeoError error) {
+            mError = error;
+        }
+    }
+}
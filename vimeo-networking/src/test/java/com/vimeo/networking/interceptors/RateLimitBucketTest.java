@@ -0,0 +1,89 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.interceptors;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for {@link RateLimitBucket}.
+ */
+public class RateLimitBucketTest {
+
+    private RateLimitBucket mBucket;
+
+    private long mNow;
+
+    @Before
+    public void setUp() throws Exception {
+        mBucket = new RateLimitBucket();
+        mNow = System.currentTimeMillis();
+    }
+
+    @Test
+    public void testUnknownLimitDoesNotDelay() throws Exception {
+        Assert.assertEquals(0, mBucket.reserve(mNow));
+        Assert.assertEquals(-1, mBucket.getRemaining());
+    }
+
+    @Test
+    public void testPlentyOfCapacityDoesNotDelay() throws Exception {
+        mBucket.update(100, 50, mNow + 10000);
+
+        Assert.assertEquals(0, mBucket.reserve(mNow));
+        Assert.assertEquals(0, mBucket.reserve(mNow));
+        Assert.assertEquals(48, mBucket.getRemaining());
+    }
+
+    @Test
+    public void testLowCapacityIsSpreadUntilReset() throws Exception {
+        mBucket.update(100, 10, mNow + 10000);
+
+        Assert.assertEquals(0, mBucket.reserve(mNow));
+        Assert.assertEquals(1000, mBucket.reserve(mNow));
+        Assert.assertTrue(mBucket.reserve(mNow) > 1000);
+    }
+
+    @Test
+    public void testExhaustedCapacityWaitsForResetAndReleasesOneAtATime() throws Exception {
+        mBucket.update(100, 50, mNow + 10000);
+        mBucket.exhaust(mNow + 5000);
+
+        final long first = mBucket.reserve(mNow);
+        final long second = mBucket.reserve(mNow);
+        Assert.assertEquals(10000, first);
+        Assert.assertTrue(second > first);
+    }
+
+    @Test
+    public void testNewWindowResetsPacing() throws Exception {
+        mBucket.update(100, 0, mNow + 10000);
+        Assert.assertEquals(10000, mBucket.reserve(mNow));
+
+        mBucket.update(100, 100, mNow + 70000);
+        Assert.assertEquals(0, mBucket.reserve(mNow + 10000));
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.interceptors;
+
+import com.vimeo.networking.Vimeo;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.Interceptor;
+import okhttp3.Interceptor.Chain;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Tests for {@link RetryInterceptor}.
+ */
+public class RetryInterceptorTest {
+
+    private static final Request REQUEST = new Request.Builder().url("https://api.vimeo.com/videos/1").build();
+
+    private static final long BASE_DELAY_MILLIS = 10;
+
+    @Test
+    public void testServerErrorsAreRetriedWithBackoff() throws Exception {
+        final RetryInterceptor interceptor = new RetryInterceptor(createPolicy(2, BASE_DELAY_MILLIS, 100, 10));
+        final ScriptedChain chain = new ScriptedChain(response(503, null), response(503, null), response(200, null));
+
+        final long startMillis = System.currentTimeMillis();
+        final Response response = interceptor.intercept(chain);
+
+        Assert.assertEquals(200, response.code());
+        Assert.assertEquals(3, chain.mAttemptCount);
+        Assert.assertTrue(System.currentTimeMillis() - startMillis >= 2 * BASE_DELAY_MILLIS);
+        Assert.assertEquals(2, interceptor.getRetryCount("/videos/{id}"));
+    }
+
+    @Test
+    public void testRetriesStopAtMaxRetries() throws Exception {
+        final RetryInterceptor interceptor = new RetryInterceptor(createPolicy(1, BASE_DELAY_MILLIS, 100, 10));
+        final ScriptedChain chain = new ScriptedChain(response(500, null), response(500, null), response(200, null));
+
+        Assert.assertEquals(500, interceptor.intercept(chain).code());
+        Assert.assertEquals(2, chain.mAttemptCount);
+    }
+
+    @Test
+    public void testClientErrorsAreNotRetried() throws Exception {
+        final RetryInterceptor interceptor = new RetryInterceptor(createPolicy(2, BASE_DELAY_MILLIS, 100, 10));
+        final ScriptedChain chain = new ScriptedChain(response(404, null), response(200, null));
+
+        Assert.assertEquals(404, interceptor.intercept(chain).code());
+        Assert.assertEquals(1, chain.mAttemptCount);
+    }
+
+    @Test
+    public void testRetryAfterLongerThanMaxDelayIsNotRetried() throws Exception {
+        final RetryInterceptor interceptor = new RetryInterceptor(createPolicy(2, BASE_DELAY_MILLIS, 100, 10));
+        final ScriptedChain chain = new ScriptedChain(response(429, "60"), response(200, null));
+
+        Assert.assertEquals(429, interceptor.intercept(chain).code());
+        Assert.assertEquals(1, chain.mAttemptCount);
+    }
+
+    @Test
+    public void testRetryAfterWithinMaxDelayIsRetried() throws Exception {
+        final RetryInterceptor interceptor = new RetryInterceptor(createPolicy(2, BASE_DELAY_MILLIS, 1000, 10));
+        final ScriptedChain chain = new ScriptedChain(response(429, "0"), response(200, null));
+
+        Assert.assertEquals(200, interceptor.intercept(chain).code());
+        Assert.assertEquals(2, chain.mAttemptCount);
+    }
+
+    @Test
+    public void testGetRetryAfterMillis() throws Exception {
+        Assert.assertEquals(-1, RetryInterceptor.getRetryAfterMillis(response(503, null)));
+        Assert.assertEquals(2000, RetryInterceptor.getRetryAfterMillis(response(503, "2")));
+        Assert.assertEquals(0, RetryInterceptor.getRetryAfterMillis(response(503, "-5")));
+        Assert.assertEquals(-1, RetryInterceptor.getRetryAfterMillis(response(503, "soon")));
+
+        final SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        final String inAMinute = format.format(new Date(System.currentTimeMillis() + 60000));
+        final long retryAfterMillis = RetryInterceptor.getRetryAfterMillis(response(503, inAMinute));
+        Assert.assertTrue(retryAfterMillis > 55000 && retryAfterMillis <= 60000);
+        final String aMinuteAgo = format.format(new Date(System.currentTimeMillis() - 60000));
+        Assert.assertEquals(0, RetryInterceptor.getRetryAfterMillis(response(503, aMinuteAgo)));
+    }
+
+    @Test
+    public void testBudgetLimitsRetries() throws Exception {
+        final RetryInterceptor interceptor = new RetryInterceptor(createPolicy(2, BASE_DELAY_MILLIS, 100, 1));
+        Assert.assertEquals(1, interceptor.getAvailableRetries());
+
+        final ScriptedChain first = new ScriptedChain(response(503, null), response(503, null), response(200, null));
+        Assert.assertEquals(503, interceptor.intercept(first).code());
+        Assert.assertEquals(2, first.mAttemptCount);
+        Assert.assertEquals(0, interceptor.getAvailableRetries());
+
+        final ScriptedChain second = new ScriptedChain(response(503, null), response(200, null));
+        Assert.assertEquals(503, interceptor.intercept(second).code());
+        Assert.assertEquals(1, second.mAttemptCount);
+    }
+
+    @Test
+    public void testCancelledCallStopsWaiting() throws Exception {
+        final RetryInterceptor interceptor = new RetryInterceptor(createPolicy(2, 10000, 10000, 10));
+        final CountDownLatch attempted = new CountDownLatch(1);
+        final OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(interceptor)
+                .addInterceptor(new Interceptor() {
+                    @Override
+                    public Response intercept(Chain chain) throws IOException {
+                        attempted.countDown();
+                        return response(503, null);
+                    }
+                })
+                .build();
+        final Call call = new CallTaggingFactory(client).newCall(REQUEST);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    call.execute();
+                } catch (final Throwable t) {
+                    failure.set(t);
+                }
+            }
+        });
+        thread.start();
+
+        Assert.assertTrue(attempted.await(1, TimeUnit.SECONDS));
+        call.cancel();
+        thread.join(1000);
+
+        Assert.assertFalse(thread.isAlive());
+        Assert.assertTrue(failure.get() instanceof IOException);
+    }
+
+    @NotNull
+    private static RetryPolicy createPolicy(int maxRetries, long baseDelayMillis, long maxDelayMillis,
+                                            int budgetReserve) {
+        return new RetryPolicy.Builder().setMaxRetries(maxRetries)
+                .setBaseDelay(baseDelayMillis, TimeUnit.MILLISECONDS)
+                .setMaxDelay(maxDelayMillis, TimeUnit.MILLISECONDS)
+                .setBudgetRatio(0)
+                .setBudgetReserve(budgetReserve)
+                .build();
+    }
+
+    @NotNull
+    private static Response response(int code, @Nullable String retryAfter) {
+        final Response.Builder builder = new Response.Builder().request(REQUEST)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code);
+        if (retryAfter != null) {
+            builder.header(Vimeo.HEADER_RETRY_AFTER, retryAfter);
+        }
+        final Response networkResponse = builder.build();
+        return networkResponse.newBuilder().networkResponse(networkResponse).build();
+    }
+
+    private static final class ScriptedChain implements Chain {
+
+        @NotNull
+        private final List<Response> mResponses;
+
+        private int mAttemptCount;
+
+        ScriptedChain(@NotNull Response... responses) {
+            mResponses = new ArrayList<>(Arrays.asList(responses));
+        }
+
+        @Override
+        public Request request() {
+            return REQUEST;
+        }
+
+        @Override
+        public Response proceed(Request request) throws IOException {
+            mAttemptCount++;
+            return mResponses.remove(0);
+        }
+
+        @Override
+        public Connection connection() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.logging;
+
+import com.vimeo.networking.Vimeo.LogLevel;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import okhttp3.Connection;
+import okhttp3.Interceptor.Chain;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Tests for {@link LoggingInterceptor}.
+ */
+public class LoggingInterceptorTest {
+
+    private static final MediaType TEXT = MediaType.parse("text/plain");
+
+    private static final String BODY = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    private static final long MAX_BODY_SIZE = 10;
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private RecordingLogProvider mLogProvider;
+
+    private VimeoLogger mLogger;
+
+    @Before
+    public void setUp() throws Exception {
+        mLogProvider = new RecordingLogProvider();
+        mLogger = new VimeoLogger(mLogProvider, LogLevel.VERBOSE);
+    }
+
+    @Test
+    public void testBodyIsLoggedInFullByDefault() throws Exception {
+        final LoggingInterceptor interceptor = new LoggingInterceptor(mLogger);
+
+        final Response response = interceptor.intercept(new ResponseChain(BODY));
+
+        // Logged before the response is returned, without being read by the caller
+        Assert.assertTrue(mLogProvider.hasLineContaining(BODY));
+        Assert.assertFalse(mLogProvider.hasLineContaining("truncated"));
+        Assert.assertTrue(mLogProvider.mVerbose.contains("--------- RESPONSE BODY END ---------"));
+        Assert.assertEquals(BODY, response.body().string());
+    }
+
+    @Test
+    public void testBodyPassesThroughUnchanged() throws Exception {
+        final LoggingInterceptor interceptor = new LoggingInterceptor(mLogger, MAX_BODY_SIZE, DIRECT_EXECUTOR);
+
+        final Response response = interceptor.intercept(new ResponseChain(BODY));
+
+        Assert.assertEquals(BODY, response.body().string());
+    }
+
+    @Test
+    public void testLongBodyIsTruncated() throws Exception {
+        final LoggingInterceptor interceptor = new LoggingInterceptor(mLogger, MAX_BODY_SIZE, DIRECT_EXECUTOR);
+
+        interceptor.intercept(new ResponseChain(BODY)).body().string();
+
+        Assert.assertTrue(mLogProvider.mVerbose.contains("(truncated to " + MAX_BODY_SIZE + " bytes)"));
+        Assert.assertTrue(mLogProvider.mVerbose.contains(BODY.substring(0, (int) MAX_BODY_SIZE)));
+        Assert.assertFalse(mLogProvider.mVerbose.contains(BODY));
+    }
+
+    @Test
+    public void testShortBodyIsLoggedInFull() throws Exception {
+        final LoggingInterceptor interceptor = new LoggingInterceptor(mLogger, BODY.length(), DIRECT_EXECUTOR);
+
+        interceptor.intercept(new ResponseChain(BODY)).body().string();
+
+        Assert.assertTrue(mLogProvider.hasLineContaining(BODY));
+        Assert.assertFalse(mLogProvider.hasLineContaining("truncated"));
+        Assert.assertEquals(1, mLogProvider.countBodies());
+    }
+
+    @Test
+    public void testBodyIsLoggedOnceWhenClosedBeforeTheEnd() throws Exception {
+        final StringBuilder longBody = new StringBuilder();
+        while (longBody.length() < 64 * 1024) {
+            longBody.append(BODY);
+        }
+        final LoggingInterceptor interceptor = new LoggingInterceptor(mLogger, MAX_BODY_SIZE, DIRECT_EXECUTOR);
+        final ResponseBody body = interceptor.intercept(new ResponseChain(longBody.toString())).body();
+
+        body.source().skip(5);
+        Assert.assertEquals(0, mLogProvider.countBodies());
+        body.close();
+
+        Assert.assertEquals(1, mLogProvider.countBodies());
+        Assert.assertTrue(mLogProvider.mVerbose.contains("(truncated to " + MAX_BODY_SIZE + " bytes)"));
+    }
+
+    @Test
+    public void testBodiesAreDroppedWhenTheFormatterIsBusy() throws Exception {
+        final LoggingInterceptor interceptor = new LoggingInterceptor(mLogger, MAX_BODY_SIZE, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                throw new RejectedExecutionException();
+            }
+        });
+
+        final Response response = interceptor.intercept(new ResponseChain(BODY));
+
+        Assert.assertEquals(BODY, response.body().string());
+        Assert.assertEquals(1, interceptor.getDroppedBodyCount());
+        Assert.assertEquals(0, mLogProvider.countBodies());
+    }
+
+    private static final class ResponseChain implements Chain {
+
+        @NotNull
+        private final Request mRequest = new Request.Builder().url("https://api.vimeo.com/videos/1").build();
+
+        @NotNull
+        private final String mBody;
+
+        ResponseChain(@NotNull String body) {
+            mBody = body;
+        }
+
+        @Override
+        public Request request() {
+            return mRequest;
+        }
+
+        @Override
+        public Response proceed(Request request) throws IOException {
+            return new Response.Builder().request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .body(ResponseBody.create(TEXT, mBody))
+                    .build();
+        }
+
+        @Override
+        public Connection connection() {
+            return null;
+        }
+    }
+
+    private static final class RecordingLogProvider implements LogProvider {
+
+        private final List<String> mVerbose = new ArrayList<>();
+
+        boolean hasLineContaining(@NotNull String text) {
+            for (final String line : mVerbose) {
+                if (line.contains(text)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int countBodies() {
+            int count = 0;
+            for (final String line : mVerbose) {
+                if (line.startsWith("--------- RESPONSE BODY END")) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        public void e(String error) {
+        }
+
+        @Override
+        public void e(String error, Exception exception) {
+        }
+
+        @Override
+        public void d(String debug) {
+        }
+
+        @Override
+        public void v(String verbose) {
+            mVerbose.add(verbose);
+        }
+    }
+}
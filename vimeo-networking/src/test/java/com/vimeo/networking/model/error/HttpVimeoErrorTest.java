@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.model.error;
+
+import com.vimeo.networking.Vimeo;
+import com.vimeo.networking.logging.LogProvider;
+import com.vimeo.networking.logging.VimeoLogger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import retrofit2.Response;
+
+/**
+ * Tests for {@link HttpVimeoError}.
+ */
+public class HttpVimeoErrorTest {
+
+    private static final String ERROR_JSON =
+            "{\"error\":\"Something strange occurred.\",\"developer_message\":\"Try again.\",\"error_code\":2204}";
+
+    @Test
+    public void testBodyIsDecodedWhenAccessed() throws Exception {
+        final HttpVimeoError error = new HttpVimeoError(createResponse(), ERROR_JSON.getBytes("UTF-8"));
+
+        Assert.assertEquals(400, error.getHttpStatusCode());
+        Assert.assertEquals("Something strange occurred.", error.getErrorMessage());
+        Assert.assertEquals("Try again.", error.getDeveloperMessage());
+    }
+
+    @Test
+    public void testSetterIsNotOverwrittenByBody() throws Exception {
+        final HttpVimeoError error = new HttpVimeoError(createResponse(), ERROR_JSON.getBytes("UTF-8"));
+
+        error.setDeveloperMessage("Overridden");
+
+        Assert.assertEquals("Overridden", error.getDeveloperMessage());
+        Assert.assertEquals("Something strange occurred.", error.getErrorMessage());
+    }
+
+    @Test
+    public void testInvalidBodyIsIgnored() throws Exception {
+        final HttpVimeoError error = new HttpVimeoError(createResponse(), "<html></html>".getBytes("UTF-8"));
+
+        Assert.assertNull(error.getErrorMessage());
+        Assert.assertEquals(ErrorCode.DEFAULT, error.getErrorCode());
+    }
+
+    @Test
+    public void testDecodingFailureIsLoggedToTheGivenLogger() throws Exception {
+        final List<String> errors = new ArrayList<>();
+        final VimeoLogger logger = new VimeoLogger(new LogProvider() {
+            @Override
+            public void e(String error) {
+                errors.add(error);
+            }
+
+            @Override
+            public void e(String error, Exception exception) {
+                errors.add(error);
+            }
+
+            @Override
+            public void d(String debug) {
+            }
+
+            @Override
+            public void v(String verbose) {
+            }
+        }, Vimeo.LogLevel.ERROR);
+        final HttpVimeoError error = new HttpVimeoError(createResponse(), "<html></html>".getBytes("UTF-8"), logger);
+
+        Assert.assertNull(error.getErrorMessage());
+        Assert.assertEquals(1, errors.size());
+    }
+
+    @Test
+    public void testStackTraceIsNotCaptured() throws Exception {
+        Assert.assertEquals(0, new HttpVimeoError(createResponse(), null).getStackTrace().length);
+    }
+
+    private static Response<Object> createResponse() {
+        return Response.error(400, ResponseBody.create(MediaType.parse("application/json"), ERROR_JSON));
+    }
+}
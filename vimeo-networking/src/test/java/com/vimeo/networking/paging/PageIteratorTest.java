@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.paging;
+
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.model.Paging;
+import com.vimeo.networking.model.error.VimeoError;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for {@link PageIterator}.
+ */
+public class PageIteratorTest {
+
+    private FakePageLoader mPageLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        mPageLoader = new FakePageLoader();
+        mPageLoader.addPage("/videos?page=1", "/videos?page=2", "a", "b");
+        mPageLoader.addPage("/videos?page=2", "/videos?page=3", "c", "d");
+        mPageLoader.addPage("/videos?page=3", null, "e");
+    }
+
+    @Test
+    public void testIteratesOverEveryPage() throws Exception {
+        final PageIterator<String> iterator = new PageIterator<>(mPageLoader, "/videos?page=1");
+
+        final List<String> items = new ArrayList<>();
+        while (iterator.hasNext()) {
+            items.add(iterator.next());
+        }
+
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "d", "e"), items);
+        Assert.assertEquals(5, iterator.getTotal());
+    }
+
+    @Test
+    public void testLoadsOnlyAsManyPagesAsBuffered() throws Exception {
+        final PageIterator<String> iterator = new PageIterator<>(mPageLoader, "/videos?page=1", 1);
+        Assert.assertEquals(1, mPageLoader.mLoadedUris.size());
+
+        iterator.next();
+        Assert.assertEquals(2, mPageLoader.mLoadedUris.size());
+        iterator.next();
+        Assert.assertEquals(2, mPageLoader.mLoadedUris.size());
+    }
+
+    @Test
+    public void testFailureIsThrown() throws Exception {
+        mPageLoader.mPages.remove("/videos?page=2");
+        final PageIterator<String> iterator = new PageIterator<>(mPageLoader, "/videos?page=1");
+        iterator.next();
+        iterator.next();
+
+        try {
+            iterator.hasNext();
+            Assert.fail("Expected the failure of the second page");
+        } catch (final VimeoError e) {
+            Assert.assertEquals("Not found", e.getDeveloperMessage());
+        }
+    }
+
+    @Test
+    public void testCloseCancelsPendingLoad() throws Exception {
+        final VimeoFuture<TestList> pending = new VimeoFuture<>(null);
+        final PageIterator<String> iterator = new PageIterator<>(new PageLoader<String>() {
+            @NotNull
+            @Override
+            public VimeoFuture<TestList> loadPage(@NotNull String uri) {
+                return pending;
+            }
+        }, "/videos?page=1");
+
+        iterator.close();
+
+        Assert.assertTrue(pending.isCancelled());
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    private static final class FakePageLoader implements PageLoader<String> {
+
+        private final Map<String, TestList> mPages = new HashMap<>();
+
+        private final List<String> mLoadedUris = new ArrayList<>();
+
+        void addPage(String uri, String nextUri, String... items) {
+            final TestList page = new TestList();
+            page.setTotal(5);
+            page.setData(new ArrayList<>(Arrays.asList(items)));
+            page.setPaging(new TestPaging(nextUri));
+            mPages.put(uri, page);
+        }
+
+        @NotNull
+        @Override
+        public VimeoFuture<TestList> loadPage(@NotNull String uri) {
+            mLoadedUris.add(uri);
+            final TestList page = mPages.get(uri);
+            if (page == null) {
+                return VimeoFuture.failure(new VimeoError("Not found"), null);
+            }
+            return VimeoFuture.success(page, null);
+        }
+    }
+
+    private static final class TestList extends BaseResponseList<String> {
+
+        @Override
+        public Class<String> getModelClass() {
+            return String.class;
+        }
+    }
+
+    private static final class TestPaging extends Paging {
+
+        TestPaging(String next) {
+            mNext = next;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.paging;
+
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.model.Paging;
+import com.vimeo.networking.model.error.VimeoError;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for {@link ParallelPageFetcher}.
+ */
+public class ParallelPageFetcherTest {
+
+    private static final String PAGE_1 = "/videos?page=1&per_page=2";
+    private static final String PAGE_2 = "/videos?page=2&per_page=2";
+    private static final String PAGE_3 = "/videos?page=3&per_page=2";
+    private static final String PAGE_4 = "/videos?page=4&per_page=2";
+
+    private DeferredPageLoader mPageLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        mPageLoader = new DeferredPageLoader();
+    }
+
+    @Test
+    public void testLoadsRemainingPagesWithBoundedConcurrency() throws Exception {
+        final VimeoFuture<List<String>> result = new ParallelPageFetcher<>(mPageLoader, 2).fetchAll(PAGE_1, null);
+        mPageLoader.complete(PAGE_1, createPage(1, 7, PAGE_2, "a", "b"));
+
+        Assert.assertEquals(Arrays.asList(PAGE_1, PAGE_2, PAGE_3), mPageLoader.getRequestedUris());
+
+        mPageLoader.complete(PAGE_3, createPage(3, 7, PAGE_4, "e", "f"));
+        Assert.assertEquals(Arrays.asList(PAGE_1, PAGE_2, PAGE_3, PAGE_4), mPageLoader.getRequestedUris());
+        mPageLoader.complete(PAGE_4, createPage(4, 7, null, "g"));
+        Assert.assertFalse(result.isDone());
+
+        // "d" shifted to the next page while the collection was enumerated
+        mPageLoader.complete(PAGE_2, createPage(2, 7, PAGE_3, "c", "e"));
+        Assert.assertEquals(Arrays.asList("a", "b", "c", "e", "f", "g"), result.getResult());
+    }
+
+    @Test
+    public void testFailureCancelsPendingLoads() throws Exception {
+        final VimeoFuture<List<String>> result = new ParallelPageFetcher<>(mPageLoader, 4).fetchAll(PAGE_1, null);
+        mPageLoader.complete(PAGE_1, createPage(1, 8, PAGE_2, "a", "b"));
+
+        final VimeoError error = new VimeoError("failed");
+        mPageLoader.mLoads.get(PAGE_3).setError(error);
+
+        Assert.assertSame(error, result.getError());
+        Assert.assertTrue(mPageLoader.mLoads.get(PAGE_2).isCancelled());
+        Assert.assertTrue(mPageLoader.mLoads.get(PAGE_4).isCancelled());
+    }
+
+    @Test
+    public void testCancelCancelsPendingLoads() throws Exception {
+        final VimeoFuture<List<String>> result = new ParallelPageFetcher<>(mPageLoader, 4).fetchAll(PAGE_1, null);
+        mPageLoader.complete(PAGE_1, createPage(1, 8, PAGE_2, "a", "b"));
+
+        result.cancel();
+
+        Assert.assertTrue(mPageLoader.mLoads.get(PAGE_2).isCancelled());
+        Assert.assertTrue(mPageLoader.mLoads.get(PAGE_4).isCancelled());
+    }
+
+    @NotNull
+    private static TestList createPage(int page, int total, String nextUri, String... items) {
+        final TestList list = new TestList();
+        list.setPage(page);
+        list.setPerPage(2);
+        list.setTotal(total);
+        list.setData(new ArrayList<>(Arrays.asList(items)));
+        list.setPaging(new TestPaging(nextUri));
+        return list;
+    }
+
+    private static final class DeferredPageLoader implements PageLoader<String> {
+
+        private final Map<String, VimeoFuture<TestList>> mLoads = new LinkedHashMap<>();
+
+        @NotNull
+        @Override
+        public VimeoFuture<TestList> loadPage(@NotNull String uri) {
+            final VimeoFuture<TestList> load = new VimeoFuture<>(null);
+            mLoads.put(uri, load);
+            return load;
+        }
+
+        List<String> getRequestedUris() {
+            return new ArrayList<>(mLoads.keySet());
+        }
+
+        void complete(String uri, TestList page) {
+            mLoads.get(uri).set(page);
+        }
+    }
+
+    private static final class TestList extends BaseResponseList<String> {
+
+        @Override
+        public Class<String> getModelClass() {
+            return String.class;
+        }
+    }
+
+    private static final class TestPaging extends Paging {
+
+        TestPaging(String next) {
+            mNext = next;
+        }
+    }
+}
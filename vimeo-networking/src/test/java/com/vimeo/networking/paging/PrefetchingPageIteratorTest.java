@@ -0,0 +1,187 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.paging;
+
+import com.vimeo.networking.futures.VimeoFuture;
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.model.Paging;
+import com.vimeo.networking.model.error.VimeoError;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests for {@link PrefetchingPageIterator}.
+ */
+public class PrefetchingPageIteratorTest {
+
+    private DeferredPageLoader mPageLoader;
+
+    @Before
+    public void setUp() throws Exception {
+        mPageLoader = new DeferredPageLoader();
+    }
+
+    @Test
+    public void testWithPageReplacesPageParameter() throws Exception {
+        Assert.assertEquals("/videos?per_page=2&page=7", PageUris.withPage("/videos?per_page=2&page=2", 7));
+        Assert.assertNull(PageUris.withPage("/videos?per_page=2", 7));
+        Assert.assertNull(PageUris.withPage("/videos", 7));
+    }
+
+    @Test
+    public void testComputedPagesAreLoadedAheadInOrder() throws Exception {
+        final PrefetchingPageIterator<String> iterator =
+                new PrefetchingPageIterator<>(mPageLoader, "/videos?page=1&per_page=2", 4);
+        Assert.assertEquals(Arrays.asList("/videos?page=1&per_page=2"), mPageLoader.getRequestedUris());
+        final Thread network = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(50);
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                mPageLoader.complete("/videos?page=1&per_page=2",
+                                     createPage(1, 7, "/videos?page=2&per_page=2", "a", "b"));
+            }
+        });
+        network.start();
+
+        Assert.assertEquals("a", iterator.next());
+        network.join();
+        // The consumer had to wait, so the window grew and two pages are loaded at once
+        Assert.assertEquals(2, iterator.getPrefetchWindow());
+        Assert.assertEquals(Arrays.asList("/videos?page=1&per_page=2",
+                                          "/videos?page=2&per_page=2",
+                                          "/videos?page=3&per_page=2"), mPageLoader.getRequestedUris());
+
+        // Completing out of order still delivers in order
+        mPageLoader.complete("/videos?page=3&per_page=2", createPage(3, 7, "/videos?page=4&per_page=2", "e", "f"));
+        mPageLoader.complete("/videos?page=2&per_page=2", createPage(2, 7, "/videos?page=3&per_page=2", "c", "d"));
+        Assert.assertEquals("b", iterator.next());
+        Assert.assertEquals("c", iterator.next());
+        Assert.assertEquals("d", iterator.next());
+        Assert.assertEquals("e", iterator.next());
+        mPageLoader.complete("/videos?page=4&per_page=2", createPage(4, 7, null, "g"));
+        Assert.assertEquals("f", iterator.next());
+        Assert.assertEquals("g", iterator.next());
+        Assert.assertFalse(iterator.hasNext());
+        Assert.assertEquals(4, mPageLoader.getRequestedUris().size());
+    }
+
+    @Test
+    public void testMissingComputedPageFailsTheIteration() throws Exception {
+        final PrefetchingPageIterator<String> iterator =
+                new PrefetchingPageIterator<>(mPageLoader, "/videos?page=1&per_page=2", 1);
+        mPageLoader.complete("/videos?page=1&per_page=2", createPage(1, 4, "/videos?page=2&per_page=2", "a", "b"));
+        Assert.assertEquals("a", iterator.next());
+        Assert.assertEquals("b", iterator.next());
+
+        mPageLoader.complete("/videos?page=2&per_page=2", null);
+
+        try {
+            iterator.hasNext();
+            Assert.fail("The missing page should fail the iteration");
+        } catch (final VimeoError e) {
+            Assert.assertFalse(e.isCanceledError());
+        }
+    }
+
+    @Test
+    public void testCloseCancelsEveryPendingLoad() throws Exception {
+        final PrefetchingPageIterator<String> iterator =
+                new PrefetchingPageIterator<>(mPageLoader, "/videos?page=1&per_page=2", 4);
+        mPageLoader.complete("/videos?page=1&per_page=2", createPage(1, 20, "/videos?page=2&per_page=2", "a", "b"));
+        iterator.next();
+
+        iterator.close();
+
+        Assert.assertFalse(iterator.hasNext());
+        for (final VimeoFuture<TestList> load : mPageLoader.mLoads.values()) {
+            Assert.assertTrue(load.isDone());
+        }
+        Assert.assertTrue(mPageLoader.mLoads.get("/videos?page=2&per_page=2").isCancelled());
+    }
+
+    @NotNull
+    private static TestList createPage(int page, int total, String nextUri, String... items) {
+        final TestList list = new TestList();
+        list.setPage(page);
+        list.setPerPage(2);
+        list.setTotal(total);
+        list.setData(new ArrayList<>(Arrays.asList(items)));
+        list.setPaging(new TestPaging(nextUri));
+        return list;
+    }
+
+    private static final class DeferredPageLoader implements PageLoader<String> {
+
+        private final Map<String, VimeoFuture<TestList>> mLoads = new LinkedHashMap<>();
+
+        @NotNull
+        @Override
+        public synchronized VimeoFuture<TestList> loadPage(@NotNull String uri) {
+            final VimeoFuture<TestList> load = new VimeoFuture<>(null);
+            mLoads.put(uri, load);
+            return load;
+        }
+
+        synchronized List<String> getRequestedUris() {
+            return new ArrayList<>(mLoads.keySet());
+        }
+
+        void complete(String uri, TestList page) {
+            final VimeoFuture<TestList> load;
+            synchronized (this) {
+                load = mLoads.get(uri);
+            }
+            load.set(page);
+        }
+    }
+
+    private static final class TestList extends BaseResponseList<String> {
+
+        @Override
+        public Class<String> getModelClass() {
+            return String.class;
+        }
+    }
+
+    private static final class TestPaging extends Paging {
+
+        TestPaging(String next) {
+            mNext = next;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.paging;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for {@link VimeoPageLoader}.
+ */
+public class VimeoPageLoaderTest {
+
+    @Test
+    public void testFieldFilterIsFoundByName() throws Exception {
+        Assert.assertTrue(VimeoPageLoader.hasFieldFilter("/videos?fields=uri,name"));
+        Assert.assertTrue(VimeoPageLoader.hasFieldFilter("/videos?page=2&fields=uri,paging"));
+        Assert.assertTrue(VimeoPageLoader.hasFieldFilter("/videos?page=2&fields"));
+    }
+
+    @Test
+    public void testParametersEndingWithFieldsAreNotAFieldFilter() throws Exception {
+        Assert.assertFalse(VimeoPageLoader.hasFieldFilter("/videos?container_fields=uri&page=2"));
+        Assert.assertFalse(VimeoPageLoader.hasFieldFilter("/videos?page=2&container_fields=uri"));
+        Assert.assertFalse(VimeoPageLoader.hasFieldFilter("/videos/fields?page=2"));
+        Assert.assertFalse(VimeoPageLoader.hasFieldFilter("/videos"));
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Tests for {@link CancellationScope}.
+ */
+public class CancellationScopeTest {
+
+    private List<Runnable> mPendingTasks;
+
+    private CancellationScope mScope;
+
+    @Before
+    public void setUp() throws Exception {
+        mPendingTasks = new ArrayList<>();
+        mScope = new CancellationScope(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                mPendingTasks.add(command);
+            }
+        });
+    }
+
+    @Test
+    public void testCallsInFlightAreCancelledOnTheExecutor() throws Exception {
+        final TestCall queued = new TestCall();
+        final TestCall inFlight = new TestCall();
+        mScope.track(queued);
+        mScope.track(inFlight).enqueue(new IgnoringCallback());
+
+        mScope.cancelAll();
+
+        Assert.assertTrue(queued.isCanceled());
+        Assert.assertFalse(inFlight.isCanceled());
+        Assert.assertEquals(1, mPendingTasks.size());
+        mPendingTasks.get(0).run();
+        Assert.assertTrue(inFlight.isCanceled());
+        Assert.assertEquals(0, mScope.getActiveCallCount());
+    }
+
+    @Test
+    public void testCompletedCallsLeaveTheScope() throws Exception {
+        final TestCall call = new TestCall();
+        mScope.track(call).enqueue(new IgnoringCallback());
+        Assert.assertEquals(1, mScope.getActiveCallCount());
+
+        call.mCallback.onFailure(call, new Exception());
+
+        Assert.assertEquals(0, mScope.getActiveCallCount());
+    }
+
+    @Test
+    public void testCancelledCallLeavesTheScope() throws Exception {
+        final TestCall call = new TestCall();
+        final Call<String> scopedCall = mScope.track(call);
+        Assert.assertEquals(1, mScope.getActiveCallCount());
+
+        scopedCall.cancel();
+
+        Assert.assertTrue(call.isCanceled());
+        Assert.assertEquals(0, mScope.getActiveCallCount());
+    }
+
+    @Test
+    public void testCompletedCallLeavesTheScopeOnceDelivered() throws Exception {
+        final List<Runnable> deliveries = new ArrayList<>();
+        final Call<String> call = mScope.track(CompletedCall.create(new TestCall(),
+                                                                    Response.success("a"),
+                                                                    new PendingExecutor(deliveries)));
+        final RecordingCallback callback = new RecordingCallback();
+        call.enqueue(callback);
+        Assert.assertEquals(1, mScope.getActiveCallCount());
+
+        deliveries.get(0).run();
+
+        Assert.assertEquals("a", callback.mResponse.body());
+        Assert.assertSame(call, callback.mCall);
+        Assert.assertEquals(0, mScope.getActiveCallCount());
+    }
+
+    @Test
+    public void testCancellingTheScopeCancelsTheCompletedCall() throws Exception {
+        final List<Runnable> deliveries = new ArrayList<>();
+        final Call<String> call = mScope.track(CompletedCall.create(new TestCall(),
+                                                                    Response.success("a"),
+                                                                    new PendingExecutor(deliveries)));
+        final RecordingCallback callback = new RecordingCallback();
+        call.enqueue(callback);
+
+        mScope.cancelAll();
+        for (final Runnable task : mPendingTasks) {
+            task.run();
+        }
+        deliveries.get(0).run();
+
+        Assert.assertTrue(call.isCanceled());
+        Assert.assertNull(callback.mResponse);
+        Assert.assertNotNull(callback.mFailure);
+        Assert.assertEquals(0, mScope.getActiveCallCount());
+    }
+
+    @Test
+    public void testCallsAddedAfterCloseAreCancelled() throws Exception {
+        mScope.close();
+        final TestCall call = new TestCall();
+        mScope.track(call);
+
+        Assert.assertTrue(mScope.isClosed());
+        Assert.assertTrue(call.isCanceled());
+        Assert.assertEquals(0, mScope.getActiveCallCount());
+    }
+
+    @Test
+    public void testWrappedServiceCallsAreTracked() throws Exception {
+        final TestService service = mScope.wrap(TestService.class, new TestService() {
+            @Override
+            public Call<String> get() {
+                return new TestCall();
+            }
+        });
+
+        final Call<String> call = service.get();
+
+        Assert.assertEquals(1, mScope.getActiveCallCount());
+        mScope.close();
+        Assert.assertTrue(call.isCanceled());
+    }
+
+    interface TestService {
+
+        Call<String> get();
+    }
+
+    private static final class PendingExecutor implements Executor {
+
+        private final List<Runnable> mTasks;
+
+        PendingExecutor(List<Runnable> tasks) {
+            mTasks = tasks;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            mTasks.add(command);
+        }
+    }
+
+    private static final class RecordingCallback implements Callback<String> {
+
+        private Call<String> mCall;
+
+        private Response<String> mResponse;
+
+        private Throwable mFailure;
+
+        @Override
+        public void onResponse(Call<String> call, Response<String> response) {
+            mCall = call;
+            mResponse = response;
+        }
+
+        @Override
+        public void onFailure(Call<String> call, Throwable t) {
+            mCall = call;
+            mFailure = t;
+        }
+    }
+
+    private static final class IgnoringCallback implements Callback<String> {
+
+        @Override
+        public void onResponse(Call<String> call, Response<String> response) {
+        }
+
+        @Override
+        public void onFailure(Call<String> call, Throwable t) {
+        }
+    }
+
+    private static final class TestCall implements Call<String> {
+
+        private Callback<String> mCallback;
+
+        private boolean mCanceled;
+
+        @Override
+        public Response<String> execute() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void enqueue(Callback<String> callback) {
+            mCallback = callback;
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mCallback != null;
+        }
+
+        @Override
+        public void cancel() {
+            mCanceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return mCanceled;
+        }
+
+        @SuppressWarnings("CloneDoesntCallSuperClone")
+        @Override
+        public Call<String> clone() {
+            return new TestCall();
+        }
+
+        @Override
+        public Request request() {
+            return null;
+        }
+    }
+}
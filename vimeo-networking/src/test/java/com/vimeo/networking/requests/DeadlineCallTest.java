@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Tests for {@link DeadlineCall}.
+ */
+public class DeadlineCallTest {
+
+    @Test
+    public void testSlowRequestFailsWhenDeadlinePasses() throws Exception {
+        final RecordingCallback callback = new RecordingCallback();
+        final DeadlineCall<String> deadlineCall = new DeadlineCall<>(callback, 10, TimeUnit.MILLISECONDS);
+        final TestCall call = new TestCall();
+        call.enqueue(deadlineCall.getCallback());
+        deadlineCall.start(call);
+
+        Assert.assertTrue(callback.mLatch.await(1, TimeUnit.SECONDS));
+        Assert.assertTrue(callback.mFailure instanceof InterruptedIOException);
+        Assert.assertTrue(call.isCanceled());
+        Assert.assertTrue(deadlineCall.isExpired());
+        Assert.assertFalse(deadlineCall.isCanceled());
+    }
+
+    @Test
+    public void testRequestCompletedInTimeIsDelivered() throws Exception {
+        final RecordingCallback callback = new RecordingCallback();
+        final DeadlineCall<String> deadlineCall = new DeadlineCall<>(callback, 50, TimeUnit.MILLISECONDS);
+        final TestCall call = new TestCall();
+        call.enqueue(deadlineCall.getCallback());
+        deadlineCall.start(call);
+        call.succeed();
+        Thread.sleep(100);
+
+        Assert.assertEquals(0, callback.mLatch.getCount());
+        Assert.assertNull(callback.mFailure);
+        Assert.assertFalse(call.isCanceled());
+        Assert.assertFalse(deadlineCall.isExpired());
+    }
+
+    private static final class RecordingCallback implements Callback<String> {
+
+        private final CountDownLatch mLatch = new CountDownLatch(1);
+
+        private Throwable mFailure;
+
+        @Override
+        public void onResponse(Call<String> call, Response<String> response) {
+            mLatch.countDown();
+        }
+
+        @Override
+        public void onFailure(Call<String> call, Throwable t) {
+            mFailure = t;
+            mLatch.countDown();
+        }
+    }
+
+    private static final class TestCall implements Call<String> {
+
+        private Callback<String> mCallback;
+
+        private volatile boolean mCanceled;
+
+        void succeed() {
+            mCallback.onResponse(this, Response.success("body"));
+        }
+
+        @Override
+        public Response<String> execute() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void enqueue(Callback<String> callback) {
+            mCallback = callback;
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mCallback != null;
+        }
+
+        @Override
+        public void cancel() {
+            mCanceled = true;
+            mCallback.onFailure(this, new IOException("Canceled"));
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return mCanceled;
+        }
+
+        @SuppressWarnings("CloneDoesntCallSuperClone")
+        @Override
+        public Call<String> clone() {
+            return new TestCall();
+        }
+
+        @Override
+        public Request request() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Tests for {@link Hedger}.
+ */
+public class HedgerTest {
+
+    private static final long LATENCY_MILLIS = 10;
+
+    private Hedger mHedger;
+
+    private List<TestCall> mAttempts;
+
+    @Before
+    public void setUp() throws Exception {
+        mHedger = new Hedger(0.9);
+        mAttempts = new ArrayList<>();
+    }
+
+    @Test
+    public void testRequestsAreNotHedgedWithoutEnoughLatencies() throws Exception {
+        Assert.assertEquals(-1, mHedger.getHedgeDelayMillis());
+
+        mHedger.hedge(new TestCall(mAttempts)).enqueue(new RecordingCallback());
+        Thread.sleep(LATENCY_MILLIS * 5);
+
+        Assert.assertEquals(1, mAttempts.size());
+        Assert.assertEquals(0, mHedger.getHedgeCount());
+    }
+
+    @Test
+    public void testSlowRequestIsHedgedAndFirstResponseIsKept() throws Exception {
+        warmUp();
+        final RecordingCallback callback = new RecordingCallback();
+        mHedger.hedge(new TestCall(mAttempts)).enqueue(callback);
+
+        final TestCall hedge = awaitAttempt(1);
+        hedge.succeed("hedge");
+
+        Assert.assertTrue(callback.mLatch.await(1, TimeUnit.SECONDS));
+        Assert.assertEquals("hedge", callback.mBody);
+        Assert.assertTrue(mAttempts.get(0).isCanceled());
+        Assert.assertEquals(1, mHedger.getHedgeCount());
+        Assert.assertEquals(1, mHedger.getHedgeWinCount());
+    }
+
+    @Test
+    public void testFailedAttemptWaitsForTheOther() throws Exception {
+        warmUp();
+        final RecordingCallback callback = new RecordingCallback();
+        mHedger.hedge(new TestCall(mAttempts)).enqueue(callback);
+
+        final TestCall hedge = awaitAttempt(1);
+        hedge.fail();
+        Assert.assertEquals(1, callback.mLatch.getCount());
+
+        mAttempts.get(0).succeed("primary");
+        Assert.assertTrue(callback.mLatch.await(1, TimeUnit.SECONDS));
+        Assert.assertEquals("primary", callback.mBody);
+        Assert.assertEquals(0, mHedger.getHedgeWinCount());
+    }
+
+    @Test
+    public void testOnlyNetworkResponsesAreRecorded() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            final TestCall call = new TestCall(mAttempts);
+            mHedger.hedge(call).enqueue(new RecordingCallback());
+            call.succeed("cached");
+        }
+        Assert.assertEquals(-1, mHedger.getHedgeDelayMillis());
+
+        for (int i = 0; i < 20; i++) {
+            final TestCall call = new TestCall(mAttempts);
+            mHedger.hedge(call).enqueue(new RecordingCallback());
+            call.succeedFromNetwork("network");
+        }
+        Assert.assertTrue(mHedger.getHedgeDelayMillis() >= 0);
+    }
+
+    /**
+     * Records enough latencies and requests for the next request to be hedged after {@link #LATENCY_MILLIS}.
+     */
+    private void warmUp() {
+        for (int i = 0; i < 20; i++) {
+            mHedger.recordLatency(LATENCY_MILLIS);
+            mHedger.onRequest();
+        }
+        Assert.assertEquals(LATENCY_MILLIS, mHedger.getHedgeDelayMillis());
+    }
+
+    private TestCall awaitAttempt(int index) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 1000;
+        while (System.currentTimeMillis() < deadline) {
+            synchronized (mAttempts) {
+                if (mAttempts.size() > index) {
+                    return mAttempts.get(index);
+                }
+            }
+            Thread.sleep(LATENCY_MILLIS);
+        }
+        throw new AssertionError("No attempt " + index);
+    }
+
+    private static final class RecordingCallback implements Callback<String> {
+
+        private final CountDownLatch mLatch = new CountDownLatch(1);
+
+        private String mBody;
+
+        @Override
+        public void onResponse(Call<String> call, Response<String> response) {
+            mBody = response.body();
+            mLatch.countDown();
+        }
+
+        @Override
+        public void onFailure(Call<String> call, Throwable t) {
+            mLatch.countDown();
+        }
+    }
+
+    private static final class TestCall implements Call<String> {
+
+        private final List<TestCall> mAttempts;
+
+        private Callback<String> mCallback;
+
+        private volatile boolean mCanceled;
+
+        TestCall(List<TestCall> attempts) {
+            mAttempts = attempts;
+        }
+
+        void succeed(String body) {
+            mCallback.onResponse(this, Response.success(body));
+        }
+
+        void succeedFromNetwork(String body) {
+            final Request request = new Request.Builder().url("https://api.vimeo.com/videos/1").build();
+            final okhttp3.Response networkResponse = new okhttp3.Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .build();
+            final okhttp3.Response raw = networkResponse.newBuilder()
+                    .networkResponse(networkResponse)
+                    .build();
+            mCallback.onResponse(this, Response.success(body, raw));
+        }
+
+        void fail() {
+            mCallback.onFailure(this, new IOException());
+        }
+
+        @Override
+        public Response<String> execute() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void enqueue(Callback<String> callback) {
+            mCallback = callback;
+            synchronized (mAttempts) {
+                mAttempts.add(this);
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mCallback != null;
+        }
+
+        @Override
+        public void cancel() {
+            mCanceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return mCanceled;
+        }
+
+        @SuppressWarnings("CloneDoesntCallSuperClone")
+        @Override
+        public Call<String> clone() {
+            return new TestCall(mAttempts);
+        }
+
+        @Override
+        public Request request() {
+            return null;
+        }
+    }
+}
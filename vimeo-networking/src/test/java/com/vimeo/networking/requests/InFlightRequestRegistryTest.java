@@ -0,0 +1,290 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Tests for {@link InFlightRequestRegistry}.
+ */
+public class InFlightRequestRegistryTest {
+
+    private static final String CACHE_HEADER = "no-cache";
+
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private InFlightRequestRegistry mRegistry;
+
+    private GetRequestKey mKey;
+
+    @Before
+    public void setUp() throws Exception {
+        mRegistry = new InFlightRequestRegistry(null);
+        mKey = GetRequestKey.create("/videos/1", Collections.<String, String>emptyMap(), "Bearer token", "video");
+    }
+
+    @Test
+    public void testIdenticalRequestJoinsTheLeader() throws Exception {
+        final TestCall leader = new TestCall();
+        final TestCall joiner = new TestCall();
+        final RecordingCallback leaderCallback = new RecordingCallback();
+        final RecordingCallback joinerCallback = new RecordingCallback();
+
+        mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.NORMAL, leader, leaderCallback);
+        mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.NORMAL, joiner, joinerCallback);
+
+        Assert.assertTrue(leader.isExecuted());
+        Assert.assertFalse(joiner.isExecuted());
+        Assert.assertEquals(1, mRegistry.getInFlightCount());
+
+        leader.succeed("video");
+
+        Assert.assertEquals("video", leaderCallback.mBody);
+        Assert.assertEquals("video", joinerCallback.mBody);
+        Assert.assertEquals(1, mRegistry.getNetworkCallCount());
+        Assert.assertEquals(1, mRegistry.getCoalescedCallCount());
+        Assert.assertEquals(0, mRegistry.getInFlightCount());
+    }
+
+    @Test
+    public void testRequestsWithDifferentCacheHeadersAreNotJoined() throws Exception {
+        final TestCall first = new TestCall();
+        final TestCall second = new TestCall();
+
+        mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.NORMAL, first, new RecordingCallback());
+        mRegistry.enqueue(mKey, "max-age=60", RequestPriority.NORMAL, second, new RecordingCallback());
+
+        Assert.assertTrue(first.isExecuted());
+        Assert.assertTrue(second.isExecuted());
+        Assert.assertEquals(2, mRegistry.getInFlightCount());
+    }
+
+    @Test
+    public void testEveryCallerReceivesItsOwnErrorBody() throws Exception {
+        final TestCall leader = new TestCall();
+        final RecordingCallback leaderCallback = new RecordingCallback();
+        final RecordingCallback joinerCallback = new RecordingCallback();
+        mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.NORMAL, leader, leaderCallback);
+        mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.NORMAL, new TestCall(), joinerCallback);
+
+        final ResponseBody errorBody = ResponseBody.create(JSON, "{\"error\":\"x\"}");
+        leader.mCallback.onResponse(leader, Response.<String>error(404, errorBody));
+
+        Assert.assertEquals(404, leaderCallback.mCode);
+        Assert.assertEquals(404, joinerCallback.mCode);
+        Assert.assertEquals("{\"error\":\"x\"}", leaderCallback.mErrorBody);
+        Assert.assertEquals("{\"error\":\"x\"}", joinerCallback.mErrorBody);
+    }
+
+    @Test
+    public void testRequestsWithDifferentPrioritiesAreNotJoined() throws Exception {
+        final TestCall background = new TestCall();
+        final TestCall normal = new TestCall();
+
+        mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.BACKGROUND, background, new RecordingCallback());
+        mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.NORMAL, normal, new RecordingCallback());
+
+        Assert.assertTrue(background.isExecuted());
+        Assert.assertTrue(normal.isExecuted());
+        Assert.assertEquals(2, mRegistry.getInFlightCount());
+        Assert.assertEquals(0, mRegistry.getCoalescedCallCount());
+    }
+
+    @Test
+    public void testCancellingOneCallerDoesNotFailTheOthers() throws Exception {
+        final TestCall leader = new TestCall();
+        final RecordingCallback leaderCallback = new RecordingCallback();
+        final RecordingCallback joinerCallback = new RecordingCallback();
+        final Call<String> leaderHandle =
+                mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.NORMAL, leader, leaderCallback);
+        final Call<String> joinerHandle =
+                mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.NORMAL, new TestCall(), joinerCallback);
+
+        joinerHandle.cancel();
+
+        Assert.assertTrue(joinerHandle.isCanceled());
+        Assert.assertNotNull(joinerCallback.mFailure);
+        Assert.assertFalse(leader.isCanceled());
+
+        leader.succeed("video");
+
+        Assert.assertEquals("video", leaderCallback.mBody);
+        Assert.assertNull(joinerCallback.mBody);
+        Assert.assertFalse(leaderHandle.isCanceled());
+    }
+
+    @Test
+    public void testCancellingEveryCallerCancelsTheNetworkCall() throws Exception {
+        final TestCall leader = new TestCall();
+        final Call<String> leaderHandle =
+                mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.NORMAL, leader, new RecordingCallback());
+        final Call<String> joinerHandle =
+                mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.NORMAL, new TestCall(), new RecordingCallback());
+
+        leaderHandle.cancel();
+        Assert.assertFalse(leader.isCanceled());
+        joinerHandle.cancel();
+
+        Assert.assertTrue(leader.isCanceled());
+        Assert.assertEquals(0, mRegistry.getInFlightCount());
+    }
+
+    @Test
+    public void testLateJoinerMakesANewNetworkCall() throws Exception {
+        final TestCall first = new TestCall();
+        mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.NORMAL, first, new RecordingCallback());
+        first.succeed("old");
+
+        final TestCall second = new TestCall();
+        final RecordingCallback callback = new RecordingCallback();
+        mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.NORMAL, second, callback);
+
+        Assert.assertTrue(second.isExecuted());
+        Assert.assertNull(callback.mBody);
+        second.succeed("new");
+        Assert.assertEquals("new", callback.mBody);
+        Assert.assertEquals(2, mRegistry.getNetworkCallCount());
+        Assert.assertEquals(0, mRegistry.getCoalescedCallCount());
+    }
+
+    @Test
+    public void testSynchronousRequestWaitsForTheLeader() throws Exception {
+        final TestCall leader = new TestCall();
+        final RecordingCallback leaderCallback = new RecordingCallback();
+        mRegistry.enqueue(mKey, CACHE_HEADER, RequestPriority.NORMAL, leader, leaderCallback);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Response<String>> future = executor.submit(new Callable<Response<String>>() {
+                @Override
+                public Response<String> call() throws Exception {
+                    return mRegistry.execute(mKey, CACHE_HEADER, RequestPriority.NORMAL, new TestCall());
+                }
+            });
+            while (mRegistry.getCoalescedCallCount() == 0) {
+                Thread.sleep(1);
+            }
+            leader.succeed("video");
+
+            Assert.assertEquals("video", future.get(1, TimeUnit.SECONDS).body());
+            Assert.assertEquals(1, mRegistry.getNetworkCallCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static final class RecordingCallback implements Callback<String> {
+
+        private String mBody;
+
+        private int mCode;
+
+        private String mErrorBody;
+
+        private Throwable mFailure;
+
+        @Override
+        public void onResponse(Call<String> call, Response<String> response) {
+            mBody = response.body();
+            mCode = response.code();
+            if (response.errorBody() != null) {
+                try {
+                    mErrorBody = response.errorBody().string();
+                } catch (final IOException e) {
+                    throw new AssertionError(e);
+                }
+            }
+        }
+
+        @Override
+        public void onFailure(Call<String> call, Throwable t) {
+            mFailure = t;
+        }
+    }
+
+    private static final class TestCall implements Call<String> {
+
+        private Callback<String> mCallback;
+
+        private volatile boolean mCanceled;
+
+        void succeed(String body) {
+            mCallback.onResponse(this, Response.success(body));
+        }
+
+        @Override
+        public Response<String> execute() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void enqueue(Callback<String> callback) {
+            mCallback = callback;
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mCallback != null;
+        }
+
+        @Override
+        public void cancel() {
+            mCanceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return mCanceled;
+        }
+
+        @SuppressWarnings("CloneDoesntCallSuperClone")
+        @Override
+        public Call<String> clone() {
+            return new TestCall();
+        }
+
+        @Override
+        public Request request() {
+            return null;
+        }
+    }
+}
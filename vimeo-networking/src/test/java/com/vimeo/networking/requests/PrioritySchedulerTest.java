@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Tests for {@link PriorityScheduler}.
+ */
+public class PrioritySchedulerTest {
+
+    private PriorityScheduler mScheduler;
+
+    @Before
+    public void setUp() throws Exception {
+        mScheduler = new PriorityScheduler(2, 1, null);
+    }
+
+    @Test
+    public void testNormalRequestsAreDispatchedBeforeBackgroundOnes() throws Exception {
+        final TestCall firstBackground = enqueue(RequestPriority.BACKGROUND);
+        final TestCall secondBackground = enqueue(RequestPriority.BACKGROUND);
+        final TestCall firstNormal = enqueue(RequestPriority.NORMAL);
+        final TestCall secondNormal = enqueue(RequestPriority.NORMAL);
+
+        Assert.assertTrue(firstBackground.isExecuted());
+        Assert.assertTrue(firstNormal.isExecuted());
+        Assert.assertFalse(secondBackground.isExecuted());
+        Assert.assertFalse(secondNormal.isExecuted());
+
+        firstBackground.complete();
+        Assert.assertTrue(secondNormal.isExecuted());
+        Assert.assertFalse(secondBackground.isExecuted());
+
+        firstNormal.complete();
+        Assert.assertTrue(secondBackground.isExecuted());
+    }
+
+    @Test
+    public void testCriticalRequestsAreDispatchedRightAway() throws Exception {
+        enqueue(RequestPriority.NORMAL);
+        enqueue(RequestPriority.NORMAL);
+        final TestCall critical = enqueue(RequestPriority.CRITICAL);
+
+        Assert.assertTrue(critical.isExecuted());
+        Assert.assertEquals(2, mScheduler.getRunningCount());
+    }
+
+    @Test
+    public void testCancelledWaitingRequestIsNotDispatched() throws Exception {
+        final TestCall running = enqueue(RequestPriority.BACKGROUND);
+        final TestCall waiting = new TestCall();
+        final Call<String> waitingHandle = mScheduler.prioritize(waiting, RequestPriority.BACKGROUND);
+        final RecordingCallback callback = new RecordingCallback();
+        waitingHandle.enqueue(callback);
+        Assert.assertEquals(1, mScheduler.getWaitingCount(RequestPriority.BACKGROUND));
+
+        waitingHandle.cancel();
+        running.complete();
+
+        Assert.assertTrue(callback.mFailure instanceof IOException);
+        Assert.assertFalse(waiting.isExecuted());
+        Assert.assertEquals(0, mScheduler.getRunningCount());
+    }
+
+    private TestCall enqueue(RequestPriority priority) {
+        final TestCall call = new TestCall();
+        mScheduler.prioritize(call, priority).enqueue(new RecordingCallback());
+        return call;
+    }
+
+    private static final class RecordingCallback implements Callback<String> {
+
+        private Throwable mFailure;
+
+        @Override
+        public void onResponse(Call<String> call, Response<String> response) {
+        }
+
+        @Override
+        public void onFailure(Call<String> call, Throwable t) {
+            mFailure = t;
+        }
+    }
+
+    private static final class TestCall implements Call<String> {
+
+        private Callback<String> mCallback;
+
+        void complete() {
+            mCallback.onFailure(this, new IOException());
+        }
+
+        @Override
+        public Response<String> execute() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void enqueue(Callback<String> callback) {
+            mCallback = callback;
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mCallback != null;
+        }
+
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return false;
+        }
+
+        @SuppressWarnings("CloneDoesntCallSuperClone")
+        @Override
+        public Call<String> clone() {
+            return new TestCall();
+        }
+
+        @Override
+        public Request request() {
+            return null;
+        }
+    }
+}
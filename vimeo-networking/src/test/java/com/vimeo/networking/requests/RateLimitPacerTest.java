@@ -0,0 +1,192 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.requests;
+
+import com.google.gson.internal.bind.util.ISO8601Utils;
+import com.vimeo.networking.Vimeo;
+import com.vimeo.networking.interceptors.RateLimitInterceptor;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Connection;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Tests for {@link RateLimitPacer}.
+ */
+public class RateLimitPacerTest {
+
+    private static final String AUTH_HEADER = "Bearer token";
+    private static final long RESET_DELAY_MILLIS = 300;
+
+    private RateLimitInterceptor mRateLimitInterceptor;
+
+    private RateLimitPacer mPacer;
+
+    @Before
+    public void setUp() throws Exception {
+        mRateLimitInterceptor = new RateLimitInterceptor(10, TimeUnit.SECONDS);
+        mPacer = new RateLimitPacer(mRateLimitInterceptor, null);
+    }
+
+    @Test
+    public void testRequestIsDispatchedRightAwayWhenUnderTheLimit() throws Exception {
+        final TestCall call = new TestCall();
+        mPacer.pace(call).enqueue(new RecordingCallback());
+
+        Assert.assertTrue(call.mEnqueued.await(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testPacedRequestIsNotDispatchedUntilItsSlot() throws Exception {
+        exhaustRateLimit();
+        final TestCall call = new TestCall();
+
+        mPacer.pace(call).enqueue(new RecordingCallback());
+
+        // The wrapped call, which would take a dispatcher thread and a connection, isn't enqueued while waiting
+        Assert.assertFalse(call.isExecuted());
+        Assert.assertTrue(call.mEnqueued.await(RESET_DELAY_MILLIS + 5000, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testCancelledWaitingRequestIsNotDispatched() throws Exception {
+        exhaustRateLimit();
+        final TestCall call = new TestCall();
+        final Call<String> pacedCall = mPacer.pace(call);
+        final RecordingCallback callback = new RecordingCallback();
+        pacedCall.enqueue(callback);
+
+        pacedCall.cancel();
+
+        Assert.assertTrue(callback.mFailure instanceof IOException);
+        Assert.assertTrue(pacedCall.isCanceled());
+        Thread.sleep(RESET_DELAY_MILLIS * 2);
+        Assert.assertFalse(call.isExecuted());
+    }
+
+    /**
+     * Makes the interceptor see a response reporting that no request is left until shortly.
+     */
+    private void exhaustRateLimit() throws IOException {
+        final Request request = new Request.Builder().url("https://api.vimeo.com/me")
+                .header(Vimeo.HEADER_AUTHORIZATION, AUTH_HEADER)
+                .build();
+        final String resetTime = ISO8601Utils.format(new Date(System.currentTimeMillis() + RESET_DELAY_MILLIS),
+                                                     true);
+        final okhttp3.Response networkResponse = new okhttp3.Response.Builder().request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .header(Vimeo.HEADER_RATE_LIMIT_LIMIT, "100")
+                .header(Vimeo.HEADER_RATE_LIMIT_REMAINING, "0")
+                .header(Vimeo.HEADER_RATE_LIMIT_RESET, resetTime)
+                .build();
+        mRateLimitInterceptor.intercept(new Interceptor.Chain() {
+            @Override
+            public Request request() {
+                return request;
+            }
+
+            @Override
+            public okhttp3.Response proceed(Request request) {
+                return networkResponse.newBuilder().networkResponse(networkResponse).build();
+            }
+
+            @Override
+            public Connection connection() {
+                return null;
+            }
+        });
+    }
+
+    private static final class RecordingCallback implements Callback<String> {
+
+        private Throwable mFailure;
+
+        @Override
+        public void onResponse(Call<String> call, Response<String> response) {
+        }
+
+        @Override
+        public void onFailure(Call<String> call, Throwable t) {
+            mFailure = t;
+        }
+    }
+
+    private static final class TestCall implements Call<String> {
+
+        private final CountDownLatch mEnqueued = new CountDownLatch(1);
+
+        @Override
+        public Response<String> execute() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void enqueue(Callback<String> callback) {
+            mEnqueued.countDown();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mEnqueued.getCount() == 0;
+        }
+
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return false;
+        }
+
+        @SuppressWarnings("CloneDoesntCallSuperClone")
+        @Override
+        public Call<String> clone() {
+            return new TestCall();
+        }
+
+        @Override
+        public Request request() {
+            return new Request.Builder().url("https://api.vimeo.com/me")
+                    .header(Vimeo.HEADER_AUTHORIZATION, AUTH_HEADER)
+                    .build();
+        }
+    }
+}
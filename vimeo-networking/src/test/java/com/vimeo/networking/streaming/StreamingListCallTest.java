@@ -0,0 +1,282 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.streaming;
+
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.streaming.StreamingListDecoder.ItemConsumer;
+import com.vimeo.networking.utils.VimeoNetworkUtil;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Tests for {@link StreamingListCall}.
+ */
+public class StreamingListCallTest {
+
+    private static final int ITEM_COUNT = StreamingListCall.MAX_PENDING_ITEMS * 3;
+
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private static final StreamingListDecoder<String, TestList> DECODER =
+            new StreamingListDecoder<>(TestList.class, String.class);
+
+    private ExecutorService mBackgroundExecutor;
+
+    private List<Runnable> mPendingTasks;
+
+    private Executor mCallbackExecutor;
+
+    @Before
+    public void setUp() throws Exception {
+        mBackgroundExecutor = Executors.newSingleThreadExecutor();
+        mPendingTasks = new ArrayList<>();
+        mCallbackExecutor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                synchronized (mPendingTasks) {
+                    mPendingTasks.add(command);
+                    mPendingTasks.notifyAll();
+                }
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        mBackgroundExecutor.shutdownNow();
+    }
+
+    @Test
+    public void testDecodingWaitsForTheConsumer() throws Exception {
+        final RecordingConsumer consumer = new RecordingConsumer();
+        final RecordingCallback callback = new RecordingCallback();
+        final StreamingListCall<String, TestList> call = createCall(consumer);
+        call.enqueue(callback);
+
+        awaitPendingTasks(StreamingListCall.MAX_PENDING_ITEMS);
+        Thread.sleep(50);
+        Assert.assertEquals(StreamingListCall.MAX_PENDING_ITEMS, getPendingTaskCount());
+
+        runPendingTasks(callback);
+
+        Assert.assertEquals(ITEM_COUNT, consumer.mItems.size());
+        Assert.assertNotNull(callback.mResponse);
+    }
+
+    @Test
+    public void testNoItemIsDeliveredAfterCancel() throws Exception {
+        final RecordingConsumer consumer = new RecordingConsumer();
+        final RecordingCallback callback = new RecordingCallback();
+        final StreamingListCall<String, TestList> call = createCall(consumer);
+        call.enqueue(callback);
+        awaitPendingTasks(StreamingListCall.MAX_PENDING_ITEMS);
+
+        call.cancel();
+        runPendingTasks(callback);
+
+        Assert.assertTrue(consumer.mItems.isEmpty());
+        Assert.assertNotNull(callback.mFailure);
+    }
+
+    @Test
+    public void testNoItemIsDeliveredAfterTheConsumerThrew() throws Exception {
+        final RecordingConsumer consumer = new RecordingConsumer();
+        consumer.mStopAfter = 1;
+        final RecordingCallback callback = new RecordingCallback();
+        final StreamingListCall<String, TestList> call = createCall(consumer);
+        call.enqueue(callback);
+
+        runPendingTasks(callback);
+
+        Assert.assertEquals(1, consumer.mItems.size());
+        Assert.assertEquals(2, consumer.mCallCount);
+        Assert.assertTrue(call.isCanceled());
+        Assert.assertNotNull(callback.mFailure);
+    }
+
+    @NotNull
+    private StreamingListCall<String, TestList> createCall(@NotNull ItemConsumer<String> consumer) {
+        final StringBuilder json = new StringBuilder("{\"total\":").append(ITEM_COUNT).append(",\"data\":[");
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\"/videos/").append(i).append('"');
+        }
+        json.append("]}");
+        return new StreamingListCall<>(new BodyCall(json.toString()), DECODER, VimeoNetworkUtil.getGson(),
+                                       consumer, mBackgroundExecutor, mCallbackExecutor);
+    }
+
+    private int getPendingTaskCount() {
+        synchronized (mPendingTasks) {
+            return mPendingTasks.size();
+        }
+    }
+
+    private void awaitPendingTasks(int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 1000;
+        synchronized (mPendingTasks) {
+            while (mPendingTasks.size() < count && System.currentTimeMillis() < deadline) {
+                mPendingTasks.wait(10);
+            }
+            Assert.assertEquals(count, mPendingTasks.size());
+        }
+    }
+
+    /**
+     * Runs the tasks handed to the callback executor until the callback is notified.
+     */
+    private void runPendingTasks(@NotNull RecordingCallback callback) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 1000;
+        while (callback.mLatch.getCount() > 0 && System.currentTimeMillis() < deadline) {
+            final Runnable task;
+            synchronized (mPendingTasks) {
+                if (mPendingTasks.isEmpty()) {
+                    mPendingTasks.wait(10);
+                    continue;
+                }
+                task = mPendingTasks.remove(0);
+            }
+            task.run();
+        }
+        Assert.assertTrue(callback.mLatch.await(0, TimeUnit.MILLISECONDS));
+    }
+
+    private static final class RecordingConsumer implements ItemConsumer<String> {
+
+        private final List<String> mItems = new ArrayList<>();
+
+        private int mStopAfter = Integer.MAX_VALUE;
+
+        private int mCallCount;
+
+        @Override
+        public void onItem(@NotNull String item) throws IOException {
+            mCallCount++;
+            if (mItems.size() == mStopAfter) {
+                throw new IOException("Stopped");
+            }
+            mItems.add(item);
+        }
+    }
+
+    private static final class RecordingCallback implements Callback<TestList> {
+
+        private final CountDownLatch mLatch = new CountDownLatch(1);
+
+        private Response<TestList> mResponse;
+
+        private Throwable mFailure;
+
+        @Override
+        public void onResponse(Call<TestList> call, Response<TestList> response) {
+            mResponse = response;
+            mLatch.countDown();
+        }
+
+        @Override
+        public void onFailure(Call<TestList> call, Throwable t) {
+            mFailure = t;
+            mLatch.countDown();
+        }
+    }
+
+    private static final class BodyCall implements Call<ResponseBody> {
+
+        @NotNull
+        private final String mJson;
+
+        private volatile boolean mCanceled;
+
+        BodyCall(@NotNull String json) {
+            mJson = json;
+        }
+
+        @Override
+        public Response<ResponseBody> execute() {
+            return Response.success(ResponseBody.create(JSON, mJson));
+        }
+
+        @Override
+        public void enqueue(Callback<ResponseBody> callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return false;
+        }
+
+        @Override
+        public void cancel() {
+            mCanceled = true;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return mCanceled;
+        }
+
+        @SuppressWarnings("CloneDoesntCallSuperClone")
+        @Override
+        public Call<ResponseBody> clone() {
+            return new BodyCall(mJson);
+        }
+
+        @Override
+        public Request request() {
+            return null;
+        }
+    }
+
+    private static final class TestList extends BaseResponseList<String> {
+
+        @Override
+        public Class<String> getModelClass() {
+            return String.class;
+        }
+    }
+}
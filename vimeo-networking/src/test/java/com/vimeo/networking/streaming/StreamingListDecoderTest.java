@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.streaming;
+
+import com.vimeo.networking.model.BaseResponseList;
+import com.vimeo.networking.streaming.StreamingListDecoder.ItemConsumer;
+import com.vimeo.networking.utils.VimeoNetworkUtil;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link StreamingListDecoder}.
+ */
+public class StreamingListDecoderTest {
+
+    private static final String LIST_JSON =
+            "{\"total\":42,\"page\":2,\"per_page\":2," +
+            "\"data\":[\"/videos/1\",\"/videos/2\"]," +
+            "\"paging\":{\"next\":\"/videos?page=3\"}}";
+
+    private static final StreamingListDecoder<String, TestList> DECODER =
+            new StreamingListDecoder<>(TestList.class, String.class);
+
+    @Test
+    public void testItemsAreConsumedInOrderAndEnvelopeIsDecoded() throws Exception {
+        final RecordingConsumer consumer = new RecordingConsumer();
+
+        final TestList list = DECODER.decode(VimeoNetworkUtil.getGson(), new StringReader(LIST_JSON), consumer);
+
+        Assert.assertEquals(2, consumer.mItems.size());
+        Assert.assertEquals("/videos/1", consumer.mItems.get(0));
+        Assert.assertEquals("/videos/2", consumer.mItems.get(1));
+        Assert.assertEquals(42, list.getTotal());
+        Assert.assertEquals(2, list.getPage());
+        Assert.assertEquals("/videos?page=3", list.getPaging().getNext());
+        Assert.assertTrue(list.getData().isEmpty());
+    }
+
+    @Test
+    public void testConsumerCanStopDecoding() throws Exception {
+        final RecordingConsumer consumer = new RecordingConsumer();
+        consumer.mStopAfter = 1;
+
+        try {
+            DECODER.decode(VimeoNetworkUtil.getGson(), new StringReader(LIST_JSON), consumer);
+            Assert.fail("Decoding should have stopped");
+        } catch (final IOException e) {
+            Assert.assertEquals(1, consumer.mItems.size());
+        }
+    }
+
+    private static final class RecordingConsumer implements ItemConsumer<String> {
+
+        private final List<String> mItems = new ArrayList<>();
+
+        private int mStopAfter = Integer.MAX_VALUE;
+
+        @Override
+        public void onItem(@NotNull String item) throws IOException {
+            if (mItems.size() == mStopAfter) {
+                throw new IOException("Stopped");
+            }
+            mItems.add(item);
+        }
+    }
+
+    private static final class TestList extends BaseResponseList<String> {
+
+        @Override
+        public Class<String> getModelClass() {
+            return String.class;
+        }
+    }
+}
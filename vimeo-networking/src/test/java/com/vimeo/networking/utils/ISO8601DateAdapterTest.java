@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2018 Vimeo
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.vimeo.networking.utils;
+
+import com.google.gson.internal.bind.util.ISO8601Utils;
+import com.google.gson.stream.JsonReader;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.text.ParsePosition;
+import java.util.Date;
+
+/**
+ * Tests for {@link ISO8601DateAdapter}.
+ */
+public class ISO8601DateAdapterTest {
+
+    private ISO8601DateAdapter mAdapter;
+
+    @Before
+    public void setUp() throws Exception {
+        mAdapter = new ISO8601DateAdapter();
+    }
+
+    @Test
+    public void testApiFormatsMatchISO8601Utils() throws Exception {
+        final String[] values = {
+                "2015-05-21T14:24:03+00:00",
+                "2016-02-29T23:59:59-04:30",
+                "1970-01-01T00:00:00Z",
+                "1969-12-31T23:59:59+01:00",
+                "2000-03-01T12:00:00+14:00",
+                "2099-12-31T00:00:00Z"
+        };
+        for (final String value : values) {
+            Assert.assertEquals(value, ISO8601Utils.parse(value, new ParsePosition(0)), read(value));
+        }
+    }
+
+    @Test
+    public void testOtherFormatsFallBackToISO8601Utils() throws Exception {
+        final String value = "2015-05-21T14:24:03.123+02:00";
+
+        Assert.assertEquals(ISO8601Utils.parse(value, new ParsePosition(0)), read(value));
+    }
+
+    @Test
+    public void testCachedDatesAreNotShared() throws Exception {
+        final Date first = read("2015-05-21T14:24:03+00:00");
+        first.setTime(0);
+
+        Assert.assertEquals(ISO8601Utils.parse("2015-05-21T14:24:03+00:00", new ParsePosition(0)),
+                            read("2015-05-21T14:24:03+00:00"));
+    }
+
+    @Test
+    public void testInvalidDateIsReadAsNull() throws Exception {
+        Assert.assertNull(read("2015-02-30T14:24:03+00:00"));
+        Assert.assertNull(read("yesterday"));
+    }
+
+    @Test
+    public void testWriteMatchesRead() throws Exception {
+        final Date date = new Date(1432218243000L);
+
+        Assert.assertEquals(date, mAdapter.fromJson(mAdapter.toJson(date)));
+        Assert.assertEquals("null", mAdapter.toJson(null));
+    }
+
+    private Date read(String value) throws Exception {
+        return mAdapter.read(new JsonReader(new StringReader('"' + value + '"')));
+    }
+}